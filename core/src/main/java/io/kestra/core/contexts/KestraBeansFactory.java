@@ -1,8 +1,10 @@
 package io.kestra.core.contexts;
 
 import io.kestra.core.exceptions.KestraRuntimeException;
+import io.kestra.core.metrics.MetricRegistry;
 import io.kestra.core.plugins.DefaultPluginRegistry;
 import io.kestra.core.plugins.PluginRegistry;
+import io.kestra.core.plugins.PluginScanner;
 import io.kestra.core.plugins.serdes.PluginDeserializer;
 import io.kestra.core.storages.StorageInterface;
 import io.kestra.core.storages.StorageInterfaceFactory;
@@ -19,6 +21,7 @@ import jakarta.inject.Singleton;
 import jakarta.validation.Validator;
 
 import java.io.IOException;
+import java.nio.file.Path;
 import java.util.Map;
 import java.util.Optional;
 
@@ -36,10 +39,25 @@ public class KestraBeansFactory {
     @Value("${kestra.storage.type}")
     Optional<String> storageType;
 
+    @Value("${kestra.plugins.scan-index.enabled:true}")
+    boolean scanIndexEnabled;
+
+    @Value("${kestra.plugins.scan-index.location}")
+    Optional<String> scanIndexLocation;
+
     @Requires(missingBeans = PluginRegistry.class)
     @Singleton
-    public PluginRegistry pluginRegistry() {
-        return DefaultPluginRegistry.getOrCreate();
+    public PluginRegistry pluginRegistry(final MetricRegistry metricRegistry) {
+        DefaultPluginRegistry pluginRegistry = DefaultPluginRegistry.getOrCreate();
+
+        PluginScanner scanner = pluginRegistry.getScanner();
+        scanner.setScanIndexEnabled(scanIndexEnabled);
+        scanner.setScanIndexLocation(scanIndexLocation.map(Path::of).orElse(null));
+        metricRegistry.gauge(MetricRegistry.PLUGIN_SCAN_DURATION, scanner.getScanDuration());
+        metricRegistry.gauge(MetricRegistry.PLUGIN_SCAN_COUNT, scanner.getIndexedCount(), MetricRegistry.TAG_SOURCE, "index");
+        metricRegistry.gauge(MetricRegistry.PLUGIN_SCAN_COUNT, scanner.getScannedCount(), MetricRegistry.TAG_SOURCE, "scan");
+
+        return pluginRegistry;
     }
 
     @Requires(missingBeans = StorageInterface.class)
@@ -1,5 +1,6 @@
 package io.kestra.core.metrics;
 
+import com.google.common.cache.Cache;
 import io.kestra.core.models.executions.Execution;
 import io.kestra.core.models.tasks.Task;
 import io.kestra.core.models.triggers.AbstractTrigger;
@@ -11,6 +12,7 @@ import io.kestra.core.runners.WorkerTrigger;
 import io.kestra.core.schedulers.SchedulerExecutionWithTrigger;
 import io.micrometer.core.instrument.*;
 import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import lombok.extern.slf4j.Slf4j;
@@ -34,6 +36,9 @@ public class MetricRegistry {
     public static final String METRIC_WORKER_TRIGGER_ENDED_COUNT = "worker.trigger.ended.count";
     public static final String METRIC_WORKER_TRIGGER_ERROR_COUNT = "worker.trigger.error.count";
     public static final String METRIC_WORKER_TRIGGER_EXECUTION_COUNT = "worker.trigger.execution.count";
+    public static final String METRIC_WORKER_LOGS_QUEUED_COUNT = "worker.logs.queued.count";
+    public static final String METRIC_WORKER_LOGS_BATCH_SIZE = "worker.logs.batch.size";
+    public static final String METRIC_WORKER_LOGS_DROPPED_COUNT = "worker.logs.dropped.count";
 
     public static final String EXECUTOR_TASKRUN_NEXT_COUNT = "executor.taskrun.next.count";
     public static final String EXECUTOR_TASKRUN_ENDED_COUNT = "executor.taskrun.ended.count";
@@ -42,6 +47,12 @@ public class MetricRegistry {
     public static final String EXECUTOR_EXECUTION_STARTED_COUNT = "executor.execution.started.count";
     public static final String EXECUTOR_EXECUTION_END_COUNT = "executor.execution.end.count";
     public static final String EXECUTOR_EXECUTION_DURATION = "executor.execution.duration";
+    public static final String EXECUTOR_EXECUTION_CACHE_HIT_COUNT = "executor.execution.cache.hit.count";
+    public static final String EXECUTOR_EXECUTION_CACHE_MISS_COUNT = "executor.execution.cache.miss.count";
+    public static final String EXECUTOR_FLOW_CACHE = "executor.flow.cache";
+    public static final String EXECUTOR_LANE_QUEUED_COUNT = "executor.lane.queued.count";
+    public static final String EXECUTOR_LANE_LAG_DURATION = "executor.lane.lag.duration";
+    public static final String EXECUTOR_LANE_DROPPED_COUNT = "executor.lane.dropped.count";
 
     public static final String METRIC_INDEXER_REQUEST_COUNT = "indexer.request.count";
     public static final String METRIC_INDEXER_REQUEST_DURATION = "indexer.request.duration";
@@ -62,7 +73,21 @@ public class MetricRegistry {
 
     public static final String JDBC_QUERY_DURATION = "jdbc.query.duration";
 
+    public static final String PEBBLE_JQ_CACHE = "pebble.jq.cache";
+
+    public static final String PLUGIN_DEFAULTS_CACHE = "plugin.defaults.cache";
+    public static final String PLUGIN_SCAN_DURATION = "plugin.scan.duration";
+    public static final String PLUGIN_SCAN_COUNT = "plugin.scan.count";
+
     public static final String QUEUE_BIG_MESSAGE_COUNT = "queue.big_message.count";
+    public static final String QUEUE_BATCH_SIZE = "queue.batch.size";
+    public static final String QUEUE_BATCH_FLUSH_DURATION = "queue.batch.flush.duration";
+
+    public static final String PURGE_EXECUTION_COUNT = "purge.execution.count";
+    public static final String PURGE_LOG_COUNT = "purge.log.count";
+    public static final String PURGE_METRIC_COUNT = "purge.metric.count";
+    public static final String PURGE_STORAGE_COUNT = "purge.storage.count";
+    public static final String PURGE_CHUNK_DURATION = "purge.chunk.duration";
 
     public static final String TAG_TASK_TYPE = "task_type";
     public static final String TAG_TRIGGER_TYPE = "trigger_type";
@@ -73,6 +98,8 @@ public class MetricRegistry {
     public static final String TAG_WORKER_GROUP = "worker_group";
     public static final String TAG_TENANT_ID = "tenant_id";
     public static final String TAG_CLASS_NAME = "class_name";
+    public static final String TAG_LANE = "lane";
+    public static final String TAG_SOURCE = "source";
 
     @Inject
     private MeterRegistry meterRegistry;
@@ -127,6 +154,19 @@ public class MetricRegistry {
         return this.meterRegistry.summary(metricName(name), tags);
     }
 
+    /**
+     * Monitor a Guava cache, reporting its size, hits, misses and evictions.
+     * The cache must be built with {@link com.google.common.cache.CacheBuilder#recordStats()}.
+     *
+     * @param name  The base metric name
+     * @param cache The cache to monitor
+     * @param tags  MUST be an even number of arguments representing key/value pairs of tags.
+     * @return The cache that was passed in so the registration can be done as part of an assignment statement.
+     */
+    public <C extends Cache<?, ?>> C cache(String name, C cache, String... tags) {
+        return GuavaCacheMetrics.monitor(this.meterRegistry, cache, metricName(name), tags);
+    }
+
     /**
      * Search for an existing Counter in the meter registry
      * @param name The base metric name
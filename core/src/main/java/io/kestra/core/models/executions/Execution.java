@@ -111,6 +111,13 @@ public class Execution implements DeletedInterface, TenantInterface {
     @Setter
     String traceParent;
 
+    @JsonIgnore
+    @Hidden
+    @Getter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    transient TaskRunIndex taskRunIndex = new TaskRunIndex();
+
     /**
      * Factory method for constructing a new {@link Execution} object for the given {@link Flow}.
      *
@@ -234,21 +241,20 @@ public class Execution implements DeletedInterface, TenantInterface {
     }
 
     public Execution withTaskRun(TaskRun taskRun) throws InternalException {
-        ArrayList<TaskRun> newTaskRunList = new ArrayList<>(this.taskRunList);
-
-        boolean b = Collections.replaceAll(
-            newTaskRunList,
-            this.findTaskRunByTaskRunId(taskRun.getId()),
-            taskRun
-        );
-
-        if (!b) {
+        Integer position = this.taskRunList == null ? null : this.taskRunPositions().positionOf(taskRun.getId());
+        if (position == null) {
+            // throws the same exception as before the index
+            this.findTaskRunByTaskRunId(taskRun.getId());
             throw new IllegalStateException(
                 "Can't replace taskRun '" + taskRun.getId() + "' on execution'" + this.getId()
                     + "'");
         }
 
-        return new Execution(
+        // a single array copy, the index is only made of positions so the new execution can share it
+        ArrayList<TaskRun> newTaskRunList = new ArrayList<>(this.taskRunList);
+        TaskRun previous = newTaskRunList.set(position, taskRun);
+
+        Execution execution = new Execution(
             this.tenantId,
             this.id,
             this.namespace,
@@ -268,6 +274,11 @@ public class Execution implements DeletedInterface, TenantInterface {
             this.scheduleDate,
             this.traceParent
         );
+        if (Objects.equals(previous.getTaskId(), taskRun.getTaskId()) && Objects.equals(previous.getParentTaskRunId(), taskRun.getParentTaskRunId())) {
+            this.taskRunIndex.shareWith(execution.taskRunIndex);
+        }
+
+        return execution;
     }
 
     public Execution childExecution(String childExecutionId, List<TaskRun> taskRunList,
@@ -299,35 +310,30 @@ public class Execution implements DeletedInterface, TenantInterface {
             return Collections.emptyList();
         }
 
-        return this.taskRunList
+        return this.taskRunPositions()
+            .positionsOfTask(id)
             .stream()
-            .filter(taskRun -> taskRun.getTaskId().equals(id))
+            .map(this.taskRunList::get)
             .toList();
     }
 
     public TaskRun findTaskRunByTaskRunId(String id) throws InternalException {
-        Optional<TaskRun> find = (this.taskRunList == null ? Collections.<TaskRun>emptyList()
-            : this.taskRunList)
-            .stream()
-            .filter(taskRun -> taskRun.getId().equals(id))
-            .findFirst();
+        Integer position = this.taskRunList == null ? null : this.taskRunPositions().positionOf(id);
 
-        if (find.isEmpty()) {
+        if (position == null) {
             throw new InternalException(
                 "Can't find taskrun with taskrunId '" + id + "' on execution '" + this.id + "' "
                     + this.toStringState());
         }
 
-        return find.get();
+        return this.taskRunList.get(position);
     }
 
     public TaskRun findTaskRunByTaskIdAndValue(String id, List<String> values)
         throws InternalException {
-        Optional<TaskRun> find = (this.taskRunList == null ? Collections.<TaskRun>emptyList()
-            : this.taskRunList)
+        Optional<TaskRun> find = this.findTaskRunsByTaskId(id)
             .stream()
-            .filter(taskRun -> taskRun.getTaskId().equals(id) && findParentsValues(taskRun,
-                true).equals(values))
+            .filter(taskRun -> findParentsValues(taskRun, true).equals(values))
             .findFirst();
 
         if (find.isEmpty()) {
@@ -339,6 +345,14 @@ public class Execution implements DeletedInterface, TenantInterface {
         return find.get();
     }
 
+    /**
+     * The positions of the task runs in the list, built on first use then shared by the executions
+     * returned by {@link #withTaskRun(TaskRun)}.
+     */
+    private TaskRunIndex.Positions taskRunPositions() {
+        return this.taskRunIndex.positions(this.taskRunList);
+    }
+
     /**
      * Determine if the current execution is on error &amp; normal tasks Used only from the flow
      *
@@ -429,9 +443,12 @@ public class Execution implements DeletedInterface, TenantInterface {
             return Collections.emptyList();
         }
 
-        return this
-            .getTaskRunList()
-            .stream()
+        // when there is a parent, only its children can match
+        Stream<TaskRun> candidates = parentTaskRun == null ?
+            this.taskRunList.stream() :
+            this.taskRunPositions().positionsOfChildren(parentTaskRun.getId()).stream().map(this.taskRunList::get);
+
+        return candidates
             .filter(t -> resolvedTasks
                 .stream()
                 .anyMatch(
@@ -632,11 +649,14 @@ public class Execution implements DeletedInterface, TenantInterface {
             return true;
         }
 
-        TaskRun current = this.taskRunList
-            .stream()
-            .filter(r -> r.isSame(taskRun))
-            .findFirst()
-            .orElse(null);
+        Integer position = this.taskRunPositions().positionOf(taskRun.getId());
+        TaskRun current = position != null && this.taskRunList.get(position).isSame(taskRun) ?
+            this.taskRunList.get(position) :
+            this.taskRunList
+                .stream()
+                .filter(r -> r.isSame(taskRun))
+                .findFirst()
+                .orElse(null);
 
         if (current == null) {
             return true;
@@ -847,18 +867,20 @@ public class Execution implements DeletedInterface, TenantInterface {
         Map<String, Object> result = HashMap.newHashMap(1);
         Map<String, Object> current = result;
 
-        for (TaskRun t : parents) {
+        for (TaskRun t : parents.subList(0, parents.size() - 1)) {
             HashMap<String, Object> item = HashMap.newHashMap(1);
             current.put(t.getValue(), item);
             current = item;
         }
 
-        if (taskRun.getOutputs() != null) {
-            if (taskRun.getValue() != null) {
-                current.put(taskRun.getValue(), taskRun.getOutputs());
-            } else {
-                current.putAll(taskRun.getOutputs());
-            }
+        String parentValue = parents.getLast().getValue();
+        if (taskRun.getOutputs() == null) {
+            current.put(parentValue, HashMap.newHashMap(1));
+        } else if (taskRun.getValue() != null) {
+            current.put(parentValue, Map.of(taskRun.getValue(), taskRun.getOutputs()));
+        } else {
+            // the outputs are kept as-is, not copied, so an offloaded outputs reference keeps its shape
+            current.put(parentValue, taskRun.getOutputs());
         }
 
         return result;
@@ -903,18 +925,16 @@ public class Execution implements DeletedInterface, TenantInterface {
             return Collections.emptyList();
         }
 
+        TaskRunIndex.Positions positions = this.taskRunPositions();
         ArrayList<TaskRun> result = new ArrayList<>();
         boolean ended = false;
         while (!ended) {
-            final TaskRun finalTaskRun = taskRun;
-            Optional<TaskRun> find = this.taskRunList
-                .stream()
-                .filter(t -> t.getId().equals(finalTaskRun.getParentTaskRunId()))
-                .findFirst();
+            Integer position = taskRun.getParentTaskRunId() == null ? null : positions.positionOf(taskRun.getParentTaskRunId());
 
-            if (find.isPresent()) {
-                result.add(find.get());
-                taskRun = find.get();
+            if (position != null) {
+                TaskRun find = this.taskRunList.get(position);
+                result.add(find);
+                taskRun = find;
             } else {
                 ended = true;
             }
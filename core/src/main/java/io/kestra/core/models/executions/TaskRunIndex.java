@@ -0,0 +1,72 @@
+package io.kestra.core.models.executions;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A lazily built index of the task runs of an {@link Execution}: by task run id, by task id, and by parent task run id.
+ * <p>
+ * The index only stores positions in the task run list. As replacing a task run by a new version of itself
+ * doesn't change its id, its task id nor its parent, the index stays valid and is shared by the execution
+ * returned by {@link Execution#withTaskRun(TaskRun)}.
+ */
+final class TaskRunIndex {
+    private volatile Positions positions;
+
+    Positions positions(List<TaskRun> taskRunList) {
+        Positions current = this.positions;
+
+        // the list is not supposed to be mutated, but we check the size to never use a stale index
+        if (current == null || current.size() != taskRunList.size()) {
+            current = Positions.of(taskRunList);
+            this.positions = current;
+        }
+
+        return current;
+    }
+
+    void shareWith(TaskRunIndex other) {
+        other.positions = this.positions;
+    }
+
+    record Positions(
+        int size,
+        Map<String, Integer> byId,
+        Map<String, List<Integer>> byTaskId,
+        Map<String, List<Integer>> byParentId
+    ) {
+        static Positions of(List<TaskRun> taskRunList) {
+            Map<String, Integer> byId = HashMap.newHashMap(taskRunList.size());
+            Map<String, List<Integer>> byTaskId = new HashMap<>();
+            Map<String, List<Integer>> byParentId = new HashMap<>();
+
+            for (int i = 0; i < taskRunList.size(); i++) {
+                TaskRun taskRun = taskRunList.get(i);
+
+                // the first one wins, as the previous linear lookups did
+                byId.putIfAbsent(taskRun.getId(), i);
+                byTaskId.computeIfAbsent(taskRun.getTaskId(), k -> new ArrayList<>()).add(i);
+                if (taskRun.getParentTaskRunId() != null) {
+                    byParentId.computeIfAbsent(taskRun.getParentTaskRunId(), k -> new ArrayList<>()).add(i);
+                }
+            }
+
+            return new Positions(taskRunList.size(), byId, byTaskId, byParentId);
+        }
+
+        Integer positionOf(String id) {
+            return this.byId.get(id);
+        }
+
+        List<Integer> positionsOfTask(String taskId) {
+            return this.byTaskId.getOrDefault(taskId, Collections.emptyList());
+        }
+
+        List<Integer> positionsOfChildren(String parentTaskRunId) {
+            return this.byParentId.getOrDefault(parentTaskRunId, Collections.emptyList());
+        }
+    }
+}
@@ -67,6 +67,13 @@ public class DefaultPluginRegistry implements PluginRegistry {
     protected DefaultPluginRegistry() {
     }
 
+    /**
+     * Gets the scanner used to find the plugins, which holds the scan statistics.
+     */
+    public PluginScanner getScanner() {
+        return scanner;
+    }
+
     private boolean isInitialized() {
         return initialized.get();
     }
@@ -0,0 +1,209 @@
+package io.kestra.core.plugins;
+
+import io.kestra.core.serializers.JacksonMapper;
+import jakarta.annotation.Nullable;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystemNotFoundException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.CodeSource;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.google.common.hash.Hashing.sha256;
+
+/**
+ * A persisted index of the plugins found in a top-level plugin directory, so that the next scan of an unchanged plugin
+ * doesn't have to load and instantiate all its classes through the {@link java.util.ServiceLoader}.
+ * <p>
+ * Each plugin is keyed by its location and fingerprinted by the path, size and last modification time of its resources.
+ * The whole index is discarded when the Kestra core it was built with has changed, as the core decides how a plugin
+ * class is grouped.
+ * <p>
+ * The index is kept in the plugin directory, or in the location set by <code>kestra.plugins.scan-index.location</code>
+ * when the plugin directory is read-only or shared.
+ */
+@Slf4j
+final class PluginScanIndex {
+    static final String FILE_NAME = ".kestra-plugins-index.json";
+
+    private static final int FORMAT_VERSION = 1;
+    private static final String CORE_FINGERPRINT = coreFingerprint();
+
+    @Nullable
+    private final Path file;
+    private final Map<String, Entry> previous;
+    private final Map<String, Entry> current = new ConcurrentHashMap<>();
+
+    private PluginScanIndex(Path file, Map<String, Entry> previous) {
+        this.file = file;
+        this.previous = previous;
+    }
+
+    /**
+     * An index that is never read nor written, for when the scan index is disabled.
+     */
+    static PluginScanIndex disabled() {
+        return new PluginScanIndex(null, Map.of());
+    }
+
+    /**
+     * Loads the index of the given top-level plugin directory; an empty index is returned when there is none, or when
+     * it can't be used.
+     *
+     * @param location the directory holding the index, null to keep it in the plugin directory.
+     */
+    static PluginScanIndex load(Path pluginPath, @Nullable Path location) {
+        Path file = location == null ?
+            pluginPath.resolve(FILE_NAME) :
+            // a location may hold the indexes of several plugin directories
+            location.resolve(FILE_NAME.replace(".json", "-" + sha256().hashString(pluginPath.toAbsolutePath().toString(), StandardCharsets.UTF_8).toString().substring(0, 16) + ".json"));
+
+        if (!Files.isRegularFile(file)) {
+            return new PluginScanIndex(file, Map.of());
+        }
+
+        try {
+            Content content = JacksonMapper.ofJson(false).readValue(file.toFile(), Content.class);
+            if (content.formatVersion() != FORMAT_VERSION || !Objects.equals(content.coreFingerprint(), CORE_FINGERPRINT) || content.plugins() == null) {
+                log.debug("Ignoring outdated plugin scan index '{}'", file);
+                return new PluginScanIndex(file, Map.of());
+            }
+
+            return new PluginScanIndex(file, content.plugins());
+        } catch (IOException e) {
+            log.warn("Unable to read the plugin scan index '{}', plugins will be fully scanned", file, e);
+            return new PluginScanIndex(file, Map.of());
+        }
+    }
+
+    /**
+     * Gets the entry of the given plugin, if it is indexed and its resources didn't change since.
+     * The entry is kept in the index on the next {@link #save()}.
+     */
+    Optional<Entry> get(ExternalPlugin plugin) {
+        String location = plugin.getLocation().toString();
+        Entry entry = this.previous.get(location);
+        if (entry == null || !entry.fingerprint().equals(fingerprint(plugin))) {
+            return Optional.empty();
+        }
+
+        this.current.put(location, entry);
+        return Optional.of(entry);
+    }
+
+    /**
+     * Indexes the result of a full scan of the given plugin.
+     */
+    @SuppressWarnings("rawtypes")
+    void put(ExternalPlugin plugin, RegisteredPlugin registered) {
+        if (this.file == null) {
+            return;
+        }
+
+        String fingerprint = fingerprint(plugin);
+        if (fingerprint == null) {
+            // not made of plain files, so its changes can't be detected
+            return;
+        }
+
+        Map<String, List<String>> classes = new HashMap<>();
+        registered.allClassGrouped().forEach((group, list) -> {
+            if (!list.isEmpty()) {
+                classes.put(group, list.stream().map(Class::getName).toList());
+            }
+        });
+
+        Map<String, String> aliases = new HashMap<>();
+        registered.getAliases().values().forEach(alias -> aliases.put(alias.getKey(), alias.getValue().getName()));
+
+        this.current.put(plugin.getLocation().toString(), new Entry(
+            fingerprint,
+            registered.version(),
+            classes,
+            aliases,
+            registered.getGuides()
+        ));
+    }
+
+    /**
+     * Persists the index when it changed. Removed plugins are pruned from it.
+     * A location that is not writable only disables the index.
+     */
+    void save() {
+        if (this.file == null || this.current.equals(this.previous)) {
+            return;
+        }
+
+        try {
+            Files.createDirectories(this.file.getParent());
+            Path temp = Files.createTempFile(this.file.getParent(), FILE_NAME, ".tmp");
+            try {
+                JacksonMapper.ofJson().writeValue(temp.toFile(), new Content(FORMAT_VERSION, CORE_FINGERPRINT, new TreeMap<>(this.current)));
+                Files.move(temp, this.file, StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            log.warn("Unable to write the plugin scan index '{}', plugins will be fully scanned on next startup. Cause: {}", this.file, e.getMessage());
+        }
+    }
+
+    private static String fingerprint(ExternalPlugin plugin) {
+        StringBuilder builder = new StringBuilder();
+        for (URL resource : plugin.getResources()) {
+            String fingerprint = fingerprint(resource);
+            if (fingerprint == null) {
+                return null;
+            }
+            builder.append(fingerprint).append('\n');
+        }
+
+        return sha256().hashString(builder.toString(), StandardCharsets.UTF_8).toString();
+    }
+
+    private static String fingerprint(URL resource) {
+        try {
+            Path path = Path.of(resource.toURI());
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            if (!attributes.isRegularFile()) {
+                // a directory of class files, its last modification time doesn't reflect the changes of its content
+                return null;
+            }
+
+            return path + "|" + attributes.size() + "|" + attributes.lastModifiedTime().toMillis();
+        } catch (IOException | URISyntaxException | IllegalArgumentException | FileSystemNotFoundException e) {
+            return null;
+        }
+    }
+
+    private static String coreFingerprint() {
+        CodeSource codeSource = PluginScanIndex.class.getProtectionDomain().getCodeSource();
+        if (codeSource == null || codeSource.getLocation() == null) {
+            return null;
+        }
+
+        // when running from a classes directory (development), only its path is known
+        String fingerprint = fingerprint(codeSource.getLocation());
+        return sha256()
+            .hashString(fingerprint == null ? codeSource.getLocation().toString() : fingerprint, StandardCharsets.UTF_8)
+            .toString();
+    }
+
+    /**
+     * An indexed plugin: the names of its classes grouped as {@link RegisteredPlugin#allClassGrouped()}, its aliases
+     * with the name of the class they point to, its guides and its version.
+     */
+    record Entry(String fingerprint, String version, Map<String, List<String>> classes, Map<String, String> aliases, List<String> guides) {
+    }
+
+    record Content(int formatVersion, String coreFingerprint, Map<String, Entry> plugins) {
+    }
+}
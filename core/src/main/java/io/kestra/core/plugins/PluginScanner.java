@@ -13,6 +13,9 @@ import io.kestra.core.models.triggers.AbstractTrigger;
 import io.kestra.core.secret.SecretPluginInterface;
 import io.kestra.core.storages.StorageInterface;
 import io.swagger.v3.oas.annotations.Hidden;
+import jakarta.annotation.Nullable;
+import lombok.Getter;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.io.IOUtils;
 
@@ -24,6 +27,8 @@ import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
 import java.util.jar.JarFile;
 import java.util.jar.Manifest;
@@ -33,17 +38,56 @@ import java.util.stream.Collectors;
 public class PluginScanner {
     ClassLoader parent;
 
+    /**
+     * The total time spent scanning for plugins, in milliseconds.
+     */
+    @Getter
+    private final AtomicLong scanDuration = new AtomicLong();
+
+    /**
+     * The number of plugin paths registered from a scan index.
+     */
+    @Getter
+    private final AtomicLong indexedCount = new AtomicLong();
+
+    /**
+     * The number of plugin paths that had to be fully scanned.
+     */
+    @Getter
+    private final AtomicLong scannedCount = new AtomicLong();
+
+    /**
+     * Whether the plugins are registered from, and indexed in, a {@link PluginScanIndex}.
+     * Disabled by default so a scan never writes into the scanned directory unless asked to.
+     */
+    @Setter
+    private volatile boolean scanIndexEnabled = false;
+
+    /**
+     * The directory holding the scan indexes, null to keep each index in the top-level plugin directory it indexes.
+     */
+    @Setter
+    @Nullable
+    private volatile Path scanIndexLocation;
+
     public PluginScanner(final ClassLoader parent) {
         this.parent = parent;
     }
 
     /**
      * Scans the specified top-level plugin directory for plugins.
+     * <p>
+     * The plugins that didn't change since the previous scan are registered from the {@link PluginScanIndex} of the
+     * directory: their classes are loaded without being initialized or instantiated.
      *
      * @param pluginPaths the absolute path to a top-level plugin directory.
      */
     public List<RegisteredPlugin> scan(final Path pluginPaths) {
         long start = System.currentTimeMillis();
+        PluginScanIndex index = this.scanIndexEnabled ? PluginScanIndex.load(pluginPaths, this.scanIndexLocation) : PluginScanIndex.disabled();
+        AtomicInteger fromIndex = new AtomicInteger();
+        AtomicInteger fromScan = new AtomicInteger();
+
         List<RegisteredPlugin> scanResult = new PluginResolver(pluginPaths)
             .resolves()
             .parallelStream()
@@ -56,19 +100,36 @@ public class PluginScanner {
                     this.parent
                 );
 
+                Optional<RegisteredPlugin> indexed = index.get(plugin)
+                    .flatMap(entry -> fromIndex(classLoader, plugin, entry));
+                if (indexed.isPresent()) {
+                    fromIndex.incrementAndGet();
+                    return indexed.get();
+                }
+
                 log.debug(
                     "Scanning plugins from paths '{}' with classLoader '{}'",
                     Arrays.stream(plugin.getResources()).map(URL::getPath).collect(Collectors.joining("", "\n\t", "")),
                     classLoader
                 );
 
-                return scanClassLoader(classLoader, plugin, null);
+                RegisteredPlugin scanned = scanClassLoader(classLoader, plugin, null);
+                index.put(plugin, scanned);
+                fromScan.incrementAndGet();
+                return scanned;
             })
             .filter(RegisteredPlugin::isValid)
             .toList();
 
+        index.save();
+
+        long duration = System.currentTimeMillis() - start;
+        this.scanDuration.addAndGet(duration);
+        this.indexedCount.addAndGet(fromIndex.get());
+        this.scannedCount.addAndGet(fromScan.get());
+
         int nbPlugins = scanResult.stream().mapToInt(registeredPlugin -> registeredPlugin.allClass().size()).sum();
-        log.info("Registered {} plugins from {} groups (scan done in {}ms)", nbPlugins, scanResult.size(), System.currentTimeMillis() - start);
+        log.info("Registered {} plugins from {} groups (scan done in {}ms, {} plugin paths read from the scan index)", nbPlugins, scanResult.size(), duration, fromIndex.get());
         return scanResult;
     }
 
@@ -87,7 +148,9 @@ public class PluginScanner {
             ));
 
             RegisteredPlugin corePlugin = scanClassLoader(PluginScanner.class.getClassLoader(), null, manifest);
-            log.info("Registered {} core plugins (scan done in {}ms)", corePlugin.allClass().size(), System.currentTimeMillis() - start);
+            long duration = System.currentTimeMillis() - start;
+            this.scanDuration.addAndGet(duration);
+            log.info("Registered {} core plugins (scan done in {}ms)", corePlugin.allClass().size(), duration);
             return corePlugin;
         } catch (IOException e) {
             throw new RuntimeException(e);
@@ -229,6 +292,62 @@ public class PluginScanner {
             .build();
     }
 
+    /**
+     * Registers a plugin from its index entry. Returns empty, so the plugin is fully scanned, when its version is not the
+     * indexed one or when one of the indexed classes can't be loaded anymore.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Optional<RegisteredPlugin> fromIndex(final ClassLoader classLoader,
+                                                 final ExternalPlugin externalPlugin,
+                                                 final PluginScanIndex.Entry entry) {
+        Manifest manifest = getManifest(classLoader);
+        String version = manifest == null ? null : manifest.getMainAttributes().getValue("X-Kestra-Version");
+        if (!Objects.equals(version, entry.version()) || entry.classes() == null || entry.aliases() == null) {
+            return Optional.empty();
+        }
+
+        try {
+            Map<String, List> classes = new HashMap<>();
+            for (Map.Entry<String, List<String>> group : entry.classes().entrySet()) {
+                List<Class<?>> list = new ArrayList<>();
+                for (String name : group.getValue()) {
+                    list.add(Class.forName(name, false, classLoader));
+                }
+                classes.put(group.getKey(), list);
+            }
+
+            Map<String, Map.Entry<String, Class<?>>> aliases = new HashMap<>();
+            for (Map.Entry<String, String> alias : entry.aliases().entrySet()) {
+                aliases.put(alias.getKey().toLowerCase(), Map.entry(alias.getKey(), Class.forName(alias.getValue(), false, classLoader)));
+            }
+
+            log.debug("Loading plugins from the scan index for path: {}", externalPlugin.getLocation());
+
+            return Optional.of(RegisteredPlugin.builder()
+                .externalPlugin(externalPlugin)
+                .manifest(manifest)
+                .classLoader(classLoader)
+                .tasks(classes.getOrDefault("tasks", List.of()))
+                .triggers(classes.getOrDefault("triggers", List.of()))
+                .conditions(classes.getOrDefault("conditions", List.of()))
+                .storages(classes.getOrDefault("storages", List.of()))
+                .secrets(classes.getOrDefault("secrets", List.of()))
+                .apps(classes.getOrDefault("apps", List.of()))
+                .appBlocks(classes.getOrDefault("app-blocks", List.of()))
+                .taskRunners(classes.getOrDefault("task-runners", List.of()))
+                .charts(classes.getOrDefault("charts", List.of()))
+                .dataFilters(classes.getOrDefault("data-filters", List.of()))
+                .guides(entry.guides() == null ? List.of() : entry.guides())
+                .logExporters(classes.getOrDefault("log-exporters", List.of()))
+                .aliases(aliases)
+                .build()
+            );
+        } catch (ClassNotFoundException | LinkageError e) {
+            log.debug("Unable to load the indexed plugin classes from '{}', scanning it. Cause: {}", externalPlugin.getLocation(), e.getMessage());
+            return Optional.empty();
+        }
+    }
+
     public static Manifest getManifest(ClassLoader classLoader) {
         try {
             URL url = classLoader.getResource(JarFile.MANIFEST_NAME);
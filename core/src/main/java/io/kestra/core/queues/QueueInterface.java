@@ -5,6 +5,7 @@ import io.kestra.core.models.Pauseable;
 import io.kestra.core.utils.Either;
 
 import java.io.Closeable;
+import java.util.List;
 import java.util.function.Consumer;
 
 public interface QueueInterface<T> extends Closeable, Pauseable {
@@ -20,6 +21,19 @@ public interface QueueInterface<T> extends Closeable, Pauseable {
 
     void emitAsync(String consumerGroup, T message) throws QueueException;
 
+    /**
+     * Emit multiple messages at once, implementations may write them in bulk.
+     */
+    default void emitBatch(List<T> messages) throws QueueException {
+        emitBatch(null, messages);
+    }
+
+    default void emitBatch(String consumerGroup, List<T> messages) throws QueueException {
+        for (T message : messages) {
+            emit(consumerGroup, message);
+        }
+    }
+
     default void delete(T message) throws QueueException {
         delete(null, message);
     }
@@ -105,6 +105,13 @@ public interface ExecutionRepositoryInterface extends SaveRepositoryInterface<Ex
 
     Integer purge(Execution execution);
 
+    /**
+     * Purge a chunk of executions, implementations should override it to purge them with a single statement.
+     */
+    default Integer purge(List<Execution> executions) {
+        return executions.stream().mapToInt(this::purge).sum();
+    }
+
     List<DailyExecutionStatistics> dailyStatisticsForAllTenants(
         @Nullable String query,
         @Nullable String namespace,
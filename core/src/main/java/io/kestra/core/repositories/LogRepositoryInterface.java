@@ -103,6 +103,13 @@ public interface LogRepositoryInterface extends SaveRepositoryInterface<LogEntry
 
     Integer purge(Execution execution);
 
+    /**
+     * Purge a chunk of executions, implementations should override it to purge them with a single statement.
+     */
+    default Integer purge(List<Execution> executions) {
+        return executions.stream().mapToInt(this::purge).sum();
+    }
+
     void deleteByQuery(String tenantId, String executionId, String taskId, String taskRunId, Level minLevel, Integer attempt);
 
     void deleteByQuery(String tenantId, String namespace, String flowId, String triggerId);
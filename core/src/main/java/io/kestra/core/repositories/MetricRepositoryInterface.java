@@ -28,6 +28,13 @@ public interface MetricRepositoryInterface extends SaveRepositoryInterface<Metri
 
     Integer purge(Execution execution);
 
+    /**
+     * Purge a chunk of executions, implementations should override it to purge them with a single statement.
+     */
+    default Integer purge(List<Execution> executions) {
+        return executions.stream().mapToInt(this::purge).sum();
+    }
+
     default Function<String, String> sortMapping() throws IllegalArgumentException {
         return s -> s;
     }
@@ -0,0 +1,46 @@
+package io.kestra.core.runners;
+
+import io.kestra.core.models.HasUID;
+import io.kestra.core.utils.IdUtils;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Value;
+import lombok.With;
+
+import jakarta.annotation.Nullable;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.Instant;
+
+/**
+ * The number of concurrency slots used by the running executions of a flow.
+ */
+@Value
+@AllArgsConstructor
+@Builder
+public class ConcurrencyLimit implements HasUID {
+    String tenantId;
+
+    @NotNull
+    String namespace;
+
+    @NotNull
+    String flowId;
+
+    @With
+    @NotNull
+    Integer running;
+
+    /**
+     * The last time a slot was acquired or given to a queued execution.
+     */
+    @With
+    @Nullable
+    Instant acquired;
+
+    /** {@inheritDoc **/
+    @Override
+    public String uid() {
+        return IdUtils.fromParts(this.tenantId, this.namespace, this.flowId);
+    }
+}
@@ -4,41 +4,31 @@ import io.kestra.core.models.flows.FlowWithSource;
 import io.kestra.core.repositories.FlowRepositoryInterface;
 import io.kestra.core.services.FlowListenersInterface;
 import jakarta.inject.Singleton;
-import java.util.Objects;
-import lombok.Setter;
 
 import java.util.Collection;
-import java.util.List;
 import java.util.Optional;
 
 @Singleton
 public class DefaultFlowExecutor implements FlowExecutorInterface {
     private final FlowRepositoryInterface flowRepository;
 
-    @Setter
-    private List<FlowWithSource> allFlows;
+    private final FlowListenersInterface flowListeners;
 
     public DefaultFlowExecutor(FlowListenersInterface flowListeners, FlowRepositoryInterface flowRepository) {
         this.flowRepository = flowRepository;
-
-        flowListeners.listen(flows -> this.allFlows = flows);
+        this.flowListeners = flowListeners;
     }
 
     @Override
     public Collection<FlowWithSource> allLastVersion() {
-        return this.allFlows;
+        return this.flowListeners.flows();
     }
 
     @Override
     public Optional<FlowWithSource> findById(String tenantId, String namespace, String id, Optional<Integer> revision) {
-        Optional<FlowWithSource> find = this.allFlows
-            .stream()
-            .filter(flow -> ((flow.getTenantId() == null && tenantId == null) || Objects.equals(flow.getTenantId(), tenantId)) &&
-                flow.getNamespace().equals(namespace) &&
-                flow.getId().equals(id) &&
-                (revision.isEmpty() || revision.get().equals(flow.getRevision()))
-            )
-            .findFirst();
+        // flow listeners only keep the last revision, older ones are fetched from the repository
+        Optional<FlowWithSource> find = this.flowListeners.findById(tenantId, namespace, id)
+            .filter(flow -> revision.isEmpty() || revision.get().equals(flow.getRevision()));
 
         if (find.isPresent()) {
             return find;
@@ -1,21 +1,136 @@
 package io.kestra.core.runners;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import io.kestra.core.models.flows.State;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
 @Data
 @NoArgsConstructor
 public class ExecutorState {
+    private static final String CONCURRENCY_SLOT_KEY = "concurrencySlot";
+
     private String executionId;
     private Map<String, State.Type> workerTaskDeduplication = new ConcurrentHashMap<>();
     private Map<String, String> childDeduplication = new ConcurrentHashMap<>();
     private Map<String, State.Type> subflowExecutionDeduplication = new ConcurrentHashMap<>();
 
+    /**
+     * Whether the execution holds a concurrency slot of its flow, null if it never acquired one.
+     */
+    @Setter(AccessLevel.NONE)
+    private Boolean concurrencySlot;
+
+    /**
+     * The deduplication entries added or updated since this state was loaded, so a storage can only write these ones.
+     */
+    @JsonIgnore
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private transient Map<EntryKey, Entry> changes = new LinkedHashMap<>();
+
     public ExecutorState(String executionId) {
         this.executionId = executionId;
     }
+
+    /**
+     * Create a copy of this state, with its pending changes, that can be mutated without affecting this one.
+     */
+    public ExecutorState copy() {
+        ExecutorState copy = new ExecutorState(this.executionId);
+        copy.workerTaskDeduplication.putAll(this.workerTaskDeduplication);
+        copy.childDeduplication.putAll(this.childDeduplication);
+        copy.subflowExecutionDeduplication.putAll(this.subflowExecutionDeduplication);
+        copy.concurrencySlot = this.concurrencySlot;
+        copy.changes.putAll(this.changes);
+
+        return copy;
+    }
+
+    public void putWorkerTaskDeduplication(String key, State.Type state) {
+        this.track(Kind.WORKER_TASK, key, state.name(), this.workerTaskDeduplication.put(key, state) == null);
+    }
+
+    public void putChildDeduplication(String key, String taskRunId) {
+        this.track(Kind.CHILD, key, taskRunId, this.childDeduplication.put(key, taskRunId) == null);
+    }
+
+    public void putSubflowExecutionDeduplication(String key, State.Type state) {
+        this.track(Kind.SUBFLOW_EXECUTION, key, state.name(), this.subflowExecutionDeduplication.put(key, state) == null);
+    }
+
+    public void putConcurrencySlot(boolean held) {
+        this.track(Kind.CONCURRENCY_SLOT, CONCURRENCY_SLOT_KEY, String.valueOf(held), this.concurrencySlot == null);
+        this.concurrencySlot = held;
+    }
+
+    /**
+     * Load an entry read from a storage, without tracking it as a change.
+     */
+    public void load(Kind kind, String key, String value) {
+        switch (kind) {
+            case WORKER_TASK -> this.workerTaskDeduplication.put(key, State.Type.valueOf(value));
+            case CHILD -> this.childDeduplication.put(key, value);
+            case SUBFLOW_EXECUTION -> this.subflowExecutionDeduplication.put(key, State.Type.valueOf(value));
+            case CONCURRENCY_SLOT -> this.concurrencySlot = Boolean.valueOf(value);
+        }
+    }
+
+    /**
+     * Track all the entries as new ones, e.g. to copy a state from one storage to another.
+     */
+    public void trackAll() {
+        this.workerTaskDeduplication.forEach((key, value) -> this.track(Kind.WORKER_TASK, key, value.name(), true));
+        this.childDeduplication.forEach((key, value) -> this.track(Kind.CHILD, key, value, true));
+        this.subflowExecutionDeduplication.forEach((key, value) -> this.track(Kind.SUBFLOW_EXECUTION, key, value.name(), true));
+        if (this.concurrencySlot != null) {
+            this.track(Kind.CONCURRENCY_SLOT, CONCURRENCY_SLOT_KEY, this.concurrencySlot.toString(), true);
+        }
+    }
+
+    public List<Entry> changes() {
+        return new ArrayList<>(this.changes.values());
+    }
+
+    public void clearChanges() {
+        this.changes.clear();
+    }
+
+    private void track(Kind kind, String key, String value, boolean created) {
+        // an entry created then updated before being stored is still a new one
+        this.changes.merge(
+            new EntryKey(kind, key),
+            new Entry(kind, key, value, created),
+            (previous, current) -> new Entry(kind, key, value, previous.created() || current.created())
+        );
+    }
+
+    public enum Kind {
+        WORKER_TASK,
+        CHILD,
+        SUBFLOW_EXECUTION,
+        CONCURRENCY_SLOT
+    }
+
+    /**
+     * A deduplication entry, {@code created} if it didn't exist when the state was loaded.
+     */
+    public record Entry(Kind kind, String key, String value, boolean created) {
+    }
+
+    private record EntryKey(Kind kind, String key) {
+    }
 }
@@ -1,10 +1,11 @@
 package io.kestra.core.runners;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.base.Suppliers;
+import io.kestra.core.models.flows.Flow;
 import io.kestra.core.models.flows.FlowWithException;
 import io.kestra.core.models.flows.FlowWithSource;
 import io.kestra.core.serializers.JacksonMapper;
-import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import io.kestra.core.queues.QueueFactoryInterface;
 import io.kestra.core.queues.QueueInterface;
@@ -12,17 +13,28 @@ import io.kestra.core.repositories.FlowRepositoryInterface;
 import io.kestra.core.services.FlowListenersInterface;
 
 import java.io.IOException;
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Objects;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 import jakarta.inject.Inject;
 import jakarta.inject.Named;
 import jakarta.inject.Singleton;
 
+/**
+ * Keep the last revision of all the flows up to date from the flow queue.
+ * <p>
+ * Flows are indexed by uid, and the list of all the flows is an immutable snapshot
+ * only built when it is requested after an update, then shared by all the consumers.
+ * The list consumers are notified of each update with a lazy view of this snapshot, so that a bulk update doesn't copy
+ * all the flows on each message for consumers that don't read them right away.
+ */
 @Singleton
 @Slf4j
 public class FlowListeners implements FlowListenersInterface {
@@ -30,7 +42,8 @@ public class FlowListeners implements FlowListenersInterface {
 
     private Boolean isStarted = false;
     private final QueueInterface<FlowWithSource> flowQueue;
-    private final List<FlowWithSource> flows;
+    private final Map<String, FlowWithSource> flows = new ConcurrentHashMap<>();
+    private volatile List<FlowWithSource> snapshot;
     private final List<Consumer<List<FlowWithSource>>> consumers = new ArrayList<>();
 
     private final List<BiConsumer<FlowWithSource, FlowWithSource>> consumersEach = new ArrayList<>();
@@ -41,7 +54,7 @@ public class FlowListeners implements FlowListenersInterface {
         @Named(QueueFactoryInterface.FLOW_NAMED) QueueInterface<FlowWithSource> flowQueue
     ) {
         this.flowQueue = flowQueue;
-        this.flows = flowRepository.findAllWithSourceForAllTenants();
+        flowRepository.findAllWithSourceForAllTenants().forEach(flow -> this.flows.put(flow.uidWithoutRevision(), flow));
     }
 
     @Override
@@ -97,35 +110,40 @@ public class FlowListeners implements FlowListenersInterface {
     }
 
     private Optional<FlowWithSource> previous(FlowWithSource flow) {
-        return flows
-            .stream()
-            .filter(r -> Objects.equals(r.getTenantId(), flow.getTenantId()) && r.getNamespace().equals(flow.getNamespace()) && r.getId().equals(flow.getId()))
-            .findFirst();
+        return Optional.ofNullable(this.flows.get(flow.uidWithoutRevision()));
     }
 
     private boolean remove(FlowWithSource flow) {
         synchronized (this) {
-            boolean remove = flows.removeIf(r -> Objects.equals(r.getTenantId(), flow.getTenantId()) && r.getNamespace().equals(flow.getNamespace()) && r.getId().equals(flow.getId()));
+            boolean remove = this.flows.remove(flow.uidWithoutRevision()) != null;
             if (!remove && flow.isDeleted()) {
                 log.warn("Can't remove flow {}.{}", flow.getNamespace(), flow.getId());
             }
 
+            if (remove) {
+                this.snapshot = null;
+            }
+
             return remove;
         }
     }
 
     private void upsert(FlowWithSource flow) {
         synchronized (this) {
-            this.remove(flow);
-
-            this.flows.add(flow);
+            this.flows.put(flow.uidWithoutRevision(), flow);
+            this.snapshot = null;
         }
     }
 
     private void notifyConsumers() {
         synchronized (this) {
+            if (this.consumers.isEmpty()) {
+                return;
+            }
+
+            List<FlowWithSource> flows = new LazySnapshot();
             this.consumers
-                .forEach(consumer -> consumer.accept(new ArrayList<>(this.flows)));
+                .forEach(consumer -> consumer.accept(flows));
         }
     }
 
@@ -140,7 +158,7 @@ public class FlowListeners implements FlowListenersInterface {
     public void listen(Consumer<List<FlowWithSource>> consumer) {
         synchronized (this) {
             consumers.add(consumer);
-            consumer.accept(new ArrayList<>(this.flows()));
+            consumer.accept(this.flows());
         }
     }
 
@@ -151,10 +169,42 @@ public class FlowListeners implements FlowListenersInterface {
         }
     }
 
-    @SneakyThrows
     @Override
     public List<FlowWithSource> flows() {
-        // we forced a deep clone to avoid concurrency where instance are changed during iteration (especially scheduler).
-        return new ArrayList<>(this.flows);
+        // the snapshot is immutable, so it can be iterated while flows are updated (especially scheduler).
+        List<FlowWithSource> current = this.snapshot;
+        if (current == null) {
+            synchronized (this) {
+                current = this.snapshot;
+                if (current == null) {
+                    current = List.copyOf(this.flows.values());
+                    this.snapshot = current;
+                }
+            }
+        }
+
+        return current;
+    }
+
+    @Override
+    public Optional<FlowWithSource> findById(String tenantId, String namespace, String id) {
+        return Optional.ofNullable(this.flows.get(Flow.uidWithoutRevision(tenantId, namespace, id)));
+    }
+
+    /**
+     * The snapshot of the flows at the time of the first access to this list.
+     */
+    private final class LazySnapshot extends AbstractList<FlowWithSource> {
+        private final Supplier<List<FlowWithSource>> delegate = Suppliers.memoize(FlowListeners.this::flows);
+
+        @Override
+        public FlowWithSource get(int index) {
+            return this.delegate.get().get(index);
+        }
+
+        @Override
+        public int size() {
+            return this.delegate.get().size();
+        }
     }
 }
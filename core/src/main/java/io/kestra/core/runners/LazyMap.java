@@ -0,0 +1,37 @@
+package io.kestra.core.runners;
+
+import com.google.common.base.Suppliers;
+
+import java.util.AbstractMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * A read-only map computed on first access then memoized.
+ * <p>
+ * Copying a map holding it only copies the reference, so the content is only computed
+ * when an expression uses it, or when it is serialized.
+ */
+class LazyMap extends AbstractMap<String, Object> {
+    private final Supplier<Map<String, Object>> delegate;
+
+    LazyMap(Supplier<Map<String, Object>> loader) {
+        this.delegate = Suppliers.memoize(loader::get);
+    }
+
+    @Override
+    public Object get(Object key) {
+        return this.delegate.get().get(key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return this.delegate.get().containsKey(key);
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return this.delegate.get().entrySet();
+    }
+}
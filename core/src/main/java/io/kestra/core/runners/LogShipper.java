@@ -0,0 +1,231 @@
+package io.kestra.core.runners;
+
+import io.kestra.core.metrics.MetricRegistry;
+import io.kestra.core.models.executions.LogEntry;
+import io.kestra.core.queues.QueueException;
+import io.kestra.core.queues.QueueFactoryInterface;
+import io.kestra.core.queues.QueueInterface;
+import io.kestra.core.utils.ExecutorsUtils;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+import jakarta.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.event.Level;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Ship the task logs to the log queue in batches, from a bounded buffer.
+ * <p>
+ * Log entries are emitted in the order they are received by a single thread, so waiting for the entries
+ * received before a given point with {@link #flush()} guarantees that they are all emitted.
+ * When the buffer is full, the {@link LogShipperConfiguration.OverflowPolicy} decides if the logging thread
+ * is blocked or if the log entry is dropped.
+ */
+@Singleton
+@Slf4j
+public class LogShipper {
+    private static final long POLL_TIMEOUT_MILLIS = 100;
+
+    private final QueueInterface<LogEntry> logQueue;
+    private final LogShipperConfiguration configuration;
+    private final MetricRegistry metricRegistry;
+    private final ExecutorsUtils executorsUtils;
+
+    private final ArrayBlockingQueue<LogEntry> buffer;
+    private final AtomicLong queued;
+    private final AtomicLong received = new AtomicLong();
+    private final AtomicLong shipped = new AtomicLong();
+    private final AtomicLong overflowed = new AtomicLong();
+    private final AtomicBoolean started = new AtomicBoolean(false);
+    private volatile boolean closed = false;
+
+    private ExecutorService executorService;
+
+    @Inject
+    public LogShipper(
+        @Named(QueueFactoryInterface.WORKERTASKLOG_NAMED) QueueInterface<LogEntry> logQueue,
+        LogShipperConfiguration configuration,
+        MetricRegistry metricRegistry,
+        ExecutorsUtils executorsUtils
+    ) {
+        this.logQueue = logQueue;
+        this.configuration = configuration;
+        this.metricRegistry = metricRegistry;
+        this.executorsUtils = executorsUtils;
+
+        this.buffer = new ArrayBlockingQueue<>(configuration.bufferSize());
+        this.queued = metricRegistry.gauge(MetricRegistry.METRIC_WORKER_LOGS_QUEUED_COUNT, new AtomicLong());
+    }
+
+    public boolean isEnabled() {
+        return this.configuration.enabled();
+    }
+
+    /**
+     * Add a log entry to the buffer, applying the overflow policy if it's full.
+     */
+    public void offer(LogEntry logEntry) {
+        if (this.closed) {
+            try {
+                this.logQueue.emitAsync(logEntry);
+            } catch (QueueException | RuntimeException e) {
+                this.dropped("error", 1);
+            }
+            return;
+        }
+
+        this.start();
+
+        boolean added = this.buffer.offer(logEntry) || switch (this.configuration.overflowPolicy()) {
+            case BLOCK -> this.put(logEntry);
+            case DROP_DEBUG_FIRST -> !isDebug(logEntry) && this.put(logEntry);
+            case SAMPLE -> (isWarning(logEntry) || this.overflowed.incrementAndGet() % this.configuration.sampleRate() == 0) && this.put(logEntry);
+        };
+
+        if (added) {
+            this.received.incrementAndGet();
+            this.queued.incrementAndGet();
+        } else {
+            this.dropped("overflow", 1);
+        }
+    }
+
+    /**
+     * Wait until all the log entries received before this call are emitted, or until the flush timeout.
+     */
+    public void flush() {
+        long target = this.received.get();
+        long deadline = System.currentTimeMillis() + this.configuration.flushTimeout().toMillis();
+
+        synchronized (this.shipped) {
+            long remaining = deadline - System.currentTimeMillis();
+            while (this.shipped.get() < target && remaining > 0) {
+                try {
+                    this.shipped.wait(remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                remaining = deadline - System.currentTimeMillis();
+            }
+        }
+    }
+
+    private void start() {
+        if (this.started.compareAndSet(false, true)) {
+            this.executorService = executorsUtils.singleThreadExecutor("log-shipper");
+            this.executorService.execute(this::run);
+        }
+    }
+
+    private boolean put(LogEntry logEntry) {
+        try {
+            this.buffer.put(logEntry);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void run() {
+        List<LogEntry> batch = new ArrayList<>(this.configuration.batchSize());
+
+        while (!this.closed || !this.buffer.isEmpty()) {
+            try {
+                LogEntry first = this.buffer.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+
+                batch.add(first);
+                this.buffer.drainTo(batch, this.configuration.batchSize() - 1);
+
+                this.ship(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                // this is the only shipping thread, if it ends the buffer fills up and the task loggers block forever
+                log.error("Unexpected error while shipping log entries", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void ship(List<LogEntry> batch) {
+        try {
+            this.logQueue.emitBatch(batch);
+
+            this.metricRegistry
+                .summary(MetricRegistry.METRIC_WORKER_LOGS_BATCH_SIZE)
+                .record(batch.size());
+        } catch (QueueException | RuntimeException e) {
+            // a failing log entry must not discard the others, so we fall back to emit them one by one;
+            // a repository or driver failure surfaces as a runtime exception and must not end the shipping thread either
+            int failed = 0;
+            for (LogEntry logEntry : batch) {
+                try {
+                    this.logQueue.emit(logEntry);
+                } catch (QueueException | RuntimeException ex) {
+                    failed++;
+                }
+            }
+
+            if (failed > 0) {
+                log.warn("Unable to emit {} of {} log entries: {}", failed, batch.size(), e.getMessage());
+                this.dropped("error", failed);
+            }
+        } finally {
+            this.queued.addAndGet(-batch.size());
+
+            synchronized (this.shipped) {
+                this.shipped.addAndGet(batch.size());
+                this.shipped.notifyAll();
+            }
+        }
+    }
+
+    private void dropped(String reason, int count) {
+        this.metricRegistry
+            .counter(MetricRegistry.METRIC_WORKER_LOGS_DROPPED_COUNT, "reason", reason)
+            .increment(count);
+    }
+
+    private static boolean isDebug(LogEntry logEntry) {
+        return logEntry.getLevel() == Level.DEBUG || logEntry.getLevel() == Level.TRACE;
+    }
+
+    private static boolean isWarning(LogEntry logEntry) {
+        return logEntry.getLevel() == Level.WARN || logEntry.getLevel() == Level.ERROR;
+    }
+
+    @PreDestroy
+    public void close() {
+        if (this.closed) {
+            return;
+        }
+
+        this.closed = true;
+
+        if (this.executorService != null) {
+            this.executorService.shutdown();
+            try {
+                if (!this.executorService.awaitTermination(this.configuration.flushTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                    log.warn("Unable to emit {} pending log entries before shutdown", this.buffer.size());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
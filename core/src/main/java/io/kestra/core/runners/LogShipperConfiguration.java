@@ -0,0 +1,53 @@
+package io.kestra.core.runners;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+import io.micronaut.core.bind.annotation.Bindable;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the {@link LogShipper}.
+ *
+ * @param enabled        whether task logs are batched by the log shipper instead of being emitted one by one.
+ * @param bufferSize     the maximum number of log entries waiting to be emitted.
+ * @param batchSize      the maximum number of log entries emitted at once.
+ * @param overflowPolicy what to do with new log entries when the buffer is full.
+ * @param sampleRate     with the {@link OverflowPolicy#SAMPLE} policy, keep one log entry out of this number while the buffer is full.
+ * @param flushTimeout   the maximum time to wait for pending log entries to be emitted when a task terminates.
+ */
+@ConfigurationProperties("kestra.worker.logs")
+public record LogShipperConfiguration(
+    @NotNull @Bindable(defaultValue = "false")
+    Boolean enabled,
+
+    @NotNull @Bindable(defaultValue = "10000")
+    Integer bufferSize,
+
+    @NotNull @Bindable(defaultValue = "500")
+    Integer batchSize,
+
+    @NotNull @Bindable(defaultValue = "BLOCK")
+    OverflowPolicy overflowPolicy,
+
+    @NotNull @Bindable(defaultValue = "10")
+    Integer sampleRate,
+
+    @NotNull @Bindable(defaultValue = "10s")
+    Duration flushTimeout
+) {
+    public enum OverflowPolicy {
+        /**
+         * Block the task until there is room in the buffer.
+         */
+        BLOCK,
+        /**
+         * Drop DEBUG and TRACE log entries, and block for the others.
+         */
+        DROP_DEBUG_FIRST,
+        /**
+         * Keep one log entry out of the sample rate, and block for it. WARN and ERROR log entries are always kept.
+         */
+        SAMPLE
+    }
+}
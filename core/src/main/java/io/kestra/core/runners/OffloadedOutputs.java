@@ -0,0 +1,142 @@
+package io.kestra.core.runners;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import io.kestra.core.serializers.JacksonMapper;
+import io.kestra.core.storages.StorageInterface;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Large task outputs are stored in the internal storage by the worker, and the task run only keeps a reference to them,
+ * so that the queue messages and the executions stay small.
+ * <p>
+ * The reference is a map with a single {@link #OFFLOADED_OUTPUTS_KEY} entry holding the storage URI.
+ * It is resolved lazily in the run variables, so the outputs are only read from the storage when an expression uses them,
+ * and the worker resolves the references again as the run contexts it receives only hold them.
+ * The flow outputs, and so the subflow outputs, the {@code ExecutionOutputs} condition and the flow triggers, are rendered
+ * from the run variables so they always hold the resolved values.
+ * <p>
+ * The task runs stored in the executions, and so the executions read from the repository or the queues, only hold the reference:
+ * the API resolves it when it serializes the task runs.
+ */
+public final class OffloadedOutputs {
+    public static final String OFFLOADED_OUTPUTS_KEY = "$offloadedOutputs";
+
+    private static final ObjectMapper MAPPER = JacksonMapper.ofJson();
+    private static final TypeReference<Map<String, Object>> TYPE_REFERENCE = new TypeReference<>() {};
+
+    private OffloadedOutputs() {
+        // utility class pattern
+    }
+
+    /**
+     * Store the outputs in the internal storage if their serialized size is over the threshold.
+     *
+     * @return the reference to the stored outputs, or the outputs themselves if they are small enough.
+     */
+    public static Map<String, Object> offload(RunContext runContext, Map<String, Object> outputs, long threshold) throws IOException {
+        if (outputs == null || outputs.isEmpty() || isOffloaded(outputs)) {
+            return outputs;
+        }
+
+        byte[] bytes = MAPPER.writeValueAsBytes(outputs);
+        if (bytes.length <= threshold) {
+            return outputs;
+        }
+
+        URI uri = runContext.storage().putFile(new ByteArrayInputStream(bytes), "outputs.json");
+
+        return Map.of(OFFLOADED_OUTPUTS_KEY, uri.toString());
+    }
+
+    public static boolean isOffloaded(Map<?, ?> outputs) {
+        return outputs != null && outputs.size() == 1 && outputs.get(OFFLOADED_OUTPUTS_KEY) instanceof String;
+    }
+
+    /**
+     * Read the outputs from the internal storage.
+     */
+    public static Map<String, Object> read(StorageInterface storageInterface, String tenantId, String namespace, Map<?, ?> reference) throws IOException {
+        URI uri = URI.create((String) reference.get(OFFLOADED_OUTPUTS_KEY));
+
+        try (InputStream inputStream = storageInterface.get(tenantId, namespace, uri)) {
+            return MAPPER.readValue(inputStream, TYPE_REFERENCE);
+        }
+    }
+
+    static Map<String, Object> readUnchecked(StorageInterface storageInterface, String tenantId, String namespace, Map<?, ?> reference) {
+        try {
+            return read(storageInterface, tenantId, namespace, reference);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read the offloaded outputs " + reference.get(OFFLOADED_OUTPUTS_KEY), e);
+        }
+    }
+
+    /**
+     * Replace all the references found in the outputs by maps reading the outputs from the storage on first access.
+     */
+    @SuppressWarnings("unchecked")
+    static Map<String, Object> resolveLazily(Map<String, Object> outputs, Function<Map<?, ?>, Map<String, Object>> loader) {
+        // already resolved outputs must not be read to be checked
+        if (outputs instanceof LazyOutputs) {
+            return outputs;
+        }
+
+        if (isOffloaded(outputs)) {
+            return new LazyOutputs(outputs, loader);
+        }
+
+        Map<String, Object> result = null;
+        for (Map.Entry<String, Object> entry : outputs.entrySet()) {
+            if (entry.getValue() instanceof Map<?, ?> value && !(value instanceof LazyOutputs)) {
+                Map<String, Object> resolved = resolveLazily((Map<String, Object>) value, loader);
+
+                if (resolved != value) {
+                    if (result == null) {
+                        result = new HashMap<>(outputs);
+                    }
+                    result.put(entry.getKey(), resolved);
+                }
+            }
+        }
+
+        return result != null ? result : outputs;
+    }
+
+    /**
+     * Offloaded outputs read from the storage on first access. They are serialized as their reference, so a run context
+     * sent to the worker inside a queue message never holds the offloaded outputs, nor reads them from the storage.
+     */
+    @JsonSerialize(using = ReferenceSerializer.class)
+    static final class LazyOutputs extends LazyMap {
+        private final Map<String, Object> reference;
+
+        LazyOutputs(Map<String, Object> reference, Function<Map<?, ?>, Map<String, Object>> loader) {
+            super(() -> loader.apply(reference));
+            this.reference = reference;
+        }
+    }
+
+    static final class ReferenceSerializer extends StdSerializer<LazyOutputs> {
+        ReferenceSerializer() {
+            super(LazyOutputs.class);
+        }
+
+        @Override
+        public void serialize(LazyOutputs value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            provider.defaultSerializeValue(value.reference, gen);
+        }
+    }
+}
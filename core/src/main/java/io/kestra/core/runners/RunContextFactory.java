@@ -217,6 +217,7 @@ public class RunContextFactory {
 
     protected RunVariables.Builder newRunVariablesBuilder() {
         return new RunVariables.DefaultBuilder(secretKey)
+            .withStorageInterface(storageInterface)
             .withEnvs(runContextCache.getEnvVars())
             .withGlobals(runContextCache.getGlobalVars());
     }
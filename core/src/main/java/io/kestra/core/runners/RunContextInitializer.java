@@ -128,6 +128,15 @@ public class RunContextInitializer {
         final RunContextLogger runContextLogger = contextLoggerFactory.create(taskRun, task);
         enrichedVariables.put(RunVariables.SECRET_CONSUMER_VARIABLE_NAME, (Consumer<String>) runContextLogger::usedSecret);
 
+        // the run context of the worker task only holds the references of the offloaded outputs
+        if (enrichedVariables.get("outputs") instanceof Map<?, ?> outputs) {
+            Secret secret = new Secret(secretKey, runContextLogger);
+            enrichedVariables.put("outputs", OffloadedOutputs.resolveLazily(
+                (Map<String, Object>) outputs,
+                reference -> secret.decrypt(OffloadedOutputs.readUnchecked(storageInterface, taskRun.getTenantId(), taskRun.getNamespace(), reference))
+            ));
+        }
+
         enrichedVariables = variablesModifier.apply(enrichedVariables);
 
         runContext.setVariables(enrichedVariables);
@@ -177,7 +186,12 @@ public class RunContextInitializer {
         }
 
         if (workerTaskResult.getTaskRun().getOutputs() != null) {
-            current.putAll(workerTaskResult.getTaskRun().getOutputs());
+            Map<String, Object> taskRunOutputs = workerTaskResult.getTaskRun().getOutputs();
+            if (OffloadedOutputs.isOffloaded(taskRunOutputs)) {
+                // the next task of the working directory is likely to use them, so they are read right away
+                taskRunOutputs = OffloadedOutputs.readUnchecked(storageInterface, workerTaskResult.getTaskRun().getTenantId(), workerTaskResult.getTaskRun().getNamespace(), taskRunOutputs);
+            }
+            current.putAll(taskRunOutputs);
         }
 
         outputs.put(workerTaskResult.getTaskRun().getTaskId(), result);
@@ -34,6 +34,7 @@ public class RunContextLogger implements Supplier<org.slf4j.Logger> {
     private final String loggerName;
     private volatile Logger logger; // must be volatile as it is built lazily via DCL
     private QueueInterface<LogEntry> logQueue;
+    private LogShipper logShipper;
     private LogEntry logEntry;
     private Level loglevel;
     private final List<String> useSecrets = new ArrayList<>();
@@ -49,12 +50,17 @@ public class RunContextLogger implements Supplier<org.slf4j.Logger> {
     }
 
     public RunContextLogger(QueueInterface<LogEntry> logQueue, LogEntry logEntry, org.slf4j.event.Level loglevel, boolean logToFile) {
+        this(logQueue, null, logEntry, loglevel, logToFile);
+    }
+
+    public RunContextLogger(QueueInterface<LogEntry> logQueue, LogShipper logShipper, LogEntry logEntry, org.slf4j.event.Level loglevel, boolean logToFile) {
         if (logEntry.getExecutionId() != null) {
             this.loggerName = "flow." + logEntry.getFlowId() + "." + logEntry.getExecutionId() + (logEntry.getTaskRunId() != null ? "." + logEntry.getTaskRunId() : "");
         } else {
             this.loggerName = "flow." + logEntry.getFlowId() + "." + logEntry.getTriggerId();
         }
         this.logQueue = logQueue;
+        this.logShipper = logShipper != null && logShipper.isEnabled() ? logShipper : null;
         this.logEntry = logEntry;
         this.loglevel = loglevel == null ? Level.TRACE : Level.toLevel(loglevel.toString());
         this.logToFile = logToFile;
@@ -169,7 +175,7 @@ public class RunContextLogger implements Supplier<org.slf4j.Logger> {
 
         // unit tests don't always have the log queue as we construct a logger directly without it
         if (this.logQueue != null && !this.logToFile) {
-            ContextAppender contextAppender = new ContextAppender(this, newLogger, this.logQueue, this.logEntry);
+            ContextAppender contextAppender = new ContextAppender(this, newLogger, this.logQueue, this.logShipper, this.logEntry);
             contextAppender.setContext(loggerContext);
             contextAppender.start();
 
@@ -295,11 +301,17 @@ public class RunContextLogger implements Supplier<org.slf4j.Logger> {
 
     public static class ContextAppender extends BaseAppender {
         private final QueueInterface<LogEntry> logQueue;
+        private final LogShipper logShipper;
         private final LogEntry logEntry;
 
         public ContextAppender(RunContextLogger runContextLogger, Logger logger, QueueInterface<LogEntry> logQueue, LogEntry logEntry) {
+            this(runContextLogger, logger, logQueue, null, logEntry);
+        }
+
+        public ContextAppender(RunContextLogger runContextLogger, Logger logger, QueueInterface<LogEntry> logQueue, LogShipper logShipper, LogEntry logEntry) {
             super(runContextLogger, logger);
             this.logQueue = logQueue;
+            this.logShipper = logShipper;
             this.logEntry = logEntry;
         }
 
@@ -309,6 +321,11 @@ public class RunContextLogger implements Supplier<org.slf4j.Logger> {
 
             logEntries(e, logEntry)
                 .forEach(log -> {
+                    if (logShipper != null) {
+                        logShipper.offer(log);
+                        return;
+                    }
+
                     try {
                         logQueue.emitAsync(log);
                     } catch (QueueException ex) {
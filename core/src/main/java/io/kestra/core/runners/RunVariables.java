@@ -10,6 +10,7 @@ import io.kestra.core.models.flows.State;
 import io.kestra.core.models.flows.input.SecretInput;
 import io.kestra.core.models.tasks.Task;
 import io.kestra.core.models.triggers.AbstractTrigger;
+import io.kestra.core.storages.StorageInterface;
 import io.kestra.core.utils.ListUtils;
 import lombok.AllArgsConstructor;
 import lombok.With;
@@ -127,6 +128,8 @@ public final class RunVariables {
 
         Builder withSecretInputs(List<String> secretInputs);
 
+        Builder withStorageInterface(StorageInterface storageInterface);
+
         /**
          * Builds the immutable map of run variables.
          *
@@ -155,6 +158,7 @@ public final class RunVariables {
         protected Map<?, ?> globals;
         private final Optional<String> secretKey;
         private List<String> secretInputs;
+        protected StorageInterface storageInterface;
 
         public DefaultBuilder() {
             this(Optional.empty());
@@ -222,53 +226,19 @@ public final class RunVariables {
                 builder.put("execution", executionMap.build());
 
                 if (execution.getTaskRunList() != null) {
-                    Map<String, Object> outputs = new HashMap<>(execution.outputs());
-                    if (decryptVariables) {
-                        final Secret secret = new Secret(secretKey, logger);
-                        outputs = secret.decrypt(outputs);
-                    }
-                    builder.put("outputs", outputs);
-
-                    Map<String, Object> tasksMap = new HashMap<>();
-
-                    execution.getTaskRunList().forEach(taskRun -> {
-                        if (taskRun.getState() != null) {
-                            if (taskRun.getValue() == null) {
-                                tasksMap.put(taskRun.getTaskId(), Map.of("state", taskRun.getState().getCurrent()));
-                            } else {
-                                if (tasksMap.containsKey(taskRun.getTaskId())) {
-                                    @SuppressWarnings("unchecked")
-                                    Map<String, Object> taskRunMap = new HashMap<>((Map<String, Object>) tasksMap.get(taskRun.getTaskId()));
-                                    taskRunMap.put(taskRun.getValue(), Map.of("state", taskRun.getState().getCurrent()));
-                                    tasksMap.put(taskRun.getTaskId(), taskRunMap);
-                                } else {
-                                    tasksMap.put(taskRun.getTaskId(), Map.of(taskRun.getValue(), Map.of("state", taskRun.getState().getCurrent())));
-                                }
-                            }
-                        }
-                    });
-
-                    builder.put("tasks", tasksMap);
+                    // outputs and tasks walk all the task runs, so they are only computed when an expression uses them
+                    builder.put("outputs", new LazyMap(() -> this.outputs(execution, logger)));
+                    builder.put("tasks", new LazyMap(() -> tasks(execution)));
                 }
 
                 // Inputs
                 Map<String, Object> inputs = this.inputs == null ? new HashMap<>() : new HashMap<>(this.inputs);
+                boolean hasSecretInputs = false;
                 if (execution.getInputs() != null) {
                     inputs.putAll(execution.getInputs());
-                    if (decryptVariables && flow != null && flow.getInputs() != null) {
-                        // if some inputs are of type secret, we decode them
-                        final Secret secret = new Secret(secretKey, logger);
-                        for (Input<?> input : flow.getInputs()) {
-                            if (input instanceof SecretInput && inputs.containsKey(input.getId())) {
-                                try {
-                                    String decoded = secret.decrypt(((String) inputs.get(input.getId())));
-                                    inputs.put(input.getId(), decoded);
-                                } catch (GeneralSecurityException e) {
-                                    throw new RuntimeException(e);
-                                }
-                            }
-                        }
-                    }
+                    hasSecretInputs = decryptVariables && flow != null && flow.getInputs() != null && flow.getInputs()
+                        .stream()
+                        .anyMatch(input -> input instanceof SecretInput && inputs.containsKey(input.getId()));
                 }
 
                 if (flow != null && flow.getInputs() != null) {
@@ -279,12 +249,14 @@ public final class RunVariables {
                 }
 
                 if (!inputs.isEmpty()) {
-                    builder.put("inputs", inputs);
+                    // secret inputs are only decrypted when an expression uses the inputs
+                    Map<String, Object> resolvedInputs = hasSecretInputs ? new LazyMap(() -> this.decryptInputs(inputs, logger)) : inputs;
+                    builder.put("inputs", resolvedInputs);
 
                     // if a secret input is used, add it to the list of secrets to mask on the logger
                     if (logger != null && !ListUtils.isEmpty(secretInputs)) {
                         for (String secretInput : secretInputs) {
-                            String secret = (String) inputs.get(secretInput);
+                            String secret = (String) resolvedInputs.get(secretInput);
                             if (secret != null) {
                                 logger.usedSecret(secret);
                             }
@@ -326,6 +298,63 @@ public final class RunVariables {
 
             return builder.build();
         }
+
+        private Map<String, Object> outputs(Execution execution, RunContextLogger logger) {
+            Map<String, Object> outputs = new HashMap<>(execution.outputs());
+            if (decryptVariables) {
+                final Secret secret = new Secret(secretKey, logger);
+                outputs = secret.decrypt(outputs);
+            }
+            if (storageInterface != null) {
+                outputs = OffloadedOutputs.resolveLazily(outputs, reference -> {
+                    Map<String, Object> offloaded = OffloadedOutputs.readUnchecked(storageInterface, execution.getTenantId(), execution.getNamespace(), reference);
+                    return decryptVariables ? new Secret(secretKey, logger).decrypt(offloaded) : offloaded;
+                });
+            }
+
+            return outputs;
+        }
+
+        private static Map<String, Object> tasks(Execution execution) {
+            Map<String, Object> tasksMap = new HashMap<>();
+
+            execution.getTaskRunList().forEach(taskRun -> {
+                if (taskRun.getState() != null) {
+                    if (taskRun.getValue() == null) {
+                        tasksMap.put(taskRun.getTaskId(), Map.of("state", taskRun.getState().getCurrent()));
+                    } else {
+                        if (tasksMap.containsKey(taskRun.getTaskId())) {
+                            @SuppressWarnings("unchecked")
+                            Map<String, Object> taskRunMap = new HashMap<>((Map<String, Object>) tasksMap.get(taskRun.getTaskId()));
+                            taskRunMap.put(taskRun.getValue(), Map.of("state", taskRun.getState().getCurrent()));
+                            tasksMap.put(taskRun.getTaskId(), taskRunMap);
+                        } else {
+                            tasksMap.put(taskRun.getTaskId(), Map.of(taskRun.getValue(), Map.of("state", taskRun.getState().getCurrent())));
+                        }
+                    }
+                }
+            });
+
+            return tasksMap;
+        }
+
+        private Map<String, Object> decryptInputs(Map<String, Object> inputs, RunContextLogger logger) {
+            // if some inputs are of type secret, we decode them
+            Map<String, Object> decrypted = new HashMap<>(inputs);
+            final Secret secret = new Secret(secretKey, logger);
+            for (Input<?> input : flow.getInputs()) {
+                if (input instanceof SecretInput && decrypted.containsKey(input.getId())) {
+                    try {
+                        String decoded = secret.decrypt(((String) decrypted.get(input.getId())));
+                        decrypted.put(input.getId(), decoded);
+                    } catch (GeneralSecurityException e) {
+                        throw new RuntimeException(e);
+                    }
+                }
+            }
+
+            return decrypted;
+        }
     }
 
     private RunVariables(){}
@@ -26,6 +26,7 @@ import io.kestra.core.trace.TracerFactory;
 import io.kestra.core.utils.*;
 import io.kestra.plugin.core.flow.WorkingDirectory;
 import io.micronaut.context.annotation.Parameter;
+import io.micronaut.context.annotation.Value;
 import io.micronaut.context.event.ApplicationEventPublisher;
 import io.micronaut.core.annotation.Introspected;
 import io.micronaut.core.annotation.Nullable;
@@ -105,6 +106,9 @@ public class Worker implements Service, Runnable, AutoCloseable {
     @Inject
     private LogService logService;
 
+    @Inject
+    private LogShipper logShipper;
+
     @Inject
     private RunContextInitializer runContextInitializer;
 
@@ -114,6 +118,12 @@ public class Worker implements Service, Runnable, AutoCloseable {
     @Inject
     private WorkerSecurityService workerSecurityService;
 
+    // outputs larger than this size in bytes are moved to the internal storage, 0 to disable.
+    // The task runs then only hold a reference to them, which is resolved by the run variables and when the API
+    // serializes the task runs, see OffloadedOutputs.
+    @Value("${kestra.worker.outputs.offload-threshold:0}")
+    private long outputsOffloadThreshold;
+
     private final Set<String> killedExecution = ConcurrentHashMap.newKeySet();
 
     @Getter
@@ -727,6 +737,11 @@ public class Worker implements Service, Runnable, AutoCloseable {
             workerTask.getTaskRun().getState().getCurrent(),
             workerTask.getTaskRun().getState().humanDuration()
         );
+
+        // make sure all the logs of the task are emitted before moving to the next one
+        if (logShipper.isEnabled()) {
+            logShipper.flush();
+        }
     }
 
     private void logError(WorkerTrigger workerTrigger, Throwable e) {
@@ -801,13 +816,7 @@ public class Worker implements Service, Runnable, AutoCloseable {
             .withLogFile(runContext.logFileURI());
 
         // metrics
-        runContext.metrics().forEach(metric -> {
-            try {
-                this.metricEntryQueue.emit(MetricEntry.of(workerTask.getTaskRun(), metric));
-            } catch (QueueException e) {
-                // fail silently
-            }
-        });
+        this.emitMetrics(workerTask, runContext.metrics());
 
         // save outputs
         List<TaskRunAttempt> attempts = this.addAttempt(workerTask, taskRunAttempt);
@@ -816,7 +825,8 @@ public class Worker implements Service, Runnable, AutoCloseable {
             .withAttempts(attempts);
 
         try {
-            taskRun = taskRun.withOutputs(workerTaskCallable.getTaskOutput() != null ? workerTaskCallable.getTaskOutput().toMap() : ImmutableMap.of());
+            Map<String, Object> outputs = workerTaskCallable.getTaskOutput() != null ? workerTaskCallable.getTaskOutput().toMap() : ImmutableMap.of();
+            taskRun = taskRun.withOutputs(this.offloadOutputs(runContext, outputs));
         } catch (Exception e) {
             logger.warn("Unable to save output on taskRun '{}'", taskRun, e);
         }
@@ -825,6 +835,43 @@ public class Worker implements Service, Runnable, AutoCloseable {
             .withTaskRun(taskRun);
     }
 
+    private Map<String, Object> offloadOutputs(RunContext runContext, Map<String, Object> outputs) {
+        if (outputsOffloadThreshold <= 0) {
+            return outputs;
+        }
+
+        try {
+            return OffloadedOutputs.offload(runContext, outputs, outputsOffloadThreshold);
+        } catch (IOException e) {
+            runContext.logger().warn("Unable to store the outputs in the internal storage, keeping them in the task run: {}", e.getMessage());
+            return outputs;
+        }
+    }
+
+    private void emitMetrics(WorkerTask workerTask, List<AbstractMetricEntry<?>> metrics) {
+        if (metrics.isEmpty()) {
+            return;
+        }
+
+        List<MetricEntry> metricEntries = metrics
+            .stream()
+            .map(metric -> MetricEntry.of(workerTask.getTaskRun(), metric))
+            .toList();
+
+        try {
+            this.metricEntryQueue.emitBatch(metricEntries);
+        } catch (QueueException e) {
+            // a failing metric must not discard the others, so we fall back to emit them one by one
+            metricEntries.forEach(metricEntry -> {
+                try {
+                    this.metricEntryQueue.emit(metricEntry);
+                } catch (QueueException ex) {
+                    // fail silently
+                }
+            });
+        }
+    }
+
     private io.kestra.core.models.flows.State.Type callJob(AbstractWorkerCallable workerJobCallable) {
         synchronized (this) {
             workerCallableReferences.add(workerJobCallable);
@@ -1,10 +1,12 @@
 package io.kestra.core.runners.pebble;
 
+import io.kestra.core.metrics.MetricRegistry;
 import io.kestra.core.runners.pebble.expression.NullCoalescingExpression;
 import io.kestra.core.runners.pebble.expression.UndefinedCoalescingExpression;
 import io.kestra.core.runners.pebble.filters.*;
 import io.kestra.core.runners.pebble.functions.*;
 import io.kestra.core.runners.pebble.tests.JsonTest;
+import io.micronaut.context.annotation.Value;
 import io.micronaut.core.annotation.Nullable;
 import io.pebbletemplates.pebble.extension.*;
 import io.pebbletemplates.pebble.operator.Associativity;
@@ -57,6 +59,15 @@ public class Extension extends AbstractExtension {
     @Nullable
     private ErrorLogsFunction errorLogsFunction;
 
+    @Inject
+    @Nullable
+    private MetricRegistry metricRegistry;
+
+    @Value("${kestra.variables.jq-cache-size:" + JqFilter.DEFAULT_CACHE_SIZE + "}")
+    private int jqCacheSize = JqFilter.DEFAULT_CACHE_SIZE;
+
+    private JqFilter jqFilter;
+
     @Override
     public List<TokenParser> getTokenParsers() {
         return null;
@@ -89,7 +100,7 @@ public class Extension extends AbstractExtension {
         filters.put("timestamp", new TimestampFilter());
         filters.put("timestampMicro", new TimestampMicroFilter());
         filters.put("timestampNano", new TimestampNanoFilter());
-        filters.put("jq", new JqFilter());
+        filters.put("jq", this.jqFilter());
         filters.put("escapeChar", new EscapeCharFilter());
         filters.put("json", new JsonFilter());
         filters.put("toJson", new ToJsonFilter());
@@ -117,6 +128,15 @@ public class Extension extends AbstractExtension {
         return filters;
     }
 
+    private synchronized JqFilter jqFilter() {
+        // the filter holds the compiled queries cache, so it must be shared by all the Pebble engines
+        if (this.jqFilter == null) {
+            this.jqFilter = new JqFilter(this.jqCacheSize, this.metricRegistry);
+        }
+
+        return this.jqFilter;
+    }
+
     @Override
     public Map<String, Test> getTests() {
         Map<String, Test> tests = new HashMap<>();
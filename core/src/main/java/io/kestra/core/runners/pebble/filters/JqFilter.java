@@ -2,27 +2,53 @@ package io.kestra.core.runners.pebble.filters;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.*;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import io.kestra.core.metrics.MetricRegistry;
 import io.kestra.core.serializers.JacksonMapper;
 import io.pebbletemplates.pebble.error.PebbleException;
 import io.pebbletemplates.pebble.extension.Filter;
 import io.pebbletemplates.pebble.template.EvaluationContext;
 import io.pebbletemplates.pebble.template.PebbleTemplate;
+import jakarta.annotation.Nullable;
 import net.thisptr.jackson.jq.BuiltinFunctionLoader;
 import net.thisptr.jackson.jq.JsonQuery;
 import net.thisptr.jackson.jq.Scope;
 import net.thisptr.jackson.jq.Versions;
+import net.thisptr.jackson.jq.exception.JsonQueryException;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
 
 public class JqFilter implements Filter {
-    private final Scope scope;
+    public static final int DEFAULT_CACHE_SIZE = 1000;
+
+    // loading the builtin functions is costly, and the scope is only read when applying a query, so it is shared
+    private static final Scope ROOT_SCOPE;
+
+    static {
+        ROOT_SCOPE = Scope.newEmptyScope();
+        BuiltinFunctionLoader.getInstance().loadFunctions(Versions.JQ_1_6, ROOT_SCOPE);
+    }
+
+    private final Cache<String, JsonQuery> queries;
     private final List<String> argumentNames = new ArrayList<>();
 
     public JqFilter() {
-        scope = Scope.newEmptyScope();
-        BuiltinFunctionLoader.getInstance().loadFunctions(Versions.JQ_1_6, scope);
+        this(DEFAULT_CACHE_SIZE, null);
+    }
+
+    public JqFilter(int cacheSize, @Nullable MetricRegistry metricRegistry) {
+        Cache<String, JsonQuery> cache = CacheBuilder.newBuilder()
+            .maximumSize(cacheSize)
+            .recordStats()
+            .build();
+
+        this.queries = metricRegistry != null ? metricRegistry.cache(MetricRegistry.PEBBLE_JQ_CACHE, cache) : cache;
         this.argumentNames.add("expression");
     }
 
@@ -43,11 +69,9 @@ public class JqFilter implements Filter {
 
         String pattern = (String) args.get("expression");
 
-        Scope rootScope = Scope.newEmptyScope();
-        BuiltinFunctionLoader.getInstance().loadFunctions(Versions.JQ_1_6, rootScope);
         try {
 
-            JsonQuery q = JsonQuery.compile(pattern, Versions.JQ_1_6);
+            JsonQuery q = this.compile(pattern);
 
             JsonNode in;
             if (input instanceof String stringValue) {
@@ -59,7 +83,7 @@ public class JqFilter implements Filter {
             final List<Object> out = new ArrayList<>();
 
             try {
-                q.apply(scope, in, v -> {
+                q.apply(ROOT_SCOPE, in, v -> {
                     if (v instanceof TextNode) {
                         out.add(v.textValue());
                     } else if (v instanceof NullNode) {
@@ -85,4 +109,20 @@ public class JqFilter implements Filter {
             throw new PebbleException(e, "Unable to parse jq value '" + input + "' with type '" + input.getClass().getName() + "'", lineNumber, self.getName());
         }
     }
+
+    /**
+     * Compile a jq expression, compiled queries are immutable so they are cached by expression.
+     */
+    @VisibleForTesting
+    JsonQuery compile(String pattern) throws JsonQueryException {
+        try {
+            return this.queries.get(pattern, () -> JsonQuery.compile(pattern, Versions.JQ_1_6));
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            if (e.getCause() instanceof JsonQueryException jsonQueryException) {
+                throw jsonQueryException;
+            }
+
+            throw new JsonQueryException(e.getCause());
+        }
+    }
 }
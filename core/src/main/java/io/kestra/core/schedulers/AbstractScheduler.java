@@ -143,7 +143,16 @@ public abstract class AbstractScheduler implements Scheduler, Service {
     @SuppressWarnings("unchecked")
     public void run() {
         this.flowListeners.run();
-        this.flowListeners.listen(this::initializedTriggers);
+        // the plugin defaults are invalidated first, so the triggers of an updated flow are initialized with the new ones
+        this.flowListeners.listen((flow, previous) -> pluginDefaultService.invalidate(flow));
+        // only the triggers of an updated flow are initialized, the ones of all the flows are initialized once below
+        this.flowListeners.listen((flow, previous) -> {
+            if (!flow.isDeleted()) {
+                this.initializedTriggers(List.of(flow), this.triggerState::findLast);
+            }
+        });
+        this.initializedTriggers(this.flowListeners.flows());
+        this.isReady = true;
 
         ScheduledFuture<?> handle = scheduleExecutor.scheduleAtFixedRate(
             this::handle,
@@ -266,9 +275,16 @@ public abstract class AbstractScheduler implements Scheduler, Service {
     // and if some flows were created outside the box, for example from the CLI,
     // then we may have some triggers that are not created yet.
     private void initializedTriggers(List<FlowWithSource> flows) {
+        Map<String, Trigger> triggers = triggerState.findAllForAllTenants()
+            .stream()
+            .collect(Collectors.toMap(trigger -> trigger.uid(), Function.identity(), (first, second) -> first));
+
+        this.initializedTriggers(flows, trigger -> Optional.ofNullable(triggers.get(trigger.uid())));
+    }
+
+    private void initializedTriggers(List<FlowWithSource> flows, Function<Trigger, Optional<Trigger>> lastTrigger) {
         record FlowAndTrigger(FlowWithSource flow, AbstractTrigger trigger) {
         }
-        List<Trigger> triggers = triggerState.findAllForAllTenants();
 
         flows
             .stream()
@@ -277,7 +293,7 @@ public abstract class AbstractScheduler implements Scheduler, Service {
             .filter(flow -> flow.getTriggers() != null && !flow.getTriggers().isEmpty())
             .flatMap(flow -> flow.getTriggers().stream().filter(trigger -> trigger instanceof WorkerTriggerInterface).map(trigger -> new FlowAndTrigger(flow, trigger)))
             .forEach(flowAndTrigger -> {
-                Optional<Trigger> trigger = triggers.stream().filter(t -> t.uid().equals(Trigger.uid(flowAndTrigger.flow(), flowAndTrigger.trigger()))).findFirst(); // must have one or none
+                Optional<Trigger> trigger = lastTrigger.apply(Trigger.of(flowAndTrigger.flow(), flowAndTrigger.trigger())); // must have one or none
                 if (trigger.isEmpty()) {
                     RunContext runContext = runContextFactory.of(flowAndTrigger.flow(), flowAndTrigger.trigger());
                     ConditionContext conditionContext = conditionService.conditionContext(runContext, flowAndTrigger.flow(), null);
@@ -341,8 +357,6 @@ public abstract class AbstractScheduler implements Scheduler, Service {
                     }
                 }
             });
-
-        this.isReady = true;
     }
 
     private void clusterEventQueue(Either<ClusterEvent, DeserializationException> either) {
@@ -411,11 +425,23 @@ public abstract class AbstractScheduler implements Scheduler, Service {
         }
     }
 
-    private List<FlowWithTriggers> computeSchedulable(List<FlowWithSource> flows, List<Trigger> triggerContextsToEvaluate, ScheduleContextInterface scheduleContext) {
-        List<String> flowToKeep = triggerContextsToEvaluate.stream().map(Trigger::getFlowId).toList();
+    @VisibleForTesting
+    List<FlowWithTriggers> computeSchedulable(List<FlowWithSource> flows, List<Trigger> triggerContextsToEvaluate, ScheduleContextInterface scheduleContext) {
+        // index triggers by uid and flows by uid, so each lookup is done in constant time
+        Map<String, Trigger> triggersByUid = triggerContextsToEvaluate
+            .stream()
+            .collect(Collectors.toMap(trigger -> trigger.uid(), Function.identity(), (first, second) -> first));
+        Set<String> flowUidsToKeep = triggerContextsToEvaluate
+            .stream()
+            .map(Trigger::flowUid)
+            .collect(Collectors.toSet());
+        Set<String> flowUids = flows
+            .stream()
+            .map(FlowWithSource::uidWithoutRevision)
+            .collect(Collectors.toSet());
 
         triggerContextsToEvaluate.stream()
-            .filter(trigger -> !flows.stream().map(FlowWithSource::uidWithoutRevision).toList().contains(Flow.uid(trigger)))
+            .filter(trigger -> !flowUids.contains(trigger.flowUid()))
             .forEach(trigger -> {
                 try {
                     this.triggerState.delete(trigger);
@@ -426,9 +452,9 @@ public abstract class AbstractScheduler implements Scheduler, Service {
 
         return flows
             .stream()
+            .filter(flow -> flowUidsToKeep.contains(flow.uidWithoutRevision()))
             .map(flow -> pluginDefaultService.injectDefaults(flow, log))
             .filter(Objects::nonNull)
-            .filter(flow -> flowToKeep.contains(flow.getId()))
             .filter(flow -> flow.getTriggers() != null && !flow.getTriggers().isEmpty())
             .filter(flow -> !flow.isDisabled() && !(flow instanceof FlowWithException))
             .flatMap(flow -> flow.getTriggers()
@@ -438,11 +464,7 @@ public abstract class AbstractScheduler implements Scheduler, Service {
                     RunContext runContext = runContextFactory.of(flow, abstractTrigger);
                     ConditionContext conditionContext = conditionService.conditionContext(runContext, flow, null);
                     Trigger triggerContext = null;
-                    Trigger lastTrigger = triggerContextsToEvaluate
-                        .stream()
-                        .filter(triggerContextToFind -> triggerContextToFind.uid().equals(Trigger.uid(flow, abstractTrigger)))
-                        .findFirst()
-                        .orElse(null);
+                    Trigger lastTrigger = triggersByUid.get(Trigger.uid(flow, abstractTrigger));
                     // If a trigger is not found in triggers to evaluate, then we ignore it
                     if (lastTrigger == null) {
                         return null;
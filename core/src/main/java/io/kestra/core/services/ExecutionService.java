@@ -3,6 +3,7 @@ package io.kestra.core.services;
 import io.kestra.core.events.CrudEvent;
 import io.kestra.core.events.CrudEventType;
 import io.kestra.core.exceptions.InternalException;
+import io.kestra.core.metrics.MetricRegistry;
 import io.kestra.core.models.Label;
 import io.kestra.core.models.executions.Execution;
 import io.kestra.core.models.executions.ExecutionKilled;
@@ -31,6 +32,7 @@ import io.kestra.core.utils.IdUtils;
 import io.kestra.core.utils.ListUtils;
 import io.kestra.plugin.core.flow.Pause;
 import io.kestra.plugin.core.flow.WorkingDirectory;
+import io.micronaut.context.annotation.Value;
 import io.micronaut.context.event.ApplicationEventPublisher;
 import io.micronaut.core.annotation.Nullable;
 import io.micronaut.http.multipart.CompletedPart;
@@ -45,12 +47,15 @@ import lombok.extern.slf4j.Slf4j;
 import org.reactivestreams.Publisher;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.io.IOException;
 import java.net.URI;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.ZonedDateTime;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -94,6 +99,15 @@ public class ExecutionService {
     @Inject
     private ConditionService conditionService;
 
+    @Inject
+    private MetricRegistry metricRegistry;
+
+    @Value("${kestra.purge.chunk-size:500}")
+    private int purgeChunkSize;
+
+    @Value("${kestra.purge.storage-concurrency:8}")
+    private int purgeStorageConcurrency;
+
     public Execution getExecutionIfPause(final String tenant, final @NotNull String executionId, boolean withACL) {
         Execution execution = getExecution(tenant, executionId, withACL);
 
@@ -380,6 +394,9 @@ public class ExecutionService {
         @Nullable ZonedDateTime endDate,
         @Nullable List<State.Type> state
     ) throws IOException {
+        Instant start = Instant.now();
+        AtomicLong purged = new AtomicLong();
+
         PurgeResult purgeResult = this.executionRepository
             .find(
                 null,
@@ -395,36 +412,36 @@ public class ExecutionService {
                 null,
                 true
             )
-            .map(throwFunction(execution -> {
-                PurgeResult.PurgeResultBuilder<?, ?> builder = PurgeResult.builder();
-
-                if (purgeExecution) {
-                    builder.executionsCount(this.executionRepository.purge(execution));
-                }
-
-                if (purgeLog) {
-                    builder.logsCount(this.logRepository.purge(execution));
-                }
-
-                if (purgeMetric) {
-                    builder.metricsCount(this.metricRepository.purge(execution));
-                }
-
-                if (purgeStorage) {
-                    URI uri = StorageContext.forExecution(execution).getExecutionStorageURI(StorageContext.KESTRA_SCHEME);
-                    builder.storagesCount(storageInterface.deleteByPrefix(execution.getTenantId(), execution.getNamespace(), uri).size());
-                }
-
-                return (PurgeResult) builder.build();
-            }))
-            .reduce((a, b) -> a
-                .toBuilder()
-                .executionsCount(a.getExecutionsCount() + b.getExecutionsCount())
-                .logsCount(a.getLogsCount() + b.getLogsCount())
-                .storagesCount(a.getStoragesCount() + b.getStoragesCount())
-                .metricsCount(a.getMetricsCount() + b.getMetricsCount())
-                .build()
+            .buffer(this.purgeChunkSize)
+            .concatMap(executions -> this.purgeChunk(executions, purgeExecution, purgeLog, purgeMetric, purgeStorage)
+                .elapsed()
+                .map(timed -> {
+                    PurgeResult result = timed.getT2();
+
+                    // only purges are measured, not the executions deleted from the API
+                    metricRegistry.counter(MetricRegistry.PURGE_EXECUTION_COUNT).increment(result.getExecutionsCount());
+                    metricRegistry.counter(MetricRegistry.PURGE_LOG_COUNT).increment(result.getLogsCount());
+                    metricRegistry.counter(MetricRegistry.PURGE_METRIC_COUNT).increment(result.getMetricsCount());
+                    metricRegistry.counter(MetricRegistry.PURGE_STORAGE_COUNT).increment(result.getStoragesCount());
+                    metricRegistry.timer(MetricRegistry.PURGE_CHUNK_DURATION).record(Duration.ofMillis(timed.getT1()));
+
+                    long count = purged.addAndGet(executions.size());
+                    long elapsed = Math.max(Duration.between(start, Instant.now()).toMillis(), 1);
+
+                    log.info(
+                        "Purged {} executions so far ({} executions/s), last chunk: {} executions, {} logs, {} metrics, {} storage files",
+                        count,
+                        count * 1000 / elapsed,
+                        result.getExecutionsCount(),
+                        result.getLogsCount(),
+                        result.getMetricsCount(),
+                        result.getStoragesCount()
+                    );
+
+                    return result;
+                })
             )
+            .reduce(PurgeResult::add)
             .block();
 
         if (purgeResult != null) {
@@ -456,6 +473,67 @@ public class ExecutionService {
         }
     }
 
+    /**
+     * Delete a list of executions with one statement per repository for each chunk,
+     * see {@link #purge(Boolean, Boolean, Boolean, Boolean, String, String, String, ZonedDateTime, ZonedDateTime, List)}.
+     */
+    public PurgeResult delete(
+        List<Execution> executions,
+        boolean deleteLogs,
+        boolean deleteMetrics,
+        boolean deleteStorage
+    ) {
+        PurgeResult purgeResult = Flux.fromIterable(executions)
+            .buffer(this.purgeChunkSize)
+            .concatMap(chunk -> this.purgeChunk(chunk, true, deleteLogs, deleteMetrics, deleteStorage))
+            .reduce(PurgeResult::add)
+            .block();
+
+        return purgeResult != null ? purgeResult : PurgeResult.builder().build();
+    }
+
+    /**
+     * Purge a chunk of executions: the storage files are deleted concurrently, then the logs and the metrics,
+     * and the executions are deleted last so that an interrupted purge is resumed by running it again.
+     */
+    private Mono<PurgeResult> purgeChunk(
+        List<Execution> executions,
+        boolean purgeExecution,
+        boolean purgeLog,
+        boolean purgeMetric,
+        boolean purgeStorage
+    ) {
+        Mono<Integer> storagesCount = !purgeStorage ? Mono.just(0) : Flux.fromIterable(executions)
+            .flatMap(
+                execution -> Mono
+                    .fromCallable(() -> {
+                        URI uri = StorageContext.forExecution(execution).getExecutionStorageURI(StorageContext.KESTRA_SCHEME);
+                        return storageInterface.deleteByPrefix(execution.getTenantId(), execution.getNamespace(), uri).size();
+                    })
+                    .subscribeOn(Schedulers.boundedElastic()),
+                this.purgeStorageConcurrency
+            )
+            .reduce(0, Integer::sum);
+
+        return storagesCount.map(storages -> {
+            PurgeResult.PurgeResultBuilder<?, ?> builder = PurgeResult.builder().storagesCount(storages);
+
+            if (purgeLog) {
+                builder.logsCount(this.logRepository.purge(executions));
+            }
+
+            if (purgeMetric) {
+                builder.metricsCount(this.metricRepository.purge(executions));
+            }
+
+            if (purgeExecution) {
+                builder.executionsCount(this.executionRepository.purge(executions));
+            }
+
+            return (PurgeResult) builder.build();
+        });
+    }
+
     /**
      * Resume a paused execution to a new state.
      * The execution must be paused or this call will be a no-op.
@@ -692,6 +770,16 @@ public class ExecutionService {
 
         @Builder.Default
         private int metricsCount = 0;
+
+        public PurgeResult add(PurgeResult other) {
+            return this
+                .toBuilder()
+                .executionsCount(this.executionsCount + other.executionsCount)
+                .logsCount(this.logsCount + other.logsCount)
+                .storagesCount(this.storagesCount + other.storagesCount)
+                .metricsCount(this.metricsCount + other.metricsCount)
+                .build();
+        }
     }
 
     private Set<String> removeWorkerTask(Flow flow, Execution execution, Set<String> taskRunToRestart, Map<String, String> mappingTaskRunId) throws InternalException {
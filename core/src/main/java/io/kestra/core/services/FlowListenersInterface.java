@@ -3,6 +3,8 @@ package io.kestra.core.services;
 import io.kestra.core.models.flows.FlowWithSource;
 
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
@@ -14,4 +16,15 @@ public interface FlowListenersInterface {
     void listen(BiConsumer<FlowWithSource, FlowWithSource> consumer);
 
     List<FlowWithSource> flows();
+
+    /**
+     * Find the last revision of a flow.
+     * The default implementation scans all the flows, implementations should use an index.
+     */
+    default Optional<FlowWithSource> findById(String tenantId, String namespace, String id) {
+        return this.flows()
+            .stream()
+            .filter(flow -> Objects.equals(flow.getTenantId(), tenantId) && flow.getNamespace().equals(namespace) && flow.getId().equals(id))
+            .findFirst();
+    }
 }
@@ -0,0 +1,243 @@
+package io.kestra.core.services;
+
+import io.kestra.core.models.conditions.Condition;
+import io.kestra.core.models.conditions.ConditionContext;
+import io.kestra.core.models.executions.Execution;
+import io.kestra.core.models.flows.Flow;
+import io.kestra.core.models.flows.FlowWithException;
+import io.kestra.core.models.flows.FlowWithSource;
+import io.kestra.core.models.flows.State;
+import io.kestra.core.utils.ListUtils;
+import io.kestra.plugin.core.condition.ExecutionFlow;
+import io.kestra.plugin.core.condition.ExecutionNamespace;
+import io.kestra.plugin.core.condition.FlowCondition;
+import io.kestra.plugin.core.condition.FlowNamespaceCondition;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * An index of the flow triggers of all the flows, to only evaluate the flows that can be triggered by an execution
+ * instead of all the flows on each execution state change.
+ * <p>
+ * Flow triggers are indexed by the execution states they listen to, then by the first {@link ExecutionFlow} or
+ * {@link ExecutionNamespace} condition they have, as all the conditions must be valid for the trigger to be valid.
+ * The {@link FlowCondition} and {@link FlowNamespaceCondition} conditions only depend on the flow of the trigger,
+ * so the triggers for which they are invalid are not indexed at all.
+ * <p>
+ * This is only a pre-filter: the candidate flows must still be evaluated with
+ * {@link FlowTriggerService#computeExecutionsFromFlowTriggers(Execution, List, Optional)}.
+ */
+@Slf4j
+public class FlowTriggerIndex {
+    private final FlowTriggerService flowTriggerService;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, List<Entry>> entriesByFlow = new HashMap<>();
+    private final Map<State.Type, StateIndex> indexesByState = new EnumMap<>(State.Type.class);
+
+    public FlowTriggerIndex(FlowTriggerService flowTriggerService) {
+        this.flowTriggerService = flowTriggerService;
+    }
+
+    /**
+     * Replace the whole index by the triggers of the given flows.
+     */
+    public void reset(List<FlowWithSource> flows) {
+        this.lock.writeLock().lock();
+        try {
+            this.entriesByFlow.clear();
+            this.indexesByState.clear();
+
+            flows.forEach(this::add);
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Update the index with a created, updated or deleted flow.
+     */
+    public void update(FlowWithSource flow) {
+        this.lock.writeLock().lock();
+        try {
+            this.remove(flow.uidWithoutRevision());
+
+            if (!flow.isDeleted()) {
+                this.add(flow);
+            }
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return the flows having a flow trigger that can be triggered by this execution.
+     */
+    public List<Flow> candidates(Execution execution) {
+        this.lock.readLock().lock();
+        try {
+            StateIndex stateIndex = this.indexesByState.get(execution.getState().getCurrent());
+            if (stateIndex == null) {
+                return Collections.emptyList();
+            }
+
+            Map<String, Flow> flows = new LinkedHashMap<>();
+            stateIndex.candidates(execution).forEach(entry -> flows.putIfAbsent(entry.flowUid(), entry.flow()));
+
+            return new ArrayList<>(flows.values());
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    private void add(FlowWithSource flowWithSource) {
+        if (flowWithSource.isDisabled() || flowWithSource instanceof FlowWithException || ListUtils.isEmpty(flowWithSource.getTriggers())) {
+            return;
+        }
+
+        Flow flow = flowWithSource.toFlow();
+        String flowUid = flow.uidWithoutRevision();
+
+        List<Entry> entries = flowTriggerService.flowTriggers(flow)
+            .filter(trigger -> validForFlow(flow, trigger))
+            .map(trigger -> new Entry(flowUid, flow, trigger))
+            .toList();
+
+        if (entries.isEmpty()) {
+            return;
+        }
+
+        this.entriesByFlow.put(flowUid, entries);
+        entries.forEach(entry -> ListUtils.emptyOnNull(entry.trigger().getStates())
+            .forEach(state -> this.indexesByState.computeIfAbsent(state, k -> new StateIndex()).add(entry))
+        );
+    }
+
+    private void remove(String flowUid) {
+        List<Entry> entries = this.entriesByFlow.remove(flowUid);
+        if (entries == null) {
+            return;
+        }
+
+        entries.forEach(entry -> ListUtils.emptyOnNull(entry.trigger().getStates())
+            .forEach(state -> {
+                StateIndex stateIndex = this.indexesByState.get(state);
+                if (stateIndex != null) {
+                    stateIndex.remove(entry);
+                }
+            })
+        );
+    }
+
+    private static boolean validForFlow(Flow flow, io.kestra.plugin.core.trigger.Flow trigger) {
+        ConditionContext conditionContext = ConditionContext.builder().flow(flow).build();
+
+        for (Condition condition : ListUtils.emptyOnNull(trigger.getConditions())) {
+            if (condition instanceof FlowCondition || condition instanceof FlowNamespaceCondition) {
+                try {
+                    if (!condition.test(conditionContext)) {
+                        return false;
+                    }
+                } catch (Exception e) {
+                    // keep the trigger, the full evaluation will report the error
+                    log.debug("Unable to evaluate condition on flow '{}'", flow.uidWithoutRevision(), e);
+                }
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Entries use identity equality, as comparing the flows field by field would be costly.
+     */
+    private static final class Entry {
+        private final String flowUid;
+        private final Flow flow;
+        private final io.kestra.plugin.core.trigger.Flow trigger;
+
+        private Entry(String flowUid, Flow flow, io.kestra.plugin.core.trigger.Flow trigger) {
+            this.flowUid = flowUid;
+            this.flow = flow;
+            this.trigger = trigger;
+        }
+
+        String flowUid() {
+            return this.flowUid;
+        }
+
+        Flow flow() {
+            return this.flow;
+        }
+
+        io.kestra.plugin.core.trigger.Flow trigger() {
+            return this.trigger;
+        }
+    }
+
+    private record FlowKey(String namespace, String flowId) {
+    }
+
+    /**
+     * The triggers listening to a given state, by the condition restricting the executions that can trigger them.
+     */
+    private static class StateIndex {
+        private final Set<Entry> unrestricted = new LinkedHashSet<>();
+        private final Map<FlowKey, Set<Entry>> byFlow = new HashMap<>();
+        private final Map<String, Set<Entry>> byNamespace = new HashMap<>();
+        private final Map<String, Set<Entry>> byNamespacePrefix = new HashMap<>();
+        private final Map<String, Set<Entry>> byNamespaceSuffix = new HashMap<>();
+
+        void add(Entry entry) {
+            this.bucket(entry).add(entry);
+        }
+
+        void remove(Entry entry) {
+            this.bucket(entry).remove(entry);
+        }
+
+        private Set<Entry> bucket(Entry entry) {
+            for (Condition condition : ListUtils.emptyOnNull(entry.trigger().getConditions())) {
+                if (condition instanceof ExecutionFlow executionFlow && executionFlow.getNamespace() != null && executionFlow.getFlowId() != null) {
+                    return this.byFlow.computeIfAbsent(new FlowKey(executionFlow.getNamespace(), executionFlow.getFlowId()), k -> new LinkedHashSet<>());
+                }
+
+                if (condition instanceof ExecutionNamespace executionNamespace && executionNamespace.getNamespace() != null) {
+                    ExecutionNamespace.Comparison comparison = Optional.ofNullable(executionNamespace.getComparison())
+                        .orElse(executionNamespace.isPrefix() ? ExecutionNamespace.Comparison.PREFIX : ExecutionNamespace.Comparison.EQUALS);
+
+                    Map<String, Set<Entry>> index = switch (comparison) {
+                        case EQUALS -> this.byNamespace;
+                        case PREFIX -> this.byNamespacePrefix;
+                        case SUFFIX -> this.byNamespaceSuffix;
+                    };
+
+                    return index.computeIfAbsent(executionNamespace.getNamespace(), k -> new LinkedHashSet<>());
+                }
+            }
+
+            return this.unrestricted;
+        }
+
+        List<Entry> candidates(Execution execution) {
+            List<Entry> result = new ArrayList<>(this.unrestricted);
+            String namespace = execution.getNamespace();
+
+            Optional.ofNullable(this.byFlow.get(new FlowKey(namespace, execution.getFlowId()))).ifPresent(result::addAll);
+            Optional.ofNullable(this.byNamespace.get(namespace)).ifPresent(result::addAll);
+
+            // the comparisons are on raw strings, so we look up every prefix and suffix of the namespace
+            if (!this.byNamespacePrefix.isEmpty() || !this.byNamespaceSuffix.isEmpty()) {
+                for (int i = 0; i <= namespace.length(); i++) {
+                    Optional.ofNullable(this.byNamespacePrefix.get(namespace.substring(0, i))).ifPresent(result::addAll);
+                    Optional.ofNullable(this.byNamespaceSuffix.get(namespace.substring(i))).ifPresent(result::addAll);
+                }
+            }
+
+            return result;
+        }
+    }
+}
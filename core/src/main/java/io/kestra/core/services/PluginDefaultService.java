@@ -4,7 +4,10 @@ import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.Lists;
+import io.kestra.core.metrics.MetricRegistry;
 import io.kestra.core.models.Plugin;
 import io.kestra.core.models.executions.Execution;
 import io.kestra.core.models.executions.LogEntry;
@@ -18,7 +21,9 @@ import io.kestra.core.queues.QueueInterface;
 import io.kestra.core.runners.RunContextLogger;
 import io.kestra.core.serializers.JacksonMapper;
 import io.kestra.core.serializers.YamlParser;
+import io.kestra.core.utils.ListUtils;
 import io.kestra.core.utils.MapUtils;
+import io.micronaut.context.annotation.Value;
 import io.micronaut.core.annotation.Nullable;
 import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
@@ -64,8 +69,27 @@ public class PluginDefaultService {
     @Inject
     private PluginRegistry pluginRegistry;
 
+    @Inject
+    private MetricRegistry metricRegistry;
+
+    @Value("${kestra.plugins.defaults-cache-size:1000}")
+    private int cacheSize;
+
+    private Cache<CacheKey, CachedFlow> cache;
+
     private final AtomicBoolean warnOnce = new AtomicBoolean(false);
 
+    @PostConstruct
+    void initCache() {
+        this.cache = metricRegistry.cache(
+            MetricRegistry.PLUGIN_DEFAULTS_CACHE,
+            CacheBuilder.newBuilder()
+                .maximumSize(cacheSize)
+                .recordStats()
+                .build()
+        );
+    }
+
     @PostConstruct
     void validateGlobalPluginDefault() {
         List<PluginDefault> mergedDefaults = new ArrayList<>();
@@ -174,8 +198,62 @@ public class PluginDefaultService {
 
     /**
      * Inject plugin defaults into a Flow.
+     * <p>
+     * As a flow revision is immutable, the result is cached by revision and global plugin defaults,
+     * the source is still compared on each hit as a flow can be validated before being saved with a new revision.
      */
     public FlowWithSource injectDefaults(FlowWithSource flow) throws ConstraintViolationException {
+        if (cacheSize <= 0 || flow.getRevision() == null || flow.getSource() == null) {
+            return this.parseWithDefaults(flow);
+        }
+
+        CacheKey key = new CacheKey(flow.getTenantId(), flow.getNamespace(), flow.getId(), flow.getRevision(), this.defaultsFingerprint(flow));
+        CachedFlow cached = this.cache.getIfPresent(key);
+        if (cached != null && cached.source().equals(flow.getSource())) {
+            return cached.flow();
+        }
+
+        FlowWithSource withDefaults = this.parseWithDefaults(flow);
+        this.cache.put(key, new CachedFlow(flow.getSource(), withDefaults));
+
+        return withDefaults;
+    }
+
+    /**
+     * Remove all the cached revisions of a flow, must be called when a flow is updated or deleted.
+     */
+    public void invalidate(Flow flow) {
+        if (this.cache == null) {
+            return;
+        }
+
+        this.cache.asMap().keySet().removeIf(key ->
+            Objects.equals(key.tenantId(), flow.getTenantId()) &&
+                Objects.equals(key.namespace(), flow.getNamespace()) &&
+                Objects.equals(key.id(), flow.getId())
+        );
+    }
+
+    /**
+     * Plugin defaults are part of the cache key, so a configuration change never returns a stale flow.
+     */
+    private int defaultsFingerprint(Flow flow) {
+        int fingerprint = 1;
+        for (List<PluginDefault> defaults : Arrays.asList(
+            flow.getPluginDefaults(),
+            taskGlobalDefault != null ? taskGlobalDefault.getDefaults() : null,
+            pluginGlobalDefault != null ? pluginGlobalDefault.getDefaults() : null
+        )) {
+            for (PluginDefault pluginDefault : ListUtils.emptyOnNull(defaults)) {
+                fingerprint = 31 * fingerprint + Objects.hash(pluginDefault.getType(), pluginDefault.isForced(), pluginDefault.getValues());
+            }
+            fingerprint = 31 * fingerprint;
+        }
+
+        return fingerprint;
+    }
+
+    private FlowWithSource parseWithDefaults(FlowWithSource flow) {
         try {
             Map<String, Object> flowAsMap = OBJECT_MAPPER.readValue(flow.getSource(), JacksonMapper.MAP_TYPE_REFERENCE);
 
@@ -192,6 +270,12 @@ public class PluginDefaultService {
         }
     }
 
+    private record CacheKey(String tenantId, String namespace, String id, Integer revision, int defaultsFingerprint) {
+    }
+
+    private record CachedFlow(String source, FlowWithSource flow) {
+    }
+
     @SuppressWarnings("unchecked")
     private Flow innerInjectDefault(Flow flow, Map<String, Object> flowAsMap) {
         List<PluginDefault> allDefaults = mergeAllDefaults(flow);
@@ -7,17 +7,31 @@ import io.micronaut.core.convert.format.ReadableBytesTypeConverter;
 
 import java.io.*;
 import java.net.URI;
-import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
 import java.util.function.BiFunction;
-import java.util.stream.Collectors;
 
 import static io.kestra.core.utils.Rethrow.*;
 
 public abstract class StorageService {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_CONCURRENT_UPLOADS = 4;
+
+    /**
+     * Uploads are I/O bound, so they run on virtual threads shared by all the splits,
+     * each split bounding its own number of concurrent uploads.
+     */
+    private static final ExecutorService UPLOAD_EXECUTOR = Executors.newThreadPerTaskExecutor(
+        Thread.ofVirtual().name("storage-split_", 0).factory()
+    );
 
     public static List<URI> split(RunContext runContext, StorageSplitInterface storageSplitInterface, URI from) throws IOException, IllegalVariableEvaluationException {
         String fromPath = from.getPath();
@@ -26,91 +40,261 @@ public abstract class StorageService {
             extension = fromPath.substring(fromPath.lastIndexOf('.'));
         }
 
-        try (BufferedReader bufferedReader = new BufferedReader(new InputStreamReader(runContext.storage().getFile(from)))) {
-            List<Path> splited;
+        byte[] separator = runContext.render(storageSplitInterface.getSeparator()).as(String.class).orElseThrow().getBytes(StandardCharsets.UTF_8);
+
+        try (InputStream inputStream = runContext.storage().getFile(from);
+             ChunkUploader uploader = new ChunkUploader(runContext)) {
+            LineReader lineReader = new LineReader(inputStream);
 
             if (storageSplitInterface.getBytes() != null) {
                 ReadableBytesTypeConverter readableBytesTypeConverter = new ReadableBytesTypeConverter();
                 Number convert = readableBytesTypeConverter.convert(runContext.render(storageSplitInterface.getBytes()).as(String.class).orElseThrow(), Number.class)
                     .orElseThrow(() -> new IllegalArgumentException("Invalid size with value '" + storageSplitInterface.getBytes() + "'"));
 
-                splited = StorageService.split(runContext, extension, runContext.render(storageSplitInterface.getSeparator()).as(String.class).orElseThrow(),
-                    bufferedReader, (bytes, size) -> bytes >= convert.longValue());
+                StorageService.split(runContext, extension, separator, lineReader, uploader, (bytes, size) -> bytes >= convert.longValue());
             } else if (storageSplitInterface.getPartitions() != null) {
-                splited = StorageService.partition(runContext, extension, runContext.render(storageSplitInterface.getSeparator()).as(String.class).orElseThrow(),
-                    bufferedReader, runContext.render(storageSplitInterface.getPartitions()).as(Integer.class).orElseThrow());
+                StorageService.partition(runContext, extension, separator, lineReader, uploader, runContext.render(storageSplitInterface.getPartitions()).as(Integer.class).orElseThrow());
             } else if (storageSplitInterface.getRows() != null) {
-                splited = StorageService.split(runContext, extension, runContext.render(storageSplitInterface.getSeparator()).as(String.class).orElseThrow(),
-                    bufferedReader, throwBiFunction((bytes, size) -> size >= runContext.render(storageSplitInterface.getRows()).as(Integer.class).orElseThrow()));
+                int rows = runContext.render(storageSplitInterface.getRows()).as(Integer.class).orElseThrow();
+
+                StorageService.split(runContext, extension, separator, lineReader, uploader, (bytes, size) -> size >= rows);
             } else {
                 throw new IllegalArgumentException("Invalid configuration with no size, count, nor rows");
             }
 
-            return splited
-                .stream()
-                .map(throwFunction(path -> runContext.storage().putFile(path.toFile())))
-                .toList();
+            return uploader.await();
         }
     }
 
-    private static List<Path> split(RunContext runContext, String extension, String separator, BufferedReader bufferedReader, BiFunction<Integer, Integer, Boolean> predicate) throws IOException {
-        List<Path> files = new ArrayList<>();
-        RandomAccessFile write = null;
-        int totalBytes = 0;
+    /**
+     * Split on the fly: each chunk is uploaded in the background as soon as it's complete while the next one is written.
+     */
+    private static void split(RunContext runContext, String extension, byte[] separator, LineReader lineReader, ChunkUploader uploader, BiFunction<Long, Integer, Boolean> predicate) throws IOException {
+        OutputStream write = null;
+        Path path = null;
+        long totalBytes = 0;
         int totalRows = 0;
-        String row;
 
-        while ((row = bufferedReader.readLine()) != null) {
+        while (lineReader.next()) {
             if (write == null || predicate.apply(totalBytes, totalRows)) {
                 if (write != null) {
                     write.close();
+                    uploader.upload(path);
                 }
 
                 totalBytes = 0;
                 totalRows = 0;
 
-                Path path = runContext.workingDir().createTempFile(extension);
-                files.add(path);
-                write = new RandomAccessFile(path.toFile(), "rw");
+                path = runContext.workingDir().createTempFile(extension);
+                write = new BufferedOutputStream(Files.newOutputStream(path), BUFFER_SIZE);
             }
 
-            byte[] bytes = (row + separator).getBytes(StandardCharsets.UTF_8);
+            lineReader.writeTo(write);
+            write.write(separator);
 
-            write.getChannel().write(ByteBuffer.wrap(bytes));
-
-            totalBytes = totalBytes + bytes.length;
+            totalBytes = totalBytes + lineReader.length() + separator.length;
             totalRows = totalRows + 1;
         }
 
         if (write != null) {
             write.close();
+            uploader.upload(path);
         }
-
-        return files;
     }
 
-    private static List<Path> partition(RunContext runContext, String extension, String separator, BufferedReader bufferedReader, int partition) throws IOException {
+    private static void partition(RunContext runContext, String extension, byte[] separator, LineReader lineReader, ChunkUploader uploader, int partition) throws IOException {
         List<Path> files = new ArrayList<>();
-        List<RandomAccessFile> writers = new ArrayList<>();
+        List<OutputStream> writers = new ArrayList<>();
 
         for (int i = 0; i < partition; i++) {
             Path path = runContext.workingDir().createTempFile(extension);
             files.add(path);
 
-            writers.add(new RandomAccessFile(path.toFile(), "rw"));
+            writers.add(new BufferedOutputStream(Files.newOutputStream(path), BUFFER_SIZE));
         }
 
-        String row;
         int index = 0;
-        while ((row = bufferedReader.readLine()) != null) {
-            writers.get(index).getChannel().write(ByteBuffer.wrap((row + separator).getBytes(StandardCharsets.UTF_8)));
+        while (lineReader.next()) {
+            lineReader.writeTo(writers.get(index));
+            writers.get(index).write(separator);
 
             index = index >= writers.size() - 1 ? 0 : index + 1;
         }
 
-        writers.forEach(throwConsumer(RandomAccessFile::close));
+        writers.forEach(throwConsumer(OutputStream::close));
 
-        return files.stream().filter(p -> p.toFile().length() > 0).toList();
+        for (Path path : files) {
+            if (path.toFile().length() > 0) {
+                uploader.upload(path);
+            } else {
+                Files.delete(path);
+            }
+        }
     }
 
+    /**
+     * Read lines directly as bytes, without decoding them, with the same line terminators as {@link BufferedReader#readLine()}:
+     * a line feed, a carriage return, or a carriage return followed by a line feed.
+     * This is safe for UTF-8 as these bytes can't be part of a multibyte character.
+     * The current line is a range of the internal buffer, so it can be written without being copied.
+     */
+    private static class LineReader {
+        private final InputStream inputStream;
+        private byte[] buffer = new byte[BUFFER_SIZE];
+        private int position = 0;
+        private int limit = 0;
+        private boolean eof = false;
+
+        private int lineStart;
+        private int lineEnd;
+
+        LineReader(InputStream inputStream) {
+            this.inputStream = inputStream;
+        }
+
+        boolean next() throws IOException {
+            int scan = this.position;
+
+            while (true) {
+                for (; scan < this.limit; scan++) {
+                    byte current = this.buffer[scan];
+
+                    if (current == '\n') {
+                        this.setLine(scan, scan + 1);
+                        return true;
+                    }
+
+                    if (current == '\r') {
+                        // we need the next byte to know if it's a '\r\n'
+                        if (scan + 1 >= this.limit && !this.eof) {
+                            break;
+                        }
+
+                        this.setLine(scan, scan + 1 < this.limit && this.buffer[scan + 1] == '\n' ? scan + 2 : scan + 1);
+                        return true;
+                    }
+                }
+
+                if (this.eof) {
+                    if (this.position < this.limit) {
+                        this.setLine(this.limit, this.limit);
+                        return true;
+                    }
+
+                    return false;
+                }
+
+                scan = scan - this.position;
+                this.fill();
+            }
+        }
+
+        private void setLine(int end, int next) {
+            this.lineStart = this.position;
+            this.lineEnd = end;
+            this.position = next;
+        }
+
+        /**
+         * Move the pending partial line at the start of the buffer, growing it if the line is larger, then read more data.
+         */
+        private void fill() throws IOException {
+            int remaining = this.limit - this.position;
+
+            if (remaining == this.buffer.length) {
+                byte[] grown = new byte[this.buffer.length * 2];
+                System.arraycopy(this.buffer, this.position, grown, 0, remaining);
+                this.buffer = grown;
+            } else if (this.position > 0) {
+                System.arraycopy(this.buffer, this.position, this.buffer, 0, remaining);
+            }
+
+            this.position = 0;
+            this.limit = remaining;
+
+            int read = this.inputStream.read(this.buffer, this.limit, this.buffer.length - this.limit);
+            if (read == -1) {
+                this.eof = true;
+            } else {
+                this.limit = this.limit + read;
+            }
+        }
+
+        int length() {
+            return this.lineEnd - this.lineStart;
+        }
+
+        void writeTo(OutputStream outputStream) throws IOException {
+            outputStream.write(this.buffer, this.lineStart, this.length());
+        }
+    }
+
+    /**
+     * Upload chunks to the internal storage concurrently, with a bounded number of pending uploads
+     * so that the local disk usage stays bounded whatever the size of the split file.
+     * A chunk is deleted from the local disk once uploaded, or when the split fails.
+     */
+    private static class ChunkUploader implements AutoCloseable {
+        private final RunContext runContext;
+        private final Semaphore semaphore = new Semaphore(MAX_CONCURRENT_UPLOADS);
+        private final List<Future<URI>> uploads = new ArrayList<>();
+        private final List<Path> paths = new ArrayList<>();
+
+        ChunkUploader(RunContext runContext) {
+            this.runContext = runContext;
+        }
+
+        void upload(Path path) throws IOException {
+            try {
+                this.semaphore.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting to upload a split file");
+            }
+
+            this.paths.add(path);
+            this.uploads.add(UPLOAD_EXECUTOR.submit(() -> {
+                try {
+                    return this.runContext.storage().putFile(path.toFile());
+                } finally {
+                    Files.deleteIfExists(path);
+                    this.semaphore.release();
+                }
+            }));
+        }
+
+        /**
+         * Wait for all the uploads and return their URIs, in the order of the chunks.
+         */
+        List<URI> await() throws IOException {
+            List<URI> uris = new ArrayList<>();
+
+            for (Future<URI> upload : this.uploads) {
+                try {
+                    uris.add(upload.get());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted while uploading split files");
+                } catch (ExecutionException e) {
+                    if (e.getCause() instanceof IOException ioException) {
+                        throw ioException;
+                    }
+
+                    throw new IOException("Unable to upload a split file", e.getCause());
+                }
+            }
+
+            return uris;
+        }
+
+        @Override
+        public void close() throws IOException {
+            this.uploads.forEach(upload -> upload.cancel(true));
+
+            // the cancelled uploads that were not started yet didn't delete their chunk
+            for (Path path : this.paths) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
 }
@@ -0,0 +1,436 @@
+package io.kestra.plugin.core.storage;
+
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import io.kestra.core.runners.WorkingDir;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * A memory-bounded index of the last offset of each key, used by {@link DeduplicateItems}.
+ * <p>
+ * Keys are looked up by their 128-bit murmur3 hash in a primitive open-addressing table, their bytes being kept
+ * in a single buffer. The bytes of the keys are compared on a hash match, so two distinct keys with the same hash
+ * are still indexed separately.
+ * <p>
+ * Half of the memory budget goes to the table and half to the key bytes. When either is full, the entries are
+ * sorted by hash then key and spilled with their key to a file of the working directory. Once all the keys are
+ * indexed, the spilled runs are merged to keep only the last offset of each key. The result is a bitmap of the
+ * offsets to keep, using one bit per item.
+ */
+class DeduplicateIndex implements Closeable {
+    private static final HashFunction HASH_FUNCTION = Hashing.murmur3_128();
+    private static final int ENTRY_BYTES = 4 * Long.BYTES;
+    private static final int MIN_CAPACITY = 1024;
+    private static final int MIN_KEY_BYTES = 64 * 1024;
+    private static final long EMPTY = -1L;
+
+    private final WorkingDir workingDir;
+    private final HashFunction hashFunction;
+    private final int maxCapacity;
+    private final int maxKeyBytes;
+
+    private long[] highs;
+    private long[] lows;
+    private long[] offsets;
+    // position of the key in the keys buffer in the upper 32 bits, and its length in the lower ones
+    private long[] keyRefs;
+    private int size = 0;
+
+    private byte[] keys = new byte[MIN_KEY_BYTES];
+    private int keysSize = 0;
+
+    private final List<Path> runs = new ArrayList<>();
+    private long[] latest;
+    private long numKeys = 0;
+    private long peakMemory = 0;
+
+    DeduplicateIndex(WorkingDir workingDir, long maxMemory) {
+        this(workingDir, maxMemory, HASH_FUNCTION);
+    }
+
+    DeduplicateIndex(WorkingDir workingDir, long maxMemory, HashFunction hashFunction) {
+        this.workingDir = workingDir;
+        this.hashFunction = hashFunction;
+
+        long maxEntries = Math.max(MIN_CAPACITY, Math.min(maxMemory / 2 / ENTRY_BYTES, 1 << 30));
+        this.maxCapacity = Integer.highestOneBit((int) maxEntries);
+        this.maxKeyBytes = (int) Math.max(MIN_KEY_BYTES, Math.min(maxMemory / 2, Integer.MAX_VALUE - 8));
+
+        this.allocate(Math.min(MIN_CAPACITY, this.maxCapacity));
+    }
+
+    /**
+     * Record the offset of an item for its key, must be called with increasing offsets.
+     */
+    void put(String key, long offset) throws IOException {
+        byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer hash = ByteBuffer.wrap(this.hashFunction.hashBytes(bytes).asBytes()).order(ByteOrder.LITTLE_ENDIAN);
+        long high = hash.getLong(0);
+        long low = hash.getLong(8);
+
+        int mask = this.offsets.length - 1;
+        int slot = (int) (high ^ (high >>> 32)) & mask;
+
+        while (this.offsets[slot] != EMPTY) {
+            if (this.highs[slot] == high && this.lows[slot] == low && this.keyEquals(slot, bytes)) {
+                this.offsets[slot] = offset;
+                return;
+            }
+
+            slot = (slot + 1) & mask;
+        }
+
+        this.highs[slot] = high;
+        this.lows[slot] = low;
+        this.offsets[slot] = offset;
+        this.keyRefs[slot] = this.appendKey(bytes);
+        this.size++;
+
+        // keep the load factor under 75%
+        if (this.size > (this.offsets.length >> 2) * 3) {
+            if (this.offsets.length < this.maxCapacity) {
+                this.grow();
+            } else {
+                this.spill();
+            }
+        } else if (this.keysSize >= this.maxKeyBytes) {
+            this.spill();
+        }
+    }
+
+    /**
+     * Finish the indexing of the given count of items, merging the spilled runs if any.
+     */
+    void build(long count) throws IOException {
+        this.latest = new long[(int) ((count + 63) >>> 6)];
+        this.peakMemory = Math.max(this.peakMemory, this.memory()) + (long) this.latest.length * Long.BYTES;
+
+        if (this.runs.isEmpty()) {
+            for (long offset : this.offsets) {
+                if (offset != EMPTY) {
+                    this.mark(offset);
+                }
+            }
+
+            this.numKeys = this.size;
+        } else {
+            if (this.size > 0) {
+                this.spill();
+            }
+
+            this.merge();
+        }
+
+        this.highs = null;
+        this.lows = null;
+        this.offsets = null;
+        this.keyRefs = null;
+        this.keys = null;
+    }
+
+    /**
+     * @return whether the item at this offset is the last one for its key
+     */
+    boolean isLatest(long offset) {
+        return (this.latest[(int) (offset >>> 6)] & (1L << offset)) != 0;
+    }
+
+    long numKeys() {
+        return this.numKeys;
+    }
+
+    int spills() {
+        return this.runs.size();
+    }
+
+    /**
+     * @return the peak memory used by the index, in bytes
+     */
+    long peakMemory() {
+        return this.peakMemory;
+    }
+
+    private void mark(long offset) {
+        this.latest[(int) (offset >>> 6)] |= 1L << offset;
+    }
+
+    private long memory() {
+        return (long) this.offsets.length * ENTRY_BYTES + this.keys.length;
+    }
+
+    private void allocate(int capacity) {
+        this.highs = new long[capacity];
+        this.lows = new long[capacity];
+        this.offsets = new long[capacity];
+        this.keyRefs = new long[capacity];
+        Arrays.fill(this.offsets, EMPTY);
+        this.size = 0;
+    }
+
+    private long appendKey(byte[] bytes) {
+        if (this.keysSize + bytes.length > this.keys.length) {
+            // the buffer may exceed its budget by one key, it's spilled right after
+            long length = Math.max((long) this.keys.length << 1, (long) this.keysSize + bytes.length);
+            this.keys = Arrays.copyOf(this.keys, (int) Math.min(length, Integer.MAX_VALUE - 8));
+        }
+
+        System.arraycopy(bytes, 0, this.keys, this.keysSize, bytes.length);
+        long ref = ((long) this.keysSize << 32) | bytes.length;
+        this.keysSize = this.keysSize + bytes.length;
+
+        return ref;
+    }
+
+    private boolean keyEquals(int slot, byte[] bytes) {
+        int position = keyPosition(this.keyRefs[slot]);
+        return Arrays.equals(this.keys, position, position + keyLength(this.keyRefs[slot]), bytes, 0, bytes.length);
+    }
+
+    private static int keyPosition(long keyRef) {
+        return (int) (keyRef >>> 32);
+    }
+
+    private static int keyLength(long keyRef) {
+        return (int) keyRef;
+    }
+
+    private void grow() {
+        long[] previousHighs = this.highs;
+        long[] previousLows = this.lows;
+        long[] previousOffsets = this.offsets;
+        long[] previousKeyRefs = this.keyRefs;
+
+        this.allocate(previousOffsets.length << 1);
+        int mask = this.offsets.length - 1;
+
+        for (int i = 0; i < previousOffsets.length; i++) {
+            if (previousOffsets[i] != EMPTY) {
+                int slot = (int) (previousHighs[i] ^ (previousHighs[i] >>> 32)) & mask;
+                while (this.offsets[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+
+                this.highs[slot] = previousHighs[i];
+                this.lows[slot] = previousLows[i];
+                this.offsets[slot] = previousOffsets[i];
+                this.keyRefs[slot] = previousKeyRefs[i];
+                this.size++;
+            }
+        }
+    }
+
+    private void spill() throws IOException {
+        this.peakMemory = Math.max(this.peakMemory, this.memory());
+
+        // compact the entries at the start of the arrays, then sort them by hash and key
+        int count = 0;
+        for (int i = 0; i < this.offsets.length; i++) {
+            if (this.offsets[i] != EMPTY) {
+                this.highs[count] = this.highs[i];
+                this.lows[count] = this.lows[i];
+                this.offsets[count] = this.offsets[i];
+                this.keyRefs[count] = this.keyRefs[i];
+                count++;
+            }
+        }
+
+        this.sort(count);
+
+        Path path = this.workingDir.createTempFile(".idx");
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))) {
+            output.writeInt(count);
+            for (int i = 0; i < count; i++) {
+                output.writeLong(this.highs[i]);
+                output.writeLong(this.lows[i]);
+                output.writeLong(this.offsets[i]);
+                output.writeInt(keyLength(this.keyRefs[i]));
+                output.write(this.keys, keyPosition(this.keyRefs[i]), keyLength(this.keyRefs[i]));
+            }
+        }
+
+        this.runs.add(path);
+
+        Arrays.fill(this.offsets, EMPTY);
+        this.size = 0;
+        this.keysSize = 0;
+    }
+
+    private void merge() throws IOException {
+        PriorityQueue<Run> queue = new PriorityQueue<>((a, b) -> {
+            int compare = compare(a.high, a.low, b.high, b.low);
+            return compare != 0 ? compare : Arrays.compare(a.key, b.key);
+        });
+        List<Run> opened = new ArrayList<>();
+
+        try {
+            for (Path path : this.runs) {
+                Run run = new Run(path);
+                opened.add(run);
+
+                if (run.next()) {
+                    queue.add(run);
+                }
+            }
+
+            boolean hasCurrent = false;
+            long currentHigh = 0;
+            long currentLow = 0;
+            byte[] currentKey = null;
+            long currentOffset = 0;
+
+            while (!queue.isEmpty()) {
+                Run run = queue.poll();
+
+                if (hasCurrent && run.high == currentHigh && run.low == currentLow && Arrays.equals(run.key, currentKey)) {
+                    currentOffset = Math.max(currentOffset, run.offset);
+                } else {
+                    if (hasCurrent) {
+                        this.mark(currentOffset);
+                        this.numKeys++;
+                    }
+
+                    hasCurrent = true;
+                    currentHigh = run.high;
+                    currentLow = run.low;
+                    currentKey = run.key;
+                    currentOffset = run.offset;
+                }
+
+                if (run.next()) {
+                    queue.add(run);
+                }
+            }
+
+            if (hasCurrent) {
+                this.mark(currentOffset);
+                this.numKeys++;
+            }
+        } finally {
+            for (Run run : opened) {
+                run.close();
+            }
+        }
+    }
+
+    private static int compare(long highA, long lowA, long highB, long lowB) {
+        int compare = Long.compare(highA, highB);
+        return compare != 0 ? compare : Long.compare(lowA, lowB);
+    }
+
+    /**
+     * In-place heap sort of the first entries of the parallel arrays, to avoid boxing them.
+     */
+    private void sort(int count) {
+        for (int i = count / 2 - 1; i >= 0; i--) {
+            this.siftDown(i, count);
+        }
+
+        for (int end = count - 1; end > 0; end--) {
+            this.swap(0, end);
+            this.siftDown(0, end);
+        }
+    }
+
+    private void siftDown(int root, int end) {
+        while (true) {
+            int child = 2 * root + 1;
+            if (child >= end) {
+                return;
+            }
+
+            if (child + 1 < end && this.compareEntries(child, child + 1) < 0) {
+                child++;
+            }
+
+            if (this.compareEntries(root, child) >= 0) {
+                return;
+            }
+
+            this.swap(root, child);
+            root = child;
+        }
+    }
+
+    private int compareEntries(int a, int b) {
+        int compare = compare(this.highs[a], this.lows[a], this.highs[b], this.lows[b]);
+        if (compare != 0) {
+            return compare;
+        }
+
+        int positionA = keyPosition(this.keyRefs[a]);
+        int positionB = keyPosition(this.keyRefs[b]);
+        return Arrays.compare(
+            this.keys, positionA, positionA + keyLength(this.keyRefs[a]),
+            this.keys, positionB, positionB + keyLength(this.keyRefs[b])
+        );
+    }
+
+    private void swap(int a, int b) {
+        long high = this.highs[a];
+        long low = this.lows[a];
+        long offset = this.offsets[a];
+        long keyRef = this.keyRefs[a];
+
+        this.highs[a] = this.highs[b];
+        this.lows[a] = this.lows[b];
+        this.offsets[a] = this.offsets[b];
+        this.keyRefs[a] = this.keyRefs[b];
+
+        this.highs[b] = high;
+        this.lows[b] = low;
+        this.offsets[b] = offset;
+        this.keyRefs[b] = keyRef;
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (Path run : this.runs) {
+            Files.deleteIfExists(run);
+        }
+    }
+
+    private static class Run implements Closeable {
+        private final DataInputStream input;
+        private int remaining;
+
+        private long high;
+        private long low;
+        private long offset;
+        private byte[] key;
+
+        Run(Path path) throws IOException {
+            this.input = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)));
+            this.remaining = this.input.readInt();
+        }
+
+        boolean next() throws IOException {
+            if (this.remaining == 0) {
+                return false;
+            }
+
+            this.high = this.input.readLong();
+            this.low = this.input.readLong();
+            this.offset = this.input.readLong();
+            this.key = new byte[this.input.readInt()];
+            this.input.readFully(this.key);
+            this.remaining--;
+
+            return true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            this.input.close();
+        }
+    }
+}
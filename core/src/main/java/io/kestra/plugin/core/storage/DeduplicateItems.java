@@ -5,11 +5,13 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import io.kestra.core.models.annotations.Example;
 import io.kestra.core.models.annotations.Plugin;
 import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.models.executions.metrics.Counter;
 import io.kestra.core.models.property.Property;
 import io.kestra.core.models.tasks.RunnableTask;
 import io.kestra.core.models.tasks.Task;
 import io.kestra.core.runners.RunContext;
 import io.kestra.core.serializers.JacksonMapper;
+import io.micronaut.core.convert.format.ReadableBytesTypeConverter;
 import io.micronaut.core.util.functional.ThrowingFunction;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotNull;
@@ -73,6 +75,16 @@ public class DeduplicateItems extends Task implements RunnableTask<DeduplicateIt
     @NotNull
     private String expr;
 
+    @Schema(
+        title = "The maximum amount of memory used to index the keys, e.g. `64MB`.",
+        description = """
+            When set, keys are indexed by their 128-bit hash in a compact table instead of a map, their bytes being compared on a hash match.
+            Once the table and the keys reach this size, they're sorted and spilled to the working directory, and the spilled parts are merged at the end.
+            One additional bit per item is used to track the items to keep.
+            When not set, all distinct keys are kept in memory."""
+    )
+    private Property<String> maxMemory;
+
     /**
      * {@inheritDoc}
      **/
@@ -83,6 +95,10 @@ public class DeduplicateItems extends Task implements RunnableTask<DeduplicateIt
 
         final PebbleFieldExtractor keyExtractor = getKeyExtractor(runContext);
 
+        if (this.maxMemory != null) {
+            return runBounded(runContext, from, keyExtractor);
+        }
+
         final Map<String, Long> index = new HashMap<>(); // can be replaced by small-footprint Map implementation
 
         // 1st iteration: build a map of key->offset
@@ -131,6 +147,56 @@ public class DeduplicateItems extends Task implements RunnableTask<DeduplicateIt
             .build();
     }
 
+    private Output runBounded(RunContext runContext, URI from, PebbleFieldExtractor keyExtractor) throws Exception {
+        long maxMemory = new ReadableBytesTypeConverter()
+            .convert(runContext.render(this.maxMemory).as(String.class).orElseThrow(), Number.class)
+            .orElseThrow(() -> new IllegalArgumentException("Invalid size with value '" + this.maxMemory + "'"))
+            .longValue();
+
+        try (DeduplicateIndex index = new DeduplicateIndex(runContext.workingDir(), maxMemory)) {
+            // 1st iteration: index the last offset of each key
+            long count = 0L;
+            try (final BufferedReader reader = newBufferedReader(runContext, from)) {
+                String item;
+                while ((item = reader.readLine()) != null) {
+                    index.put(keyExtractor.apply(item), count);
+                    count++;
+                }
+            }
+
+            index.build(count);
+
+            runContext.metric(Counter.of("index.spills", index.spills()));
+            runContext.metric(Counter.of("index.memory.bytes", index.peakMemory()));
+
+            // 2nd iteration: write deduplicate, keys don't need to be extracted again
+            long droppedItemsTotal = 0L;
+            final Path path = runContext.workingDir().createTempFile(".ion");
+            try (final BufferedWriter writer = Files.newBufferedWriter(path);
+                 final BufferedReader reader = newBufferedReader(runContext, from)) {
+                long offset = 0L;
+                String item;
+                while ((item = reader.readLine()) != null) {
+                    if (index.isLatest(offset)) {
+                        writer.write(item);
+                        writer.newLine();
+                    } else {
+                        droppedItemsTotal++;
+                    }
+                    offset++;
+                }
+            }
+
+            return Output
+                .builder()
+                .uri(runContext.storage().putFile(path.toFile()))
+                .numKeys(index.numKeys())
+                .processedItemsTotal(count)
+                .droppedItemsTotal(droppedItemsTotal)
+                .build();
+        }
+    }
+
     private PebbleFieldExtractor getKeyExtractor(RunContext runContext) {
         return new PebbleFieldExtractor(runContext, expr);
     }
@@ -1,7 +1,10 @@
 package io.kestra.core.models.executions;
 
+import io.kestra.core.exceptions.InternalException;
 import io.kestra.core.models.Label;
+import io.kestra.core.runners.OffloadedOutputs;
 import io.kestra.core.utils.IdUtils;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import io.kestra.core.models.flows.State;
 
@@ -161,4 +164,47 @@ class ExecutionTest {
         assertThat(execution.getLabels().size(), is(1));
         assertThat(execution.getLabels().getFirst(), is(new Label("test", "test-value")));
     }
+
+    @Test
+    void indexedTaskRunLookups() throws Exception {
+        TaskRun parent = TaskRun.builder().id("parent").taskId("each").state(new State()).build();
+        TaskRun first = TaskRun.builder().id("first").taskId("child").parentTaskRunId("parent").value("a").state(new State()).build();
+        TaskRun second = TaskRun.builder().id("second").taskId("child").parentTaskRunId("parent").value("b").state(new State()).build();
+
+        Execution execution = Execution.builder()
+            .id(IdUtils.create())
+            .taskRunList(List.of(parent, first, second))
+            .build();
+
+        assertThat(execution.findTaskRunByTaskRunId("second"), is(second));
+        assertThat(execution.findTaskRunsByTaskId("child"), is(List.of(first, second)));
+        assertThat(execution.findTaskRunByTaskIdAndValue("child", List.of("b")), is(second));
+        assertThat(execution.findParents(second), is(List.of(parent)));
+
+        TaskRun updated = second.withState(State.Type.RUNNING);
+        Execution next = execution.withTaskRun(updated);
+        assertThat(next.findTaskRunByTaskRunId("second"), is(updated));
+        assertThat(next.findTaskRunsByTaskId("child"), is(List.of(first, updated)));
+        assertThat(execution.findTaskRunByTaskRunId("second"), is(second));
+
+        Assertions.assertThrows(InternalException.class, () -> execution.findTaskRunByTaskRunId("unknown"));
+    }
+
+    @Test
+    void outputsKeepOffloadedReferences() {
+        Map<String, Object> reference = Map.of(OffloadedOutputs.OFFLOADED_OUTPUTS_KEY, "kestra:///outputs.json");
+
+        TaskRun parent = TaskRun.builder().id("parent").taskId("each").value("a").state(new State()).build();
+        TaskRun child = TaskRun.builder().id("child").taskId("child").parentTaskRunId("parent").outputs(reference).state(new State()).build();
+        TaskRun other = TaskRun.builder().id("other").taskId("child").parentTaskRunId("parent-b").outputs(Map.of("value", "b")).state(new State()).build();
+        TaskRun parentB = TaskRun.builder().id("parent-b").taskId("each").value("b").state(new State()).build();
+
+        Execution execution = Execution.builder()
+            .id(IdUtils.create())
+            .taskRunList(List.of(parent, child, parentB, other))
+            .build();
+
+        Map<String, Object> outputs = execution.outputs();
+        assertThat(outputs.get("child"), is(Map.of("a", reference, "b", Map.of("value", "b"))));
+    }
 }
@@ -0,0 +1,61 @@
+package io.kestra.core.plugins;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * Compare the time to register the test plugins with a full scan (no scan index, as on the first startup)
+ * and from the scan index written by a previous startup.
+ */
+@Slf4j
+@Tag("benchmark")
+class PluginScannerBenchmarkTest {
+    private static final int ITERATIONS = 20;
+
+    @Test
+    void coldAndWarmScan(@TempDir Path plugins) throws Exception {
+        PluginScannerTest.copyPlugins(plugins);
+        Path index = plugins.resolve(PluginScanIndex.FILE_NAME);
+
+        // warm up both paths
+        for (int i = 0; i < 3; i++) {
+            Files.deleteIfExists(index);
+            PluginScannerTest.scanner(null).scan(plugins);
+            PluginScannerTest.scanner(null).scan(plugins);
+        }
+
+        long cold = 0;
+        long warm = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            // a new scanner has a new class loader, so no plugin class is already loaded
+            Files.deleteIfExists(index);
+            long start = System.nanoTime();
+            PluginScanner coldScanner = PluginScannerTest.scanner(null);
+            coldScanner.scan(plugins);
+            cold += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            PluginScanner warmScanner = PluginScannerTest.scanner(null);
+            warmScanner.scan(plugins);
+            warm += System.nanoTime() - start;
+
+            assertThat(coldScanner.getScannedCount().get(), is(1L));
+            assertThat(warmScanner.getIndexedCount().get(), is(1L));
+        }
+
+        log.info(
+            "Plugin scan of {}: cold {} µs, warm {} µs",
+            plugins,
+            cold / ITERATIONS / 1000,
+            warm / ITERATIONS / 1000
+        );
+    }
+}
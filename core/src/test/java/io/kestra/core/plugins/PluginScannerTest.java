@@ -1,10 +1,14 @@
 package io.kestra.core.plugins;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.IOException;
 import java.net.URISyntaxException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
 import java.util.List;
 import java.util.Objects;
 
@@ -13,14 +17,72 @@ import static org.hamcrest.Matchers.is;
 
 class PluginScannerTest {
     @Test
-    void scanPlugins() throws URISyntaxException {
-        Path plugins = Paths.get(Objects.requireNonNull(PluginScannerTest.class.getClassLoader().getResource("plugins")).toURI());
+    void scanPlugins(@TempDir Path plugins) throws Exception {
+        copyPlugins(plugins);
 
         PluginScanner pluginScanner = new PluginScanner(PluginScannerTest.class.getClassLoader());
         List<RegisteredPlugin> scan = pluginScanner.scan(plugins);
 
         assertThat(scan.size(), is(1));
         assertThat(scan.getFirst().getManifest().getMainAttributes().getValue("X-Kestra-Group"), is("io.kestra.plugin.templates"));
+        // the scan index is disabled by default
+        assertThat(Files.exists(plugins.resolve(PluginScanIndex.FILE_NAME)), is(false));
+    }
+
+    @Test
+    void scanPluginsWithIndex(@TempDir Path plugins) throws Exception {
+        copyPlugins(plugins);
+
+        PluginScanner coldScanner = scanner(null);
+        RegisteredPlugin cold = coldScanner.scan(plugins).getFirst();
+
+        assertThat(coldScanner.getScannedCount().get(), is(1L));
+        assertThat(Files.exists(plugins.resolve(PluginScanIndex.FILE_NAME)), is(true));
+
+        PluginScanner warmScanner = scanner(null);
+        List<RegisteredPlugin> scan = warmScanner.scan(plugins);
+        RegisteredPlugin warm = scan.getFirst();
+
+        assertThat(warmScanner.getIndexedCount().get(), is(1L));
+        assertThat(warmScanner.getScannedCount().get(), is(0L));
+        assertThat(scan.size(), is(1));
+        assertThat(classNames(warm), is(classNames(cold)));
+        assertThat(warm.getAliases().keySet(), is(cold.getAliases().keySet()));
+        assertThat(warm.getGuides(), is(cold.getGuides()));
+        assertThat(warm.version(), is(cold.version()));
+
+        // a modified plugin is scanned again
+        Path jar;
+        try (var jars = Files.list(plugins)) {
+            jar = jars.filter(path -> path.toString().endsWith(".jar")).findFirst().orElseThrow();
+        }
+        Files.setLastModifiedTime(jar, FileTime.fromMillis(Files.getLastModifiedTime(jar).toMillis() + 60_000));
+
+        PluginScanner modifiedScanner = scanner(null);
+        RegisteredPlugin modified = modifiedScanner.scan(plugins).getFirst();
+
+        assertThat(modifiedScanner.getScannedCount().get(), is(1L));
+        assertThat(classNames(modified), is(classNames(cold)));
+    }
+
+    @Test
+    void scanPluginsWithIndexLocation(@TempDir Path plugins, @TempDir Path location) throws Exception {
+        copyPlugins(plugins);
+        Path indexes = location.resolve("indexes");
+
+        PluginScanner coldScanner = scanner(indexes);
+        coldScanner.scan(plugins);
+
+        assertThat(coldScanner.getScannedCount().get(), is(1L));
+        assertThat(Files.exists(plugins.resolve(PluginScanIndex.FILE_NAME)), is(false));
+        try (var files = Files.list(indexes)) {
+            assertThat(files.count(), is(1L));
+        }
+
+        PluginScanner warmScanner = scanner(indexes);
+        warmScanner.scan(plugins);
+
+        assertThat(warmScanner.getIndexedCount().get(), is(1L));
     }
 
     @Test
@@ -29,4 +91,26 @@ class PluginScannerTest {
         RegisteredPlugin scan = pluginScanner.scan();
         assertThat(scan.getManifest().getMainAttributes().getValue("X-Kestra-Group"), is("io.kestra.plugin.core"));
     }
-}
\ No newline at end of file
+
+    static PluginScanner scanner(Path scanIndexLocation) {
+        PluginScanner scanner = new PluginScanner(PluginScannerTest.class.getClassLoader());
+        scanner.setScanIndexEnabled(true);
+        scanner.setScanIndexLocation(scanIndexLocation);
+
+        return scanner;
+    }
+
+    static void copyPlugins(Path target) throws URISyntaxException, IOException {
+        Path plugins = Paths.get(Objects.requireNonNull(PluginScannerTest.class.getClassLoader().getResource("plugins")).toURI());
+
+        try (var files = Files.list(plugins)) {
+            for (Path file : files.toList()) {
+                Files.copy(file, target.resolve(file.getFileName()));
+            }
+        }
+    }
+
+    private static List<String> classNames(RegisteredPlugin plugin) {
+        return plugin.allClass().stream().map(Class::getName).sorted().toList();
+    }
+}
@@ -23,10 +23,13 @@ import java.nio.file.Files;
 import java.nio.file.StandardCopyOption;
 import java.time.Instant;
 import java.time.ZonedDateTime;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.stream.IntStream;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 
 @KestraTest
@@ -137,4 +140,92 @@ public abstract class AbstractExecutionServiceTest {
 
         assertThat(purge.getExecutionsCount(), is(0));
     }
-}
\ No newline at end of file
+
+    @Test
+    void purgeByChunks() {
+        // more than two chunks of the default size
+        List<Execution> executions = executions("io.kestra.test", "chunks", 1_100);
+        List<Execution> others = executions("io.kestra.test", "other", 3);
+
+        ExecutionService.PurgeResult purge = executionService.purge(
+            true,
+            true,
+            true,
+            false,
+            null,
+            "io.kestra.test",
+            "chunks",
+            null,
+            ZonedDateTime.now().plusMinutes(1),
+            null
+        );
+
+        assertThat(purge.getExecutionsCount(), is(executions.size()));
+        assertThat(purge.getLogsCount(), is(executions.size()));
+        assertThat(executionRepository.findById(null, executions.getLast().getId()).isPresent(), is(false));
+
+        // the executions of the other flow are kept with their logs
+        assertThat(executionRepository.findById(null, others.getFirst().getId()).isPresent(), is(true));
+        assertThat(logRepository.findByExecutionId(null, others.getFirst().getId(), null), hasSize(1));
+    }
+
+    @Test
+    void resumeInterruptedPurge() {
+        List<Execution> executions = executions("io.kestra.test", "interrupted", 1_100);
+
+        // a purge interrupted in its second chunk: the logs of the first chunk and of a part of the second one are deleted,
+        // but only the executions of the first chunk are
+        logRepository.purge(executions.subList(0, 600));
+        executionRepository.purge(executions.subList(0, 500));
+
+        ExecutionService.PurgeResult purge = executionService.purge(
+            true,
+            true,
+            true,
+            false,
+            null,
+            "io.kestra.test",
+            "interrupted",
+            null,
+            ZonedDateTime.now().plusMinutes(1),
+            null
+        );
+
+        assertThat(purge.getExecutionsCount(), is(600));
+        assertThat(purge.getLogsCount(), is(500));
+        assertThat(executionRepository.findById(null, executions.get(550).getId()).isPresent(), is(false));
+        assertThat(logRepository.findByExecutionId(null, executions.getLast().getId(), null), hasSize(0));
+    }
+
+    private List<Execution> executions(String namespace, String flowId, int count) {
+        State state = new State().withState(State.Type.RUNNING).withState(State.Type.SUCCESS);
+
+        List<Execution> executions = IntStream.range(0, count)
+            .mapToObj(i -> Execution.builder()
+                .id(IdUtils.create())
+                .state(state)
+                .flowId(flowId)
+                .namespace(namespace)
+                .flowRevision(1)
+                .build()
+            )
+            .toList();
+        executionRepository.saveBatch(executions);
+
+        logRepository.saveBatch(executions
+            .stream()
+            .map(execution -> LogEntry.builder()
+                .executionId(execution.getId())
+                .timestamp(Instant.now())
+                .message("Message")
+                .flowId(flowId)
+                .level(Level.INFO)
+                .namespace(namespace)
+                .build()
+            )
+            .toList()
+        );
+
+        return executions;
+    }
+}
@@ -84,6 +84,7 @@ abstract public class FlowListenersTest {
             assertThat(count.get(), is(1));
             assertThat(flowListenersService.flows().size(), is(1));
             assertThat(flowListenersService.flows().getFirst().getTasks().getFirst().getId(), is("test2"));
+            assertThat(flowListenersService.findById(null, firstUpdated.getNamespace(), firstUpdated.getId()).orElseThrow().getTasks().getFirst().getId(), is("test2"));
         });
 
         Flow second = create("second_" + IdUtils.create(), "test");
@@ -99,6 +100,7 @@ abstract public class FlowListenersTest {
         wait(ref, () -> {
             assertThat(count.get(), is(1));
             assertThat(flowListenersService.flows().size(), is(1));
+            assertThat(flowListenersService.findById(null, firstUpdated.getNamespace(), firstUpdated.getId()).isPresent(), is(false));
         });
 
         // restore must works
@@ -0,0 +1,138 @@
+package io.kestra.core.runners;
+
+import io.kestra.core.metrics.MetricRegistry;
+import io.kestra.core.models.executions.LogEntry;
+import io.kestra.core.queues.QueueException;
+import io.kestra.core.queues.QueueInterface;
+import io.kestra.core.utils.ExecutorsUtils;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.slf4j.event.Level;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+
+class LogShipperTest {
+    @Test
+    @SuppressWarnings("unchecked")
+    void failingEntryOnlyDropsItself() throws QueueException {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        MetricRegistry metricRegistry = mock(MetricRegistry.class, invocation -> switch (invocation.getMethod().getName()) {
+            case "gauge" -> invocation.getArgument(1);
+            case "counter" -> meterRegistry.counter(invocation.getArgument(0), (String[]) invocation.getRawArguments()[1]);
+            case "summary" -> meterRegistry.summary(invocation.getArgument(0), (String[]) invocation.getRawArguments()[1]);
+            default -> null;
+        });
+        ExecutorsUtils executorsUtils = mock(ExecutorsUtils.class, invocation -> Executors.newSingleThreadExecutor());
+
+        // the batch is rejected because of one entry too large, the others must still be emitted
+        List<String> emitted = new CopyOnWriteArrayList<>();
+        QueueInterface<LogEntry> logQueue = mock(QueueInterface.class);
+        doThrow(new QueueException("Message too big")).when(logQueue).emitBatch(anyList());
+        doAnswer(invocation -> {
+            LogEntry logEntry = invocation.getArgument(0);
+            if (logEntry.getMessage().equals("too big")) {
+                throw new QueueException("Message too big");
+            }
+
+            emitted.add(logEntry.getMessage());
+            return null;
+        }).when(logQueue).emit(any(LogEntry.class));
+
+        LogShipper logShipper = new LogShipper(
+            logQueue,
+            new LogShipperConfiguration(true, 100, 10, LogShipperConfiguration.OverflowPolicy.BLOCK, 10, Duration.ofSeconds(10)),
+            metricRegistry,
+            executorsUtils
+        );
+
+        logShipper.offer(logEntry("first"));
+        logShipper.offer(logEntry("too big"));
+        logShipper.offer(logEntry("last"));
+        logShipper.flush();
+        logShipper.close();
+
+        assertThat(emitted, contains("first", "last"));
+        assertThat(meterRegistry.counter(MetricRegistry.METRIC_WORKER_LOGS_DROPPED_COUNT, "reason", "error").count(), is(1.0));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void runtimeFailureKeepsShipping() throws Exception {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        MetricRegistry metricRegistry = mock(MetricRegistry.class, invocation -> switch (invocation.getMethod().getName()) {
+            case "gauge" -> invocation.getArgument(1);
+            case "counter" -> meterRegistry.counter(invocation.getArgument(0), (String[]) invocation.getRawArguments()[1]);
+            case "summary" -> meterRegistry.summary(invocation.getArgument(0), (String[]) invocation.getRawArguments()[1]);
+            default -> null;
+        });
+        ExecutorsUtils executorsUtils = mock(ExecutorsUtils.class, invocation -> Executors.newSingleThreadExecutor());
+
+        // a driver failure is not a QueueException, the shipping thread must survive it
+        List<String> emitted = new CopyOnWriteArrayList<>();
+        AtomicBoolean batchFailed = new AtomicBoolean(false);
+        AtomicBoolean emitFailed = new AtomicBoolean(false);
+        QueueInterface<LogEntry> logQueue = mock(QueueInterface.class);
+        doAnswer(invocation -> {
+            if (batchFailed.compareAndSet(false, true)) {
+                throw new IllegalStateException("Connection is closed");
+            }
+
+            List<LogEntry> batch = invocation.getArgument(0);
+            batch.forEach(logEntry -> emitted.add(logEntry.getMessage()));
+            return null;
+        }).when(logQueue).emitBatch(anyList());
+        doAnswer(invocation -> {
+            if (emitFailed.compareAndSet(false, true)) {
+                throw new IllegalStateException("Connection is closed");
+            }
+
+            emitted.add(invocation.<LogEntry>getArgument(0).getMessage());
+            return null;
+        }).when(logQueue).emit(any(LogEntry.class));
+
+        // a buffer of one entry with the blocking policy, so offer() blocks forever if nothing ships anymore
+        LogShipper logShipper = new LogShipper(
+            logQueue,
+            new LogShipperConfiguration(true, 1, 10, LogShipperConfiguration.OverflowPolicy.BLOCK, 10, Duration.ofSeconds(10)),
+            metricRegistry,
+            executorsUtils
+        );
+
+        logShipper.offer(logEntry("lost"));
+        logShipper.flush();
+
+        CompletableFuture<Void> offered = CompletableFuture.runAsync(() -> {
+            for (int i = 0; i < 5; i++) {
+                logShipper.offer(logEntry("after-" + i));
+            }
+        });
+        offered.get(10, TimeUnit.SECONDS);
+        logShipper.flush();
+        logShipper.close();
+
+        assertThat(emitted, contains("after-0", "after-1", "after-2", "after-3", "after-4"));
+        assertThat(meterRegistry.counter(MetricRegistry.METRIC_WORKER_LOGS_DROPPED_COUNT, "reason", "error").count(), is(1.0));
+    }
+
+    private static LogEntry logEntry(String message) {
+        return LogEntry.builder()
+            .level(Level.INFO)
+            .message(message)
+            .build();
+    }
+}
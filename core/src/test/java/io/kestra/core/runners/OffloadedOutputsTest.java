@@ -0,0 +1,81 @@
+package io.kestra.core.runners;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.serializers.JacksonMapper;
+import io.kestra.core.storages.StorageInterface;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@KestraTest
+class OffloadedOutputsTest {
+    @Inject
+    RunContextFactory runContextFactory;
+
+    @Inject
+    StorageInterface storageInterface;
+
+    @Test
+    void smallOutputsAreKept() throws Exception {
+        RunContext runContext = runContextFactory.of();
+        Map<String, Object> outputs = Map.of("value", "small");
+
+        assertThat(OffloadedOutputs.offload(runContext, outputs, 1024), is(outputs));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void largeOutputsAreOffloadedAndResolvedLazily() throws Exception {
+        RunContext runContext = runContextFactory.of();
+        Map<String, Object> outputs = Map.of("value", "a".repeat(2048), "count", 3);
+
+        Map<String, Object> offloaded = OffloadedOutputs.offload(runContext, outputs, 1024);
+        assertThat(OffloadedOutputs.isOffloaded(offloaded), is(true));
+        assertThat((String) offloaded.get(OffloadedOutputs.OFFLOADED_OUTPUTS_KEY), startsWith("kestra://"));
+
+        AtomicInteger loads = new AtomicInteger();
+        Map<String, Object> resolved = OffloadedOutputs.resolveLazily(
+            Map.of("task", offloaded, "other", Map.of("value", "inline")),
+            reference -> {
+                loads.incrementAndGet();
+                return OffloadedOutputs.readUnchecked(storageInterface, null, null, reference);
+            }
+        );
+
+        assertThat(loads.get(), is(0));
+        assertThat(((Map<String, Object>) resolved.get("other")).get("value"), is("inline"));
+
+        Map<String, Object> task = (Map<String, Object>) resolved.get("task");
+        assertThat(task.get("value"), is("a".repeat(2048)));
+        assertThat(task.get("count"), is(3));
+        assertThat(loads.get(), is(1));
+    }
+
+    @Test
+    void resolvedOutputsAreSerializedAsTheirReference() throws Exception {
+        RunContext runContext = runContextFactory.of();
+        Map<String, Object> offloaded = OffloadedOutputs.offload(runContext, Map.of("value", "a".repeat(2048)), 1024);
+
+        AtomicInteger loads = new AtomicInteger();
+        Map<String, Object> resolved = OffloadedOutputs.resolveLazily(Map.of("task", offloaded), reference -> {
+            loads.incrementAndGet();
+            return OffloadedOutputs.readUnchecked(storageInterface, null, null, reference);
+        });
+
+        // as in the run context of a worker task message
+        String json = JacksonMapper.ofJson().writeValueAsString(Map.of("outputs", resolved));
+
+        assertThat(json, is(JacksonMapper.ofJson().writeValueAsString(Map.of("outputs", Map.of("task", offloaded)))));
+        assertThat(loads.get(), is(0));
+
+        // resolving again doesn't read them
+        assertThat(OffloadedOutputs.resolveLazily(resolved, reference -> {
+            throw new IllegalStateException();
+        }).get("task"), sameInstance(resolved.get("task")));
+    }
+}
@@ -0,0 +1,81 @@
+package io.kestra.core.runners;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.executions.Execution;
+import io.kestra.core.models.executions.TaskRun;
+import io.kestra.core.models.flows.Flow;
+import io.kestra.core.models.flows.State;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.utils.IdUtils;
+import io.kestra.plugin.core.debug.Return;
+import jakarta.inject.Inject;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * Measure the creation of a {@link RunContext} for a task run of an execution with many task runs and report its latency.
+ */
+@Slf4j
+@KestraTest
+@Tag("benchmark")
+class RunContextBenchmarkTest {
+    private static final int ITERATIONS = 100;
+
+    @Inject
+    RunContextFactory runContextFactory;
+
+    @ParameterizedTest
+    @ValueSource(ints = {1_000, 10_000})
+    void runContextCreation(int taskRuns) throws Exception {
+        Return task = Return.builder().id("return").type(Return.class.getName()).format(Property.of("{{ taskrun.value }}")).build();
+        Flow flow = Flow.builder()
+            .id("benchmark")
+            .namespace("io.kestra.tests")
+            .revision(1)
+            .tasks(List.of(task))
+            .build();
+
+        String executionId = IdUtils.create();
+        List<TaskRun> taskRunList = IntStream.range(0, taskRuns)
+            .mapToObj(i -> TaskRun.builder()
+                .id(IdUtils.create())
+                .executionId(executionId)
+                .namespace(flow.getNamespace())
+                .flowId(flow.getId())
+                .taskId(task.getId())
+                .value(String.valueOf(i))
+                .outputs(Map.of("value", "output-" + i))
+                .state(new State().withState(State.Type.SUCCESS))
+                .build()
+            )
+            .toList();
+        Execution execution = Execution.builder()
+            .id(executionId)
+            .namespace(flow.getNamespace())
+            .flowId(flow.getId())
+            .flowRevision(flow.getRevision())
+            .state(new State())
+            .taskRunList(taskRunList)
+            .build();
+        TaskRun taskRun = taskRunList.getLast();
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            RunContext runContext = runContextFactory.of(flow, task, execution, taskRun);
+            assertThat(runContext.render("{{ taskrun.value }}"), is(taskRun.getValue()));
+        }
+        Duration duration = Duration.ofNanos((System.nanoTime() - start) / ITERATIONS);
+
+        log.info("RunContext creation with {} task runs: {} µs on average over {} iterations", taskRuns, duration.toNanos() / 1000, ITERATIONS);
+    }
+}
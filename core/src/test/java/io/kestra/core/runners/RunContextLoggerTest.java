@@ -1,10 +1,12 @@
 package io.kestra.core.runners;
 
+import io.kestra.core.metrics.MetricRegistry;
 import io.kestra.core.models.executions.Execution;
 import io.kestra.core.models.executions.LogEntry;
 import io.kestra.core.models.flows.Flow;
 import io.kestra.core.queues.QueueFactoryInterface;
 import io.kestra.core.queues.QueueInterface;
+import io.kestra.core.utils.ExecutorsUtils;
 import io.kestra.core.utils.TestsUtils;
 import io.kestra.core.junit.annotations.KestraTest;
 import jakarta.inject.Inject;
@@ -14,6 +16,7 @@ import org.slf4j.Logger;
 import org.slf4j.event.Level;
 import reactor.core.publisher.Flux;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CopyOnWriteArrayList;
@@ -30,6 +33,12 @@ class RunContextLoggerTest {
     @Inject
     RunContextFactory runContextFactory;
 
+    @Inject
+    MetricRegistry metricRegistry;
+
+    @Inject
+    ExecutorsUtils executorsUtils;
+
 
     @Test
     void logs() {
@@ -63,6 +72,42 @@ class RunContextLoggerTest {
         assertThat(matchingLog.stream().filter(logEntry -> logEntry.getLevel().equals(Level.ERROR)).findFirst().orElse(null).getMessage(), is("error"));
     }
 
+    @Test
+    void logsWithShipper() {
+        List<LogEntry> logs = new CopyOnWriteArrayList<>();
+        Flux<LogEntry> receive = TestsUtils.receive(logQueue, either -> logs.add(either.getLeft()));
+
+        Flow flow = TestsUtils.mockFlow();
+        Execution execution = TestsUtils.mockExecution(flow, Map.of());
+
+        LogShipper logShipper = new LogShipper(
+            logQueue,
+            new LogShipperConfiguration(true, 10, 5, LogShipperConfiguration.OverflowPolicy.DROP_DEBUG_FIRST, 10, Duration.ofSeconds(10)),
+            metricRegistry,
+            executorsUtils
+        );
+
+        RunContextLogger runContextLogger = new RunContextLogger(
+            logQueue,
+            logShipper,
+            LogEntry.of(execution),
+            Level.TRACE,
+            false
+        );
+
+        Logger logger = runContextLogger.logger();
+        for (int i = 0; i < 100; i++) {
+            logger.info("shipped {}", i);
+        }
+
+        logShipper.flush();
+        logShipper.close();
+
+        List<LogEntry> matchingLog = TestsUtils.awaitLogs(logs, logEntry -> logEntry.getMessage().startsWith("shipped"), 100);
+        receive.blockLast();
+        assertThat(matchingLog.size(), is(100));
+    }
+
     @Test
     void emptyLogMessage() {
         List<LogEntry> logs = new CopyOnWriteArrayList<>();
@@ -1,16 +1,22 @@
 package io.kestra.core.runners;
 
+import io.kestra.core.models.executions.Execution;
+import io.kestra.core.models.executions.TaskRun;
 import io.kestra.core.models.flows.Flow;
+import io.kestra.core.models.flows.State;
 import io.kestra.core.models.tasks.Task;
 import io.kestra.core.models.triggers.AbstractTrigger;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.notNullValue;
+import static org.mockito.Mockito.*;
 
 class RunVariablesTest {
 
@@ -97,4 +103,37 @@ class RunVariablesTest {
             .build(new RunContextLogger());
         Assertions.assertEquals(Map.of("id", "id-value", "type", "type-value"), variables.get("trigger"));
     }
-}
\ No newline at end of file
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldComputeOutputsAndTasksOnFirstAccess() {
+        Execution execution = spy(Execution.builder()
+            .id("execution-id")
+            .namespace("namespace-value")
+            .flowId("flow-id")
+            .state(new State())
+            .taskRunList(List.of(TaskRun.builder()
+                .id("taskrun-id")
+                .taskId("task-id")
+                .outputs(Map.of("value", "output-value"))
+                .state(new State())
+                .build()
+            ))
+            .build()
+        );
+
+        Map<String, Object> variables = new RunVariables.DefaultBuilder()
+            .withExecution(execution)
+            .withDecryptVariables(false)
+            .build(new RunContextLogger());
+        verify(execution, never()).outputs();
+
+        Map<String, Object> copy = new HashMap<>(variables);
+        verify(execution, never()).outputs();
+
+        assertThat(((Map<String, Object>) ((Map<String, Object>) copy.get("outputs")).get("task-id")).get("value"), is("output-value"));
+        assertThat(((Map<String, Object>) ((Map<String, Object>) variables.get("tasks")).get("task-id")).get("state"), is(State.Type.CREATED));
+        ((Map<String, Object>) variables.get("outputs")).get("task-id");
+        verify(execution, times(1)).outputs();
+    }
+}
@@ -0,0 +1,93 @@
+package io.kestra.core.runners.pebble.filters;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.kestra.core.serializers.JacksonMapper;
+import lombok.extern.slf4j.Slf4j;
+import net.thisptr.jackson.jq.BuiltinFunctionLoader;
+import net.thisptr.jackson.jq.JsonQuery;
+import net.thisptr.jackson.jq.Scope;
+import net.thisptr.jackson.jq.Versions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * Measure the evaluation of jq expressions with the cached compilation of {@link JqFilter},
+ * against the previous implementation that loaded the builtin functions and compiled the expression on each call.
+ * Only run on demand, with -Pbenchmarks.
+ */
+@Slf4j
+@Tag("benchmark")
+class JqFilterBenchmarkTest {
+    private static final int ITERATIONS = 10_000;
+    private static final List<String> EXPRESSIONS = List.of(
+        ".items[0].name",
+        ".items | map(select(.value > 50)) | length",
+        ".items | map(.value) | add",
+        "[.items[] | {key: .name, value: .value}] | from_entries | keys | length"
+    );
+
+    @Test
+    void compile() throws Exception {
+        Map<String, Object> input = Map.of(
+            "items", IntStream.range(0, 100)
+                .mapToObj(i -> Map.of("name", "item-" + i, "value", i))
+                .toList()
+        );
+        JqFilter jqFilter = new JqFilter();
+
+        // warm up both paths
+        for (int i = 0; i < ITERATIONS / 10; i++) {
+            String expression = EXPRESSIONS.get(i % EXPRESSIONS.size());
+            assertThat(cached(jqFilter, expression, input), is(uncached(expression, input)));
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            cached(jqFilter, EXPRESSIONS.get(i % EXPRESSIONS.size()), input);
+        }
+        Duration cached = Duration.ofNanos((System.nanoTime() - start) / ITERATIONS);
+
+        start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            uncached(EXPRESSIONS.get(i % EXPRESSIONS.size()), input);
+        }
+        Duration uncached = Duration.ofNanos((System.nanoTime() - start) / ITERATIONS);
+
+        log.info(
+            "jq evaluation of {} expressions: cached {} µs, uncached {} µs on average over {} iterations",
+            EXPRESSIONS.size(),
+            cached.toNanos() / 1000,
+            uncached.toNanos() / 1000,
+            ITERATIONS
+        );
+    }
+
+    private static Object cached(JqFilter jqFilter, String expression, Map<String, Object> input) throws Exception {
+        return jqFilter.apply(input, Map.of("expression", expression), null, null, 0);
+    }
+
+    /**
+     * The previous implementation: a new scope with all the builtin functions, and a new compilation, for each call.
+     */
+    private static Object uncached(String expression, Map<String, Object> input) throws Exception {
+        Scope scope = Scope.newEmptyScope();
+        BuiltinFunctionLoader.getInstance().loadFunctions(Versions.JQ_1_6, scope);
+
+        JsonQuery query = JsonQuery.compile(expression, Versions.JQ_1_6);
+        JsonNode in = JacksonMapper.ofJson().valueToTree(input);
+
+        List<Object> out = new ArrayList<>();
+        query.apply(scope, in, v -> out.add(JacksonMapper.ofJson().convertValue(v, Object.class)));
+
+        return out;
+    }
+}
@@ -5,6 +5,7 @@ import io.kestra.core.exceptions.IllegalVariableEvaluationException;
 import io.kestra.core.runners.VariableRenderer;
 import io.kestra.core.junit.annotations.KestraTest;
 import jakarta.inject.Inject;
+import net.thisptr.jackson.jq.exception.JsonQueryException;
 import org.junit.jupiter.api.Test;
 
 import java.time.ZoneId;
@@ -16,6 +17,7 @@ import java.util.Map;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @KestraTest
 class JqFilterTest {
@@ -144,4 +146,18 @@ class JqFilterTest {
         render = variableRenderer.render("{% set array = vars | jq(\".array\") %}{{array[0][0]}}", vars);
         assertThat(render, is("arrayValue"));
     }
+
+    @Test
+    void compiledQueriesAreCached() throws Exception {
+        JqFilter jqFilter = new JqFilter();
+
+        assertThat(jqFilter.compile(".test[0]"), sameInstance(jqFilter.compile(".test[0]")));
+        assertThat(jqFilter.compile(".test[0]"), not(sameInstance(jqFilter.compile(".test[1]"))));
+        assertThrows(JsonQueryException.class, () -> jqFilter.compile(".test[0"));
+    }
+
+    @Test
+    void invalidExpression() {
+        assertThrows(IllegalVariableEvaluationException.class, () -> variableRenderer.render("{{ [1, 2, 3] | jq(\".[0\") }}", Map.of()));
+    }
 }
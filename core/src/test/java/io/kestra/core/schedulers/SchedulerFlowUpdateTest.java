@@ -0,0 +1,76 @@
+package io.kestra.core.schedulers;
+
+import io.kestra.core.models.conditions.ConditionContext;
+import io.kestra.core.models.executions.Execution;
+import io.kestra.core.models.flows.FlowWithSource;
+import io.kestra.core.models.triggers.AbstractTrigger;
+import io.kestra.core.models.triggers.PollingTriggerInterface;
+import io.kestra.core.models.triggers.Trigger;
+import io.kestra.core.models.triggers.TriggerContext;
+import io.kestra.core.queues.QueueFactoryInterface;
+import io.kestra.core.queues.QueueInterface;
+import io.kestra.core.runners.FlowListeners;
+import io.kestra.jdbc.runner.JdbcScheduler;
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+class SchedulerFlowUpdateTest extends AbstractSchedulerTest {
+    @Inject
+    protected FlowListeners flowListenersService;
+
+    @Inject
+    @Named(QueueFactoryInterface.FLOW_NAMED)
+    protected QueueInterface<FlowWithSource> flowQueue;
+
+    @Test
+    void initializeOnlyTheTriggersOfTheUpdatedFlow() throws Exception {
+        FlowWithSource flow = createFlow(List.of(NoopTrigger.builder()
+            .id("noop")
+            .type(NoopTrigger.class.getName())
+            .build()
+        ));
+
+        try (AbstractScheduler scheduler = new JdbcScheduler(applicationContext, flowListenersService)) {
+            SchedulerTriggerStateInterface triggerState = spy(scheduler.triggerState);
+            scheduler.triggerState = triggerState;
+
+            scheduler.run();
+
+            // the triggers of all the flows are loaded once on startup
+            verify(triggerState, times(1)).findAllForAllTenants();
+
+            flowQueue.emit(flow);
+
+            // the trigger of the updated flow is looked up and created without loading all the triggers again
+            verify(triggerState, timeout(30_000)).create(argThat((Trigger trigger) -> trigger.getFlowId().equals(flow.getId())));
+            verify(triggerState, atLeastOnce()).findLast(argThat(trigger -> trigger.getFlowId().equals(flow.getId())));
+            verify(triggerState, times(1)).findAllForAllTenants();
+        } finally {
+            flowQueue.emit(flow.toDeleted());
+        }
+    }
+
+    @SuperBuilder
+    @ToString
+    @EqualsAndHashCode
+    @Getter
+    @NoArgsConstructor
+    public static class NoopTrigger extends AbstractTrigger implements PollingTriggerInterface {
+        @Builder.Default
+        private final Duration interval = Duration.ofHours(1);
+
+        public Optional<Execution> evaluate(ConditionContext conditionContext, TriggerContext context) {
+            return Optional.empty();
+        }
+    }
+}
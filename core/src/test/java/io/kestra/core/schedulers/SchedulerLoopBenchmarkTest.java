@@ -0,0 +1,79 @@
+package io.kestra.core.schedulers;
+
+import io.kestra.core.models.flows.FlowWithSource;
+import io.kestra.core.models.triggers.AbstractTrigger;
+import io.kestra.core.models.triggers.Trigger;
+import io.kestra.core.runners.FlowListeners;
+import io.kestra.jdbc.runner.JdbcScheduler;
+import io.kestra.plugin.core.trigger.Schedule;
+import jakarta.inject.Inject;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+
+/**
+ * Simulate a scheduler loop with N flows of M schedule triggers and report its latency.
+ * The size can be changed with the {@code scheduler.benchmark.flows} and {@code scheduler.benchmark.triggers} system properties.
+ */
+@Slf4j
+@Tag("benchmark")
+class SchedulerLoopBenchmarkTest extends AbstractSchedulerTest {
+    private static final int FLOWS = Integer.getInteger("scheduler.benchmark.flows", 2000);
+    private static final int TRIGGERS = Integer.getInteger("scheduler.benchmark.triggers", 5);
+    private static final int ITERATIONS = 5;
+
+    @Inject
+    protected FlowListeners flowListenersService;
+
+    @Test
+    void computeSchedulable() {
+        ZonedDateTime now = ZonedDateTime.now();
+        List<FlowWithSource> flows = new ArrayList<>();
+        List<Trigger> triggers = new ArrayList<>();
+
+        for (int i = 0; i < FLOWS; i++) {
+            List<AbstractTrigger> schedules = IntStream.range(0, TRIGGERS)
+                .<AbstractTrigger>mapToObj(j -> Schedule.builder()
+                    .id("schedule-" + j)
+                    .type(Schedule.class.getName())
+                    .cron("0 * * * *")
+                    .build()
+                )
+                .toList();
+
+            FlowWithSource flow = createFlow(schedules);
+            flows.add(flow);
+            schedules.forEach(schedule -> triggers.add(Trigger.builder()
+                .namespace(flow.getNamespace())
+                .flowId(flow.getId())
+                .triggerId(schedule.getId())
+                .date(now)
+                .nextExecutionDate(now)
+                .build()
+            ));
+        }
+
+        Duration best = null;
+        try (AbstractScheduler scheduler = new JdbcScheduler(applicationContext, flowListenersService)) {
+            for (int i = 0; i < ITERATIONS; i++) {
+                long start = System.nanoTime();
+                List<AbstractScheduler.FlowWithTriggers> schedulable = scheduler.computeSchedulable(flows, triggers, null);
+                Duration duration = Duration.ofNanos(System.nanoTime() - start);
+
+                assertThat(schedulable, hasSize(FLOWS * TRIGGERS));
+                best = best == null || duration.compareTo(best) < 0 ? duration : best;
+            }
+        }
+
+        log.info("Scheduler loop for {} flows x {} triggers: best of {} iterations in {} ms", FLOWS, TRIGGERS, ITERATIONS, best.toMillis());
+    }
+}
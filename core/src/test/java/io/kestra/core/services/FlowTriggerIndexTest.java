@@ -0,0 +1,90 @@
+package io.kestra.core.services;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.conditions.Condition;
+import io.kestra.core.models.executions.Execution;
+import io.kestra.core.models.flows.Flow;
+import io.kestra.core.models.flows.FlowWithSource;
+import io.kestra.core.models.flows.State;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.utils.IdUtils;
+import io.kestra.plugin.core.condition.ExecutionFlow;
+import io.kestra.plugin.core.condition.ExecutionNamespace;
+import io.kestra.plugin.core.condition.FlowNamespaceCondition;
+import io.kestra.plugin.core.debug.Return;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+
+@KestraTest
+class FlowTriggerIndexTest {
+    @Inject
+    FlowTriggerService flowTriggerService;
+
+    @Test
+    void candidates() {
+        FlowTriggerIndex index = new FlowTriggerIndex(flowTriggerService);
+        index.reset(List.of(
+            flow("unrestricted"),
+            flow("by-flow", ExecutionFlow.builder().namespace("io.kestra.source").flowId("source").build()),
+            flow("by-other-flow", ExecutionFlow.builder().namespace("io.kestra.source").flowId("other").build()),
+            flow("by-namespace", ExecutionNamespace.builder().namespace("io.kestra.source").build()),
+            flow("by-prefix", ExecutionNamespace.builder().namespace("io.kestra").prefix(true).build()),
+            flow("by-suffix", ExecutionNamespace.builder().namespace("source").comparison(ExecutionNamespace.Comparison.SUFFIX).build()),
+            flow("by-other-namespace", ExecutionNamespace.builder().namespace("io.kestra.other").build()),
+            flow("invalid-for-flow", FlowNamespaceCondition.builder().namespace("io.kestra.other").build())
+        ));
+
+        assertThat(
+            ids(index.candidates(execution(State.Type.SUCCESS))),
+            containsInAnyOrder("unrestricted", "by-flow", "by-namespace", "by-prefix", "by-suffix")
+        );
+        assertThat(index.candidates(execution(State.Type.RUNNING)), empty());
+    }
+
+    @Test
+    void update() {
+        FlowTriggerIndex index = new FlowTriggerIndex(flowTriggerService);
+        index.reset(List.of(flow("first")));
+
+        FlowWithSource second = flow("second");
+        index.update(second);
+        assertThat(ids(index.candidates(execution(State.Type.SUCCESS))), containsInAnyOrder("first", "second"));
+
+        index.update(second.toBuilder().deleted(true).build());
+        assertThat(ids(index.candidates(execution(State.Type.SUCCESS))), containsInAnyOrder("first"));
+    }
+
+    private static List<String> ids(List<Flow> flows) {
+        return flows.stream().map(Flow::getId).toList();
+    }
+
+    private static Execution execution(State.Type state) {
+        return Execution.builder()
+            .id(IdUtils.create())
+            .namespace("io.kestra.source")
+            .flowId("source")
+            .state(new State().withState(state))
+            .build();
+    }
+
+    private static FlowWithSource flow(String id, Condition... conditions) {
+        return FlowWithSource.builder()
+            .id(id)
+            .namespace("io.kestra.tests")
+            .revision(1)
+            .tasks(List.of(Return.builder().id("return").type(Return.class.getName()).format(Property.of("test")).build()))
+            .triggers(List.of(io.kestra.plugin.core.trigger.Flow.builder()
+                .id("trigger")
+                .type(io.kestra.plugin.core.trigger.Flow.class.getName())
+                .conditions(List.of(conditions))
+                .build()
+            ))
+            .build();
+    }
+}
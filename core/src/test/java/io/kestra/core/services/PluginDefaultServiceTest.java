@@ -41,6 +41,8 @@ import java.util.stream.Stream;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
 
 @KestraTest
 class PluginDefaultServiceTest {
@@ -332,6 +334,46 @@ class PluginDefaultServiceTest {
         assertThat(((DefaultTester) injected.getTasks().getFirst()).getDefaultValue(), is("overridden"));
     }
 
+    @Test
+    void cachedByRevision() {
+        String source = """
+            id: cached-test
+            namespace: io.kestra.tests
+
+            tasks:
+            - id: test
+              type: io.kestra.core.services.PluginDefaultServiceTest$DefaultTester
+              set: 666""";
+
+        FlowWithSource flow = yamlParser.parse(source, Flow.class)
+            .withSource(source)
+            .toBuilder()
+            .revision(1)
+            .build();
+
+        FlowWithSource injected = pluginDefaultService.injectDefaults(flow);
+        assertThat(pluginDefaultService.injectDefaults(flow), sameInstance(injected));
+
+        // same revision with another source, e.g. validated before being saved
+        String updatedSource = source.replace("666", "42");
+        FlowWithSource updated = yamlParser.parse(updatedSource, Flow.class)
+            .withSource(updatedSource)
+            .toBuilder()
+            .revision(1)
+            .build();
+        assertThat(((DefaultTester) pluginDefaultService.injectDefaults(updated).getTasks().getFirst()).getSet(), is(42));
+
+        // other plugin defaults
+        FlowWithSource withDefaults = updated.toBuilder()
+            .pluginDefaults(List.of(new PluginDefault(DefaultTester.class.getName(), false, ImmutableMap.of("value", 1))))
+            .build();
+        assertThat(((DefaultTester) pluginDefaultService.injectDefaults(withDefaults).getTasks().getFirst()).getValue(), is(1));
+
+        injected = pluginDefaultService.injectDefaults(flow);
+        pluginDefaultService.invalidate(flow);
+        assertThat(pluginDefaultService.injectDefaults(flow), not(sameInstance(injected)));
+    }
+
     @Test
     public void taskValueOverTaskDefaults() {
         String source = """
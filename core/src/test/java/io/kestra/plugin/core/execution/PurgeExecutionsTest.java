@@ -50,6 +50,31 @@ class PurgeExecutionsTest {
         assertThat(output.getExecutionsCount(), is(1));
     }
 
+    @Test
+    void runMultiple() throws Exception {
+        String namespace = "multiple.namespace";
+        String flowId = "multiple-flow-id";
+        for (int i = 0; i < 3; i++) {
+            executionRepository.save(Execution.builder()
+                .id(IdUtils.create())
+                .namespace(namespace)
+                .flowId(flowId)
+                .state(new State().withState(State.Type.SUCCESS))
+                .build()
+            );
+        }
+
+        var purge = PurgeExecutions.builder()
+            .flowId(Property.of(flowId))
+            .namespace(Property.of(namespace))
+            .endDate(Property.of(ZonedDateTime.now().plusMinutes(1).format(DateTimeFormatter.ISO_ZONED_DATE_TIME)))
+            .build();
+        var runContext = runContextFactory.of(Map.of("flow", Map.of("namespace", namespace, "id", flowId)));
+        var output = purge.run(runContext);
+
+        assertThat(output.getExecutionsCount(), is(3));
+    }
+
     @Test
     void deleted() throws Exception {
         String namespace = "deleted.namespace";
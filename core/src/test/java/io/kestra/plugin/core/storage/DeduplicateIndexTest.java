@@ -0,0 +1,72 @@
+package io.kestra.plugin.core.storage;
+
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import io.kestra.core.runners.LocalWorkingDir;
+import io.kestra.core.runners.WorkingDir;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+
+class DeduplicateIndexTest {
+    // a weak 128-bit hash: "plumless" and "buckeroo" have the same CRC32, so the same hash
+    private static final HashFunction COLLIDING = Hashing.concatenating(Hashing.crc32(), Hashing.crc32(), Hashing.crc32(), Hashing.crc32());
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void collisionInMemory() throws IOException {
+        assertThat(COLLIDING.hashString("plumless", StandardCharsets.UTF_8), is(COLLIDING.hashString("buckeroo", StandardCharsets.UTF_8)));
+
+        try (DeduplicateIndex index = new DeduplicateIndex(workingDir(), 1024 * 1024, COLLIDING)) {
+            index.put("plumless", 0);
+            index.put("buckeroo", 1);
+            index.put("plumless", 2);
+            index.build(3);
+
+            assertThat(index.numKeys(), is(2L));
+            assertThat(index.spills(), is(0));
+            assertThat(index.isLatest(0), is(false));
+            assertThat(index.isLatest(1), is(true));
+            assertThat(index.isLatest(2), is(true));
+        }
+    }
+
+    @Test
+    void collisionAcrossSpills() throws IOException {
+        try (DeduplicateIndex index = new DeduplicateIndex(workingDir(), 1024, COLLIDING)) {
+            long offset = 0;
+            index.put("plumless", offset++);
+            // enough distinct keys to spill the table more than once
+            for (int i = 0; i < 5_000; i++) {
+                index.put("key-" + i, offset++);
+            }
+            index.put("buckeroo", offset++);
+            for (int i = 0; i < 5_000; i++) {
+                index.put("key-" + i, offset++);
+            }
+            long lastBuckeroo = offset;
+            index.put("buckeroo", offset++);
+            index.build(offset);
+
+            assertThat(index.spills(), greaterThan(1));
+            assertThat(index.numKeys(), is(5_002L));
+            // "plumless" is only seen once, it's not replaced by the colliding key
+            assertThat(index.isLatest(0), is(true));
+            assertThat(index.isLatest(5_001), is(false));
+            assertThat(index.isLatest(lastBuckeroo), is(true));
+        }
+    }
+
+    private WorkingDir workingDir() {
+        return new LocalWorkingDir(tempDir);
+    }
+}
@@ -21,6 +21,7 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
+import java.util.stream.IntStream;
 
 @KestraTest
 class DeduplicateItemsTest {
@@ -110,6 +111,36 @@ class DeduplicateItemsTest {
         assertSimpleCompactedFile(runContext, output, expected, KeyValue2.class);
     }
 
+    @Test
+    void shouldDeduplicateFileGivenMaxMemory() throws Exception {
+        // Given
+        RunContext runContext = runContextFactory.of();
+
+        List<KeyValue1> values = IntStream.range(0, 5000)
+            .mapToObj(i -> new KeyValue1("k" + (i % 2000), "v" + i))
+            .toList();
+
+        DeduplicateItems task = DeduplicateItems
+            .builder()
+            .from(Property.of(generateKeyValueFile(values, runContext).toString()))
+            .expr(" {{ key }} ")
+            .maxMemory(Property.of("1KB"))
+            .build();
+
+        // When
+        DeduplicateItems.Output output = task.run(runContext);
+
+        // Then
+        Assertions.assertEquals(2000, output.getNumKeys());
+        Assertions.assertEquals(3000, output.getDroppedItemsTotal());
+        Assertions.assertEquals(5000, output.getProcessedItemsTotal());
+
+        List<KeyValue1> expected = IntStream.range(3000, 5000)
+            .mapToObj(i -> new KeyValue1("k" + (i % 2000), "v" + i))
+            .toList();
+        assertSimpleCompactedFile(runContext, output, expected, KeyValue1.class);
+    }
+
     private static <T> void assertSimpleCompactedFile(final RunContext runContext,
                                                       final DeduplicateItems.Output output,
                                                       final List<T> expected,
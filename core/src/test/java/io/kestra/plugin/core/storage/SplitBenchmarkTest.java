@@ -0,0 +1,157 @@
+package io.kestra.plugin.core.storage;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.runners.RunContextFactory;
+import io.kestra.core.storages.StorageInterface;
+import jakarta.inject.Inject;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.*;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+
+import static io.kestra.core.utils.Rethrow.throwFunction;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * Measure the throughput of splitting a large file by rows and by bytes, chunks being uploaded while the next ones
+ * are written, against the previous implementation that decoded each line and uploaded all the chunks at the end.
+ * Only run on demand, with -Pbenchmarks.
+ */
+@Slf4j
+@KestraTest
+@Tag("benchmark")
+class SplitBenchmarkTest {
+    private static final int ROWS = 1_000_000;
+    private static final int ITERATIONS = 5;
+
+    @Inject
+    RunContextFactory runContextFactory;
+
+    @Inject
+    StorageInterface storageInterface;
+
+    @Test
+    void split() throws Exception {
+        Path file = Files.createTempFile("split-benchmark", ".csv");
+        try (OutputStream outputStream = new BufferedOutputStream(Files.newOutputStream(file))) {
+            for (int i = 0; i < ROWS; i++) {
+                outputStream.write((StringUtils.leftPad(String.valueOf(i), 20) + ",benchmark\n").getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        long size = Files.size(file);
+
+        URI uri;
+        try (FileInputStream inputStream = new FileInputStream(file.toFile())) {
+            uri = storageInterface.put(null, null, new URI("/file/storage/split-benchmark.csv"), inputStream);
+        }
+        Files.delete(file);
+
+        Split byRows = Split.builder()
+            .from(Property.of(uri.toString()))
+            .rows(Property.of(10_000))
+            .build();
+        Split byBytes = Split.builder()
+            .from(Property.of(uri.toString()))
+            .bytes(Property.of("1MB"))
+            .build();
+
+        // warm up all the paths
+        byRows.run(runContextFactory.of());
+        byBytes.run(runContextFactory.of());
+        baseline(runContextFactory.of(), uri, (b, r) -> r >= 10_000);
+        baseline(runContextFactory.of(), uri, (b, r) -> b >= 1024 * 1024);
+
+        long rows = 0;
+        long bytes = 0;
+        long baselineRows = 0;
+        long baselineBytes = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            assertThat(byRows.run(runContextFactory.of()).getUris().size(), is(ROWS / 10_000));
+            rows += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            byBytes.run(runContextFactory.of());
+            bytes += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            assertThat(baseline(runContextFactory.of(), uri, (b, r) -> r >= 10_000).size(), is(ROWS / 10_000));
+            baselineRows += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            baseline(runContextFactory.of(), uri, (b, r) -> b >= 1024 * 1024);
+            baselineBytes += System.nanoTime() - start;
+        }
+
+        log.info(
+            "Split of {} rows ({} MB): by rows {} ms ({} MB/s, baseline {} ms), by bytes {} ms ({} MB/s, baseline {} ms)",
+            ROWS,
+            size / 1024 / 1024,
+            rows / ITERATIONS / 1_000_000,
+            size * 1000 / Math.max(1, rows / ITERATIONS / 1_000_000) / 1024 / 1024,
+            baselineRows / ITERATIONS / 1_000_000,
+            bytes / ITERATIONS / 1_000_000,
+            size * 1000 / Math.max(1, bytes / ITERATIONS / 1_000_000) / 1024 / 1024,
+            baselineBytes / ITERATIONS / 1_000_000
+        );
+    }
+
+    /**
+     * The previous split implementation, kept as the baseline: each line is decoded then re-encoded,
+     * and the chunks are only uploaded once the whole file is split.
+     */
+    private static List<URI> baseline(RunContext runContext, URI from, BiFunction<Integer, Integer, Boolean> predicate) throws IOException {
+        List<Path> files = new ArrayList<>();
+
+        try (BufferedReader bufferedReader = new BufferedReader(new InputStreamReader(runContext.storage().getFile(from)))) {
+            RandomAccessFile write = null;
+            int totalBytes = 0;
+            int totalRows = 0;
+            String row;
+
+            while ((row = bufferedReader.readLine()) != null) {
+                if (write == null || predicate.apply(totalBytes, totalRows)) {
+                    if (write != null) {
+                        write.close();
+                    }
+
+                    totalBytes = 0;
+                    totalRows = 0;
+
+                    Path path = runContext.workingDir().createTempFile(".csv");
+                    files.add(path);
+                    write = new RandomAccessFile(path.toFile(), "rw");
+                }
+
+                byte[] bytes = (row + "\n").getBytes(StandardCharsets.UTF_8);
+
+                write.getChannel().write(ByteBuffer.wrap(bytes));
+
+                totalBytes = totalBytes + bytes.length;
+                totalRows = totalRows + 1;
+            }
+
+            if (write != null) {
+                write.close();
+            }
+        }
+
+        return files
+            .stream()
+            .map(throwFunction(path -> runContext.storage().putFile(path.toFile())))
+            .toList();
+    }
+}
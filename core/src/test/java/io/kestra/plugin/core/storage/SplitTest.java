@@ -11,12 +11,14 @@ import jakarta.inject.Inject;
 import org.apache.commons.lang3.StringUtils;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -65,6 +67,11 @@ class SplitTest {
 
         assertThat(run.getUris().size(), is(100));
         assertThat(readAll(run.getUris()), is(String.join("\n", content(1000)) + "\n"));
+
+        // the chunks are not kept on the local disk once uploaded
+        try (var files = Files.list(runContext.workingDir().path())) {
+            assertThat(files.count(), is(0L));
+        }
     }
 
     @Test
@@ -83,6 +90,29 @@ class SplitTest {
         assertThat(readAll(run.getUris()), is(String.join("\n", content(12288)) + "\n"));
     }
 
+    @Test
+    void lineEndings() throws Exception {
+        RunContext runContext = runContextFactory.of();
+        String large = StringUtils.repeat("a", 200_000);
+        URI put = storageInterface.put(
+            null,
+            null,
+            new URI("/file/storage/line-endings.yml"),
+            new ByteArrayInputStream(("first\r\nsecond\rthird\n\n" + large + "\nlast").getBytes(StandardCharsets.UTF_8))
+        );
+
+        Split result = Split.builder()
+            .from(Property.of(put.toString()))
+            .rows(Property.of(2))
+            .separator(Property.of(";"))
+            .build();
+
+        Split.Output run = result.run(runContext);
+
+        assertThat(run.getUris().size(), is(3));
+        assertThat(readAll(run.getUris()), is("first;second;third;;" + large + ";last;"));
+    }
+
     private List<String> content(int count) {
         return IntStream
             .range(0, count)
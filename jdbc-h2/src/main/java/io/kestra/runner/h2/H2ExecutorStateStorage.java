@@ -1,15 +1,22 @@
 package io.kestra.runner.h2;
 
 import io.kestra.core.runners.ExecutorState;
+import io.kestra.jdbc.JdbcTableConfig;
 import io.kestra.jdbc.runner.AbstractJdbcExecutorStateStorage;
 import io.kestra.repository.h2.H2Repository;
+import io.micronaut.context.annotation.Value;
+import io.micronaut.core.annotation.Nullable;
 import jakarta.inject.Named;
 import jakarta.inject.Singleton;
 
 @Singleton
 @H2QueueEnabled
 public class H2ExecutorStateStorage extends AbstractJdbcExecutorStateStorage {
-    public H2ExecutorStateStorage(@Named("executorstate") H2Repository<ExecutorState> repository) {
-        super(repository);
+    public H2ExecutorStateStorage(
+        @Named("executorstate") H2Repository<ExecutorState> repository,
+        @Named("executorstateentries") @Nullable JdbcTableConfig entriesTableConfig,
+        @Value("${kestra.jdbc.executor.state-entries.enabled:false}") boolean entriesEnabled
+    ) {
+        super(repository, entriesTableConfig, entriesEnabled);
     }
 }
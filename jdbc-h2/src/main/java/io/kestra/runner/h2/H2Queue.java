@@ -25,6 +25,7 @@ public class H2Queue<T> extends JdbcQueue<T> {
     protected Result<Record> receiveFetch(DSLContext ctx, String consumerGroup, String queueType, boolean forUpdate) {
         var select =  ctx.select(
                 AbstractJdbcRepository.field("value"),
+                AbstractJdbcRepository.field("payload"),
                 AbstractJdbcRepository.field("offset")
             )
             .from(this.table)
@@ -43,7 +44,7 @@ public class H2Queue<T> extends JdbcQueue<T> {
         var limitSelect = select
             .orderBy(AbstractJdbcRepository.field("offset").asc())
             .limit(configuration.getPollSize());
-        ResultQuery<Record2<Object, Object>> configuredSelect = limitSelect;
+        ResultQuery<Record3<Object, Object, Object>> configuredSelect = limitSelect;
 
         if (forUpdate) {
             configuredSelect = limitSelect.forUpdate().skipLocked();
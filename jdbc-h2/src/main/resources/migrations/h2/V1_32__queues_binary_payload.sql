@@ -0,0 +1,2 @@
+ALTER TABLE queues ADD COLUMN IF NOT EXISTS "payload" BLOB;
+ALTER TABLE queues ALTER COLUMN "value" DROP NOT NULL;
@@ -0,0 +1,8 @@
+CREATE TABLE IF NOT EXISTS executor_state_entries (
+    "execution_id" VARCHAR(150) NOT NULL,
+    "entry_id" CHAR(64) NOT NULL,
+    "kind" VARCHAR(32) NOT NULL,
+    "entry_key" TEXT NOT NULL,
+    "entry_value" VARCHAR(150) NOT NULL,
+    PRIMARY KEY ("execution_id", "entry_id")
+);
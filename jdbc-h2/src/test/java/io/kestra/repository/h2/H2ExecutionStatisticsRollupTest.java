@@ -0,0 +1,6 @@
+package io.kestra.repository.h2;
+
+import io.kestra.jdbc.repository.AbstractJdbcExecutionStatisticsRollupTest;
+
+class H2ExecutionStatisticsRollupTest extends AbstractJdbcExecutionStatisticsRollupTest {
+}
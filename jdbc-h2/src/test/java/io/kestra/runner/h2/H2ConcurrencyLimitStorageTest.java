@@ -0,0 +1,6 @@
+package io.kestra.runner.h2;
+
+import io.kestra.jdbc.runner.AbstractJdbcConcurrencyLimitStorageTest;
+
+class H2ConcurrencyLimitStorageTest extends AbstractJdbcConcurrencyLimitStorageTest {
+}
@@ -0,0 +1,24 @@
+package io.kestra.runner.h2;
+
+import io.kestra.core.runners.ExecutorState;
+import io.kestra.jdbc.JdbcTableConfig;
+import io.kestra.jdbc.runner.AbstractJdbcExecutorStateStorage;
+import io.kestra.jdbc.runner.AbstractJdbcExecutorStateStorageTest;
+import io.kestra.repository.h2.H2Repository;
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+
+class H2ExecutorStateStorageTest extends AbstractJdbcExecutorStateStorageTest {
+    @Inject
+    @Named("executorstate")
+    H2Repository<ExecutorState> repository;
+
+    @Inject
+    @Named("executorstateentries")
+    JdbcTableConfig entriesTableConfig;
+
+    @Override
+    protected AbstractJdbcExecutorStateStorage storage(boolean entriesEnabled) {
+        return new H2ExecutorStateStorage(repository, entriesTableConfig, entriesEnabled);
+    }
+}
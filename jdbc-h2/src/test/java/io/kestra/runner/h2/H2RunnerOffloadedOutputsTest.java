@@ -0,0 +1,9 @@
+package io.kestra.runner.h2;
+
+import io.kestra.jdbc.runner.JdbcRunnerOffloadedOutputsTest;
+import io.micronaut.context.annotation.Property;
+
+@Property(name = "kestra.worker.outputs.offload-threshold", value = "1024")
+public class H2RunnerOffloadedOutputsTest extends JdbcRunnerOffloadedOutputsTest {
+
+}
@@ -2,15 +2,21 @@ package io.kestra.runner.mysql;
 
 import io.kestra.jdbc.runner.AbstractJdbcExecutorStateStorage;
 import io.kestra.core.runners.ExecutorState;
+import io.kestra.jdbc.JdbcTableConfig;
 import io.kestra.repository.mysql.MysqlRepository;
-import io.micronaut.context.ApplicationContext;
+import io.micronaut.context.annotation.Value;
+import io.micronaut.core.annotation.Nullable;
 import jakarta.inject.Named;
 import jakarta.inject.Singleton;
 
 @Singleton
 @MysqlQueueEnabled
 public class MysqlExecutorStateStorage extends AbstractJdbcExecutorStateStorage {
-    public MysqlExecutorStateStorage(@Named("executorstate") MysqlRepository<ExecutorState> repository) {
-        super(repository);
+    public MysqlExecutorStateStorage(
+        @Named("executorstate") MysqlRepository<ExecutorState> repository,
+        @Named("executorstateentries") @Nullable JdbcTableConfig entriesTableConfig,
+        @Value("${kestra.jdbc.executor.state-entries.enabled:false}") boolean entriesEnabled
+    ) {
+        super(repository, entriesTableConfig, entriesEnabled);
     }
 }
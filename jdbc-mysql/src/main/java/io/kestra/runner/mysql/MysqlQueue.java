@@ -1,5 +1,6 @@
 package io.kestra.runner.mysql;
 
+import io.kestra.core.queues.QueueException;
 import io.kestra.jdbc.repository.AbstractJdbcRepository;
 import io.kestra.jdbc.runner.JdbcQueue;
 import io.micronaut.context.ApplicationContext;
@@ -11,6 +12,7 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -23,6 +25,16 @@ public class MysqlQueue<T> extends JdbcQueue<T> {
         super(cls, applicationContext);
     }
 
+    @Override
+    protected Map<Field<Object>, Object> produceFields(String consumerGroup, String key, T message) throws QueueException {
+        Map<Field<Object>, Object> fields = super.produceFields(consumerGroup, key, message);
+
+        // the value column is not nullable on MySQL, see the V1_32 migration
+        fields.putIfAbsent(AbstractJdbcRepository.field("value"), JSONB.valueOf("null"));
+
+        return fields;
+    }
+
     @Override
     protected Condition buildTypeCondition(String type) {
         return AbstractJdbcRepository.field("type").eq(type);
@@ -33,6 +45,7 @@ public class MysqlQueue<T> extends JdbcQueue<T> {
         var select = ctx
             .select(
                 AbstractJdbcRepository.field("value"),
+                AbstractJdbcRepository.field("payload"),
                 AbstractJdbcRepository.field("offset")
             )
             // force using the dedicated index, or it made a scan of the PK index
@@ -52,7 +65,7 @@ public class MysqlQueue<T> extends JdbcQueue<T> {
         var limitSelect = select
             .orderBy(AbstractJdbcRepository.field("offset").asc())
             .limit(configuration.getPollSize());
-        ResultQuery<Record2<Object, Object>> configuredSelect = limitSelect;
+        ResultQuery<Record3<Object, Object, Object>> configuredSelect = limitSelect;
 
         if (forUpdate) {
             configuredSelect = limitSelect.forUpdate().skipLocked();
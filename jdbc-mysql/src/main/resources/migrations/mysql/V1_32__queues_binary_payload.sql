@@ -0,0 +1,4 @@
+-- Adding a nullable column at the end of the table doesn't rebuild it.
+-- The value column is kept NOT NULL, as changing it would rewrite the whole table: messages written with a binary payload
+-- store a JSON null value instead.
+ALTER TABLE queues ADD COLUMN `payload` LONGBLOB NULL;
@@ -0,0 +1,4 @@
+CREATE TABLE IF NOT EXISTS `concurrency_limit` (
+    `key` VARCHAR(250) NOT NULL PRIMARY KEY,
+    `value` JSON NOT NULL
+) ENGINE INNODB CHARACTER SET utf8mb4 COLLATE utf8mb4_unicode_ci;
@@ -0,0 +1,19 @@
+CREATE TABLE IF NOT EXISTS `execution_statistics` (
+    `key` CHAR(64) NOT NULL PRIMARY KEY,
+    `tenant_id` VARCHAR(250),
+    `namespace` VARCHAR(150) NOT NULL,
+    `flow_id` VARCHAR(150) NOT NULL,
+    `state_current` VARCHAR(50) NOT NULL,
+    `start_hour` DATETIME(6) NOT NULL,
+    `execution_count` BIGINT NOT NULL,
+    `duration_sum` BIGINT NOT NULL,
+    `duration_min` BIGINT NOT NULL,
+    `duration_max` BIGINT NOT NULL,
+    INDEX ix_start_hour (`tenant_id`, `start_hour`),
+    INDEX ix_namespace__flow_id (`tenant_id`, `namespace`, `flow_id`, `start_hour`)
+) ENGINE INNODB CHARACTER SET utf8mb4 COLLATE utf8mb4_unicode_ci;
+
+ALTER TABLE executions ADD COLUMN `statistics_key` CHAR(64);
+ALTER TABLE executions ADD COLUMN `statistics_duration` BIGINT;
+
+CREATE INDEX ix_statistics_key ON executions (`statistics_key`);
@@ -0,0 +1,6 @@
+package io.kestra.runner.mysql;
+
+import io.kestra.jdbc.runner.AbstractJdbcConcurrencyLimitStorageTest;
+
+class MysqlConcurrencyLimitStorageTest extends AbstractJdbcConcurrencyLimitStorageTest {
+}
@@ -0,0 +1,24 @@
+package io.kestra.runner.mysql;
+
+import io.kestra.core.runners.ExecutorState;
+import io.kestra.jdbc.JdbcTableConfig;
+import io.kestra.jdbc.runner.AbstractJdbcExecutorStateStorage;
+import io.kestra.jdbc.runner.AbstractJdbcExecutorStateStorageTest;
+import io.kestra.repository.mysql.MysqlRepository;
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+
+class MysqlExecutorStateStorageTest extends AbstractJdbcExecutorStateStorageTest {
+    @Inject
+    @Named("executorstate")
+    MysqlRepository<ExecutorState> repository;
+
+    @Inject
+    @Named("executorstateentries")
+    JdbcTableConfig entriesTableConfig;
+
+    @Override
+    protected AbstractJdbcExecutorStateStorage storage(boolean entriesEnabled) {
+        return new MysqlExecutorStateStorage(repository, entriesTableConfig, entriesEnabled);
+    }
+}
@@ -0,0 +1,12 @@
+package io.kestra.runner.mysql;
+
+import io.kestra.jdbc.runner.JdbcQueueTest;
+import io.micronaut.context.annotation.Property;
+import io.micronaut.core.util.StringUtils;
+
+// every message is compressed, so the deflate format also goes through the database
+@Property(name = "kestra.jdbc.queues.binary-payload.enabled", value = StringUtils.TRUE)
+@Property(name = "kestra.jdbc.queues.binary-payload.compression-threshold", value = "0")
+class MysqlQueueBinaryPayloadTest extends JdbcQueueTest {
+
+}
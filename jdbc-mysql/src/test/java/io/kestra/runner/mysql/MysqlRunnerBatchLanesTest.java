@@ -0,0 +1,11 @@
+package io.kestra.runner.mysql;
+
+import io.kestra.jdbc.runner.JdbcRunnerBatchTest;
+import io.micronaut.context.annotation.Property;
+import io.micronaut.core.util.StringUtils;
+
+@Property(name = "kestra.jdbc.executor.batch.enabled", value = StringUtils.TRUE)
+@Property(name = "kestra.jdbc.executor.lanes.enabled", value = StringUtils.TRUE)
+public class MysqlRunnerBatchLanesTest extends JdbcRunnerBatchTest {
+
+}
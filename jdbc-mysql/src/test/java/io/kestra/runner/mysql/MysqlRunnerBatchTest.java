@@ -0,0 +1,10 @@
+package io.kestra.runner.mysql;
+
+import io.kestra.jdbc.runner.JdbcRunnerBatchTest;
+import io.micronaut.context.annotation.Property;
+import io.micronaut.core.util.StringUtils;
+
+@Property(name = "kestra.jdbc.executor.batch.enabled", value = StringUtils.TRUE)
+public class MysqlRunnerBatchTest extends JdbcRunnerBatchTest {
+
+}
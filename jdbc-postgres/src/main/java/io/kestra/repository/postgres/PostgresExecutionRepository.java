@@ -31,6 +31,12 @@ public class PostgresExecutionRepository extends AbstractJdbcExecutionRepository
         super(repository, applicationContext, executorStateStorage, filterService);
     }
 
+    @Override
+    protected Field<String> lockVersionField() {
+        // xmin is the id of the transaction that wrote the current row version, so it changes on every update
+        return DSL.field("CAST(xmin AS text)", String.class);
+    }
+
     @Override
     protected Condition statesFilter(List<State.Type> state) {
         return DSL.or(state
@@ -4,6 +4,7 @@ import io.kestra.core.models.executions.LogEntry;
 import io.kestra.core.utils.DateUtils;
 import io.kestra.jdbc.repository.AbstractJdbcLogRepository;
 import io.kestra.jdbc.services.JdbcFilterService;
+import jakarta.annotation.Nullable;
 import jakarta.inject.Inject;
 import jakarta.inject.Named;
 import jakarta.inject.Singleton;
@@ -12,6 +13,7 @@ import org.jooq.Field;
 import org.jooq.impl.DSL;
 import org.slf4j.event.Level;
 
+import java.time.ZonedDateTime;
 import java.util.Collections;
 import java.util.Date;
 import java.util.List;
@@ -21,10 +23,33 @@ import java.util.stream.Collectors;
 @Singleton
 @PostgresRepositoryEnabled
 public class PostgresLogRepository extends AbstractJdbcLogRepository {
+    private final PostgresPartitionManager partitionManager;
+
     @Inject
     public PostgresLogRepository(@Named("logs") PostgresRepository<LogEntry> repository,
-                                 JdbcFilterService filterService) {
+                                 JdbcFilterService filterService,
+                                 @Nullable PostgresPartitionManager partitionManager) {
         super(repository, filterService);
+
+        this.partitionManager = partitionManager;
+    }
+
+    @Override
+    protected Condition partitionPruning(ZonedDateTime startDate, ZonedDateTime endDate) {
+        if (this.partitionManager == null) {
+            return DSL.noCondition();
+        }
+
+        return this.partitionManager.pruning(this.jdbcRepository.getTable().getName(), startDate, endDate);
+    }
+
+    @Override
+    protected int dropPartitions(Condition condition, ZonedDateTime startDate, ZonedDateTime endDate) {
+        if (this.partitionManager == null) {
+            return 0;
+        }
+
+        return this.partitionManager.dropPartitions(this.jdbcRepository.getTable().getName(), startDate, endDate, condition);
     }
 
     @Override
@@ -4,21 +4,38 @@ import io.kestra.core.models.executions.MetricEntry;
 import io.kestra.core.utils.DateUtils;
 import io.kestra.jdbc.repository.AbstractJdbcMetricRepository;
 import io.kestra.jdbc.services.JdbcFilterService;
+import jakarta.annotation.Nullable;
 import jakarta.inject.Inject;
 import jakarta.inject.Named;
 import jakarta.inject.Singleton;
+import org.jooq.Condition;
 import org.jooq.Field;
 import org.jooq.impl.DSL;
 
+import java.time.ZonedDateTime;
 import java.util.Date;
 
 @Singleton
 @PostgresRepositoryEnabled
 public class PostgresMetricRepository extends AbstractJdbcMetricRepository {
+    private final PostgresPartitionManager partitionManager;
+
     @Inject
     public PostgresMetricRepository(@Named("metrics") PostgresRepository<MetricEntry> repository,
-                                    JdbcFilterService filterService) {
+                                    JdbcFilterService filterService,
+                                    @Nullable PostgresPartitionManager partitionManager) {
         super(repository, filterService);
+
+        this.partitionManager = partitionManager;
+    }
+
+    @Override
+    protected Condition partitionPruning(ZonedDateTime startDate, ZonedDateTime endDate) {
+        if (this.partitionManager == null) {
+            return DSL.noCondition();
+        }
+
+        return this.partitionManager.pruning(this.jdbcRepository.getTable().getName(), startDate, endDate);
     }
 
     @Override
@@ -0,0 +1,34 @@
+package io.kestra.repository.postgres;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.util.List;
+
+@ConfigurationProperties("kestra.jdbc.postgres.partitioning")
+@Getter
+public class PostgresPartitionConfiguration {
+    boolean enabled = false;
+
+    /**
+     * The number of daily partitions created in advance.
+     */
+    Integer premake = 7;
+
+    /**
+     * The maximum time to wait for the lock of a table before converting it or detaching one of its partitions.
+     * A pending exclusive lock blocks all the other queries on the table, so it's better to give up and retry on the next run.
+     */
+    Duration lockTimeout = Duration.ofSeconds(5);
+
+    List<String> tables = List.of(
+        PostgresPartitionManager.LOGS.name(),
+        PostgresPartitionManager.METRICS.name(),
+        PostgresPartitionManager.QUEUES.name()
+    );
+
+    public boolean isPartitioned(String table) {
+        return this.enabled && this.tables.contains(table);
+    }
+}
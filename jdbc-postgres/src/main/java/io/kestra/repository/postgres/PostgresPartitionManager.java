@@ -0,0 +1,471 @@
+package io.kestra.repository.postgres;
+
+import io.kestra.jdbc.JooqDSLContextWrapper;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.scheduling.annotation.Scheduled;
+import jakarta.annotation.Nullable;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+import org.jooq.Condition;
+import org.jooq.DSLContext;
+import org.jooq.Record;
+import org.jooq.exception.DataAccessException;
+import org.jooq.impl.DSL;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Manage the optional range-partitioned layout of the tables with a high write volume, partitioned by day.
+ * <p>
+ * On the first run, an existing table is converted in place: it is renamed to <code>{table}_legacy</code> and
+ * attached as the partition holding all the rows up to the conversion day, so no row is copied. The partition bounds
+ * are validated first with a scan that doesn't block the writes, the table is then only locked for a short time.
+ * Then each run creates the daily partitions for the next {@link PostgresPartitionConfiguration#getPremake()} days.
+ * <p>
+ * As PostgreSQL can't use a generated column as a partition key, the <code>logs</code> and <code>metrics</code> tables are
+ * partitioned on the expression of their <code>timestamp</code> column; queries must use {@link #pruning(String, ZonedDateTime, ZonedDateTime)}
+ * for the partitions to be pruned. The <code>queues</code> table is partitioned on a new <code>created</code> column.
+ */
+@Singleton
+@PostgresRepositoryEnabled
+@Requires(property = "kestra.jdbc.postgres.partitioning.enabled", value = "true")
+@Slf4j
+public class PostgresPartitionManager {
+    static final PartitionedTable LOGS = new PartitionedTable("logs", "PARSE_ISO8601_DATETIME(value ->> 'timestamp')", "\"timestamp\"", null);
+    static final PartitionedTable METRICS = new PartitionedTable("metrics", "PARSE_ISO8601_DATETIME(value ->> 'timestamp')", "\"timestamp\"", null);
+    static final PartitionedTable QUEUES = new PartitionedTable("queues", "created", "created", "created TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP");
+
+    private static final List<PartitionedTable> PARTITIONED_TABLES = List.of(LOGS, METRICS, QUEUES);
+
+    // an arbitrary key for the advisory lock taken during the maintenance, so only one instance runs it at a time
+    private static final long ADVISORY_LOCK_KEY = 7_180_493_226_184_471L;
+
+    private static final String LEGACY_SUFFIX = "_legacy";
+    private static final String DEFAULT_SUFFIX = "_default";
+    private static final String LEGACY_BOUND_PREFIX = "_legacy_before_";
+    private static final DateTimeFormatter LEGACY_BOUND_SUFFIX = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final int LEGACY_MARGIN_DAYS = 2;
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("'_p'yyyyMMdd");
+    private static final Pattern RANGE_BOUNDS = Pattern.compile("FOR VALUES FROM \\((.+)\\) TO \\((.+)\\)");
+
+    private final JooqDSLContextWrapper dslContextWrapper;
+    private final PostgresPartitionConfiguration configuration;
+
+    @Inject
+    public PostgresPartitionManager(JooqDSLContextWrapper dslContextWrapper, PostgresPartitionConfiguration configuration) {
+        this.dslContextWrapper = dslContextWrapper;
+        this.configuration = configuration;
+    }
+
+    @Scheduled(initialDelay = "${kestra.jdbc.postgres.partitioning.initial-delay:0s}", fixedDelay = "${kestra.jdbc.postgres.partitioning.fixed-delay:1h}")
+    public void maintain() {
+        PARTITIONED_TABLES
+            .stream()
+            .filter(table -> configuration.isPartitioned(table.name()))
+            .forEach(table -> {
+                try {
+                    this.convert(table);
+
+                    dslContextWrapper.transaction(configuration -> {
+                        DSLContext context = DSL.using(configuration);
+
+                        if (this.tryLock(context) && this.isPartitioned(context, table.name())) {
+                            this.createPartitions(context, table, LocalDate.now(ZoneOffset.UTC), this.configuration.getPremake());
+                        }
+                    });
+                } catch (Exception e) {
+                    log.error("Unable to maintain the partitions of the '{}' table", table.name(), e);
+                }
+            });
+    }
+
+    /**
+     * A condition on the partition key allowing PostgreSQL to only read the partitions between the two dates.
+     */
+    public Condition pruning(String table, @Nullable ZonedDateTime startDate, @Nullable ZonedDateTime endDate) {
+        Condition condition = DSL.noCondition();
+        if (!configuration.isPartitioned(table)) {
+            return condition;
+        }
+
+        String partitionKey = PARTITIONED_TABLES.stream()
+            .filter(partitionedTable -> partitionedTable.name().equals(table))
+            .findFirst()
+            .map(PartitionedTable::partitionKey)
+            .orElseThrow();
+
+        if (startDate != null) {
+            condition = condition.and(DSL.condition(partitionKey + " >= ?", startDate.toOffsetDateTime()));
+        }
+
+        if (endDate != null) {
+            condition = condition.and(DSL.condition(partitionKey + " <= ?", endDate.toOffsetDateTime()));
+        }
+
+        return condition;
+    }
+
+    /**
+     * Drop the partitions entirely between the two dates in which all the rows match the condition,
+     * instead of deleting their rows one by one.
+     * <p>
+     * Each candidate partition is handled in its own short transaction: it's locked against writes, checked, then detached.
+     * Detaching takes an exclusive lock on the whole table, so it's only held until the commit that follows, and
+     * the detached table is dropped afterward without locking the table. The condition should match most rows,
+     * like a tenant or a date, otherwise the check fails and the partition is locked for nothing.
+     * <code>DETACH PARTITION CONCURRENTLY</code> can't be used as the tables have a default partition.
+     * <p>
+     * This must not be called inside a transaction, otherwise the locks are held until its end.
+     *
+     * @return the number of rows of the dropped partitions.
+     */
+    public int dropPartitions(String table, @Nullable ZonedDateTime startDate, ZonedDateTime endDate, Condition condition) {
+        if (!configuration.isPartitioned(table)) {
+            return 0;
+        }
+
+        List<Partition> partitions = dslContextWrapper.transactionResult(configuration -> {
+            DSLContext context = DSL.using(configuration);
+
+            return this.isPartitioned(context, table) ? this.partitions(context, table) : List.<Partition>of();
+        });
+
+        int dropped = 0;
+        for (Partition partition : partitions) {
+            boolean inRange = partition.to() != null && !partition.to().isAfter(endDate.toInstant()) &&
+                (startDate == null || (partition.from() != null && !partition.from().isBefore(startDate.toInstant())));
+
+            if (!inRange) {
+                continue;
+            }
+
+            try {
+                Integer count = dslContextWrapper.transactionResult(configuration -> {
+                    DSLContext context = DSL.using(configuration);
+                    this.lockTimeout(context);
+
+                    // block the writes to the partition until it's detached, so no row not matching the condition can be added after the check;
+                    // the lock conflicts with itself so two concurrent drops can't deadlock when upgrading it to detach the partition
+                    context.execute("LOCK TABLE {0} IN SHARE ROW EXCLUSIVE MODE", DSL.name(partition.name()));
+
+                    // stops at the first row not matching the condition, without writing anything
+                    boolean droppable = !context.fetchExists(
+                        DSL.selectOne()
+                            .from(DSL.table(DSL.name(partition.name())))
+                            .where(DSL.condition("({0}) IS NOT TRUE", condition))
+                    );
+
+                    if (!droppable) {
+                        return null;
+                    }
+
+                    int rows = context.fetchCount(DSL.table(DSL.name(partition.name())));
+                    context.execute("ALTER TABLE {0} DETACH PARTITION {1}", DSL.name(table), DSL.name(partition.name()));
+
+                    return rows;
+                });
+
+                if (count != null) {
+                    dslContextWrapper.transaction(configuration -> DSL.using(configuration).execute("DROP TABLE {0}", DSL.name(partition.name())));
+                    dropped += count;
+
+                    log.info("Dropped the partition '{}' with {} rows", partition.name(), count);
+                }
+            } catch (DataAccessException e) {
+                // most likely the lock timeout, the rows of the partition are deleted one by one instead
+                log.warn("Unable to drop the partition '{}', it will be retried on the next run", partition.name(), e);
+            }
+        }
+
+        return dropped;
+    }
+
+    /**
+     * Convert the table to a partitioned table, in three transactions so the table is only locked for a short time:
+     * <ul>
+     *     <li>a <code>CHECK</code> constraint matching the bounds of the legacy partition is added as <code>NOT VALID</code>;</li>
+     *     <li>the constraint is validated with a scan of the table, during which the writes are still allowed;</li>
+     *     <li>the table is renamed and attached to the new partitioned table, the validated constraint avoiding another scan.</li>
+     * </ul>
+     * Each step is skipped if already done, so an interrupted conversion resumes on the next run.
+     */
+    void convert(PartitionedTable table) {
+        LegacyBound bound = dslContextWrapper.transactionResult(configuration -> {
+            DSLContext context = DSL.using(configuration);
+            if (!this.tryLock(context) || this.isPartitioned(context, table.name())) {
+                return null;
+            }
+
+            LegacyBound existing = this.legacyBound(context, table.name());
+            if (existing != null) {
+                return existing;
+            }
+
+            log.info("Converting the '{}' table to a partitioned table, this can take a while on large tables", table.name());
+
+            this.lockTimeout(context);
+
+            if (table.column() != null) {
+                context.execute("ALTER TABLE {0} ADD COLUMN IF NOT EXISTS " + table.column(), DSL.name(table.name()));
+            }
+
+            // the legacy partition holds all the existing rows, including the ones in the future;
+            // the rows inserted until the end of the conversion must be in its bounds, so they leave a margin for a long validation
+            OffsetDateTime max = context
+                .fetchOne("SELECT MAX(" + table.maxValue() + ") FROM {0}", DSL.name(table.name()))
+                .get(0, OffsetDateTime.class);
+            LocalDate boundary = Objects.requireNonNullElse(max, OffsetDateTime.now(ZoneOffset.UTC))
+                .atZoneSameInstant(ZoneOffset.UTC)
+                .toLocalDate()
+                .plusDays(1);
+            LocalDate minimum = LocalDate.now(ZoneOffset.UTC).plusDays(LEGACY_MARGIN_DAYS);
+            boundary = boundary.isBefore(minimum) ? minimum : boundary;
+
+            String name = table.name() + LEGACY_BOUND_PREFIX + LEGACY_BOUND_SUFFIX.format(boundary);
+            context.execute(
+                "ALTER TABLE {0} ADD CONSTRAINT {1} CHECK (" + table.partitionKey() + " IS NOT NULL AND " + table.partitionKey() + " < {2}) NOT VALID",
+                DSL.name(table.name()),
+                DSL.name(name),
+                DSL.inline(boundary.atStartOfDay(ZoneOffset.UTC).toOffsetDateTime())
+            );
+
+            return new LegacyBound(name, boundary, false);
+        });
+
+        if (bound == null) {
+            return;
+        }
+
+        if (!bound.validated()) {
+            // only takes a SHARE UPDATE EXCLUSIVE lock, the table can still be read and written during the scan
+            dslContextWrapper.transaction(configuration -> {
+                DSLContext context = DSL.using(configuration);
+
+                if (this.tryLock(context) && !this.isPartitioned(context, table.name())) {
+                    context.execute("ALTER TABLE {0} VALIDATE CONSTRAINT {1}", DSL.name(table.name()), DSL.name(bound.name()));
+                }
+            });
+        }
+
+        dslContextWrapper.transaction(configuration -> {
+            DSLContext context = DSL.using(configuration);
+            if (!this.tryLock(context) || this.isPartitioned(context, table.name())) {
+                return;
+            }
+
+            LegacyBound validated = this.legacyBound(context, table.name());
+            if (validated == null || !validated.validated()) {
+                return;
+            }
+
+            this.lockTimeout(context);
+            this.swap(context, table, validated);
+        });
+    }
+
+    private void swap(DSLContext context, PartitionedTable table, LegacyBound bound) {
+        String legacy = table.name() + LEGACY_SUFFIX;
+
+        // the definitions are fetched before renaming the table so they can be replayed as is on the new table
+        List<Record> indexes = context.fetch(
+            "SELECT i.relname, pg_get_indexdef(i.oid) FROM pg_index x JOIN pg_class i ON i.oid = x.indexrelid " +
+                "WHERE x.indrelid = CAST(? AS regclass) AND NOT x.indisunique",
+            table.name()
+        );
+        List<Record> triggers = context.fetch(
+            "SELECT tgname, pg_get_triggerdef(oid) FROM pg_trigger WHERE tgrelid = CAST(? AS regclass) AND NOT tgisinternal",
+            table.name()
+        );
+        List<Record> sequences = context.fetch(
+            "SELECT s.oid::regclass::text, a.attname FROM pg_depend d " +
+                "JOIN pg_class s ON s.oid = d.objid AND s.relkind = 'S' " +
+                "JOIN pg_attribute a ON a.attrelid = d.refobjid AND a.attnum = d.refobjsubid " +
+                "WHERE d.refobjid = CAST(? AS regclass) AND d.deptype = 'a'",
+            table.name()
+        );
+
+        context.execute("ALTER TABLE {0} RENAME TO {1}", DSL.name(table.name()), DSL.name(legacy));
+        indexes.forEach(index -> context.execute(
+            "ALTER INDEX {0} RENAME TO {1}",
+            DSL.name(index.get(0, String.class)),
+            DSL.name(index.get(0, String.class) + LEGACY_SUFFIX)
+        ));
+        triggers.forEach(trigger -> context.execute("DROP TRIGGER {0} ON {1}", DSL.name(trigger.get(0, String.class)), DSL.name(legacy)));
+
+        context.execute(
+            "CREATE TABLE {0} (LIKE {1} INCLUDING DEFAULTS INCLUDING GENERATED INCLUDING CONSTRAINTS INCLUDING STORAGE) PARTITION BY RANGE (" + table.partitionKey() + ")",
+            DSL.name(table.name()),
+            DSL.name(legacy)
+        );
+        // the bounds of the legacy partition must not apply to the new rows
+        context.execute("ALTER TABLE {0} DROP CONSTRAINT {1}", DSL.name(table.name()), DSL.name(bound.name()));
+
+        // the sequences must not be dropped with the legacy partition
+        sequences.forEach(sequence -> context.execute(
+            "ALTER SEQUENCE " + sequence.get(0, String.class) + " OWNED BY {0}",
+            DSL.field(DSL.name(table.name(), sequence.get(1, String.class)))
+        ));
+        indexes.forEach(index -> context.execute(index.get(1, String.class)));
+        triggers.forEach(trigger -> context.execute(trigger.get(1, String.class)));
+
+        // the validated constraint proves the bounds, so the table isn't scanned again
+        context.execute(
+            "ALTER TABLE {0} ATTACH PARTITION {1} FOR VALUES FROM (MINVALUE) TO ({2})",
+            DSL.name(table.name()),
+            DSL.name(legacy),
+            DSL.inline(bound.boundary().atStartOfDay(ZoneOffset.UTC).toOffsetDateTime())
+        );
+        context.execute("ALTER TABLE {0} DROP CONSTRAINT {1}", DSL.name(legacy), DSL.name(bound.name()));
+        context.execute("CREATE TABLE {0} PARTITION OF {1} DEFAULT", DSL.name(table.name() + DEFAULT_SUFFIX), DSL.name(table.name()));
+
+        log.info("The '{}' table is now partitioned, existing rows are in the '{}' partition", table.name(), legacy);
+    }
+
+    /**
+     * @return the constraint of the bounds of the future legacy partition, if the conversion has started.
+     */
+    @Nullable
+    LegacyBound legacyBound(DSLContext context, String table) {
+        Record record = context.fetchOne(
+            "SELECT conname, convalidated FROM pg_constraint WHERE conrelid = CAST(? AS regclass) AND conname LIKE ?",
+            table,
+            table + LEGACY_BOUND_PREFIX + "%"
+        );
+
+        if (record == null) {
+            return null;
+        }
+
+        String name = record.get(0, String.class);
+
+        return new LegacyBound(
+            name,
+            LocalDate.parse(name.substring(table.length() + LEGACY_BOUND_PREFIX.length()), LEGACY_BOUND_SUFFIX),
+            record.get(1, Boolean.class)
+        );
+    }
+
+    /**
+     * Only one instance runs the maintenance at a time, the others skip it instead of waiting as a conversion can take a while.
+     */
+    private boolean tryLock(DSLContext context) {
+        return context.fetchOne("SELECT pg_try_advisory_xact_lock(?)", ADVISORY_LOCK_KEY).get(0, Boolean.class);
+    }
+
+    private void lockTimeout(DSLContext context) {
+        context.execute("SET LOCAL lock_timeout = " + this.configuration.getLockTimeout().toMillis());
+    }
+
+    void createPartitions(DSLContext context, PartitionedTable table, LocalDate today, int premake) {
+        List<Partition> partitions = this.partitions(context, table.name());
+
+        for (LocalDate day = today; !day.isAfter(today.plusDays(premake)); day = day.plusDays(1)) {
+            Instant from = day.atStartOfDay(ZoneOffset.UTC).toInstant();
+            Instant to = day.plusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant();
+
+            boolean exists = partitions.stream().anyMatch(partition ->
+                (partition.from() == null || partition.from().isBefore(to)) && (partition.to() == null || partition.to().isAfter(from))
+            );
+            if (exists) {
+                continue;
+            }
+
+            // rows in the default partition would prevent the creation, they are rows far in the future, so we keep them there
+            boolean conflicts = context.fetchExists(
+                DSL.selectOne()
+                    .from(DSL.table(DSL.name(table.name() + DEFAULT_SUFFIX)))
+                    .where(DSL.condition(table.partitionKey() + " >= ?", from.atOffset(ZoneOffset.UTC)))
+                    .and(DSL.condition(table.partitionKey() + " < ?", to.atOffset(ZoneOffset.UTC)))
+            );
+            if (conflicts) {
+                log.warn("Unable to create the partition of the '{}' table for {}, the default partition contains rows for this day", table.name(), day);
+                continue;
+            }
+
+            context.execute(
+                "CREATE TABLE {0} PARTITION OF {1} FOR VALUES FROM ({2}) TO ({3})",
+                DSL.name(table.name() + PARTITION_SUFFIX.format(day)),
+                DSL.name(table.name()),
+                DSL.inline(from.atOffset(ZoneOffset.UTC)),
+                DSL.inline(to.atOffset(ZoneOffset.UTC))
+            );
+        }
+    }
+
+    boolean isPartitioned(DSLContext context, String table) {
+        return context.fetchExists(
+            DSL.selectOne()
+                .from(DSL.table("pg_partitioned_table"))
+                .where(DSL.condition("partrelid = to_regclass(?)", table))
+        );
+    }
+
+    /**
+     * @return the range partitions of the table, without the default partition.
+     */
+    List<Partition> partitions(DSLContext context, String table) {
+        // the bounds are rendered in the session time zone
+        context.execute("SET LOCAL TIME ZONE 'UTC'");
+
+        return context
+            .fetch(
+                "SELECT c.relname, pg_get_expr(c.relpartbound, c.oid) FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+                    "WHERE i.inhparent = CAST(? AS regclass)",
+                table
+            )
+            .stream()
+            .map(record -> partition(record.get(0, String.class), record.get(1, String.class)))
+            .filter(Objects::nonNull)
+            .toList();
+    }
+
+    static Partition partition(String name, String bounds) {
+        Matcher matcher = RANGE_BOUNDS.matcher(bounds);
+        if (!matcher.matches()) {
+            return null;
+        }
+
+        return new Partition(name, bound(matcher.group(1)), bound(matcher.group(2)));
+    }
+
+    private static Instant bound(String value) {
+        if (value.equals("MINVALUE") || value.equals("MAXVALUE")) {
+            return null;
+        }
+
+        // a quoted timestamp in UTC, ie. '2024-01-31 00:00:00+00'
+        String timestamp = value.substring(1, value.length() - 1).replace(' ', 'T');
+
+        return OffsetDateTime.parse(timestamp + ":00").toInstant();
+    }
+
+    /**
+     * @param partitionKey the partition key, a column or an expression
+     * @param maxValue the expression to get the greatest value of the partition key of the existing rows, using an index if possible
+     * @param column the definition of the column holding the partition key when it doesn't exist yet
+     */
+    record PartitionedTable(String name, String partitionKey, String maxValue, @Nullable String column) {
+    }
+
+    /**
+     * The <code>CHECK</code> constraint of the bounds of the legacy partition, named after its upper bound.
+     */
+    record LegacyBound(String name, LocalDate boundary, boolean validated) {
+    }
+
+    /**
+     * A range partition, a null bound means no bound.
+     */
+    record Partition(String name, @Nullable Instant from, @Nullable Instant to) {
+    }
+}
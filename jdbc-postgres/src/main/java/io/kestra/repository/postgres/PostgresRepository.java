@@ -16,6 +16,7 @@ import org.jooq.Condition;
 import org.jooq.DSLContext;
 import org.jooq.Field;
 import org.jooq.JSONB;
+import org.jooq.Query;
 import org.jooq.Record;
 import org.jooq.RecordMapper;
 import org.jooq.Result;
@@ -31,12 +32,17 @@ import jakarta.annotation.Nullable;
 @PostgresRepositoryEnabled
 @EachBean(JdbcTableConfig.class)
 public class PostgresRepository<T> extends io.kestra.jdbc.AbstractJdbcRepository<T> {
+    // a partitioned table can't have a unique index on the key alone, but the rows of these tables are never updated
+    private final boolean insertOnly;
 
     @Inject
     public PostgresRepository(@Parameter JdbcTableConfig jdbcTableConfig,
                               QueueService queueService,
-                              JooqDSLContextWrapper dslContextWrapper) {
+                              JooqDSLContextWrapper dslContextWrapper,
+                              PostgresPartitionConfiguration partitionConfiguration) {
         super(jdbcTableConfig, queueService, dslContextWrapper);
+
+        this.insertOnly = partitionConfiguration.isPartitioned(jdbcTableConfig.table());
     }
 
     @Override
@@ -66,35 +72,44 @@ public class PostgresRepository<T> extends io.kestra.jdbc.AbstractJdbcRepository
     public void persist(T entity, DSLContext context, @Nullable  Map<Field<Object>, Object> fields) {
         Map<Field<Object>, Object> finalFields = fields == null ? this.persistFields(entity) : fields;
 
-        context
+        var insert = context
             .insertInto(table)
             .set(AbstractJdbcRepository.field("key"), key(entity))
-            .set(finalFields)
-            .onConflict(AbstractJdbcRepository.field("key"))
-            .doUpdate()
-            .set(finalFields)
-            .execute();
+            .set(finalFields);
+
+        if (this.insertOnly) {
+            insert.onConflictDoNothing().execute();
+        } else {
+            insert
+                .onConflict(AbstractJdbcRepository.field("key"))
+                .doUpdate()
+                .set(finalFields)
+                .execute();
+        }
     }
 
     @Override
-    public int persistBatch(List<T> items) {
-        return dslContextWrapper.transactionResult(configuration -> {
-            DSLContext dslContext = DSL.using(configuration);
-            var inserts = items.stream().map(item -> {
-                    Map<Field<Object>, Object> finalFields = this.persistFields(item);
-
-                    return dslContext
-                        .insertInto(table)
-                        .set(AbstractJdbcRepository.field("key"), key(item))
-                        .set(finalFields)
-                        .onConflict(AbstractJdbcRepository.field("key"))
-                        .doUpdate()
-                        .set(finalFields);
-                })
-                .toList();
-
-            return Arrays.stream(dslContext.batch(inserts).execute()).sum();
-        });
+    public int persistBatch(DSLContext dslContext, List<T> items) {
+        List<Query> inserts = items.stream().<Query>map(item -> {
+                Map<Field<Object>, Object> finalFields = this.persistFields(item);
+
+                var insert = dslContext
+                    .insertInto(table)
+                    .set(AbstractJdbcRepository.field("key"), key(item))
+                    .set(finalFields);
+
+                if (this.insertOnly) {
+                    return insert.onConflictDoNothing();
+                }
+
+                return insert
+                    .onConflict(AbstractJdbcRepository.field("key"))
+                    .doUpdate()
+                    .set(finalFields);
+            })
+            .toList();
+
+        return Arrays.stream(dslContext.batch(inserts).execute()).sum();
     }
 
     @SuppressWarnings("unchecked")
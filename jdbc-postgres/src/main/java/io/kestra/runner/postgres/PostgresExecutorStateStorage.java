@@ -1,15 +1,22 @@
 package io.kestra.runner.postgres;
 
 import io.kestra.core.runners.ExecutorState;
+import io.kestra.jdbc.JdbcTableConfig;
 import io.kestra.jdbc.runner.AbstractJdbcExecutorStateStorage;
 import io.kestra.repository.postgres.PostgresRepository;
+import io.micronaut.context.annotation.Value;
+import io.micronaut.core.annotation.Nullable;
 import jakarta.inject.Named;
 import jakarta.inject.Singleton;
 
 @Singleton
 @PostgresQueueEnabled
 public class PostgresExecutorStateStorage extends AbstractJdbcExecutorStateStorage {
-    public PostgresExecutorStateStorage(@Named("executorstate") PostgresRepository<ExecutorState> repository) {
-        super(repository);
+    public PostgresExecutorStateStorage(
+        @Named("executorstate") PostgresRepository<ExecutorState> repository,
+        @Named("executorstateentries") @Nullable JdbcTableConfig entriesTableConfig,
+        @Value("${kestra.jdbc.executor.state-entries.enabled:false}") boolean entriesEnabled
+    ) {
+        super(repository, entriesTableConfig, entriesEnabled);
     }
 }
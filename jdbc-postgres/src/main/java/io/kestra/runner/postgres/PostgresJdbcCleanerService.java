@@ -1,15 +1,41 @@
 package io.kestra.runner.postgres;
 
+import io.kestra.jdbc.repository.AbstractJdbcRepository;
 import io.kestra.jdbc.runner.JdbcCleanerService;
+import io.kestra.repository.postgres.PostgresPartitionManager;
+import jakarta.annotation.Nullable;
+import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import org.jooq.Condition;
+import org.jooq.Record;
+import org.jooq.Table;
 import org.jooq.impl.DSL;
 
+import java.time.ZonedDateTime;
+
 @Singleton
 @PostgresQueueEnabled
 public class PostgresJdbcCleanerService implements JdbcCleanerService {
+    @Inject
+    @Nullable
+    private PostgresPartitionManager partitionManager;
+
     @Override
     public Condition buildTypeCondition(String type) {
         return DSL.condition("type = CAST(? AS queue_type)", type);
     }
+
+    @Override
+    public int dropPartitions(Table<Record> queueTable, ZonedDateTime retentionDate) {
+        if (partitionManager == null) {
+            return 0;
+        }
+
+        return partitionManager.dropPartitions(
+            queueTable.getName(),
+            null,
+            retentionDate,
+            AbstractJdbcRepository.field("updated").lessOrEqual(retentionDate.toOffsetDateTime())
+        );
+    }
 }
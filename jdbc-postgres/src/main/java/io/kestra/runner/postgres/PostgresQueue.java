@@ -1,9 +1,6 @@
 package io.kestra.runner.postgres;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import io.kestra.core.exceptions.DeserializationException;
 import io.kestra.core.queues.QueueException;
-import io.kestra.core.utils.Either;
 import io.kestra.jdbc.repository.AbstractJdbcRepository;
 import io.kestra.jdbc.runner.JdbcQueue;
 import io.micronaut.context.ApplicationContext;
@@ -12,6 +9,7 @@ import org.jooq.*;
 import org.jooq.Record;
 import org.jooq.impl.DSL;
 
+import java.io.IOException;
 import java.time.LocalDateTime;
 import java.time.ZonedDateTime;
 import java.util.List;
@@ -22,6 +20,10 @@ import static org.jooq.impl.DSL.*;
 public class PostgresQueue<T> extends JdbcQueue<T> {
     private boolean disableSeqScan = false;
 
+    private PostgresQueueNotifier notifier;
+
+    private final String channel;
+
     public PostgresQueue(Class<T> cls, ApplicationContext applicationContext) {
         super(cls, applicationContext);
 
@@ -29,6 +31,13 @@ public class PostgresQueue<T> extends JdbcQueue<T> {
         if (maybeDisableSeScan.isPresent() && maybeDisableSeScan.get()) {
             disableSeqScan = true;
         }
+
+        this.channel = PostgresQueueNotifier.channel(cls.getName());
+
+        var maybeListenNotify = applicationContext.getProperty("kestra.queue.postgres.listen-notify", Boolean.class);
+        if (maybeListenNotify.isPresent() && maybeListenNotify.get()) {
+            this.notifier = applicationContext.getBean(PostgresQueueNotifier.class);
+        }
     }
 
     @Override
@@ -43,6 +52,41 @@ public class PostgresQueue<T> extends JdbcQueue<T> {
         return map;
     }
 
+    @Override
+    protected void afterProduce(DSLContext context) {
+        if (notifier != null) {
+            // notifications are sent on commit, so consumers will never be woken up before the message is visible
+            context.select(DSL.field("pg_notify(?, NULL)", this.channel)).execute();
+        }
+    }
+
+    @Override
+    protected long currentSignal() {
+        if (notifier == null) {
+            return super.currentSignal();
+        }
+
+        notifier.listen(this.channel);
+
+        return notifier.signal(this.channel);
+    }
+
+    @Override
+    protected void awaitNextPoll(long signal, int count, long sleep) throws InterruptedException {
+        if (notifier == null) {
+            super.awaitNextPoll(signal, count, sleep);
+            return;
+        }
+
+        // a full batch means there are probably more messages waiting, poll again right away
+        if (count >= configuration.getPollSize()) {
+            return;
+        }
+
+        // polling is kept as a fallback, so we wait at most the max poll interval in case a notification is missed
+        notifier.await(this.channel, signal, configuration.getMaxPollInterval().toMillis());
+    }
+
     @Override
     protected Condition buildTypeCondition(String type) {
         return DSL.condition("type = CAST(? AS queue_type)", type);
@@ -56,6 +100,7 @@ public class PostgresQueue<T> extends JdbcQueue<T> {
 
         var select = ctx.select(
                 AbstractJdbcRepository.field("value"),
+                AbstractJdbcRepository.field("payload"),
                 AbstractJdbcRepository.field("offset")
             )
             .from(this.table)
@@ -71,7 +116,7 @@ public class PostgresQueue<T> extends JdbcQueue<T> {
         var limitSelect = select
             .orderBy(AbstractJdbcRepository.field("offset").asc())
             .limit(configuration.getPollSize());
-        ResultQuery<Record2<Object, Object>> configuredSelect = limitSelect;
+        ResultQuery<Record3<Object, Object, Object>> configuredSelect = limitSelect;
 
         if (forUpdate) {
             configuredSelect = limitSelect.forUpdate().skipLocked();
@@ -99,14 +144,7 @@ public class PostgresQueue<T> extends JdbcQueue<T> {
     }
 
     @Override
-    protected List<Either<T, DeserializationException>> map(Result<Record> fetch) {
-        return fetch
-            .map(record -> {
-                try {
-                    return Either.left(MAPPER.readValue(record.get("value", JSONB.class).data(), cls));
-                } catch (JsonProcessingException e) {
-                    return Either.right(new DeserializationException(e, record.get("value", String.class)));
-                }
-            });
+    protected T deserializeValue(Record record) throws IOException {
+        return MAPPER.readValue(record.get("value", JSONB.class).data(), cls);
     }
 }
@@ -0,0 +1,194 @@
+package io.kestra.runner.postgres;
+
+import io.kestra.core.utils.ExecutorsUtils;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.sql.DataSource;
+
+/**
+ * Holds a single shared <code>LISTEN</code> connection for all the {@link PostgresQueue} of the application
+ * and wakes up the pollers waiting on a channel when a <code>NOTIFY</code> is received on it.
+ * <p>
+ * Notifications are only a hint: consumers still poll the queue table, so a lost connection only
+ * degrades to the standard polling latency until the listener is reconnected.
+ */
+@Singleton
+@PostgresQueueEnabled
+@Slf4j
+public class PostgresQueueNotifier {
+    private static final Duration NOTIFICATION_TIMEOUT = Duration.ofMillis(500);
+    private static final Duration RECONNECT_INTERVAL = Duration.ofSeconds(1);
+
+    private final DataSource dataSource;
+    private final ExecutorsUtils executorsUtils;
+
+    private final ConcurrentHashMap<String, Channel> channels = new ConcurrentHashMap<>();
+    private final Set<String> listened = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean started = new AtomicBoolean(false);
+    private final AtomicBoolean isClosed = new AtomicBoolean(false);
+
+    private ExecutorService executorService;
+    private volatile Connection connection;
+
+    @Inject
+    public PostgresQueueNotifier(DataSource dataSource, ExecutorsUtils executorsUtils) {
+        this.dataSource = dataSource;
+        this.executorsUtils = executorsUtils;
+    }
+
+    /**
+     * Build the notification channel name for a queue type.
+     * Channel names are identifiers, so they are lower-cased and limited to the Postgres max identifier length.
+     */
+    public static String channel(String queueType) {
+        String channel = "kestra_queue_" + queueType.replaceAll("[^A-Za-z0-9]", "_").toLowerCase();
+
+        return channel.length() > 63 ? channel.substring(channel.length() - 63) : channel;
+    }
+
+    /**
+     * Register a channel to listen to, starting the shared listener on first use.
+     */
+    public void listen(String channel) {
+        this.channels.computeIfAbsent(channel, k -> new Channel());
+
+        if (this.started.compareAndSet(false, true)) {
+            this.executorService = executorsUtils.singleThreadExecutor("postgres-queue-notifier");
+            this.executorService.execute(this::run);
+        }
+    }
+
+    public long signal(String channel) {
+        return this.channels.computeIfAbsent(channel, k -> new Channel()).signal.get();
+    }
+
+    /**
+     * Wait until a notification is received on the channel since the given signal, or until the timeout.
+     */
+    public void await(String channel, long signal, long timeoutMillis) throws InterruptedException {
+        Channel current = this.channels.computeIfAbsent(channel, k -> new Channel());
+
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        synchronized (current) {
+            long remaining = timeoutMillis;
+            while (current.signal.get() == signal && remaining > 0 && !this.isClosed.get()) {
+                current.wait(remaining);
+                remaining = deadline - System.currentTimeMillis();
+            }
+        }
+    }
+
+    private void run() {
+        while (!this.isClosed.get()) {
+            try {
+                if (this.connection == null) {
+                    this.connect();
+                }
+
+                this.listenNewChannels();
+
+                PGNotification[] notifications = this.connection
+                    .unwrap(PGConnection.class)
+                    .getNotifications((int) NOTIFICATION_TIMEOUT.toMillis());
+
+                if (notifications != null) {
+                    for (PGNotification notification : notifications) {
+                        this.wakeUp(notification.getName());
+                    }
+                }
+            } catch (SQLException e) {
+                if (this.isClosed.get()) {
+                    return;
+                }
+
+                log.warn("Postgres queue listener failed, falling back to polling until reconnected: {}", e.getMessage());
+                this.disconnect();
+
+                try {
+                    Thread.sleep(RECONNECT_INTERVAL.toMillis());
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void connect() throws SQLException {
+        this.connection = dataSource.getConnection();
+        this.connection.setAutoCommit(true);
+        this.listened.clear();
+
+        // wake up everybody as notifications may have been missed while disconnected
+        this.channels.keySet().forEach(this::wakeUp);
+    }
+
+    private void listenNewChannels() throws SQLException {
+        for (String channel : this.channels.keySet()) {
+            if (!this.listened.contains(channel)) {
+                try (Statement statement = this.connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+
+                this.listened.add(channel);
+            }
+        }
+    }
+
+    private void wakeUp(String channel) {
+        Channel current = this.channels.get(channel);
+        if (current == null) {
+            return;
+        }
+
+        synchronized (current) {
+            current.signal.incrementAndGet();
+            current.notifyAll();
+        }
+    }
+
+    private void disconnect() {
+        if (this.connection != null) {
+            try {
+                this.connection.close();
+            } catch (SQLException e) {
+                log.debug("Unable to close the Postgres queue listener connection", e);
+            }
+
+            this.connection = null;
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        if (!this.isClosed.compareAndSet(false, true)) {
+            return;
+        }
+
+        this.channels.keySet().forEach(this::wakeUp);
+
+        if (this.executorService != null) {
+            this.executorService.shutdown();
+        }
+
+        this.disconnect();
+    }
+
+    private static class Channel {
+        private final AtomicLong signal = new AtomicLong();
+    }
+}
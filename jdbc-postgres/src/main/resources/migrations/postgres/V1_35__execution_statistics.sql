@@ -0,0 +1,22 @@
+CREATE TABLE IF NOT EXISTS execution_statistics (
+    key CHAR(64) NOT NULL PRIMARY KEY,
+    tenant_id VARCHAR(250),
+    namespace VARCHAR(150) NOT NULL,
+    flow_id VARCHAR(150) NOT NULL,
+    state_current state_type NOT NULL,
+    start_hour TIMESTAMP NOT NULL,
+    execution_count BIGINT NOT NULL,
+    duration_sum BIGINT NOT NULL,
+    duration_min BIGINT NOT NULL,
+    duration_max BIGINT NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS execution_statistics_start_hour ON execution_statistics ("tenant_id", "start_hour");
+CREATE INDEX IF NOT EXISTS execution_statistics_namespace__flow_id ON execution_statistics ("tenant_id", "namespace", "flow_id", "start_hour");
+
+ALTER TABLE executions ADD COLUMN IF NOT EXISTS statistics_key CHAR(64);
+ALTER TABLE executions ADD COLUMN IF NOT EXISTS statistics_duration BIGINT;
+
+CREATE INDEX IF NOT EXISTS executions_statistics_key ON executions ("statistics_key");
+-- the executions that are not counted in the rollups are still aggregated from this table
+CREATE INDEX IF NOT EXISTS executions_start_date__not_rolled_up ON executions ("deleted", "tenant_id", "start_date") WHERE "statistics_key" IS NULL;
@@ -0,0 +1,301 @@
+package io.kestra.repository.postgres;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.jdbc.JooqDSLContextWrapper;
+import io.kestra.jdbc.repository.AbstractJdbcRepository;
+import jakarta.inject.Inject;
+import org.jooq.DSLContext;
+import org.jooq.impl.DSL;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+
+@KestraTest
+class PostgresPartitionManagerTest {
+    private static final PostgresPartitionManager.PartitionedTable TABLE = new PostgresPartitionManager.PartitionedTable(
+        "partitioning_test",
+        "PARSE_ISO8601_DATETIME(value ->> 'timestamp')",
+        "\"timestamp\"",
+        null
+    );
+
+    // copies of the real tables, so the other tests keep the layout created by the migrations
+    private static final PostgresPartitionManager.PartitionedTable QUEUES = new PostgresPartitionManager.PartitionedTable(
+        "partitioning_queues",
+        PostgresPartitionManager.QUEUES.partitionKey(),
+        PostgresPartitionManager.QUEUES.maxValue(),
+        PostgresPartitionManager.QUEUES.column()
+    );
+    private static final PostgresPartitionManager.PartitionedTable LOGS = new PostgresPartitionManager.PartitionedTable(
+        "partitioning_logs",
+        PostgresPartitionManager.LOGS.partitionKey(),
+        PostgresPartitionManager.LOGS.maxValue(),
+        PostgresPartitionManager.LOGS.column()
+    );
+
+    @Inject
+    private JooqDSLContextWrapper dslContextWrapper;
+
+    private PostgresPartitionManager partitionManager;
+
+    @BeforeEach
+    void setUp() {
+        PostgresPartitionConfiguration partitionConfiguration = new PostgresPartitionConfiguration();
+        partitionConfiguration.enabled = true;
+        partitionConfiguration.tables = List.of(TABLE.name(), QUEUES.name(), LOGS.name());
+        partitionManager = new PostgresPartitionManager(dslContextWrapper, partitionConfiguration);
+
+        dslContextWrapper.transaction(configuration -> {
+            DSLContext context = DSL.using(configuration);
+
+            this.drop(context);
+            context.execute("CREATE TABLE partitioning_test (" +
+                "key VARCHAR(30) NOT NULL PRIMARY KEY, " +
+                "value JSONB NOT NULL, " +
+                "namespace VARCHAR(150) NOT NULL GENERATED ALWAYS AS (value ->> 'namespace') STORED, " +
+                "\"timestamp\" TIMESTAMPTZ NOT NULL GENERATED ALWAYS AS (PARSE_ISO8601_DATETIME(value ->> 'timestamp')) STORED" +
+                ")");
+            context.execute("CREATE INDEX partitioning_test_namespace ON partitioning_test (namespace)");
+
+            this.copy(context, "queues", QUEUES.name());
+            this.copy(context, "logs", LOGS.name());
+
+            // the queues have their own serial sequence
+            context.execute("CREATE SEQUENCE partitioning_queues_offset_seq OWNED BY partitioning_queues.\"offset\"");
+            context.execute("ALTER TABLE partitioning_queues ALTER COLUMN \"offset\" SET DEFAULT nextval('partitioning_queues_offset_seq')");
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        dslContextWrapper.transaction(configuration -> this.drop(DSL.using(configuration)));
+    }
+
+    @Test
+    void convertAndDropPartitions() {
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        insert("old", "io.kestra.tests", today.minusDays(10));
+
+        partitionManager.convert(TABLE);
+
+        dslContextWrapper.transaction(configuration -> {
+            DSLContext context = DSL.using(configuration);
+
+            partitionManager.createPartitions(context, TABLE, today, 3);
+
+            assertThat(partitionManager.isPartitioned(context, TABLE.name()), is(true));
+            // the legacy partition goes up to the day after tomorrow, so only the next two days have their own partition
+            assertThat(partitionManager.partitions(context, TABLE.name()), hasSize(3));
+            // the constraint of the legacy partition bounds is only needed during the conversion
+            assertThat(
+                context.fetchCount(DSL.table("pg_constraint"), DSL.condition("conname LIKE ?", TABLE.name() + "_legacy_before_%")),
+                is(0)
+            );
+        });
+
+        insert("recent", "io.kestra.tests", today.plusDays(2));
+        insert("other", "io.kestra.others", today.plusDays(3));
+
+        int dropped = partitionManager.dropPartitions(
+            TABLE.name(),
+            null,
+            today.plusDays(4).atStartOfDay(ZoneOffset.UTC),
+            AbstractJdbcRepository.field("namespace").eq("io.kestra.tests")
+        );
+
+        assertThat(dropped, is(2));
+
+        dslContextWrapper.transaction(configuration -> {
+            DSLContext context = DSL.using(configuration);
+
+            assertThat(partitionManager.partitions(context, TABLE.name()), hasSize(1));
+            assertThat(context.fetchCount(DSL.table(DSL.name(TABLE.name()))), is(1));
+            // the detached partitions are dropped
+            assertThat(context.fetchValue("SELECT to_regclass(?)::text", TABLE.name() + "_legacy"), nullValue());
+        });
+    }
+
+    @Test
+    void resumeInterruptedConversion() {
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        insert("old", "io.kestra.tests", today.minusDays(10));
+
+        // a conversion interrupted after adding the constraint, before validating it
+        dslContextWrapper.transaction(configuration -> DSL.using(configuration).execute(
+            "ALTER TABLE partitioning_test ADD CONSTRAINT partitioning_test_legacy_before_" + today.plusDays(5).toString().replace("-", "") +
+                " CHECK (PARSE_ISO8601_DATETIME(value ->> 'timestamp') IS NOT NULL AND PARSE_ISO8601_DATETIME(value ->> 'timestamp') < {0}) NOT VALID",
+            DSL.inline(today.plusDays(5).atStartOfDay(ZoneOffset.UTC).toOffsetDateTime())
+        ));
+
+        partitionManager.convert(TABLE);
+
+        dslContextWrapper.transaction(configuration -> {
+            DSLContext context = DSL.using(configuration);
+
+            assertThat(partitionManager.isPartitioned(context, TABLE.name()), is(true));
+
+            // the bounds of the existing constraint are kept
+            PostgresPartitionManager.Partition legacy = partitionManager.partitions(context, TABLE.name()).getFirst();
+            assertThat(legacy.to(), is(today.plusDays(5).atStartOfDay(ZoneOffset.UTC).toInstant()));
+        });
+    }
+
+    @Test
+    void convertQueues() {
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+
+        dslContextWrapper.transaction(configuration -> DSL.using(configuration).execute(
+            "INSERT INTO partitioning_queues (type, key, value, updated) VALUES (CAST(? AS queue_type), 'old', CAST('{}' AS JSONB), ?)",
+            "io.kestra.core.models.executions.Execution",
+            today.minusDays(10).atStartOfDay(ZoneOffset.UTC).toOffsetDateTime()
+        ));
+
+        partitionManager.convert(QUEUES);
+
+        dslContextWrapper.transaction(configuration -> {
+            DSLContext context = DSL.using(configuration);
+
+            partitionManager.createPartitions(context, QUEUES, today, 3);
+            assertThat(partitionManager.isPartitioned(context, QUEUES.name()), is(true));
+
+            // the hash index on the offset and the trigger of the updated date are recreated on the partitioned table
+            List<String> indexes = context.fetch("SELECT indexdef FROM pg_indexes WHERE tablename = ?", QUEUES.name())
+                .getValues(0, String.class);
+            assertThat(indexes.stream().anyMatch(index -> index.contains("USING hash (\"offset\")")), is(true));
+            assertThat(
+                context.fetch("SELECT tgname FROM pg_trigger WHERE tgrelid = CAST(? AS regclass) AND NOT tgisinternal", QUEUES.name())
+                    .getValues(0, String.class),
+                hasSize(1)
+            );
+
+            // the sequence now belongs to the partitioned table, so it's not dropped with the legacy partition
+            assertThat(
+                context.fetchOne("SELECT pg_get_serial_sequence(?, 'offset')", QUEUES.name()).get(0, String.class),
+                is("public.partitioning_queues_offset_seq")
+            );
+
+            // the messages of the first days after the conversion are in the legacy partition, then they have their own partition
+            context.execute(
+                "INSERT INTO partitioning_queues (type, key, payload, updated, created) VALUES (CAST(? AS queue_type), 'new', ?, CURRENT_TIMESTAMP, ?)",
+                "io.kestra.core.models.executions.Execution",
+                new byte[]{1, 2, 3},
+                today.plusDays(2).atStartOfDay(ZoneOffset.UTC).plusHours(12).toOffsetDateTime()
+            );
+            assertThat(
+                context.fetchOne("SELECT tableoid::regclass::text FROM partitioning_queues WHERE key = 'new'").get(0, String.class),
+                is(QUEUES.name() + "_p" + today.plusDays(2).toString().replace("-", ""))
+            );
+            assertThat(
+                context.fetchOne("SELECT tableoid::regclass::text FROM partitioning_queues WHERE key = 'old'").get(0, String.class),
+                is(QUEUES.name() + "_legacy")
+            );
+        });
+
+        // the trigger still updates the updated date
+        dslContextWrapper.transaction(configuration -> DSL.using(configuration)
+            .execute("UPDATE partitioning_queues SET updated = NULL WHERE key = 'new'")
+        );
+        dslContextWrapper.transaction(configuration -> assertThat(
+            DSL.using(configuration).fetchValue("SELECT updated FROM partitioning_queues WHERE key = 'new'"),
+            notNullValue()
+        ));
+
+        int dropped = partitionManager.dropPartitions(
+            QUEUES.name(),
+            null,
+            today.minusDays(1).atStartOfDay(ZoneOffset.UTC),
+            AbstractJdbcRepository.field("updated").lessOrEqual(today.minusDays(1).atStartOfDay(ZoneOffset.UTC).toOffsetDateTime())
+        );
+
+        // the legacy partition goes beyond the retention date
+        assertThat(dropped, is(0));
+    }
+
+    @Test
+    void convertLogs() {
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        insertLog("old", today.minusDays(10));
+
+        partitionManager.convert(LOGS);
+
+        dslContextWrapper.transaction(configuration -> {
+            DSLContext context = DSL.using(configuration);
+
+            partitionManager.createPartitions(context, LOGS, today, 3);
+            assertThat(partitionManager.isPartitioned(context, LOGS.name()), is(true));
+
+            // the full-text index is recreated on the partitioned table, the unique one can't be as it doesn't hold the partition key
+            List<String> indexes = context.fetch("SELECT indexdef FROM pg_indexes WHERE tablename = ?", LOGS.name())
+                .getValues(0, String.class);
+            assertThat(indexes.stream().anyMatch(index -> index.contains("USING gin (fulltext)")), is(true));
+            assertThat(indexes.stream().noneMatch(index -> index.contains("UNIQUE")), is(true));
+        });
+
+        insertLog("recent", today.plusDays(2));
+
+        dslContextWrapper.transaction(configuration -> {
+            DSLContext context = DSL.using(configuration);
+
+            // the generated columns are still computed
+            assertThat(context.fetch("SELECT level::text FROM partitioning_logs").getValues(0, String.class), hasItem("INFO"));
+            assertThat(context.fetchCount(DSL.table(DSL.name(LOGS.name() + "_p" + today.plusDays(2).toString().replace("-", "")))), is(1));
+        });
+
+        int dropped = partitionManager.dropPartitions(
+            LOGS.name(),
+            null,
+            today.plusDays(2).atStartOfDay(ZoneOffset.UTC),
+            DSL.trueCondition()
+        );
+
+        assertThat(dropped, is(1));
+    }
+
+    private void insert(String key, String namespace, LocalDate date) {
+        String value = "{\"namespace\": \"" + namespace + "\", \"timestamp\": \"" + date.atStartOfDay(ZoneOffset.UTC).plusHours(12) + "\"}";
+
+        dslContextWrapper.transaction(configuration -> DSL.using(configuration)
+            .execute("INSERT INTO partitioning_test (key, value) VALUES (?, CAST(? AS JSONB))", key, value)
+        );
+    }
+
+    private void insertLog(String key, LocalDate date) {
+        String value = "{\"namespace\": \"io.kestra.tests\", \"flowId\": \"flow\", \"executionId\": \"execution\", \"level\": \"INFO\", " +
+            "\"message\": \"a log\", \"deleted\": false, \"timestamp\": \"" + date.atStartOfDay(ZoneOffset.UTC).plusHours(12) + "\"}";
+
+        dslContextWrapper.transaction(configuration -> DSL.using(configuration)
+            .execute("INSERT INTO partitioning_logs (key, value) VALUES (?, CAST(? AS JSONB))", key, value)
+        );
+    }
+
+    /**
+     * Copy a table created by the migrations with its columns, types, indexes and triggers.
+     */
+    private void copy(DSLContext context, String source, String target) {
+        context.execute("CREATE TABLE {0} (LIKE {1} INCLUDING ALL)", DSL.name(target), DSL.name(source));
+
+        context.fetch("SELECT pg_get_triggerdef(oid) FROM pg_trigger WHERE tgrelid = CAST(? AS regclass) AND NOT tgisinternal", source)
+            .getValues(0, String.class)
+            .forEach(trigger -> context.execute(trigger
+                .replaceFirst("TRIGGER (\\w+)", "TRIGGER " + target + "_$1")
+                .replace(" ON public." + source + " ", " ON public." + target + " ")
+            ));
+    }
+
+    private void drop(DSLContext context) {
+        context.execute("DROP TABLE IF EXISTS partitioning_test CASCADE");
+        context.execute("DROP TABLE IF EXISTS partitioning_queues CASCADE");
+        context.execute("DROP TABLE IF EXISTS partitioning_logs CASCADE");
+    }
+}
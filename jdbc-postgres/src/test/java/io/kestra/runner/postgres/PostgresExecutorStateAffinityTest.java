@@ -0,0 +1,93 @@
+package io.kestra.runner.postgres;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.executions.Execution;
+import io.kestra.core.models.flows.State;
+import io.kestra.core.runners.Executor;
+import io.kestra.core.runners.ExecutorState;
+import io.kestra.core.utils.IdUtils;
+import io.kestra.jdbc.JdbcTableConfig;
+import io.kestra.jdbc.JdbcTestUtils;
+import io.kestra.jdbc.JooqDSLContextWrapper;
+import io.kestra.repository.postgres.PostgresExecutionRepository;
+import io.kestra.repository.postgres.PostgresRepository;
+import io.micronaut.context.annotation.Property;
+import io.micronaut.core.util.StringUtils;
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+import org.apache.commons.lang3.tuple.Pair;
+import org.jooq.impl.DSL;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * The execution affinity cache is enabled by the test configuration, and only supported by Postgres.
+ */
+@KestraTest
+@Property(name = "kestra.jdbc.executor.state-entries.enabled", value = StringUtils.TRUE)
+class PostgresExecutorStateAffinityTest {
+    @Inject
+    JdbcTestUtils jdbcTestUtils;
+
+    @Inject
+    JooqDSLContextWrapper dslContextWrapper;
+
+    @Inject
+    PostgresExecutionRepository executionRepository;
+
+    @Inject
+    @Named("executorstate")
+    PostgresRepository<ExecutorState> repository;
+
+    @Inject
+    @Named("executorstateentries")
+    JdbcTableConfig entriesTableConfig;
+
+    @BeforeEach
+    protected void init() {
+        jdbcTestUtils.drop();
+        jdbcTestUtils.migrate();
+    }
+
+    @Test
+    void legacyStateNotSavedOnFirstLock() {
+        Execution execution = Execution.builder()
+            .id(IdUtils.create())
+            .namespace("io.kestra.tests")
+            .flowId("executor-state")
+            .flowRevision(1)
+            .state(new State().withState(State.Type.RUNNING))
+            .build();
+        executionRepository.save(execution);
+
+        // a state written before the entries were enabled
+        ExecutorState legacy = new ExecutorState(execution.getId());
+        legacy.putWorkerTaskDeduplication("worker", State.Type.RUNNING);
+        PostgresExecutorStateStorage legacyStorage = new PostgresExecutorStateStorage(repository, entriesTableConfig, false);
+        dslContextWrapper.transaction(configuration -> legacyStorage.save(DSL.using(configuration), legacy));
+
+        // the first lock doesn't change anything, so nothing is saved and the row version doesn't change
+        executionRepository.lock(execution.getId(), pair -> {
+            assertThat(pair.getRight().getWorkerTaskDeduplication(), is(Map.of("worker", State.Type.RUNNING)));
+            return null;
+        });
+
+        // the next one is served from the cache and only adds a new entry
+        executionRepository.lock(execution.getId(), pair -> {
+            pair.getRight().putWorkerTaskDeduplication("other", State.Type.RUNNING);
+            return Pair.of(new Executor(pair.getLeft(), null), pair.getRight());
+        });
+
+        // a reload must see both the legacy entry and the new one
+        executionRepository.evictFromLockCache(execution.getId());
+        executionRepository.lock(execution.getId(), pair -> {
+            assertThat(pair.getRight().getWorkerTaskDeduplication(), is(Map.of("worker", State.Type.RUNNING, "other", State.Type.RUNNING)));
+            return null;
+        });
+    }
+}
@@ -0,0 +1,24 @@
+package io.kestra.runner.postgres;
+
+import io.kestra.core.runners.ExecutorState;
+import io.kestra.jdbc.JdbcTableConfig;
+import io.kestra.jdbc.runner.AbstractJdbcExecutorStateStorage;
+import io.kestra.jdbc.runner.AbstractJdbcExecutorStateStorageTest;
+import io.kestra.repository.postgres.PostgresRepository;
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+
+class PostgresExecutorStateStorageTest extends AbstractJdbcExecutorStateStorageTest {
+    @Inject
+    @Named("executorstate")
+    PostgresRepository<ExecutorState> repository;
+
+    @Inject
+    @Named("executorstateentries")
+    JdbcTableConfig entriesTableConfig;
+
+    @Override
+    protected AbstractJdbcExecutorStateStorage storage(boolean entriesEnabled) {
+        return new PostgresExecutorStateStorage(repository, entriesTableConfig, entriesEnabled);
+    }
+}
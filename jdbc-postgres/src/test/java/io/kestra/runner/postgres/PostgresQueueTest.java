@@ -35,4 +35,10 @@ class PostgresQueueTest extends JdbcQueueTest {
         assertThat(exception.getMessage(), is("Unable to emit a message to the queue"));
         assertThat(exception.getCause(), instanceOf(DataException.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    void channel() {
+        assertThat(PostgresQueueNotifier.channel(WorkerTaskResult.class.getName()), is("kestra_queue_io_kestra_core_runners_workertaskresult"));
+        assertThat(PostgresQueueNotifier.channel("a".repeat(100)).length(), is(63));
+    }
+}
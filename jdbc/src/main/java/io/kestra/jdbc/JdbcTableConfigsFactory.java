@@ -41,6 +41,12 @@ public class JdbcTableConfigsFactory {
         return new InstantiableJdbcTableConfig("executions", Execution.class, "executions");
     }
 
+    @Bean
+    @Named("executionstatistics")
+    public InstantiableJdbcTableConfig executionStatistics() {
+        return new InstantiableJdbcTableConfig("executionstatistics", null, "execution_statistics");
+    }
+
     @Bean
     @Named("templates")
     public InstantiableJdbcTableConfig templates() {
@@ -77,6 +83,12 @@ public class JdbcTableConfigsFactory {
         return new InstantiableJdbcTableConfig("executorstate", ExecutorState.class, "executorstate");
     }
 
+    @Bean
+    @Named("executorstateentries")
+    public InstantiableJdbcTableConfig executorStateEntries() {
+        return new InstantiableJdbcTableConfig("executorstateentries", null, "executor_state_entries");
+    }
+
     @Bean
     @Named("executordelayed")
     public InstantiableJdbcTableConfig executorDelayed() {
@@ -113,6 +125,12 @@ public class JdbcTableConfigsFactory {
         return new InstantiableJdbcTableConfig("executionqueued", ExecutionQueued.class, "execution_queued");
     }
 
+    @Bean
+    @Named("concurrencylimit")
+    public InstantiableJdbcTableConfig concurrencyLimit() {
+        return new InstantiableJdbcTableConfig("concurrencylimit", ConcurrencyLimit.class, "concurrency_limit");
+    }
+
     @Bean
     @Named("slamonitor")
     public InstantiableJdbcTableConfig slaMonitor() {
@@ -1,7 +1,10 @@
 package io.kestra.jdbc.repository;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import io.kestra.core.events.CrudEvent;
 import io.kestra.core.events.CrudEventType;
+import io.kestra.core.metrics.MetricRegistry;
 import io.kestra.core.models.QueryFilter;
 import io.kestra.core.models.dashboards.ColumnDescriptor;
 import io.kestra.core.models.dashboards.DataFilter;
@@ -22,6 +25,7 @@ import io.kestra.core.runners.ExecutorState;
 import io.kestra.core.utils.DateUtils;
 import io.kestra.core.utils.ListUtils;
 import io.kestra.core.utils.NamespaceUtils;
+import io.kestra.jdbc.JdbcTableConfig;
 import io.kestra.jdbc.runner.AbstractJdbcExecutorStateStorage;
 import io.kestra.jdbc.runner.JdbcQueueIndexerInterface;
 import io.kestra.jdbc.services.JdbcFilterService;
@@ -42,7 +46,9 @@ import reactor.core.publisher.FluxSink;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.time.OffsetDateTime;
 import java.time.ZoneId;
+import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.ChronoUnit;
@@ -67,6 +73,12 @@ public abstract class AbstractJdbcExecutionRepository extends AbstractJdbcReposi
 
     private final JdbcFilterService filterService;
 
+    private final MetricRegistry metricRegistry;
+
+    private final Cache<String, AffinityEntry> affinityCache;
+
+    private final ExecutionStatisticsRollup statisticsRollup;
+
     @Getter
     private final Map<Executions.Fields, String> fieldsMapping = Map.of(
         Executions.Fields.ID, "key",
@@ -106,6 +118,22 @@ public abstract class AbstractJdbcExecutionRepository extends AbstractJdbcReposi
         this.applicationContext = applicationContext;
 
         this.filterService = filterService;
+        this.metricRegistry = applicationContext.getBean(MetricRegistry.class);
+
+        boolean affinityEnabled = applicationContext.getProperty("kestra.jdbc.executor.affinity-cache.enabled", Boolean.class, false);
+        this.affinityCache = affinityEnabled ?
+            CacheBuilder.newBuilder()
+                .maximumSize(applicationContext.getProperty("kestra.jdbc.executor.affinity-cache.size", Integer.class, 1000))
+                .expireAfterAccess(Duration.ofHours(1))
+                .build() :
+            null;
+
+        boolean statisticsRollupEnabled = applicationContext.getProperty("kestra.jdbc.executions.statistics-rollups.enabled", Boolean.class, false);
+        this.statisticsRollup = statisticsRollupEnabled ?
+            applicationContext.findBean(JdbcTableConfig.class, Qualifiers.byName("executionstatistics"))
+                .map(tableConfig -> new ExecutionStatisticsRollup(DSL.table(tableConfig.table()), jdbcRepository.getTable()))
+                .orElse(null) :
+            null;
     }
 
     @SuppressWarnings("unchecked")
@@ -500,6 +528,7 @@ public abstract class AbstractJdbcExecutionRepository extends AbstractJdbcReposi
     ) {
         return dailyStatisticsQuery(
             this.defaultFilter(),
+            DSL.trueCondition(),
             fields,
             query,
             null,
@@ -528,6 +557,7 @@ public abstract class AbstractJdbcExecutionRepository extends AbstractJdbcReposi
     ) {
         return dailyStatisticsQuery(
             this.defaultFilter(tenantId),
+            this.statisticsRollupFilter(tenantId),
             fields,
             query,
             scope,
@@ -543,6 +573,7 @@ public abstract class AbstractJdbcExecutionRepository extends AbstractJdbcReposi
 
     private Results dailyStatisticsQuery(
         Condition defaultFilter,
+        Condition rollupFilter,
         List<Field<?>> fields,
         @Nullable String query,
         @Nullable List<FlowScope> scope,
@@ -554,6 +585,10 @@ public abstract class AbstractJdbcExecutionRepository extends AbstractJdbcReposi
         @Nullable DateUtils.GroupType groupBy,
         @Nullable List<State.Type> state
     ) {
+        if (this.useStatisticsRollup(startDate, endDate, query) && isGroupedByHours(Duration.between(startDate, endDate), groupBy)) {
+            return this.dailyStatisticsRollupQuery(defaultFilter, rollupFilter, fields, scope, namespace, flowId, flows, startDate, endDate, groupBy, state);
+        }
+
         List<Field<?>> dateFields = new ArrayList<>(groupByFields(Duration.between(startDate, endDate), "start_date", groupBy));
         List<Field<?>> selectFields = new ArrayList<>(fields);
         selectFields.addAll(List.of(
@@ -593,6 +628,156 @@ public abstract class AbstractJdbcExecutionRepository extends AbstractJdbcReposi
             });
     }
 
+    /**
+     * Same as {@link #dailyStatisticsQuery(Condition, Condition, List, String, List, String, String, List, ZonedDateTime, ZonedDateTime, DateUtils.GroupType, List)},
+     * but the terminated executions of the whole hours of the period are read from the rollups.
+     */
+    private Results dailyStatisticsRollupQuery(
+        Condition defaultFilter,
+        Condition rollupFilter,
+        List<Field<?>> fields,
+        @Nullable List<FlowScope> scope,
+        @Nullable String namespace,
+        @Nullable String flowId,
+        List<FlowFilter> flows,
+        ZonedDateTime startDate,
+        ZonedDateTime endDate,
+        @Nullable DateUtils.GroupType groupBy,
+        @Nullable List<State.Type> state
+    ) {
+        List<Field<?>> dateFields = new ArrayList<>(groupByFields(Duration.between(startDate, endDate), "start_date", groupBy));
+        List<Field<?>> selectFields = new ArrayList<>(fields);
+        selectFields.addAll(List.of(
+            DSL.sum(ExecutionStatisticsRollup.EXECUTION_COUNT).as("count"),
+            DSL.min(field("duration_min", Long.class)).as("duration_min"),
+            DSL.max(field("duration_max", Long.class)).as("duration_max"),
+            DSL.sum(field("duration_sum", Long.class)).as("duration_sum")
+        ));
+        selectFields.addAll(groupByFields(Duration.between(startDate, endDate), "start_date", groupBy, true));
+
+        return jdbcRepository
+            .getDslContextWrapper()
+            .transactionResult(configuration -> {
+                DSLContext context = DSL.using(configuration);
+
+                Table<Record> statistics = this.statisticsRollupSource(
+                    context,
+                    defaultFilter,
+                    rollupFilter,
+                    select -> {
+                        select = filteringQuery(select, scope, namespace, flowId, flows, null, null, null, null);
+
+                        return state != null ? select.and(this.statesFilter(state)) : select;
+                    },
+                    startDate,
+                    endDate
+                );
+
+                List<Field<?>> groupFields = new ArrayList<>(fields);
+
+                groupFields.addAll(dateFields);
+
+                return context
+                    .select(selectFields)
+                    .from(statistics)
+                    .groupBy(groupFields)
+                    .fetchMany();
+            });
+    }
+
+    /**
+     * The statistics source combining the rollups of the whole hours between the two dates with the executions not
+     * counted in them: the ones of the partial hours at both ends, and the ones that are not terminated, or were
+     * terminated before the rollups were enabled.
+     * <p>
+     * Both have the same columns: the namespace, the flow id, the state, the start date (the start hour for the rollups),
+     * the execution count and the duration sum, min and max.
+     */
+    private Table<Record> statisticsRollupSource(
+        DSLContext context,
+        Condition defaultFilter,
+        Condition rollupFilter,
+        Function<SelectConditionStep<Record>, SelectConditionStep<Record>> filters,
+        ZonedDateTime startDate,
+        ZonedDateTime endDate
+    ) {
+        Instant start = startDate.toInstant();
+        Instant firstHour = start.truncatedTo(ChronoUnit.HOURS);
+        OffsetDateTime hoursStart = (firstHour.isBefore(start) ? firstHour.plus(1, ChronoUnit.HOURS) : firstHour).atOffset(ZoneOffset.UTC);
+        OffsetDateTime hoursEnd = endDate.toInstant().truncatedTo(ChronoUnit.HOURS).atOffset(ZoneOffset.UTC);
+
+        SelectConditionStep<Record> rollups = context
+            .select(List.of(
+                NAMESPACE_FIELD,
+                field("flow_id", String.class),
+                STATE_CURRENT_FIELD,
+                ExecutionStatisticsRollup.START_HOUR.as("start_date"),
+                ExecutionStatisticsRollup.EXECUTION_COUNT,
+                ExecutionStatisticsRollup.DURATION_SUM,
+                ExecutionStatisticsRollup.DURATION_MIN,
+                ExecutionStatisticsRollup.DURATION_MAX
+            ))
+            .from(this.statisticsRollup.getTable())
+            .where(rollupFilter)
+            .and(ExecutionStatisticsRollup.START_HOUR.greaterOrEqual(hoursStart))
+            .and(ExecutionStatisticsRollup.START_HOUR.lessThan(hoursEnd));
+
+        SelectConditionStep<Record> executions = context
+            .select(List.of(
+                NAMESPACE_FIELD,
+                field("flow_id", String.class),
+                STATE_CURRENT_FIELD,
+                START_DATE_FIELD,
+                DSL.inline(1L).as("execution_count"),
+                field("state_duration").as("duration_sum"),
+                field("state_duration").as("duration_min"),
+                field("state_duration").as("duration_max")
+            ))
+            .from(this.jdbcRepository.getTable())
+            .where(defaultFilter)
+            .and(START_DATE_FIELD.greaterOrEqual(startDate.toOffsetDateTime()))
+            .and(START_DATE_FIELD.lessOrEqual(endDate.toOffsetDateTime()))
+            .and(DSL.or(
+                ExecutionStatisticsRollup.STATISTICS_KEY.isNull(),
+                START_DATE_FIELD.lessThan(hoursStart),
+                START_DATE_FIELD.greaterOrEqual(hoursEnd)
+            ));
+
+        return filters.apply(rollups)
+            .unionAll(filters.apply(executions))
+            .asTable("statistics");
+    }
+
+    /**
+     * The rollups are not filtered on the execution table default filter, but only on the tenant.
+     */
+    protected Condition statisticsRollupFilter(@Nullable String tenantId) {
+        return this.buildTenantCondition(tenantId);
+    }
+
+    /**
+     * Whether the statistics between the two dates can be read from the rollups.
+     * They don't support the full-text query, and they are hourly: the time zone must be a whole number of hours
+     * from UTC, so that an hour of the rollups is always in a single group.
+     */
+    private boolean useStatisticsRollup(ZonedDateTime startDate, ZonedDateTime endDate, @Nullable String query) {
+        if (this.statisticsRollup == null || query != null) {
+            return false;
+        }
+
+        ZoneId zoneId = ZoneId.systemDefault();
+
+        return zoneId.getRules().getOffset(startDate.toInstant()).getTotalSeconds() % 3600 == 0 &&
+            zoneId.getRules().getOffset(endDate.toInstant()).getTotalSeconds() % 3600 == 0;
+    }
+
+    /**
+     * Whether {@link #groupByFields(Duration, String, DateUtils.GroupType)} groups by hours or larger periods.
+     */
+    private static boolean isGroupedByHours(Duration duration, @Nullable DateUtils.GroupType groupBy) {
+        return (groupBy != null && groupBy != DateUtils.GroupType.MINUTE) || duration.toHours() > DateUtils.GroupValue.HOUR.getValue();
+    }
+
     private <T extends Record> SelectConditionStep<T> filteringQuery(
         SelectConditionStep<T> select,
         @Nullable List<FlowScope> scope,
@@ -669,24 +854,49 @@ public abstract class AbstractJdbcExecutionRepository extends AbstractJdbcReposi
             .getDslContextWrapper()
             .transactionResult(configuration -> {
                 DSLContext context = DSL.using(configuration);
-                SelectConditionStep<Record3<String, String, Long>> selectCount = context
-                    .select(NAMESPACE_FIELD, STATE_CURRENT_FIELD, DSL.count().cast(Long.class))
-                    .from(this.jdbcRepository.getTable())
-                    .where(this.defaultFilter(tenantId))
-                    .and(START_DATE_FIELD.greaterOrEqual(finalStartDate.toOffsetDateTime()))
-                    .and(START_DATE_FIELD.lessOrEqual(finalEndDate.toOffsetDateTime()));
+                Map<String, Result<Record3<String, String, Long>>> resultByNamespace;
 
-                if (namespace != null) {
-                    selectCount = selectCount.and(DSL.or(
-                        NAMESPACE_FIELD.likeIgnoreCase(namespace + ".%"),
-                        NAMESPACE_FIELD.eq(namespace)
-                    ));
-                }
+                if (this.useStatisticsRollup(finalStartDate, finalEndDate, null)) {
+                    Table<Record> statistics = this.statisticsRollupSource(
+                        context,
+                        this.defaultFilter(tenantId),
+                        this.statisticsRollupFilter(tenantId),
+                        select -> namespace != null ?
+                            select.and(DSL.or(
+                                NAMESPACE_FIELD.likeIgnoreCase(namespace + ".%"),
+                                NAMESPACE_FIELD.eq(namespace)
+                            )) :
+                            select,
+                        finalStartDate,
+                        finalEndDate
+                    );
 
-                Map<String, Result<Record3<String, String, Long>>> resultByNamespace = selectCount
-                    .groupBy(STATE_CURRENT_FIELD, NAMESPACE_FIELD)
-                    .fetch()
-                    .intoGroups(NAMESPACE_FIELD);
+                    resultByNamespace = context
+                        .select(NAMESPACE_FIELD, STATE_CURRENT_FIELD, DSL.sum(ExecutionStatisticsRollup.EXECUTION_COUNT).cast(Long.class))
+                        .from(statistics)
+                        .groupBy(STATE_CURRENT_FIELD, NAMESPACE_FIELD)
+                        .fetch()
+                        .intoGroups(NAMESPACE_FIELD);
+                } else {
+                    SelectConditionStep<Record3<String, String, Long>> selectCount = context
+                        .select(NAMESPACE_FIELD, STATE_CURRENT_FIELD, DSL.count().cast(Long.class))
+                        .from(this.jdbcRepository.getTable())
+                        .where(this.defaultFilter(tenantId))
+                        .and(START_DATE_FIELD.greaterOrEqual(finalStartDate.toOffsetDateTime()))
+                        .and(START_DATE_FIELD.lessOrEqual(finalEndDate.toOffsetDateTime()));
+
+                    if (namespace != null) {
+                        selectCount = selectCount.and(DSL.or(
+                            NAMESPACE_FIELD.likeIgnoreCase(namespace + ".%"),
+                            NAMESPACE_FIELD.eq(namespace)
+                        ));
+                    }
+
+                    resultByNamespace = selectCount
+                        .groupBy(STATE_CURRENT_FIELD, NAMESPACE_FIELD)
+                        .fetch()
+                        .intoGroups(NAMESPACE_FIELD);
+                }
 
                 return resultByNamespace.entrySet().stream()
                     .map(entry -> {
@@ -877,22 +1087,6 @@ public abstract class AbstractJdbcExecutionRepository extends AbstractJdbcReposi
             .transactionResult(configuration -> {
                 DSLContext dslContext = DSL.using(configuration);
 
-                SelectConditionStep<?> select = dslContext
-                    .select(List.of(
-                        field("namespace"),
-                        field("flow_id"),
-                        DSL.count().as("count")
-                    ))
-                    .from(this.jdbcRepository.getTable())
-                    .where(this.defaultFilter(tenantId));
-
-                select = select.and(START_DATE_FIELD.greaterOrEqual(finalStartDate.toOffsetDateTime()));
-                select = select.and(START_DATE_FIELD.lessOrEqual(finalEndDate.toOffsetDateTime()));
-
-                if (!ListUtils.isEmpty(states)) {
-                    select = select.and(this.statesFilter(states));
-                }
-
                 List<Condition> orConditions = new ArrayList<>();
                 orConditions.addAll(ListUtils.emptyOnNull(flows)
                     .stream()
@@ -909,8 +1103,51 @@ public abstract class AbstractJdbcExecutionRepository extends AbstractJdbcReposi
                         .toList()
                 );
 
-                // add flows filters
-                select = select.and(DSL.or(orConditions));
+                SelectConditionStep<?> select;
+                if (this.useStatisticsRollup(finalStartDate, finalEndDate, null)) {
+                    Table<Record> statistics = this.statisticsRollupSource(
+                        dslContext,
+                        this.defaultFilter(tenantId),
+                        this.statisticsRollupFilter(tenantId),
+                        rollupSelect -> {
+                            if (!ListUtils.isEmpty(states)) {
+                                rollupSelect = rollupSelect.and(this.statesFilter(states));
+                            }
+
+                            return rollupSelect.and(DSL.or(orConditions));
+                        },
+                        finalStartDate,
+                        finalEndDate
+                    );
+
+                    select = dslContext
+                        .select(List.of(
+                            field("namespace"),
+                            field("flow_id"),
+                            DSL.sum(ExecutionStatisticsRollup.EXECUTION_COUNT).as("count")
+                        ))
+                        .from(statistics)
+                        .where(DSL.trueCondition());
+                } else {
+                    select = dslContext
+                        .select(List.of(
+                            field("namespace"),
+                            field("flow_id"),
+                            DSL.count().as("count")
+                        ))
+                        .from(this.jdbcRepository.getTable())
+                        .where(this.defaultFilter(tenantId));
+
+                    select = select.and(START_DATE_FIELD.greaterOrEqual(finalStartDate.toOffsetDateTime()));
+                    select = select.and(START_DATE_FIELD.lessOrEqual(finalEndDate.toOffsetDateTime()));
+
+                    if (!ListUtils.isEmpty(states)) {
+                        select = select.and(this.statesFilter(states));
+                    }
+
+                    // add flows filters
+                    select = select.and(DSL.or(orConditions));
+                }
 
                 // map result to flow
                 return select
@@ -1012,6 +1249,12 @@ public abstract class AbstractJdbcExecutionRepository extends AbstractJdbcReposi
 
     @Override
     public Execution save(Execution execution) {
+        if (this.statisticsRollup != null) {
+            return this.jdbcRepository
+                .getDslContextWrapper()
+                .transactionResult(configuration -> this.save(DSL.using(configuration), execution));
+        }
+
         Map<Field<Object>, Object> fields = this.jdbcRepository.persistFields(execution);
         this.jdbcRepository.persist(execution, fields);
 
@@ -1023,6 +1266,10 @@ public abstract class AbstractJdbcExecutionRepository extends AbstractJdbcReposi
         Map<Field<Object>, Object> fields = this.jdbcRepository.persistFields(execution);
         this.jdbcRepository.persist(execution, dslContext, fields);
 
+        if (this.statisticsRollup != null) {
+            this.statisticsRollup.update(dslContext, execution);
+        }
+
         return execution;
     }
 
@@ -1032,7 +1279,62 @@ public abstract class AbstractJdbcExecutionRepository extends AbstractJdbcReposi
             return 0;
         }
 
-        return this.jdbcRepository.persistBatch(items);
+        if (this.statisticsRollup == null) {
+            return this.jdbcRepository.persistBatch(items);
+        }
+
+        // the rollups are updated in the same transaction, so an execution is never saved with a state that is not counted
+        return this.jdbcRepository
+            .getDslContextWrapper()
+            .transactionResult(configuration -> {
+                DSLContext context = DSL.using(configuration);
+
+                int saved = this.jdbcRepository.persistBatch(context, items);
+                items.forEach(execution -> this.statisticsRollup.update(context, execution));
+
+                return saved;
+            });
+    }
+
+    /**
+     * Count in the statistics rollups a batch of the terminated executions that are not counted yet.
+     * As the progress is kept on each execution, the backfill can be stopped and resumed at any time.
+     * The executions locked by a concurrent save or backfill are skipped, they are counted by it.
+     *
+     * @param after the key of the last execution of the previous batch, null for the first batch.
+     * @return the keys of the executions of the batch in order, empty when there is nothing left to count.
+     */
+    public List<String> backfillStatisticsRollup(@Nullable String after, int batchSize) {
+        if (this.statisticsRollup == null) {
+            return List.of();
+        }
+
+        List<State.Type> terminated = Arrays.stream(State.Type.values())
+            .filter(State.Type::isTerminated)
+            .toList();
+
+        return this.jdbcRepository
+            .getDslContextWrapper()
+            .transactionResult(configuration -> {
+                DSLContext context = DSL.using(configuration);
+
+                List<String> keys = context
+                    .select(ExecutionStatisticsRollup.KEY)
+                    .from(this.jdbcRepository.getTable())
+                    .where(this.defaultFilter())
+                    .and(ExecutionStatisticsRollup.STATISTICS_KEY.isNull())
+                    .and(this.statesFilter(terminated))
+                    .and(after == null ? DSL.noCondition() : ExecutionStatisticsRollup.KEY.greaterThan(after))
+                    .orderBy(ExecutionStatisticsRollup.KEY)
+                    .limit(batchSize)
+                    .forUpdate()
+                    .skipLocked()
+                    .fetch(ExecutionStatisticsRollup.KEY);
+
+                this.statisticsRollup.backfill(context, keys);
+
+                return keys;
+            });
     }
 
     @Override
@@ -1040,12 +1342,18 @@ public abstract class AbstractJdbcExecutionRepository extends AbstractJdbcReposi
         return this.jdbcRepository
             .getDslContextWrapper()
             .transactionResult(configuration -> {
-                DSL.using(configuration)
+                DSLContext context = DSL.using(configuration);
+
+                context
                     .update(this.jdbcRepository.getTable())
                     .set(this.jdbcRepository.persistFields((execution)))
                     .where(field("key").eq(execution.getId()))
                     .execute();
 
+                if (this.statisticsRollup != null) {
+                    this.statisticsRollup.update(context, execution);
+                }
+
                 return execution;
             });
     }
@@ -1060,8 +1368,7 @@ public abstract class AbstractJdbcExecutionRepository extends AbstractJdbcReposi
 
         Execution deleted = execution.toDeleted();
 
-        Map<Field<Object>, Object> fields = this.jdbcRepository.persistFields(deleted);
-        this.jdbcRepository.persist(deleted, fields);
+        this.save(deleted);
 
         executionQueue().emit(deleted);
 
@@ -1072,10 +1379,47 @@ public abstract class AbstractJdbcExecutionRepository extends AbstractJdbcReposi
 
     @Override
     public Integer purge(Execution execution) {
+        if (this.statisticsRollup != null) {
+            return this.purge(List.of(execution));
+        }
+
         return this.jdbcRepository.delete(execution);
     }
 
+    @Override
+    public Integer purge(List<Execution> executions) {
+        if (executions.isEmpty()) {
+            return 0;
+        }
+
+        return this.jdbcRepository
+            .getDslContextWrapper()
+            .transactionResult(configuration -> {
+                DSLContext context = DSL.using(configuration);
+                List<String> ids = executions.stream().map(Execution::getId).toList();
+
+                // the rollups the executions are counted in must be read before deleting them
+                List<String> rollupKeys = this.statisticsRollup != null ? this.statisticsRollup.rollupKeys(context, ids) : List.of();
+
+                int deleted = context
+                    .delete(this.jdbcRepository.getTable())
+                    .where(field("key", String.class).in(ids))
+                    .execute();
+
+                if (this.statisticsRollup != null) {
+                    this.statisticsRollup.recompute(context, rollupKeys);
+                }
+
+                return deleted;
+            });
+    }
+
     public Executor lock(String executionId, Function<Pair<Execution, ExecutorState>, Pair<Executor, ExecutorState>> function) {
+        Field<String> versionField = this.lockVersionField();
+        if (this.affinityCache != null && versionField != null) {
+            return this.lockWithAffinity(executionId, versionField, function);
+        }
+
         return this.jdbcRepository
             .getDslContextWrapper()
             .transactionResult(configuration -> {
@@ -1109,6 +1453,106 @@ public abstract class AbstractJdbcExecutionRepository extends AbstractJdbcReposi
             });
     }
 
+    /**
+     * Same as the standard lock, but the execution and its executor state are kept in memory with the row version
+     * they were read or written at. While the row version is unchanged, only the version is selected for update,
+     * avoiding the load and deserialization of the execution and of its executor state.
+     * Any change made outside this instance changes the row version, so it falls back to a full reload.
+     */
+    private Executor lockWithAffinity(String executionId, Field<String> versionField, Function<Pair<Execution, ExecutorState>, Pair<Executor, ExecutorState>> function) {
+        return this.jdbcRepository
+            .getDslContextWrapper()
+            .transactionResult(configuration -> {
+                DSLContext context = DSL.using(configuration);
+
+                Optional<String> version = context
+                    .select(versionField)
+                    .from(this.jdbcRepository.getTable())
+                    .where(field("key").eq(executionId))
+                    .and(this.defaultFilter())
+                    .forUpdate()
+                    .fetchOptional(versionField);
+
+                // not ready for now, skip and wait for a first state
+                if (version.isEmpty()) {
+                    this.affinityCache.invalidate(executionId);
+                    return null;
+                }
+
+                Execution execution;
+                ExecutorState executorState;
+
+                AffinityEntry entry = this.affinityCache.getIfPresent(executionId);
+                if (entry != null && entry.version().equals(version.get())) {
+                    this.metricRegistry.counter(MetricRegistry.EXECUTOR_EXECUTION_CACHE_HIT_COUNT).increment();
+
+                    execution = entry.execution();
+                    // the state is mutated by the executor, it must not alter the cached one if the transaction fails
+                    executorState = entry.executorState().copy();
+                } else {
+                    this.metricRegistry.counter(MetricRegistry.EXECUTOR_EXECUTION_CACHE_MISS_COUNT).increment();
+
+                    Optional<Execution> fetched = this.jdbcRepository.fetchOne(context
+                        .select(field("value"))
+                        .from(this.jdbcRepository.getTable())
+                        .where(field("key").eq(executionId))
+                    );
+
+                    if (fetched.isEmpty()) {
+                        return null;
+                    }
+
+                    execution = fetched.get();
+                    executorState = executorStateStorage.get(context, execution);
+                    this.affinityCache.put(executionId, new AffinityEntry(version.get(), execution, executorState.copy()));
+                }
+
+                Pair<Executor, ExecutorState> pair = function.apply(Pair.of(execution, executorState));
+
+                if (pair != null) {
+                    Execution updated = pair.getKey().getExecution();
+                    this.jdbcRepository.persist(updated, context, null);
+                    this.executorStateStorage.save(context, pair.getRight());
+
+                    // the new version is only visible by others once committed; on rollback, the row keeps its old
+                    // version which will not match this entry anymore, so we can safely cache it right now
+                    context
+                        .select(versionField)
+                        .from(this.jdbcRepository.getTable())
+                        .where(field("key").eq(executionId))
+                        .fetchOptional(versionField)
+                        .ifPresentOrElse(
+                            newVersion -> this.affinityCache.put(executionId, new AffinityEntry(newVersion, updated, pair.getRight().copy())),
+                            () -> this.affinityCache.invalidate(executionId)
+                        );
+
+                    return pair.getKey();
+                }
+
+                return null;
+            });
+    }
+
+    /**
+     * A field that changes on each update of an execution row, used to validate the execution affinity cache.
+     * Dialects that don't have such a field return null, which disables the cache.
+     */
+    protected Field<String> lockVersionField() {
+        return null;
+    }
+
+    /**
+     * Remove an execution from the execution affinity cache, if any.
+     */
+    public void evictFromLockCache(String executionId) {
+        if (this.affinityCache != null) {
+            this.affinityCache.invalidate(executionId);
+        }
+    }
+
+    private record AffinityEntry(String version, Execution execution, ExecutorState executorState) {
+    }
+
     @Override
     public Function<String, String> sortMapping() throws IllegalArgumentException {
         Map<String, String> mapper = Map.of(
@@ -132,7 +132,7 @@ public abstract class AbstractJdbcLogRepository extends AbstractJdbcRepository i
             select = select.and(field("timestamp").lessOrEqual(endDate.toOffsetDateTime()));
         }
 
-        return select;
+        return select.and(this.partitionPruning(startDate, endDate));
     }
 
     private <T extends Record> SelectConditionStep<T> addMinLevel(SelectConditionStep<T> select,
@@ -170,7 +170,8 @@ public abstract class AbstractJdbcLogRepository extends AbstractJdbcRepository i
                     .where(this.defaultFilter(tenantId));
                 addNamespace(select, namespace);
                 addMinLevel(select, minLevel);
-                select = select.and(field("timestamp").greaterThan(startDate.toOffsetDateTime()));
+                select = select.and(field("timestamp").greaterThan(startDate.toOffsetDateTime()))
+                    .and(this.partitionPruning(startDate, null));
 
                 Select<Record1<Object>> query = this.jdbcRepository.buildQuery(context, select, "timestamp");
 
@@ -491,6 +492,24 @@ public abstract class AbstractJdbcLogRepository extends AbstractJdbcRepository i
             });
     }
 
+    @Override
+    public Integer purge(List<Execution> executions) {
+        if (executions.isEmpty()) {
+            return 0;
+        }
+
+        return this.jdbcRepository
+            .getDslContextWrapper()
+            .transactionResult(configuration -> {
+                DSLContext context = DSL.using(configuration);
+
+                return context.delete(this.jdbcRepository.getTable())
+                    .where(field("deleted", Boolean.class).eq(false))
+                    .and(field("execution_id", String.class).in(executions.stream().map(Execution::getId).toList()))
+                    .execute();
+            });
+    }
+
     @Override
     public void deleteByQuery(String tenantId, String executionId, String taskId, String taskRunId, Level minLevel, Integer attempt) {
         this.jdbcRepository
@@ -546,36 +565,64 @@ public abstract class AbstractJdbcLogRepository extends AbstractJdbcRepository i
 
     @Override
     public int deleteByQuery(String tenantId, String namespace, String flowId, List<Level> logLevels, ZonedDateTime startDate, ZonedDateTime endDate) {
-        return this.jdbcRepository
+        Condition condition = this.defaultFilter(tenantId);
+
+        if (namespace != null) {
+            condition = condition.and(field("namespace").eq(namespace));
+        }
+
+        if (flowId != null) {
+            condition = condition.and(field("flow_id").eq(flowId));
+        }
+
+        if (logLevels != null) {
+            condition = condition.and(levelsCondition(logLevels));
+        }
+
+        // a partition is unlikely to only hold the logs of a namespace, a flow or some levels, so it's not worth checking;
+        // the partitions are dropped outside the transaction of the delete, as dropping one briefly locks the whole table
+        int dropped = namespace == null && flowId == null && logLevels == null ?
+            this.dropPartitions(condition, startDate, endDate) :
+            0;
+
+        Condition deleteCondition = condition;
+        return dropped + this.jdbcRepository
             .getDslContextWrapper()
             .transactionResult(configuration -> {
                 DSLContext context = DSL.using(configuration);
 
                 var delete = context
                     .delete(this.jdbcRepository.getTable())
-                    .where(this.defaultFilter(tenantId))
-                    .and(field("timestamp").lessOrEqual(endDate.toOffsetDateTime()));
+                    .where(deleteCondition)
+                    .and(field("timestamp").lessOrEqual(endDate.toOffsetDateTime()))
+                    .and(this.partitionPruning(startDate, endDate));
 
                 if (startDate != null) {
                     delete = delete.and(field("timestamp").greaterOrEqual(startDate.toOffsetDateTime()));
                 }
 
-                if (namespace != null) {
-                    delete = delete.and(field("namespace").eq(namespace));
-                }
-
-                if (flowId != null) {
-                    delete = delete.and(field("flow_id").eq(flowId));
-                }
-
-                if (logLevels != null) {
-                    delete = delete.and(levelsCondition(logLevels));
-                }
-
                 return delete.execute();
             });
     }
 
+    /**
+     * A condition allowing the database to only read the partitions of the logs between the two dates,
+     * for the databases having a partitioned layout.
+     */
+    protected Condition partitionPruning(@Nullable ZonedDateTime startDate, @Nullable ZonedDateTime endDate) {
+        return DSL.noCondition();
+    }
+
+    /**
+     * Drop the partitions of the logs between the two dates in which all the rows match the condition,
+     * for the databases having a partitioned layout. It's called outside any transaction.
+     *
+     * @return the number of rows of the dropped partitions.
+     */
+    protected int dropPartitions(Condition condition, @Nullable ZonedDateTime startDate, ZonedDateTime endDate) {
+        return 0;
+    }
+
     private ArrayListTotal<LogEntry> query(String tenantId, Condition condition, Level minLevel, Pageable pageable) {
         return this.jdbcRepository
             .getDslContextWrapper()
@@ -200,6 +200,24 @@ public abstract class AbstractJdbcMetricRepository extends AbstractJdbcRepositor
             });
     }
 
+    @Override
+    public Integer purge(List<Execution> executions) {
+        if (executions.isEmpty()) {
+            return 0;
+        }
+
+        return this.jdbcRepository
+            .getDslContextWrapper()
+            .transactionResult(configuration -> {
+                DSLContext context = DSL.using(configuration);
+
+                return context.delete(this.jdbcRepository.getTable())
+                    .where(field("deleted", Boolean.class).eq(false))
+                    .and(field("execution_id", String.class).in(executions.stream().map(Execution::getId).toList()))
+                    .execute();
+            });
+    }
+
     private List<String> queryDistinct(String tenantId, Condition condition, String field) {
         return this.jdbcRepository
             .getDslContextWrapper()
@@ -263,6 +281,8 @@ public abstract class AbstractJdbcMetricRepository extends AbstractJdbcRepositor
                     select = select.and(field("timestamp").lessOrEqual(endDate.toOffsetDateTime()));
                 }
 
+                select = select.and(this.partitionPruning(startDate, endDate));
+
                 dateFields.add(field("metric_name"));
 
                 List<Field<?>> groupByFields = new ArrayList<>(groupByFields(Duration.between(startDate, endDate)));
@@ -278,6 +298,14 @@ public abstract class AbstractJdbcMetricRepository extends AbstractJdbcRepositor
             });
     }
 
+    /**
+     * A condition allowing the database to only read the partitions of the metrics between the two dates,
+     * for the databases having a partitioned layout.
+     */
+    protected Condition partitionPruning(@Nullable ZonedDateTime startDate, @Nullable ZonedDateTime endDate) {
+        return DSL.noCondition();
+    }
+
     private Field<?> aggregate(String aggregation) {
         return switch (aggregation) {
             case "avg" -> DSL.avg(field("metric_value", Double.class)).as("metric_value");
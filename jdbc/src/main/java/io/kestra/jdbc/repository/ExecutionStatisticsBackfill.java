@@ -0,0 +1,64 @@
+package io.kestra.jdbc.repository;
+
+import io.kestra.jdbc.runner.JdbcRunnerEnabled;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.context.annotation.Value;
+import io.micronaut.scheduling.annotation.Scheduled;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Count in the statistics rollups the executions terminated before the rollups were enabled, by batches.
+ * <p>
+ * The statistics are right without it, as the executions not counted in the rollups are still aggregated from the executions table,
+ * but these queries only get cheaper once it's done.
+ * It only runs on the executors, one batch on each run so it doesn't compete with the executions being saved,
+ * and the executions locked by another executor are skipped.
+ * It stops once there is nothing left to count, and resumes where it stopped on the next startup as the progress is kept on each execution.
+ */
+@Singleton
+@JdbcRunnerEnabled
+@Requires(property = "kestra.server-type", pattern = "(EXECUTOR|STANDALONE)")
+@Requires(property = "kestra.jdbc.executions.statistics-rollups.enabled", value = "true")
+@Slf4j
+public class ExecutionStatisticsBackfill {
+    private final AbstractJdbcExecutionRepository executionRepository;
+    private final int batchSize;
+
+    private final AtomicBoolean done = new AtomicBoolean(false);
+    private volatile String after;
+    private long counted = 0;
+
+    @Inject
+    public ExecutionStatisticsBackfill(
+        AbstractJdbcExecutionRepository executionRepository,
+        @Value("${kestra.jdbc.executions.statistics-rollups.backfill.batch-size:500}") int batchSize
+    ) {
+        this.executionRepository = executionRepository;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(
+        initialDelay = "${kestra.jdbc.executions.statistics-rollups.backfill.initial-delay:1m}",
+        fixedDelay = "${kestra.jdbc.executions.statistics-rollups.backfill.fixed-delay:5s}"
+    )
+    public void backfill() {
+        if (this.done.get()) {
+            return;
+        }
+
+        List<String> keys = this.executionRepository.backfillStatisticsRollup(this.after, this.batchSize);
+        if (keys.isEmpty()) {
+            this.done.set(true);
+            log.info("Backfilled the execution statistics rollups with {} executions", this.counted);
+            return;
+        }
+
+        this.counted += keys.size();
+        this.after = keys.getLast();
+    }
+}
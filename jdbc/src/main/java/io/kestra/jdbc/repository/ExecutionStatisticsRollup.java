@@ -0,0 +1,248 @@
+package io.kestra.jdbc.repository;
+
+import com.google.common.hash.Hashing;
+import io.kestra.core.models.executions.Execution;
+import io.kestra.core.models.flows.State;
+import org.jooq.Condition;
+import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.Record;
+import org.jooq.Table;
+import org.jooq.impl.DSL;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Maintains the execution statistics rollups: the count and the duration sum, min and max of the terminated executions,
+ * per tenant, namespace, flow, state and hour of their start date.
+ * <p>
+ * Each execution row keeps the key of the rollup it is counted in and the duration it was counted with.
+ * A new contribution is added incrementally. As a min or a max can't be decremented, a late update of a counted execution
+ * (a restart, a change of state or duration, a deletion or a purge) recomputes its previous rollup from the executions
+ * still counted in it.
+ * The executions terminated before the rollups were enabled are counted afterward by {@link ExecutionStatisticsBackfill}.
+ */
+final class ExecutionStatisticsRollup {
+    static final Field<String> KEY = AbstractJdbcRepository.field("key", String.class);
+    static final Field<String> TENANT_ID = AbstractJdbcRepository.field("tenant_id", String.class);
+    static final Field<String> NAMESPACE = AbstractJdbcRepository.field("namespace", String.class);
+    static final Field<String> FLOW_ID = AbstractJdbcRepository.field("flow_id", String.class);
+    static final Field<String> STATE_CURRENT = AbstractJdbcRepository.field("state_current", String.class);
+    static final Field<Object> START_HOUR = AbstractJdbcRepository.field("start_hour");
+    static final Field<Long> EXECUTION_COUNT = AbstractJdbcRepository.field("execution_count", Long.class);
+    static final Field<Object> DURATION_SUM = AbstractJdbcRepository.field("duration_sum");
+    static final Field<Object> DURATION_MIN = AbstractJdbcRepository.field("duration_min");
+    static final Field<Object> DURATION_MAX = AbstractJdbcRepository.field("duration_max");
+
+    static final Field<String> STATISTICS_KEY = AbstractJdbcRepository.field("statistics_key", String.class);
+    static final Field<Object> STATISTICS_DURATION = AbstractJdbcRepository.field("statistics_duration");
+    private static final Field<LocalDateTime> START_DATE = AbstractJdbcRepository.field("start_date", LocalDateTime.class);
+    private static final Field<Object> STATE_DURATION = AbstractJdbcRepository.field("state_duration");
+    private static final Field<Boolean> DELETED = AbstractJdbcRepository.field("deleted", Boolean.class);
+
+    private final Table<Record> table;
+    private final Table<Record> executionsTable;
+
+    ExecutionStatisticsRollup(Table<Record> table, Table<Record> executionsTable) {
+        this.table = table;
+        this.executionsTable = executionsTable;
+    }
+
+    Table<Record> getTable() {
+        return this.table;
+    }
+
+    /**
+     * Update the rollups after the execution has been persisted, in the same transaction.
+     */
+    void update(DSLContext context, Execution execution) {
+        if (!execution.getState().isTerminated() && execution.getState().getHistories().stream().noneMatch(history -> history.getState().isTerminated())) {
+            // never terminated, so it's not counted and never was
+            return;
+        }
+
+        this.update(context, execution.getId());
+    }
+
+    /**
+     * Count the persisted executions that are not counted yet, e.g. the ones terminated before the rollups were enabled.
+     */
+    void backfill(DSLContext context, Collection<String> executionIds) {
+        executionIds.forEach(executionId -> this.update(context, executionId));
+    }
+
+    private void update(DSLContext context, String executionId) {
+        // lock the execution, so it can't be counted twice by a concurrent save or backfill
+        Record row = context
+            .select(TENANT_ID, NAMESPACE, FLOW_ID, STATE_CURRENT, START_DATE, STATE_DURATION, DELETED, STATISTICS_KEY, STATISTICS_DURATION)
+            .from(this.executionsTable)
+            .where(KEY.eq(executionId))
+            .forUpdate()
+            .fetchOne();
+
+        if (row == null) {
+            return;
+        }
+
+        Contribution current = Contribution.of(row);
+        String previousKey = row.get(STATISTICS_KEY);
+
+        if (current == null ? previousKey == null : current.key().equals(previousKey) && Objects.equals(current.duration(), row.get(STATISTICS_DURATION, Long.class))) {
+            return;
+        }
+
+        context
+            .update(this.executionsTable)
+            .set(STATISTICS_KEY, current == null ? null : current.key())
+            .set(STATISTICS_DURATION, current == null ? null : current.duration())
+            .where(KEY.eq(executionId))
+            .execute();
+
+        if (previousKey != null) {
+            this.recompute(context, previousKey);
+        }
+
+        // on the same rollup, the recompute already counted the new contribution
+        if (current != null && !current.key().equals(previousKey)) {
+            this.increment(context, current);
+        }
+    }
+
+    /**
+     * The rollups the executions are counted in, to be recomputed once they are purged.
+     */
+    List<String> rollupKeys(DSLContext context, Collection<String> executionIds) {
+        return context
+            .selectDistinct(STATISTICS_KEY)
+            .from(this.executionsTable)
+            .where(KEY.in(executionIds))
+            .and(STATISTICS_KEY.isNotNull())
+            .fetch(STATISTICS_KEY);
+    }
+
+    void recompute(DSLContext context, Collection<String> keys) {
+        keys.forEach(key -> this.recompute(context, key));
+    }
+
+    private void recompute(DSLContext context, String key) {
+        // lock the rollup first, so a concurrent increment is not lost
+        context
+            .select(KEY)
+            .from(this.table)
+            .where(KEY.eq(key))
+            .forUpdate()
+            .fetch();
+
+        Record aggregate = context
+            .select(
+                DSL.count().as("execution_count"),
+                DSL.sum(AbstractJdbcRepository.field("statistics_duration", BigDecimal.class)).as("duration_sum"),
+                DSL.min(STATISTICS_DURATION).as("duration_min"),
+                DSL.max(STATISTICS_DURATION).as("duration_max")
+            )
+            .from(this.executionsTable)
+            .where(STATISTICS_KEY.eq(key))
+            .fetchOne();
+
+        long count = aggregate == null ? 0 : aggregate.get("execution_count", Long.class);
+        if (count == 0) {
+            context
+                .delete(this.table)
+                .where(KEY.eq(key))
+                .execute();
+        } else {
+            context
+                .update(this.table)
+                .set(EXECUTION_COUNT, count)
+                .set(DURATION_SUM, aggregate.get("duration_sum"))
+                .set(DURATION_MIN, aggregate.get("duration_min"))
+                .set(DURATION_MAX, aggregate.get("duration_max"))
+                .where(KEY.eq(key))
+                .execute();
+        }
+    }
+
+    private void increment(DSLContext context, Contribution contribution) {
+        if (this.incrementExisting(context, contribution) > 0) {
+            return;
+        }
+
+        int inserted = context
+            .insertInto(this.table)
+            .set(KEY, contribution.key())
+            .set(TENANT_ID, contribution.tenantId())
+            .set(NAMESPACE, contribution.namespace())
+            .set(FLOW_ID, contribution.flowId())
+            // inlined, so Postgres casts it to the state enum
+            .set(STATE_CURRENT, DSL.inline(contribution.state()))
+            .set(START_HOUR, contribution.startHour())
+            .set(EXECUTION_COUNT, 1L)
+            .set(DURATION_SUM, contribution.duration())
+            .set(DURATION_MIN, contribution.duration())
+            .set(DURATION_MAX, contribution.duration())
+            .onConflict(KEY)
+            .doNothing()
+            .execute();
+
+        if (inserted == 0) {
+            // created concurrently in the meantime
+            this.incrementExisting(context, contribution);
+        }
+    }
+
+    private int incrementExisting(DSLContext context, Contribution contribution) {
+        Field<Object> duration = DSL.val((Object) contribution.duration());
+        Condition condition = KEY.eq(contribution.key());
+
+        return context
+            .update(this.table)
+            .set(EXECUTION_COUNT, EXECUTION_COUNT.plus(1))
+            .set(DURATION_SUM, DURATION_SUM.plus(duration))
+            .set(DURATION_MIN, DSL.least(DURATION_MIN, duration))
+            .set(DURATION_MAX, DSL.greatest(DURATION_MAX, duration))
+            .where(condition)
+            .execute();
+    }
+
+    /**
+     * The contribution of a persisted execution to the rollups, read from its generated columns so that the rollups
+     * aggregate exactly the values the raw statistics queries use.
+     */
+    record Contribution(String key, String tenantId, String namespace, String flowId, String state, LocalDateTime startHour, Long duration) {
+        static Contribution of(Record row) {
+            String state = row.get(STATE_CURRENT);
+            if (Boolean.TRUE.equals(row.get(DELETED)) || state == null || !State.Type.valueOf(state).isTerminated()) {
+                return null;
+            }
+
+            // the hour is truncated on the database value, so a rollup covers exactly the rows of its hour
+            LocalDateTime startHour = row.get(START_DATE).truncatedTo(ChronoUnit.HOURS);
+            String tenantId = row.get(TENANT_ID);
+            String namespace = row.get(NAMESPACE);
+            String flowId = row.get(FLOW_ID);
+
+            return new Contribution(
+                key(tenantId, namespace, flowId, state, startHour),
+                tenantId,
+                namespace,
+                flowId,
+                state,
+                startHour,
+                // H2 durations are floating seconds, they are rounded as the rollups hold whole numbers like on the other databases
+                Math.round(((Number) row.get(STATE_DURATION)).doubleValue())
+            );
+        }
+
+        private static String key(String tenantId, String namespace, String flowId, String state, LocalDateTime startHour) {
+            return Hashing.sha256()
+                .hashString(String.join("|", tenantId == null ? "" : tenantId, namespace, flowId, state, startHour.toString()), StandardCharsets.UTF_8)
+                .toString();
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package io.kestra.jdbc.runner;
+
+import io.kestra.core.models.flows.Flow;
+import io.kestra.core.runners.ConcurrencyLimit;
+import io.kestra.jdbc.repository.AbstractJdbcRepository;
+import org.jooq.DSLContext;
+import org.jooq.impl.DSL;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.function.BooleanSupplier;
+import java.util.function.LongSupplier;
+
+/**
+ * Count the concurrency slots used by the running executions of each flow, so the concurrency limit can be checked
+ * without counting the executions of the flow each time.
+ * <p>
+ * All the operations lock the counter of the flow, so concurrent executors acquire and release slots one at a time.
+ * A counter is initialized, then periodically reconciled, from the number of running executions of the flow.
+ */
+public abstract class AbstractJdbcConcurrencyLimitStorage extends AbstractJdbcRepository {
+    /**
+     * The executions are indexed asynchronously, so for this long after a slot is acquired,
+     * the number of running executions may not count it yet and is not trusted to lower the counter.
+     */
+    static final Duration RECONCILE_GRACE_PERIOD = Duration.ofMinutes(1);
+
+    protected io.kestra.jdbc.AbstractJdbcRepository<ConcurrencyLimit> jdbcRepository;
+
+    public AbstractJdbcConcurrencyLimitStorage(io.kestra.jdbc.AbstractJdbcRepository<ConcurrencyLimit> jdbcRepository) {
+        this.jdbcRepository = jdbcRepository;
+    }
+
+    /**
+     * Acquire a slot for a new execution of the flow if its concurrency limit is not reached.
+     *
+     * @param running the number of running executions of the flow, only used if the flow has no counter yet.
+     * @return the number of slots used before this call, the slot is acquired only if it's under the limit.
+     */
+    public long tryAcquire(Flow flow, LongSupplier running) {
+        return this.jdbcRepository
+            .getDslContextWrapper()
+            .transactionResult(configuration -> {
+                DSLContext context = DSL.using(configuration);
+
+                ConcurrencyLimit concurrencyLimit = this.lock(context, flow)
+                    .orElseGet(() -> this.counter(flow, running));
+
+                int used = concurrencyLimit.getRunning();
+                if (used < flow.getConcurrency().getLimit()) {
+                    concurrencyLimit = concurrencyLimit.withRunning(used + 1).withAcquired(Instant.now());
+                }
+
+                this.jdbcRepository.persist(concurrencyLimit, context, null);
+
+                return (long) used;
+            });
+    }
+
+    /**
+     * Acquire a slot for an execution of the flow even if its concurrency limit is reached,
+     * e.g. for a restarted execution that is not subject to the limit.
+     *
+     * @param running the number of running executions of the flow, only used if the flow has no counter yet.
+     */
+    public void acquire(Flow flow, LongSupplier running) {
+        this.jdbcRepository
+            .getDslContextWrapper()
+            .transaction(configuration -> {
+                DSLContext context = DSL.using(configuration);
+
+                ConcurrencyLimit concurrencyLimit = this.lock(context, flow)
+                    .orElseGet(() -> this.counter(flow, running));
+
+                this.jdbcRepository.persist(
+                    concurrencyLimit.withRunning(concurrencyLimit.getRunning() + 1).withAcquired(Instant.now()),
+                    context,
+                    null
+                );
+            });
+    }
+
+    /**
+     * Release a slot of the flow, or transfer it to another execution if <code>transfer</code> returns true.
+     * The transfer is done while the counter is locked, so no other execution can acquire the slot in the meantime.
+     */
+    public void release(Flow flow, BooleanSupplier transfer) {
+        this.jdbcRepository
+            .getDslContextWrapper()
+            .transaction(configuration -> {
+                DSLContext context = DSL.using(configuration);
+
+                Optional<ConcurrencyLimit> concurrencyLimit = this.lock(context, flow);
+                if (transfer.getAsBoolean()) {
+                    concurrencyLimit.ifPresent(current -> this.jdbcRepository.persist(current.withAcquired(Instant.now()), context, null));
+                    return;
+                }
+
+                // a missing counter or a negative one would be fixed by the next reconciliation
+                concurrencyLimit
+                    .filter(current -> current.getRunning() > 0)
+                    .ifPresent(current -> this.jdbcRepository.persist(current.withRunning(current.getRunning() - 1), context, null));
+            });
+    }
+
+    /**
+     * Reset the counter of the flow to its number of running executions, then give the free slots to the queued executions:
+     * they are otherwise only given a slot when another execution terminates, so a leaked slot or an execution that never
+     * held a slot would leave them queued.
+     * <p>
+     * The running executions are counted from the indexed executions, which may miss the slots acquired in the last moments,
+     * so the counter is not lowered within {@link #RECONCILE_GRACE_PERIOD} after a slot is acquired.
+     *
+     * @param pop submit the next queued execution with a slot of the flow, returns false if there is none.
+     */
+    public void reconcile(Flow flow, LongSupplier running, BooleanSupplier pop) {
+        this.jdbcRepository
+            .getDslContextWrapper()
+            .transaction(configuration -> {
+                DSLContext context = DSL.using(configuration);
+
+                Optional<ConcurrencyLimit> current = this.lock(context, flow);
+                ConcurrencyLimit concurrencyLimit = this.counter(flow, running);
+
+                if (current.isPresent() && current.get().getRunning() > concurrencyLimit.getRunning() &&
+                    current.get().getAcquired() != null && current.get().getAcquired().isAfter(Instant.now().minus(RECONCILE_GRACE_PERIOD))) {
+                    concurrencyLimit = current.get();
+                }
+
+                while (concurrencyLimit.getRunning() < flow.getConcurrency().getLimit() && pop.getAsBoolean()) {
+                    concurrencyLimit = concurrencyLimit.withRunning(concurrencyLimit.getRunning() + 1).withAcquired(Instant.now());
+                }
+
+                this.jdbcRepository.persist(concurrencyLimit, context, null);
+            });
+    }
+
+    private ConcurrencyLimit counter(Flow flow, LongSupplier running) {
+        return new ConcurrencyLimit(flow.getTenantId(), flow.getNamespace(), flow.getId(), (int) running.getAsLong(), null);
+    }
+
+    private Optional<ConcurrencyLimit> lock(DSLContext context, Flow flow) {
+        var select = context
+            .select(AbstractJdbcRepository.field("value"))
+            .from(this.jdbcRepository.getTable())
+            .where(AbstractJdbcRepository.field("key").eq(ConcurrencyLimit.builder()
+                .tenantId(flow.getTenantId())
+                .namespace(flow.getNamespace())
+                .flowId(flow.getId())
+                .build()
+                .uid()
+            ))
+            .forUpdate();
+
+        return this.jdbcRepository.fetchOne(select);
+    }
+}
@@ -1,23 +1,86 @@
 package io.kestra.jdbc.runner;
 
+import com.google.common.hash.Hashing;
 import io.kestra.core.models.executions.Execution;
 import io.kestra.core.runners.ExecutorState;
+import io.kestra.jdbc.JdbcTableConfig;
 import io.kestra.jdbc.repository.AbstractJdbcRepository;
-import org.jooq.DSLContext;
-import org.jooq.Field;
-import org.jooq.Record1;
-import org.jooq.SelectConditionStep;
+import org.jooq.*;
+import org.jooq.Record;
+import org.jooq.impl.DSL;
 
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
+/**
+ * Store the {@link ExecutorState} of the executions.
+ * <p>
+ * By default, the state is stored as a single JSON row rewritten on each save.
+ * When the entries are enabled, each deduplication entry is stored as its own row keyed by execution, so a save
+ * only inserts or updates the entries changed since the state was loaded.
+ * The state of an execution started before the entries were enabled is read from its JSON row,
+ * and copied to the entries as soon as it is read.
+ */
 public abstract class AbstractJdbcExecutorStateStorage {
+    private static final Field<Object> EXECUTION_ID = AbstractJdbcRepository.field("execution_id");
+    private static final Field<Object> ENTRY_ID = AbstractJdbcRepository.field("entry_id");
+    private static final Field<Object> KIND = AbstractJdbcRepository.field("kind");
+    private static final Field<Object> ENTRY_KEY = AbstractJdbcRepository.field("entry_key");
+    private static final Field<Object> ENTRY_VALUE = AbstractJdbcRepository.field("entry_value");
+
     protected io.kestra.jdbc.AbstractJdbcRepository<ExecutorState> jdbcRepository;
 
-    public AbstractJdbcExecutorStateStorage(io.kestra.jdbc.AbstractJdbcRepository<ExecutorState> jdbcRepository) {
+    private final Table<Record> entriesTable;
+
+    private final boolean entriesEnabled;
+
+    public AbstractJdbcExecutorStateStorage(
+        io.kestra.jdbc.AbstractJdbcRepository<ExecutorState> jdbcRepository,
+        JdbcTableConfig entriesTableConfig,
+        boolean entriesEnabled
+    ) {
         this.jdbcRepository = jdbcRepository;
+        this.entriesTable = entriesTableConfig != null ? DSL.table(entriesTableConfig.table()) : null;
+        this.entriesEnabled = entriesEnabled && this.entriesTable != null;
     }
 
     public ExecutorState get(DSLContext dslContext, Execution execution) {
+        if (!this.entriesEnabled) {
+            return this.getRow(dslContext, execution)
+                .orElse(new ExecutorState(execution.getId()));
+        }
+
+        Result<Record3<Object, Object, Object>> entries = dslContext
+            .select(KIND, ENTRY_KEY, ENTRY_VALUE)
+            .from(this.entriesTable)
+            .where(EXECUTION_ID.eq(execution.getId()))
+            .fetch();
+
+        if (entries.isEmpty()) {
+            // the state is read with the execution row locked, so it is copied in the same transaction: waiting for the
+            // next save would lose it if the executor doesn't change it, as the next read would only see the new entries
+            return this.getRow(dslContext, execution)
+                .map(executorState -> {
+                    executorState.trackAll();
+                    this.save(dslContext, executorState);
+                    return executorState;
+                })
+                .orElse(new ExecutorState(execution.getId()));
+        }
+
+        ExecutorState executorState = new ExecutorState(execution.getId());
+        entries.forEach(record -> executorState.load(
+            ExecutorState.Kind.valueOf(record.get(KIND, String.class)),
+            record.get(ENTRY_KEY, String.class),
+            record.get(ENTRY_VALUE, String.class)
+        ));
+
+        return executorState;
+    }
+
+    private Optional<ExecutorState> getRow(DSLContext dslContext, Execution execution) {
         SelectConditionStep<Record1<Object>> select = dslContext
             .select(AbstractJdbcRepository.field("value"))
             .from(this.jdbcRepository.getTable())
@@ -25,16 +88,76 @@ public abstract class AbstractJdbcExecutorStateStorage {
                 AbstractJdbcRepository.field("key").eq(execution.getId())
             );
 
-        return this.jdbcRepository.fetchOne(select)
-            .orElse(new ExecutorState(execution.getId()));
+        return this.jdbcRepository.fetchOne(select);
     }
 
     public void save(DSLContext dslContext, ExecutorState executorState) {
-        Map<Field<Object>, Object> fields = this.jdbcRepository.persistFields(executorState);
-        this.jdbcRepository.persist(executorState, dslContext, fields);
+        if (!this.entriesEnabled) {
+            Map<Field<Object>, Object> fields = this.jdbcRepository.persistFields(executorState);
+            this.jdbcRepository.persist(executorState, dslContext, fields);
+            executorState.clearChanges();
+            return;
+        }
+
+        List<ExecutorState.Entry> changes = executorState.changes();
+        if (changes.isEmpty()) {
+            return;
+        }
+
+        // the execution row is locked while the state is saved, so there is no concurrent insert of the same entry
+        List<ExecutorState.Entry> created = changes.stream().filter(ExecutorState.Entry::created).toList();
+        if (!created.isEmpty()) {
+            InsertValuesStep5<Record, Object, Object, Object, Object, Object> insert = dslContext
+                .insertInto(this.entriesTable, EXECUTION_ID, ENTRY_ID, KIND, ENTRY_KEY, ENTRY_VALUE);
+
+            for (ExecutorState.Entry entry : created) {
+                insert = insert.values(executorState.getExecutionId(), entryId(entry), entry.kind().name(), entry.key(), entry.value());
+            }
+
+            insert.execute();
+        }
+
+        List<Query> updates = changes.stream()
+            .filter(entry -> !entry.created())
+            .map(entry -> (Query) dslContext
+                .update(this.entriesTable)
+                .set(ENTRY_VALUE, entry.value())
+                .where(EXECUTION_ID.eq(executorState.getExecutionId()))
+                .and(ENTRY_ID.eq(entryId(entry)))
+            )
+            .toList();
+
+        if (!updates.isEmpty()) {
+            dslContext.batch(updates).execute();
+        }
+
+        executorState.clearChanges();
     }
 
     public void delete(Execution execution) {
-        this.jdbcRepository.delete(new ExecutorState(execution.getId()));
+        this.jdbcRepository
+            .getDslContextWrapper()
+            .transaction(configuration -> {
+                DSLContext context = DSL.using(configuration);
+
+                this.jdbcRepository.delete(context, new ExecutorState(execution.getId()));
+
+                // the entries are deleted even if disabled, as they may have been enabled before
+                if (this.entriesTable != null) {
+                    context
+                        .delete(this.entriesTable)
+                        .where(EXECUTION_ID.eq(execution.getId()))
+                        .execute();
+                }
+            });
+    }
+
+    /**
+     * The deduplication keys contain task run values that can be long, so the primary key uses a hash of the key.
+     */
+    private static String entryId(ExecutorState.Entry entry) {
+        return Hashing.sha256()
+            .hashString(entry.kind().name() + ":" + entry.key(), StandardCharsets.UTF_8)
+            .toString();
     }
 }
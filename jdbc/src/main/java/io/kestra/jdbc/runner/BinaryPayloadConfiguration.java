@@ -0,0 +1,12 @@
+package io.kestra.jdbc.runner;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+import lombok.Getter;
+
+@ConfigurationProperties("kestra.jdbc.queues.binary-payload")
+@Getter
+public class BinaryPayloadConfiguration {
+    boolean enabled = false;
+
+    Integer compressionThreshold = 64 * 1024;
+}
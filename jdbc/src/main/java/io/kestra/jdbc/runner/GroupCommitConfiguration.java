@@ -0,0 +1,21 @@
+package io.kestra.jdbc.runner;
+
+import io.micronaut.context.annotation.ConfigurationProperties;
+import lombok.Getter;
+
+import java.time.Duration;
+
+@ConfigurationProperties("kestra.jdbc.queues.group-commit")
+@Getter
+public class GroupCommitConfiguration {
+    boolean enabled = false;
+
+    Duration window = Duration.ofMillis(5);
+
+    Integer size = 100;
+
+    /**
+     * How long a producer waits for its message to be flushed before failing.
+     */
+    Duration timeout = Duration.ofSeconds(30);
+}
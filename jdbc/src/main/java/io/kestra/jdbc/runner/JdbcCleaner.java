@@ -58,17 +58,17 @@ public class JdbcCleaner {
             });
         });
 
-        // then, delete all other records
+        // then, delete all other records, the partitions are dropped first in their own transactions as dropping one briefly locks the whole table
+        ZonedDateTime retentionDate = ZonedDateTime.now().minus(this.configuration.getRetention());
+        int dropped = jdbcCleanerService.dropPartitions(this.queueTable, retentionDate);
+
         dslContextWrapper.transaction(configuration -> {
             int deleted = DSL
                 .using(configuration)
                 .delete(this.queueTable)
-                .where(
-                    AbstractJdbcRepository.field("updated")
-                        .lessOrEqual(ZonedDateTime.now().minus(this.configuration.getRetention()).toOffsetDateTime())
-                )
+                .where(AbstractJdbcRepository.field("updated").lessOrEqual(retentionDate.toOffsetDateTime()))
                 .execute();
-            log.info("Cleaned {} records from {}", deleted, this.queueTable.getName());
+            log.info("Cleaned {} records from {}", dropped + deleted, this.queueTable.getName());
         });
     }
 
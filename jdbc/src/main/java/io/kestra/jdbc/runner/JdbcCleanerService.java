@@ -1,6 +1,10 @@
 package io.kestra.jdbc.runner;
 
 import org.jooq.Condition;
+import org.jooq.Record;
+import org.jooq.Table;
+
+import java.time.ZonedDateTime;
 
 /**
  * This service is used solely by the {@link JdbcCleaner} to handle database-specific queries.
@@ -10,4 +14,14 @@ public interface JdbcCleanerService {
      * Build the condition for the <code>types</code> column of the <code>queues</code> table.
      */
     Condition buildTypeCondition(String type);
+
+    /**
+     * Drop the partitions of the <code>queues</code> table in which all the records are older than the retention date,
+     * for the databases having a partitioned layout. It's called outside any transaction.
+     *
+     * @return the number of records of the dropped partitions.
+     */
+    default int dropPartitions(Table<Record> queueTable, ZonedDateTime retentionDate) {
+        return 0;
+    }
 }
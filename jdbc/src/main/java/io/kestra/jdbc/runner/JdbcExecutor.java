@@ -1,13 +1,13 @@
 package io.kestra.jdbc.runner;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.annotations.VisibleForTesting;
 import io.kestra.core.contexts.KestraContext;
 import io.kestra.core.exceptions.DeserializationException;
 import io.kestra.core.exceptions.IllegalVariableEvaluationException;
 import io.kestra.core.exceptions.InternalException;
 import io.kestra.core.metrics.MetricRegistry;
 import io.kestra.core.models.executions.*;
-import io.kestra.core.models.executions.statistics.ExecutionCount;
 import io.kestra.core.models.flows.Flow;
 import io.kestra.core.models.flows.*;
 import io.kestra.core.models.flows.sla.*;
@@ -75,11 +75,13 @@ public class JdbcExecutor implements ExecutorInterface, Service {
     private final ScheduledExecutorService scheduledDelay = Executors.newSingleThreadScheduledExecutor();
 
     @Inject
-    private AbstractJdbcExecutionRepository executionRepository;
+    @VisibleForTesting
+    AbstractJdbcExecutionRepository executionRepository;
 
     @Inject
     @Named(QueueFactoryInterface.EXECUTION_NAMED)
-    private QueueInterface<Execution> executionQueue;
+    @VisibleForTesting
+    QueueInterface<Execution> executionQueue;
 
     @Inject
     @Named(QueueFactoryInterface.WORKERJOB_NAMED)
@@ -146,6 +148,9 @@ public class JdbcExecutor implements ExecutorInterface, Service {
     @Inject
     private AbstractJdbcExecutionQueuedStorage executionQueuedStorage;
 
+    @Inject
+    private AbstractJdbcConcurrencyLimitStorage concurrencyLimitStorage;
+
     @Inject
     private AbstractJdbcExecutorStateStorage executorStateStorage;
 
@@ -154,6 +159,8 @@ public class JdbcExecutor implements ExecutorInterface, Service {
 
     protected List<FlowWithSource> allFlows;
 
+    private FlowTriggerIndex flowTriggerIndex;
+
     @Inject
     private WorkerGroupService workerGroupService;
 
@@ -175,6 +182,31 @@ public class JdbcExecutor implements ExecutorInterface, Service {
     @Value("${kestra.jdbc.executor.thread-count:0}")
     private int threadCount;
 
+    @Value("${kestra.jdbc.executor.flow-cache-size:1000}")
+    private int flowCacheSize;
+
+    @Value("${kestra.jdbc.executor.lanes.enabled:false}")
+    private boolean lanesEnabled;
+
+    @Value("${kestra.jdbc.executor.lanes.capacity:100}")
+    private int lanesCapacity;
+
+    @Value("${kestra.jdbc.executor.batch.enabled:false}")
+    private boolean batchEnabled;
+
+    @Value("${kestra.jdbc.executor.concurrency-slots.enabled:false}")
+    private boolean concurrencySlotsEnabled;
+
+    @Value("${kestra.jdbc.executor.concurrency-slots.reconcile-interval:PT5M}")
+    private Duration concurrencySlotsReconcileInterval;
+
+    @Inject
+    private ExecutorsUtils executorsUtils;
+
+    private JdbcExecutorLanes lanes;
+
+    private JdbcExecutorFlowCache flowCache;
+
     private final Tracer tracer;
 
     private final FlowRepositoryInterface flowRepository;
@@ -225,17 +257,53 @@ public class JdbcExecutor implements ExecutorInterface, Service {
         if (serviceLivenessCoordinator != null) {
             serviceLivenessCoordinator.setExecutor(this);
         }
+        this.flowCache = new JdbcExecutorFlowCache(flowCacheSize, metricRegistry);
+
         flowListeners.run();
         flowListeners.listen(flows -> this.allFlows = flows);
+        // the index is built once then updated flow by flow
+        this.flowTriggerIndex = new FlowTriggerIndex(flowTriggerService);
+        flowListeners.listen((flow, previous) -> this.flowTriggerIndex.update(flow));
+        this.flowTriggerIndex.reset(flowListeners.flows());
+        flowListeners.listen((flow, previous) -> {
+            this.flowCache.invalidate(flow);
+            pluginDefaultService.invalidate(flow);
+        });
 
         Await.until(() -> this.allFlows != null, Duration.ofMillis(100), Duration.ofMinutes(5));
 
         // By default, we start half-available processors consumers of the execution and worker task result queue with a minimum of two.
         // Other queues would not benefit from more consumers.
         int numberOfThreads = threadCount != 0 ? threadCount : Math.max(2, Runtime.getRuntime().availableProcessors() / 2);
-        for (int i = 0; i < numberOfThreads; i++) {
-            this.receiveCancellations.addFirst(this.executionQueue.receive(Executor.class, this::executionQueue));
-            this.receiveCancellations.addFirst(this.workerTaskResultQueue.receive(Executor.class, this::workerTaskResultQueue));
+        if (lanesEnabled) {
+            // a single poller by queue routes the messages by execution id to a lane, so an execution is always processed by the same thread
+            this.lanes = new JdbcExecutorLanes(numberOfThreads, lanesCapacity, executorsUtils, metricRegistry);
+            this.receiveCancellations.addFirst(this.executionQueue.receive(Executor.class, either -> this.lanes.dispatch(
+                either.isLeft() ? either.getLeft().getId() : null,
+                () -> this.executionQueue(either)
+            )));
+            if (batchEnabled) {
+                this.receiveCancellations.addFirst(((JdbcQueue<WorkerTaskResult>) this.workerTaskResultQueue).receiveBatch(Executor.class, eithers ->
+                    this.groupByExecution(eithers).forEach((executionId, messages) -> this.lanes.dispatch(
+                        executionId,
+                        () -> this.workerTaskResults(executionId, messages)
+                    ))
+                ));
+            } else {
+                this.receiveCancellations.addFirst(this.workerTaskResultQueue.receive(Executor.class, either -> this.lanes.dispatch(
+                    either.isLeft() ? either.getLeft().getTaskRun().getExecutionId() : null,
+                    () -> this.workerTaskResultQueue(either)
+                )));
+            }
+        } else {
+            for (int i = 0; i < numberOfThreads; i++) {
+                this.receiveCancellations.addFirst(this.executionQueue.receive(Executor.class, this::executionQueue));
+                if (batchEnabled) {
+                    this.receiveCancellations.addFirst(((JdbcQueue<WorkerTaskResult>) this.workerTaskResultQueue).receiveBatch(Executor.class, this::workerTaskResultQueueBatch));
+                } else {
+                    this.receiveCancellations.addFirst(this.workerTaskResultQueue.receive(Executor.class, this::workerTaskResultQueue));
+                }
+            }
         }
         this.receiveCancellations.addFirst(this.killQueue.receive(Executor.class, this::killQueue));
         this.receiveCancellations.addFirst(this.subflowExecutionResultQueue.receive(Executor.class, this::subflowExecutionResultQueue));
@@ -256,6 +324,15 @@ public class JdbcExecutor implements ExecutorInterface, Service {
             TimeUnit.SECONDS
         );
 
+        if (concurrencySlotsEnabled) {
+            scheduledDelay.scheduleWithFixedDelay(
+                this::reconcileConcurrencySlots,
+                concurrencySlotsReconcileInterval.toMillis(),
+                concurrencySlotsReconcileInterval.toMillis(),
+                TimeUnit.MILLISECONDS
+            );
+        }
+
         // look at exceptions on the scheduledDelay thread
         Thread.ofVirtual().name("jdbc-delay-exception-watcher").start(
             () -> {
@@ -449,7 +526,7 @@ public class JdbcExecutor implements ExecutorInterface, Service {
                 () -> {
                     try {
 
-                        final Flow flow = transform(this.flowRepository.findByExecutionWithSource(execution), execution);
+                        final Flow flow = this.resolveFlow(execution);
                         Executor executor = new Executor(execution, null).withFlow(flow);
 
                         // schedule it for later if needed
@@ -484,16 +561,15 @@ public class JdbcExecutor implements ExecutorInterface, Service {
 
                         // queue execution if needed (limit concurrency)
                         if (execution.getState().getCurrent() == State.Type.CREATED && flow.getConcurrency() != null) {
-                            ExecutionCount count = executionRepository.executionCounts(
-                                flow.getTenantId(),
-                                List.of(new io.kestra.core.models.executions.statistics.Flow(flow.getNamespace(), flow.getId())),
-                                List.of(State.Type.RUNNING, State.Type.PAUSED),
-                                null,
-                                null,
-                                null
-                            ).getFirst();
+                            long count = concurrencySlotsEnabled ?
+                                concurrencyLimitStorage.tryAcquire(flow, () -> this.runningExecutions(flow)) :
+                                this.runningExecutions(flow);
 
-                            executor = executorService.checkConcurrencyLimit(executor, flow, execution, count.getCount());
+                            if (concurrencySlotsEnabled && count < flow.getConcurrency().getLimit()) {
+                                executorState.putConcurrencySlot(true);
+                            }
+
+                            executor = executorService.checkConcurrencyLimit(executor, flow, execution, count);
 
                             // the execution has been queued, we save the queued execution and stops here
                             if (executor.getExecutionRunning() != null && executor.getExecutionRunning().getConcurrencyState() == ExecutionRunning.ConcurrencyState.QUEUED) {
@@ -513,6 +589,20 @@ public class JdbcExecutor implements ExecutorInterface, Service {
                             }
                         }
 
+                        if (concurrencySlotsEnabled && flow.getConcurrency() != null && !Boolean.TRUE.equals(executorState.getConcurrencySlot())) {
+                            // a queued execution that is submitted again has been given the slot of a terminated one
+                            if (execution.getState().getCurrent() == State.Type.RUNNING && executorState.getConcurrencySlot() == null &&
+                                execution.getState().getHistories().stream().anyMatch(history -> history.getState() == State.Type.QUEUED)) {
+                                executorState.putConcurrencySlot(true);
+                            }
+
+                            // a restarted execution released its slot when it terminated, so it acquires a new one
+                            if (execution.getState().getCurrent() == State.Type.RESTARTED) {
+                                concurrencyLimitStorage.acquire(flow, () -> this.runningExecutions(flow));
+                                executorState.putConcurrencySlot(true);
+                            }
+                        }
+
                         // handle execution changed SLA
                         executor = executorService.handleExecutionChangedSLA(executor);
 
@@ -596,6 +686,22 @@ public class JdbcExecutor implements ExecutorInterface, Service {
                                 }));
                         }
 
+                        // release the concurrency slot of a terminated execution, only once as the state is saved with the execution
+                        if (Boolean.TRUE.equals(executorState.getConcurrencySlot()) && executionService.isTerminated(flow, executor.getExecution())) {
+                            this.releaseConcurrencySlot(flow);
+                            executorState.putConcurrencySlot(false);
+                        }
+
+                        // an execution started before the concurrency slots were enabled holds no slot, but it's counted in the counter
+                        // initialized from the running executions, so its place is given to the next queued execution as before
+                        if (concurrencySlotsEnabled && executorState.getConcurrencySlot() == null &&
+                            flow.getConcurrency() != null && flow.getConcurrency().getBehavior() == Concurrency.Behavior.QUEUE &&
+                            executionService.isTerminated(flow, executor.getExecution()) &&
+                            executor.getExecution().getState().getHistories().stream().anyMatch(history -> history.getState() == State.Type.RUNNING)) {
+                            this.popQueuedExecution(flow);
+                            executorState.putConcurrencySlot(false);
+                        }
+
                         return Pair.of(
                             executor,
                             executorState
@@ -622,35 +728,73 @@ public class JdbcExecutor implements ExecutorInterface, Service {
     }
 
     private void workerTaskResultQueue(Either<WorkerTaskResult, DeserializationException> either) {
-        if (either.isRight()) {
-            log.error("Unable to deserialize a worker task result: {}", either.getRight().getMessage());
-            return;
-        }
+        this.groupByExecution(List.of(either)).forEach(this::workerTaskResults);
+    }
 
-        WorkerTaskResult message = either.getLeft();
-        if (skipExecutionService.skipExecution(message.getTaskRun())) {
-            log.warn("Skipping execution {}", message.getTaskRun().getExecutionId());
-            return;
-        }
+    /**
+     * Process a batch of worker task results fetched from the queue: the results are grouped by execution,
+     * so the results of the same execution are applied in a single lock/process/persist cycle and the execution is emitted once.
+     */
+    @VisibleForTesting
+    void workerTaskResultQueueBatch(List<Either<WorkerTaskResult, DeserializationException>> eithers) {
+        this.groupByExecution(eithers).forEach(this::workerTaskResults);
+    }
 
-        if (log.isDebugEnabled()) {
-            executorService.log(log, true, message);
+    /**
+     * Group the worker task results by execution id, keeping the order of the queue inside each group.
+     * Results that cannot be deserialized or belong to a skipped execution are logged and discarded.
+     */
+    private Map<String, List<WorkerTaskResult>> groupByExecution(List<Either<WorkerTaskResult, DeserializationException>> eithers) {
+        Map<String, List<WorkerTaskResult>> messagesByExecution = new LinkedHashMap<>();
+
+        for (Either<WorkerTaskResult, DeserializationException> either : eithers) {
+            if (either.isRight()) {
+                log.error("Unable to deserialize a worker task result: {}", either.getRight().getMessage());
+                continue;
+            }
+
+            WorkerTaskResult message = either.getLeft();
+            if (skipExecutionService.skipExecution(message.getTaskRun())) {
+                log.warn("Skipping execution {}", message.getTaskRun().getExecutionId());
+                continue;
+            }
+
+            if (log.isDebugEnabled()) {
+                executorService.log(log, true, message);
+            }
+
+            messagesByExecution.computeIfAbsent(message.getTaskRun().getExecutionId(), k -> new ArrayList<>()).add(message);
         }
 
-        Executor executor = executionRepository.lock(message.getTaskRun().getExecutionId(), pair -> {
+        return messagesByExecution;
+    }
+
+    private void workerTaskResults(String executionId, List<WorkerTaskResult> messages) {
+        Executor executor = executionRepository.lock(executionId, pair -> {
             Execution execution = pair.getLeft();
             Executor current = new Executor(execution, null);
 
             if (execution == null) {
-                throw new IllegalStateException("Execution state don't exist for " + message.getTaskRun().getExecutionId() + ", receive " + message);
+                throw new IllegalStateException("Execution state don't exist for " + executionId + ", receive " + messages);
             }
 
-            if (execution.hasTaskRunJoinable(message.getTaskRun())) {
+            boolean joined = false;
+            Flow flow = null;
+            for (int i = 0; i < messages.size(); i++) {
+                WorkerTaskResult message = messages.get(i);
+                // the joinable check must be done on the current execution, as a previous result of the batch may have changed it
+                if (!current.getExecution().hasTaskRunJoinable(message.getTaskRun())) {
+                    continue;
+                }
+
                 try {
-                    Flow flow = flowRepository.findByExecution(current.getExecution());
+                    if (flow == null) {
+                        flow = flowRepository.findByExecution(current.getExecution());
+                    }
 
                     // process worker task result
                     executorService.addWorkerTaskResult(current, flow, message);
+                    joined = true;
 
                     // send metrics on terminated
                     TaskRun taskRun = message.getTaskRun();
@@ -666,13 +810,15 @@ public class JdbcExecutor implements ExecutorInterface, Service {
                         log.trace("TaskRun terminated: {}", taskRun);
                         workerJobRunningRepository.deleteByKey(taskRun.getId());
                     }
-
-                    // join worker result
-                    return Pair.of(
-                        current,
-                        pair.getRight()
-                    );
                 } catch (InternalException e) {
+                    // the execution is failed, the remaining results of the batch are not relevant anymore,
+                    // but the worker jobs of the terminated ones are done and must not be seen as running
+                    messages.subList(i, messages.size())
+                        .stream()
+                        .map(WorkerTaskResult::getTaskRun)
+                        .filter(taskRun -> taskRun.getState().isTerminated())
+                        .forEach(taskRun -> workerJobRunningRepository.deleteByKey(taskRun.getId()));
+
                     return Pair.of(
                         handleFailedExecutionFromExecutor(current, e),
                         pair.getRight()
@@ -680,7 +826,8 @@ public class JdbcExecutor implements ExecutorInterface, Service {
                 }
             }
 
-            return null;
+            // join worker results
+            return joined ? Pair.of(current, pair.getRight()) : null;
         });
 
         if (executor != null) {
@@ -949,6 +1096,7 @@ public class JdbcExecutor implements ExecutorInterface, Service {
                 // so we are sure at this point that no new executions will be created otherwise the tate storage would be re-created by the execution queue.
                 if (executorService.canBePurged(executor)) {
                     executorStateStorage.delete(executor.getExecution());
+                    executionRepository.evictFromLockCache(executor.getExecution().getId());
                 }
 
                 return;
@@ -978,7 +1126,7 @@ public class JdbcExecutor implements ExecutorInterface, Service {
             Execution execution = executor.getExecution();
             // handle flow triggers on state change
             if (!execution.getState().getCurrent().equals(executor.getOriginalState())) {
-                flowTriggerService.computeExecutionsFromFlowTriggers(execution, allFlows.stream().map(flow -> flow.toFlow()).toList(), Optional.of(multipleConditionStorage))
+                flowTriggerService.computeExecutionsFromFlowTriggers(execution, flowTriggerIndex.candidates(execution), Optional.of(multipleConditionStorage))
                     .forEach(throwConsumer(executionFromFlowTrigger -> this.executionQueue.emit(executionFromFlowTrigger)));
             }
 
@@ -1002,12 +1150,9 @@ public class JdbcExecutor implements ExecutorInterface, Service {
                 }
 
                 // check if there exist a queued execution and submit it to the execution queue
-                if (executor.getFlow().getConcurrency() != null && executor.getFlow().getConcurrency().getBehavior() == Concurrency.Behavior.QUEUE) {
-                    executionQueuedStorage.pop(executor.getFlow().getTenantId(),
-                        executor.getFlow().getNamespace(),
-                        executor.getFlow().getId(),
-                        throwConsumer(queued -> executionQueue.emit(queued.withState(State.Type.RUNNING)))
-                    );
+                // with concurrency slots, it's done when the execution is processed, see executionQueue()
+                if (!concurrencySlotsEnabled && executor.getFlow().getConcurrency() != null && executor.getFlow().getConcurrency().getBehavior() == Concurrency.Behavior.QUEUE) {
+                    this.popQueuedExecution(executor.getFlow());
                 }
 
                 // Purge the workerTaskResultQueue and the workerJobQueue
@@ -1038,6 +1183,35 @@ public class JdbcExecutor implements ExecutorInterface, Service {
         }
     }
 
+    /**
+     * Resolve the flow of an execution with templates and plugin defaults injected.
+     * As a flow revision is immutable, the result is cached by revision, unless it uses templates
+     * that can be updated independently of the flow, or the plugin defaults injection failed.
+     */
+    private Flow resolveFlow(Execution execution) {
+        Flow cached = this.flowCache.get(execution);
+        if (cached != null) {
+            return cached;
+        }
+
+        FlowWithSource flowWithSource = this.flowRepository.findByExecutionWithSource(execution);
+        if (templateExecutorInterface.isPresent() && flowWithSource.allTasksWithChilds().stream().anyMatch(Template.class::isInstance)) {
+            return transform(flowWithSource, execution);
+        }
+
+        FlowWithSource transformed;
+        try {
+            transformed = pluginDefaultService.injectDefaults(flowWithSource);
+        } catch (Exception e) {
+            // let the standard path log the exception inside the execution
+            return transform(flowWithSource, execution);
+        }
+
+        this.flowCache.put(execution, transformed);
+
+        return transformed;
+    }
+
     private Flow transform(FlowWithSource flow, Execution execution) {
         if (templateExecutorInterface.isPresent()) {
             try {
@@ -1123,6 +1297,62 @@ public class JdbcExecutor implements ExecutorInterface, Service {
         });
     }
 
+    private long runningExecutions(Flow flow) {
+        return executionRepository.executionCounts(
+            flow.getTenantId(),
+            List.of(new io.kestra.core.models.executions.statistics.Flow(flow.getNamespace(), flow.getId())),
+            List.of(State.Type.RUNNING, State.Type.PAUSED),
+            null,
+            null,
+            null
+        ).getFirst().getCount();
+    }
+
+    /**
+     * @return true if a queued execution has been submitted to the execution queue.
+     */
+    private boolean popQueuedExecution(Flow flow) {
+        AtomicBoolean popped = new AtomicBoolean(false);
+        executionQueuedStorage.pop(flow.getTenantId(),
+            flow.getNamespace(),
+            flow.getId(),
+            throwConsumer(queued -> {
+                executionQueue.emit(queued.withState(State.Type.RUNNING));
+                popped.set(true);
+            })
+        );
+
+        return popped.get();
+    }
+
+    private void releaseConcurrencySlot(Flow flow) {
+        // the slot is given to the next queued execution if any
+        concurrencyLimitStorage.release(
+            flow,
+            () -> flow.getConcurrency().getBehavior() == Concurrency.Behavior.QUEUE && this.popQueuedExecution(flow)
+        );
+    }
+
+    private void reconcileConcurrencySlots() {
+        if (this.shutdown.get() || this.isPaused.get()) {
+            return;
+        }
+
+        this.allFlows.stream()
+            .filter(flow -> flow.getConcurrency() != null && !flow.isDeleted())
+            .forEach(flow -> {
+                try {
+                    concurrencyLimitStorage.reconcile(
+                        flow,
+                        () -> this.runningExecutions(flow),
+                        () -> flow.getConcurrency().getBehavior() == Concurrency.Behavior.QUEUE && this.popQueuedExecution(flow)
+                    );
+                } catch (Exception e) {
+                    log.warn("Unable to reconcile the concurrency slots of flow '{}'", flow.uidWithoutRevision(), e);
+                }
+            });
+    }
+
     private void executionSLAMonitor() {
         if (this.shutdown.get() || this.isPaused.get()) {
             return;
@@ -1178,7 +1408,7 @@ public class JdbcExecutor implements ExecutorInterface, Service {
                     log.trace("Duplicate Nexts on execution '{}' with key '{}'", execution.getId(), deduplicationKey);
                     return false;
                 } else {
-                    executorState.getChildDeduplication().put(deduplicationKey, taskRun.getId());
+                    executorState.putChildDeduplication(deduplicationKey, taskRun.getId());
                     return true;
                 }
             });
@@ -1194,7 +1424,7 @@ public class JdbcExecutor implements ExecutorInterface, Service {
             log.trace("Duplicate WorkerTask on execution '{}' for taskRun '{}', value '{}, taskId '{}'", execution.getId(), taskRun.getId(), taskRun.getValue(), taskRun.getTaskId());
             return false;
         } else {
-            executorState.getWorkerTaskDeduplication().put(deduplicationKey, taskRun.getState().getCurrent());
+            executorState.putWorkerTaskDeduplication(deduplicationKey, taskRun.getState().getCurrent());
             return true;
         }
     }
@@ -1208,7 +1438,7 @@ public class JdbcExecutor implements ExecutorInterface, Service {
             log.trace("Duplicate SubflowExecution on execution '{}' for taskRun '{}', value '{}', taskId '{}', attempt '{}'", execution.getId(), taskRun.getId(), taskRun.getValue(), taskRun.getTaskId(), taskRun.getAttempts() == null ? null : taskRun.getAttempts().size() + 1);
             return false;
         } else {
-            executorState.getSubflowExecutionDeduplication().put(deduplicationKey, taskRun.getState().getCurrent());
+            executorState.putSubflowExecutionDeduplication(deduplicationKey, taskRun.getState().getCurrent());
             return true;
         }
     }
@@ -1244,6 +1474,9 @@ public class JdbcExecutor implements ExecutorInterface, Service {
 
             setState(ServiceState.TERMINATING);
             this.receiveCancellations.forEach(Runnable::run);
+            if (this.lanes != null) {
+                this.lanes.close(Duration.ofSeconds(30));
+            }
             scheduledDelay.shutdown();
             setState(ServiceState.TERMINATED_GRACEFULLY);
 
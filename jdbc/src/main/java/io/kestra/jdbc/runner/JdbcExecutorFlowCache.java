@@ -0,0 +1,45 @@
+package io.kestra.jdbc.runner;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.kestra.core.metrics.MetricRegistry;
+import io.kestra.core.models.executions.Execution;
+import io.kestra.core.models.flows.Flow;
+
+/**
+ * The flows resolved by the executor, with plugin defaults injected, by flow uid and revision.
+ * <p>
+ * A flow revision is immutable, but an update may be received for an existing revision (e.g. on deletion),
+ * so all the revisions of a flow are evicted on any update of this flow.
+ */
+class JdbcExecutorFlowCache {
+    private final Cache<Key, Flow> cache;
+
+    JdbcExecutorFlowCache(long maximumSize, MetricRegistry metricRegistry) {
+        this.cache = metricRegistry.cache(
+            MetricRegistry.EXECUTOR_FLOW_CACHE,
+            CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build()
+        );
+    }
+
+    Flow get(Execution execution) {
+        return this.cache.getIfPresent(Key.of(execution));
+    }
+
+    void put(Execution execution, Flow flow) {
+        this.cache.put(Key.of(execution), flow);
+    }
+
+    void invalidate(Flow flow) {
+        this.cache.asMap().keySet().removeIf(key -> key.uidWithoutRevision().equals(flow.uidWithoutRevision()));
+    }
+
+    private record Key(String uidWithoutRevision, Integer revision) {
+        static Key of(Execution execution) {
+            return new Key(Flow.uidWithoutRevision(execution), execution.getFlowRevision());
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package io.kestra.jdbc.runner;
+
+import io.kestra.core.metrics.MetricRegistry;
+import io.kestra.core.utils.ExecutorsUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A fixed number of single-threaded lanes for the executor.
+ * <p>
+ * Messages are routed to a lane by the hash of their key (the execution id), so all the messages of an execution
+ * are processed in order on the same thread, and the executor threads never contend for the same execution lock.
+ * Each lane is bounded: dispatching blocks the poller when the lane is full.
+ * <p>
+ * The queue commits the offsets of the messages before they are dispatched, so the messages waiting in a lane are only
+ * kept in memory: they are lost if the executor crashes, or if they are not processed in time on close.
+ */
+@Slf4j
+class JdbcExecutorLanes {
+    private final List<Lane> lanes;
+
+    JdbcExecutorLanes(int count, int capacity, ExecutorsUtils executorsUtils, MetricRegistry metricRegistry) {
+        this.lanes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            this.lanes.add(new Lane(i, capacity, executorsUtils, metricRegistry));
+        }
+    }
+
+    /**
+     * Dispatch a message to the lane of its key, blocking while the lane is full.
+     */
+    void dispatch(String key, Runnable runnable) {
+        Lane lane = this.lanes.get(key == null ? 0 : Math.floorMod(key.hashCode(), this.lanes.size()));
+
+        try {
+            lane.submit(runnable);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while dispatching to executor lane " + lane.index, e);
+        }
+    }
+
+    /**
+     * Stop accepting messages and wait for the dispatched ones to be processed.
+     * The messages still waiting after the timeout are dropped and counted.
+     */
+    void close(Duration timeout) {
+        this.lanes.forEach(lane -> lane.executorService.shutdown());
+
+        long deadline = System.nanoTime() + timeout.toNanos();
+        for (Lane lane : this.lanes) {
+            try {
+                if (!lane.executorService.awaitTermination(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+                    int dropped = lane.executorService.shutdownNow().size();
+                    lane.queued.addAndGet(-dropped);
+                    lane.dropped.increment(dropped);
+                    log.warn("Executor lane {} terminated with {} messages not processed, they were already consumed from the queue and are lost", lane.index, dropped);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private static class Lane {
+        private final int index;
+        private final Semaphore capacity;
+        private final AtomicInteger queued;
+        private final Timer lag;
+        private final Counter dropped;
+        private final ExecutorService executorService;
+
+        Lane(int index, int capacity, ExecutorsUtils executorsUtils, MetricRegistry metricRegistry) {
+            String lane = String.valueOf(index);
+
+            this.index = index;
+            this.capacity = new Semaphore(capacity);
+            this.queued = metricRegistry.gauge(MetricRegistry.EXECUTOR_LANE_QUEUED_COUNT, new AtomicInteger(), MetricRegistry.TAG_LANE, lane);
+            this.lag = metricRegistry.timer(MetricRegistry.EXECUTOR_LANE_LAG_DURATION, MetricRegistry.TAG_LANE, lane);
+            this.dropped = metricRegistry.counter(MetricRegistry.EXECUTOR_LANE_DROPPED_COUNT, MetricRegistry.TAG_LANE, lane);
+            this.executorService = executorsUtils.singleThreadExecutor("jdbc-executor-lane-" + index);
+        }
+
+        void submit(Runnable runnable) throws InterruptedException {
+            this.capacity.acquire();
+            this.queued.incrementAndGet();
+            long dispatched = System.nanoTime();
+
+            this.executorService.execute(() -> {
+                this.queued.decrementAndGet();
+                this.lag.record(System.nanoTime() - dispatched, TimeUnit.NANOSECONDS);
+
+                try {
+                    runnable.run();
+                } catch (Exception e) {
+                    log.error("Unexpected exception in executor lane {}", this.index, e);
+                } finally {
+                    this.capacity.release();
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package io.kestra.jdbc.runner;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import io.kestra.jdbc.JdbcMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HexFormat;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Binary encoding of the queue messages, stored in the <code>payload</code> column instead of the JSON <code>value</code> column.
+ * <p>
+ * The messages are serialized with Smile, the binary form of JSON, using the same Jackson configuration as {@link JdbcMapper}.
+ * The first byte of a payload is a format marker, so each row can be decoded whatever the configuration it was written with:
+ * {@link #SMILE} for a raw payload, {@link #SMILE_DEFLATE} for a payload compressed with deflate.
+ */
+public final class JdbcPayloadCodec {
+    static final byte SMILE = 1;
+    static final byte SMILE_DEFLATE = 2;
+
+    private static final int HEX_PREFIX_BYTES = 64;
+
+    private static final ObjectMapper MAPPER = JdbcMapper.of().copyWith(new SmileFactory());
+
+    private JdbcPayloadCodec() {
+        // utility class pattern
+    }
+
+    /**
+     * Serialize the message with Smile, without format marker.
+     */
+    public static byte[] serialize(Object message) throws JsonProcessingException {
+        return MAPPER.writeValueAsBytes(message);
+    }
+
+    /**
+     * Add the format marker to the serialized message, compressing it if its size is over the threshold.
+     *
+     * @param compressionThreshold the size in bytes over which the message is compressed, a negative value disables compression.
+     */
+    public static byte[] encode(byte[] serialized, int compressionThreshold) {
+        if (compressionThreshold < 0 || serialized.length < compressionThreshold) {
+            byte[] payload = new byte[serialized.length + 1];
+            payload[0] = SMILE;
+            System.arraycopy(serialized, 0, payload, 1, serialized.length);
+
+            return payload;
+        }
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream(serialized.length / 4 + 1);
+        outputStream.write(SMILE_DEFLATE);
+
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try (DeflaterOutputStream deflaterOutputStream = new DeflaterOutputStream(outputStream, deflater)) {
+            deflaterOutputStream.write(serialized);
+        } catch (IOException e) {
+            // can't happen on a byte array output stream
+            throw new IllegalStateException(e);
+        } finally {
+            deflater.end();
+        }
+
+        return outputStream.toByteArray();
+    }
+
+    public static <T> T decode(byte[] payload, Class<T> cls) throws IOException {
+        if (payload.length == 0) {
+            throw new IOException("Empty payload");
+        }
+
+        return switch (payload[0]) {
+            case SMILE -> MAPPER.readValue(payload, 1, payload.length - 1, cls);
+            case SMILE_DEFLATE -> {
+                try (InputStream inputStream = new InflaterInputStream(new ByteArrayInputStream(payload, 1, payload.length - 1))) {
+                    yield MAPPER.readValue(inputStream, cls);
+                }
+            }
+            default -> throw new IOException("Unknown payload format " + payload[0]);
+        };
+    }
+
+    /**
+     * The JSON form of the payload, to report a message that can't be deserialized,
+     * or the hexadecimal form of its first bytes if it can't even be decoded.
+     */
+    public static String toJson(byte[] payload) {
+        try {
+            return JdbcMapper.of().writeValueAsString(decode(payload, JsonNode.class));
+        } catch (IOException e) {
+            return "0x" + HexFormat.of().formatHex(payload, 0, Math.min(payload.length, HEX_PREFIX_BYTES)) +
+                (payload.length > HEX_PREFIX_BYTES ? "..." : "");
+        }
+    }
+}
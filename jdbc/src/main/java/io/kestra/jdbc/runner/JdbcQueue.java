@@ -4,6 +4,7 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.base.CaseFormat;
 import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
 import io.kestra.core.exceptions.DeserializationException;
 import io.kestra.core.metrics.MetricRegistry;
 import io.kestra.core.models.executions.Execution;
@@ -31,10 +32,18 @@ import org.jooq.impl.DSL;
 import java.io.IOException;
 import java.time.Duration;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
@@ -42,12 +51,15 @@ import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 import static io.kestra.core.utils.Rethrow.throwRunnable;
 
 @Slf4j
 public abstract class JdbcQueue<T> implements QueueInterface<T> {
     private static final int MAX_ASYNC_THREADS = Runtime.getRuntime().availableProcessors();
+    // keep multi-row inserts well under the bind parameter limits of the databases
+    private static final int MAX_ROWS_PER_INSERT = 1000;
     protected static final ObjectMapper MAPPER = JdbcMapper.of();
 
     private final ExecutorService poolExecutor;
@@ -63,6 +75,10 @@ public abstract class JdbcQueue<T> implements QueueInterface<T> {
 
     protected final MessageProtectionConfiguration messageProtectionConfiguration;
 
+    protected final GroupCommitConfiguration groupCommitConfiguration;
+
+    protected final BinaryPayloadConfiguration binaryPayloadConfiguration;
+
     private final MetricRegistry metricRegistry;
 
     protected final Table<Record> table;
@@ -72,6 +88,9 @@ public abstract class JdbcQueue<T> implements QueueInterface<T> {
     private final AtomicBoolean isClosed = new AtomicBoolean(false);
     private final AtomicBoolean isPaused = new AtomicBoolean(false);
 
+    private final BlockingQueue<PendingMessage<T>> pendingMessages = new LinkedBlockingQueue<>();
+    private final AtomicBoolean isFlusherStarted = new AtomicBoolean(false);
+
     public JdbcQueue(Class<T> cls, ApplicationContext applicationContext) {
         ExecutorsUtils executorsUtils = applicationContext.getBean(ExecutorsUtils.class);
         this.poolExecutor = executorsUtils.cachedThreadPool("jdbc-queue-" + cls.getSimpleName());
@@ -82,6 +101,8 @@ public abstract class JdbcQueue<T> implements QueueInterface<T> {
         this.dslContextWrapper = applicationContext.getBean(JooqDSLContextWrapper.class);
         this.configuration = applicationContext.getBean(Configuration.class);
         this.messageProtectionConfiguration = applicationContext.getBean(MessageProtectionConfiguration.class);
+        this.groupCommitConfiguration = applicationContext.getBean(GroupCommitConfiguration.class);
+        this.binaryPayloadConfiguration = applicationContext.getBean(BinaryPayloadConfiguration.class);
         this.metricRegistry = applicationContext.getBean(MetricRegistry.class);
 
         JdbcTableConfigs jdbcTableConfigs = applicationContext.getBean(JdbcTableConfigs.class);
@@ -94,7 +115,7 @@ public abstract class JdbcQueue<T> implements QueueInterface<T> {
     protected Map<Field<Object>, Object> produceFields(String consumerGroup, String key, T message) throws QueueException {
         byte[] bytes;
         try {
-            bytes = MAPPER.writeValueAsBytes(message);
+            bytes = binaryPayloadConfiguration.enabled ? JdbcPayloadCodec.serialize(message) : MAPPER.writeValueAsBytes(message);
         } catch (JsonProcessingException e) {
             throw new QueueException("Unable to serialize the message", e);
         }
@@ -114,7 +135,12 @@ public abstract class JdbcQueue<T> implements QueueInterface<T> {
         Map<Field<Object>, Object> fields = new HashMap<>();
         fields.put(AbstractJdbcRepository.field("type"), this.cls.getName());
         fields.put(AbstractJdbcRepository.field("key"), key != null ? key : IdUtils.create());
-        fields.put(AbstractJdbcRepository.field("value"), JSONB.valueOf(new String(bytes)));
+        if (binaryPayloadConfiguration.enabled) {
+            // the value is left null, the format marker of the payload tells how to decode it
+            fields.put(AbstractJdbcRepository.field("payload"), JdbcPayloadCodec.encode(bytes, binaryPayloadConfiguration.compressionThreshold));
+        } else {
+            fields.put(AbstractJdbcRepository.field("value"), JSONB.valueOf(new String(bytes)));
+        }
 
         if (consumerGroup != null) {
             fields.put(AbstractJdbcRepository.field("consumer_group"), consumerGroup);
@@ -130,24 +156,201 @@ public abstract class JdbcQueue<T> implements QueueInterface<T> {
 
         Map<Field<Object>, Object> fields = this.produceFields(consumerGroup, key, message);
 
+        if (groupCommitConfiguration.isEnabled()) {
+            PendingMessage<T> pending = new PendingMessage<>(message, fields, skipIndexer, new CompletableFuture<>());
+            this.enqueue(pending);
+            this.awaitGroupCommit(pending);
+            return;
+        }
+
+        this.insert(List.of(new PendingMessage<>(message, fields, skipIndexer, null)));
+    }
+
+    private void insert(List<PendingMessage<T>> messages) throws QueueException {
         try {
             dslContextWrapper.transaction(configuration -> {
                 DSLContext context = DSL.using(configuration);
 
-                if (!skipIndexer) {
-                    jdbcQueueIndexer.accept(context, message);
-                }
+                messages.forEach(pending -> {
+                    if (!pending.skipIndexer()) {
+                        jdbcQueueIndexer.accept(context, pending.message());
+                    }
+                });
+
+                // rows are grouped by columns as the optional ones are not always present
+                messages.stream()
+                    .map(PendingMessage::fields)
+                    .collect(Collectors.groupingBy(Map::keySet, LinkedHashMap::new, Collectors.toList()))
+                    .values()
+                    .stream()
+                    .flatMap(rows -> Lists.partition(rows, MAX_ROWS_PER_INSERT).stream())
+                    .forEach(rows -> {
+                        var insert = context
+                            .insertInto(table)
+                            .set(rows.getFirst());
+
+                        for (Map<Field<Object>, Object> row : rows.subList(1, rows.size())) {
+                            insert = insert.newRecord().set(row);
+                        }
 
-                context
-                    .insertInto(table)
-                    .set(fields)
-                    .execute();
+                        insert.execute();
+                    });
+
+                this.afterProduce(context);
             });
         } catch (DataException e) { // The exception is from the data itself, not the database/network/driver so instead of fail fast, we throw a recoverable QueueException
             throw new QueueException("Unable to emit a message to the queue", e);
         }
     }
 
+    private CompletableFuture<Void> enqueue(PendingMessage<T> pending) {
+        if (this.isClosed.get()) {
+            pending.result().completeExceptionally(new QueueException("Unable to emit a message to the queue, the queue is closed"));
+            return pending.result();
+        }
+
+        if (this.isFlusherStarted.compareAndSet(false, true)) {
+            this.poolExecutor.execute(this::flushLoop);
+        }
+
+        this.pendingMessages.add(pending);
+
+        return pending.result();
+    }
+
+    /**
+     * Wait for the message to be flushed. On timeout, a message not yet taken by the flusher is withdrawn so it's never
+     * inserted and the emit can safely be retried; a message already being inserted is waited for until the insert ends,
+     * else a retry would duplicate it.
+     */
+    private void awaitGroupCommit(PendingMessage<T> pending) throws QueueException {
+        try {
+            try {
+                pending.result().get(groupCommitConfiguration.getTimeout().toMillis(), TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                if (pending.claim()) {
+                    throw new QueueException("Timeout while waiting for the message to be emitted to the queue", e);
+                }
+
+                pending.result().get();
+            }
+        } catch (InterruptedException e) {
+            pending.claim();
+            Thread.currentThread().interrupt();
+            throw new QueueException("Interrupted while emitting a message to the queue", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof QueueException queueException) {
+                throw queueException;
+            }
+
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+
+            throw new QueueException("Unable to emit a message to the queue", e.getCause());
+        }
+    }
+
+    /**
+     * Coalesce concurrent messages into one transaction with a multi-row insert.
+     * A message emitted while no other one is pending is flushed right away. Otherwise, the batch is flushed when it
+     * reaches the configured size or when the configured window is elapsed since its first message.
+     */
+    private void flushLoop() {
+        try {
+            this.flushPending();
+        } finally {
+            // the messages left once the flusher is stopped would never be flushed
+            this.isFlusherStarted.set(false);
+            this.failPending();
+        }
+    }
+
+    private void flushPending() {
+        while (!this.isClosed.get() || !this.pendingMessages.isEmpty()) {
+            try {
+                PendingMessage<T> first = this.pendingMessages.poll(configuration.getMaxPollInterval().toMillis(), TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+
+                List<PendingMessage<T>> batch = new ArrayList<>();
+                batch.add(first);
+                this.pendingMessages.drainTo(batch, groupCommitConfiguration.getSize() - 1);
+
+                // waiting for more messages is only worth it when other producers are emitting concurrently
+                if (batch.size() > 1) {
+                    long deadline = System.nanoTime() + groupCommitConfiguration.getWindow().toNanos();
+                    while (batch.size() < groupCommitConfiguration.getSize()) {
+                        PendingMessage<T> next = this.pendingMessages.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                        if (next == null) {
+                            break;
+                        }
+
+                        batch.add(next);
+                    }
+                }
+
+                this.flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void failPending() {
+        List<PendingMessage<T>> left = new ArrayList<>();
+        this.pendingMessages.drainTo(left);
+
+        left.forEach(pending -> pending.result().completeExceptionally(
+            new QueueException("Unable to emit a message to the queue, the queue is closed")
+        ));
+    }
+
+    private void flush(List<PendingMessage<T>> batch) {
+        // the messages withdrawn by their producer after a timeout must not be inserted
+        batch.removeIf(pending -> !pending.claim());
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        long start = System.nanoTime();
+
+        try {
+            this.insert(batch);
+            batch.forEach(pending -> pending.result().complete(null));
+        } catch (Exception e) {
+            if (batch.size() == 1) {
+                batch.getFirst().result().completeExceptionally(e);
+            } else {
+                // one bad message must not fail the others, so we retry them one by one to report each outcome
+                batch.forEach(pending -> {
+                    try {
+                        this.insert(List.of(pending));
+                        pending.result().complete(null);
+                    } catch (Exception single) {
+                        pending.result().completeExceptionally(single);
+                    }
+                });
+            }
+        }
+
+        metricRegistry
+            .summary(MetricRegistry.QUEUE_BATCH_SIZE, MetricRegistry.TAG_CLASS_NAME, cls.getName())
+            .record(batch.size());
+        metricRegistry
+            .timer(MetricRegistry.QUEUE_BATCH_FLUSH_DURATION, MetricRegistry.TAG_CLASS_NAME, cls.getName())
+            .record(Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    /**
+     * Hook called inside the producer transaction once the message is inserted.
+     * Dialects can use it to signal consumers that a new message is available.
+     */
+    protected void afterProduce(DSLContext context) {
+    }
+
     public void emitOnly(String consumerGroup, T message) throws QueueException{
         this.produce(consumerGroup, queueService.key(message), message, true);
     }
@@ -159,9 +362,42 @@ public abstract class JdbcQueue<T> implements QueueInterface<T> {
 
     @Override
     public void emitAsync(String consumerGroup, T message) throws QueueException {
+        if (groupCommitConfiguration.isEnabled()) {
+            // no need to hold a thread of the async pool, the flusher will complete the message
+            Map<Field<Object>, Object> fields = this.produceFields(consumerGroup, queueService.key(message), message);
+            this.enqueue(new PendingMessage<>(message, fields, false, new CompletableFuture<>()))
+                .whenComplete((unused, throwable) -> {
+                    if (throwable != null) {
+                        log.error("Unable to emit a message to the queue", throwable);
+                    }
+                });
+            return;
+        }
+
         this.asyncPoolExecutor.submit(throwRunnable(() -> this.emit(consumerGroup, message)));
     }
 
+    /**
+     * Emit all the messages in one transaction with multi-row inserts.
+     */
+    @Override
+    public void emitBatch(String consumerGroup, List<T> messages) throws QueueException {
+        if (messages.isEmpty()) {
+            return;
+        }
+
+        if (log.isTraceEnabled()) {
+            log.trace("New messages: topic '{}', count {}", this.cls.getName(), messages.size());
+        }
+
+        List<PendingMessage<T>> pendings = new ArrayList<>(messages.size());
+        for (T message : messages) {
+            pendings.add(new PendingMessage<>(message, this.produceFields(consumerGroup, queueService.key(message), message), false, null));
+        }
+
+        this.insert(pendings);
+    }
+
     @Override
     public void delete(String consumerGroup, T message) throws QueueException {
         // Just do nothing!
@@ -211,6 +447,7 @@ public abstract class JdbcQueue<T> implements QueueInterface<T> {
     protected Result<Record> receiveFetch(DSLContext ctx, String consumerGroup, Integer offset, boolean forUpdate) {
         var select = ctx.select(
                 AbstractJdbcRepository.field("value"),
+                AbstractJdbcRepository.field("payload"),
                 AbstractJdbcRepository.field("offset")
             )
             .from(this.table)
@@ -229,7 +466,7 @@ public abstract class JdbcQueue<T> implements QueueInterface<T> {
         var limitSelect = select
             .orderBy(AbstractJdbcRepository.field("offset").asc())
             .limit(configuration.getPollSize());
-        ResultQuery<Record2<Object, Object>> configuredSelect = limitSelect;
+        ResultQuery<Record3<Object, Object, Object>> configuredSelect = limitSelect;
 
         if (forUpdate) {
             configuredSelect = limitSelect.forUpdate().skipLocked();
@@ -391,9 +628,12 @@ public abstract class JdbcQueue<T> implements QueueInterface<T> {
 
         poolExecutor.execute(() -> {
             while (running.get() && !this.isClosed.get()) {
+                long signal = this.currentSignal();
+                int count = 0;
+
                 if (!this.isPaused.get()) {
                     try {
-                        Integer count = runnable.get();
+                        count = runnable.get();
                         if (count > 0) {
                             lastPoll.set(ZonedDateTime.now());
                         }
@@ -410,7 +650,7 @@ public abstract class JdbcQueue<T> implements QueueInterface<T> {
                 }
 
                 try {
-                    Thread.sleep(sleep.get());
+                    this.awaitNextPoll(signal, count, sleep.get());
                 } catch (InterruptedException e) {
                     throw new RuntimeException(e);
                 }
@@ -420,17 +660,64 @@ public abstract class JdbcQueue<T> implements QueueInterface<T> {
         return () -> running.set(false);
     }
 
+    /**
+     * Returns an opaque value that changes each time new messages are signaled for this queue.
+     * It is read before each poll so that a signal received during the poll is never lost.
+     */
+    protected long currentSignal() {
+        return 0L;
+    }
+
+    /**
+     * Wait before the next poll. By default, this is a plain sleep; dialects supporting push notifications can
+     * return early when new messages are signaled.
+     *
+     * @param signal the value of {@link #currentSignal()} before the last poll
+     * @param count the number of messages fetched by the last poll
+     * @param sleep the computed polling interval in milliseconds
+     */
+    @SuppressWarnings("BusyWait")
+    protected void awaitNextPoll(long signal, int count, long sleep) throws InterruptedException {
+        Thread.sleep(sleep);
+    }
+
     protected List<Either<T, DeserializationException>> map(Result<Record> fetch) {
         return fetch
             .map(record -> {
                 try {
-                    return Either.left(MAPPER.readValue(record.get("value", String.class), cls));
-                } catch (JsonProcessingException e) {
-                    return Either.right(new DeserializationException(e, record.get("value", String.class)));
+                    return Either.left(this.deserialize(record));
+                } catch (IOException e) {
+                    return Either.right(new DeserializationException(e, this.recordAsString(record)));
                 }
             });
     }
 
+    private String recordAsString(Record record) {
+        byte[] payload = record.get("payload", byte[].class);
+        if (payload != null) {
+            return JdbcPayloadCodec.toJson(payload);
+        }
+
+        return record.get("value", String.class);
+    }
+
+    /**
+     * Rows written with the binary payload are decoded whatever the current configuration,
+     * so the binary payload can be enabled or disabled while messages are still in the queue.
+     */
+    protected T deserialize(Record record) throws IOException {
+        byte[] payload = record.get("payload", byte[].class);
+        if (payload != null) {
+            return JdbcPayloadCodec.decode(payload, cls);
+        }
+
+        return this.deserializeValue(record);
+    }
+
+    protected T deserializeValue(Record record) throws IOException {
+        return MAPPER.readValue(record.get("value", String.class), cls);
+    }
+
     protected void send(Result<Record> fetch, Consumer<Either<T, DeserializationException>> consumer) {
         this.map(fetch)
             .forEach(consumer);
@@ -451,10 +738,29 @@ public abstract class JdbcQueue<T> implements QueueInterface<T> {
         if (!this.isClosed.compareAndSet(false, true)) {
             return;
         }
+
+        // the flusher drains the pending messages then fails the ones emitted meanwhile
+        if (!this.isFlusherStarted.get()) {
+            this.failPending();
+        }
+
         this.poolExecutor.shutdown();
         this.asyncPoolExecutor.shutdown();
     }
 
+    private record PendingMessage<T>(T message, Map<Field<Object>, Object> fields, boolean skipIndexer, CompletableFuture<Void> result, AtomicBoolean claimed) {
+        PendingMessage(T message, Map<Field<Object>, Object> fields, boolean skipIndexer, CompletableFuture<Void> result) {
+            this(message, fields, skipIndexer, result, new AtomicBoolean());
+        }
+
+        /**
+         * Claim the message, either by the flusher to insert it, or by its producer to withdraw it; only one of them succeeds.
+         */
+        boolean claim() {
+            return this.claimed.compareAndSet(false, true);
+        }
+    }
+
     @ConfigurationProperties("kestra.jdbc.queues")
     @Getter
     public static class Configuration {
@@ -0,0 +1,186 @@
+package io.kestra.jdbc.repository;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.executions.Execution;
+import io.kestra.core.models.executions.statistics.DailyExecutionStatistics;
+import io.kestra.core.models.executions.statistics.ExecutionCountStatistics;
+import io.kestra.core.models.flows.State;
+import io.kestra.core.repositories.ExecutionRepositoryInterface;
+import io.kestra.core.utils.DateUtils;
+import io.kestra.core.utils.IdUtils;
+import io.kestra.jdbc.JdbcTestUtils;
+import io.kestra.jdbc.JooqDSLContextWrapper;
+import io.micronaut.context.annotation.Property;
+import jakarta.inject.Inject;
+import org.jooq.DSLContext;
+import org.jooq.impl.DSL;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+
+@KestraTest
+@Property(name = "kestra.jdbc.executions.statistics-rollups.enabled", value = "true")
+public abstract class AbstractJdbcExecutionStatisticsRollupTest {
+    private static final String NAMESPACE = "io.kestra.unittest";
+    private static final String FLOW = "rollup";
+
+    @Inject
+    JdbcTestUtils jdbcTestUtils;
+
+    @Inject
+    JooqDSLContextWrapper dslContextWrapper;
+
+    @Inject
+    ExecutionRepositoryInterface executionRepository;
+
+    @Inject
+    ExecutionStatisticsBackfill statisticsBackfill;
+
+    @BeforeEach
+    protected void init() {
+        jdbcTestUtils.drop();
+        jdbcTestUtils.migrate();
+    }
+
+    @Test
+    void rollupsAndLateUpdates() {
+        Instant hour = Instant.now().minus(2, ChronoUnit.DAYS).truncatedTo(ChronoUnit.HOURS);
+
+        Execution success = execution(hour.plus(10, ChronoUnit.MINUTES), State.Type.SUCCESS, Duration.ofSeconds(10));
+        Execution failed = execution(hour.plus(20, ChronoUnit.MINUTES), State.Type.FAILED, Duration.ofSeconds(30));
+        Execution otherSuccess = execution(hour.plus(30, ChronoUnit.MINUTES), State.Type.SUCCESS, Duration.ofSeconds(20));
+        executionRepository.save(success);
+        executionRepository.save(failed);
+        executionRepository.save(otherSuccess);
+        executionRepository.save(execution(hour.plus(40, ChronoUnit.MINUTES), State.Type.RUNNING, Duration.ofSeconds(5)));
+
+        // indexing the same state again doesn't count it twice
+        executionRepository.save(success);
+
+        assertThat(rollupCount(), is(2));
+        assertThat(counts().get(State.Type.SUCCESS), is(2L));
+        assertThat(counts().get(State.Type.FAILED), is(1L));
+        assertThat(counts().get(State.Type.RUNNING), is(1L));
+        assertThat(dailyCount(), is(4L));
+
+        // a restarted execution is no longer counted in its previous rollup
+        Execution restarted = failed.withState(State.Type.RESTARTED);
+        executionRepository.save(restarted);
+
+        assertThat(rollupCount(), is(1));
+        assertThat(counts().get(State.Type.FAILED), is(0L));
+        assertThat(counts().get(State.Type.RESTARTED), is(1L));
+
+        executionRepository.save(restarted.withState(State.Type.SUCCESS));
+
+        assertThat(counts().get(State.Type.SUCCESS), is(3L));
+        assertThat(dailyCount(), is(4L));
+
+        // deleted and purged executions are removed from their rollup
+        executionRepository.delete(otherSuccess);
+        assertThat(counts().get(State.Type.SUCCESS), is(2L));
+
+        executionRepository.purge(List.of(success));
+        assertThat(counts().get(State.Type.SUCCESS), is(1L));
+        assertThat(rollupCount(), is(1));
+        assertThat(dailyCount(), is(2L));
+    }
+
+    @Test
+    void backfill() {
+        Instant hour = Instant.now().minus(2, ChronoUnit.DAYS).truncatedTo(ChronoUnit.HOURS);
+
+        executionRepository.save(execution(hour.plus(10, ChronoUnit.MINUTES), State.Type.SUCCESS, Duration.ofSeconds(10)));
+        executionRepository.save(execution(hour.plus(20, ChronoUnit.MINUTES), State.Type.SUCCESS, Duration.ofSeconds(20)));
+        executionRepository.save(execution(hour.plus(30, ChronoUnit.MINUTES), State.Type.FAILED, Duration.ofSeconds(30)));
+        executionRepository.save(execution(hour.plus(40, ChronoUnit.MINUTES), State.Type.RUNNING, Duration.ofSeconds(5)));
+
+        // as if they were terminated before the rollups were enabled
+        dslContextWrapper.transaction(configuration -> {
+            DSLContext context = DSL.using(configuration);
+
+            context.delete(DSL.table("execution_statistics")).execute();
+            context.update(((AbstractJdbcExecutionRepository) executionRepository).jdbcRepository.getTable())
+                .set(ExecutionStatisticsRollup.STATISTICS_KEY, (String) null)
+                .set(ExecutionStatisticsRollup.STATISTICS_DURATION, (Object) null)
+                .execute();
+        });
+
+        // still right, from the executions table
+        assertThat(rollupCount(), is(0));
+        assertThat(counts().get(State.Type.SUCCESS), is(2L));
+
+        // a stopped backfill resumes where it stopped
+        List<String> first = ((AbstractJdbcExecutionRepository) executionRepository).backfillStatisticsRollup(null, 1);
+        assertThat(first, hasSize(1));
+
+        statisticsBackfill.backfill();
+
+        assertThat(rollupCount(), is(2));
+        assertThat(counts().get(State.Type.SUCCESS), is(2L));
+        assertThat(counts().get(State.Type.FAILED), is(1L));
+        assertThat(counts().get(State.Type.RUNNING), is(1L));
+        assertThat(dailyCount(), is(4L));
+        assertThat(((AbstractJdbcExecutionRepository) executionRepository).backfillStatisticsRollup(null, 10), empty());
+    }
+
+    private Map<State.Type, Long> counts() {
+        Map<String, ExecutionCountStatistics> counts = executionRepository.executionCountsGroupedByNamespace(
+            null,
+            NAMESPACE,
+            ZonedDateTime.now().minusDays(5),
+            ZonedDateTime.now()
+        );
+
+        return counts.get(NAMESPACE).counts();
+    }
+
+    private long dailyCount() {
+        List<DailyExecutionStatistics> statistics = executionRepository.dailyStatistics(
+            null,
+            null,
+            null,
+            NAMESPACE,
+            FLOW,
+            ZonedDateTime.now().minusDays(5),
+            ZonedDateTime.now(),
+            DateUtils.GroupType.DAY,
+            null,
+            false
+        );
+
+        return statistics.stream()
+            .mapToLong(daily -> daily.getDuration().getCount())
+            .sum();
+    }
+
+    private int rollupCount() {
+        return dslContextWrapper.transactionResult(configuration -> DSL.using(configuration)
+            .fetchCount(DSL.table("execution_statistics"))
+        );
+    }
+
+    private static Execution execution(Instant startDate, State.Type state, Duration duration) {
+        return Execution.builder()
+            .id(IdUtils.create())
+            .namespace(NAMESPACE)
+            .flowId(FLOW)
+            .flowRevision(1)
+            .state(State.of(state, List.of(
+                new State.History(State.Type.CREATED, startDate),
+                new State.History(state, startDate.plus(duration))
+            )))
+            .build();
+    }
+}
@@ -0,0 +1,113 @@
+package io.kestra.jdbc.runner;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.flows.Concurrency;
+import io.kestra.core.models.flows.Flow;
+import io.kestra.core.runners.ConcurrencyLimit;
+import io.kestra.core.utils.IdUtils;
+import io.kestra.jdbc.JdbcTestUtils;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+@KestraTest
+public abstract class AbstractJdbcConcurrencyLimitStorageTest {
+    @Inject
+    JdbcTestUtils jdbcTestUtils;
+
+    @Inject
+    AbstractJdbcConcurrencyLimitStorage concurrencyLimitStorage;
+
+    @BeforeEach
+    protected void init() {
+        jdbcTestUtils.drop();
+        jdbcTestUtils.migrate();
+    }
+
+    @Test
+    void acquireAndRelease() {
+        Flow flow = flow(2);
+        AtomicInteger counts = new AtomicInteger();
+
+        // the counter is initialized from the running executions only once
+        assertThat(concurrencyLimitStorage.tryAcquire(flow, () -> counts.incrementAndGet() - 1), is(0L));
+        assertThat(concurrencyLimitStorage.tryAcquire(flow, () -> counts.incrementAndGet() - 1), is(1L));
+        assertThat(counts.get(), is(1));
+
+        // the limit is reached, no more slot
+        assertThat(concurrencyLimitStorage.tryAcquire(flow, () -> 0), is(2L));
+        assertThat(concurrencyLimitStorage.tryAcquire(flow, () -> 0), is(2L));
+
+        // a transferred slot is still used
+        concurrencyLimitStorage.release(flow, () -> true);
+        assertThat(concurrencyLimitStorage.tryAcquire(flow, () -> 0), is(2L));
+
+        concurrencyLimitStorage.release(flow, () -> false);
+        assertThat(concurrencyLimitStorage.tryAcquire(flow, () -> 0), is(1L));
+    }
+
+    @Test
+    void acquireOverLimit() {
+        Flow flow = flow(1);
+
+        concurrencyLimitStorage.acquire(flow, () -> 1);
+        assertThat(concurrencyLimitStorage.tryAcquire(flow, () -> 0), is(2L));
+
+        concurrencyLimitStorage.release(flow, () -> false);
+        concurrencyLimitStorage.release(flow, () -> false);
+        assertThat(concurrencyLimitStorage.tryAcquire(flow, () -> 0), is(0L));
+    }
+
+    @Test
+    void reconcile() {
+        Flow flow = flow(5);
+
+        // a slot acquired in the last moments may not be counted in the running executions yet, so it's kept
+        concurrencyLimitStorage.tryAcquire(flow, () -> 4);
+        concurrencyLimitStorage.reconcile(flow, () -> 1, () -> false);
+        assertThat(concurrencyLimitStorage.tryAcquire(flow, () -> 0), is(5L));
+
+        this.persist(flow, 5, Instant.now().minus(Duration.ofMinutes(2)));
+        concurrencyLimitStorage.reconcile(flow, () -> 1, () -> false);
+        assertThat(concurrencyLimitStorage.tryAcquire(flow, () -> 0), is(1L));
+
+        // never released below zero
+        this.persist(flow, 5, null);
+        concurrencyLimitStorage.reconcile(flow, () -> 0, () -> false);
+        concurrencyLimitStorage.release(flow, () -> false);
+        assertThat(concurrencyLimitStorage.tryAcquire(flow, () -> 0), is(0L));
+    }
+
+    @Test
+    void reconcileGivesFreeSlotsToQueuedExecutions() {
+        Flow flow = flow(3);
+        AtomicInteger queued = new AtomicInteger(5);
+
+        concurrencyLimitStorage.reconcile(flow, () -> 1, () -> queued.getAndDecrement() > 0);
+
+        // only the two free slots are given
+        assertThat(queued.get(), is(3));
+        assertThat(concurrencyLimitStorage.tryAcquire(flow, () -> 0), is(3L));
+    }
+
+    private void persist(Flow flow, int running, Instant acquired) {
+        concurrencyLimitStorage.jdbcRepository.persist(
+            new ConcurrencyLimit(flow.getTenantId(), flow.getNamespace(), flow.getId(), running, acquired)
+        );
+    }
+
+    private static Flow flow(int limit) {
+        return Flow.builder()
+            .id(IdUtils.create())
+            .namespace("io.kestra.tests")
+            .concurrency(Concurrency.builder().limit(limit).build())
+            .build();
+    }
+}
@@ -0,0 +1,128 @@
+package io.kestra.jdbc.runner;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.executions.Execution;
+import io.kestra.core.models.flows.State;
+import io.kestra.core.runners.ExecutorState;
+import io.kestra.core.utils.IdUtils;
+import io.kestra.jdbc.JdbcTestUtils;
+import io.kestra.jdbc.JooqDSLContextWrapper;
+import jakarta.inject.Inject;
+import org.jooq.impl.DSL;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@KestraTest
+public abstract class AbstractJdbcExecutorStateStorageTest {
+    @Inject
+    JdbcTestUtils jdbcTestUtils;
+
+    @Inject
+    JooqDSLContextWrapper dslContextWrapper;
+
+    protected abstract AbstractJdbcExecutorStateStorage storage(boolean entriesEnabled);
+
+    @BeforeEach
+    protected void init() {
+        jdbcTestUtils.drop();
+        jdbcTestUtils.migrate();
+    }
+
+    @Test
+    void entries() {
+        AbstractJdbcExecutorStateStorage storage = storage(true);
+        Execution execution = execution();
+
+        ExecutorState executorState = get(storage, execution);
+        executorState.putWorkerTaskDeduplication("worker", State.Type.RUNNING);
+        executorState.putChildDeduplication("child-" + "a".repeat(1000), "taskrun");
+        executorState.putSubflowExecutionDeduplication("subflow", State.Type.CREATED);
+        save(storage, executorState);
+        assertThat(executorState.changes(), empty());
+
+        ExecutorState loaded = get(storage, execution);
+        assertThat(loaded.getWorkerTaskDeduplication(), is(Map.of("worker", State.Type.RUNNING)));
+        assertThat(loaded.getChildDeduplication(), is(Map.of("child-" + "a".repeat(1000), "taskrun")));
+        assertThat(loaded.getSubflowExecutionDeduplication(), is(Map.of("subflow", State.Type.CREATED)));
+
+        loaded.putWorkerTaskDeduplication("worker", State.Type.SUCCESS);
+        loaded.putWorkerTaskDeduplication("other", State.Type.RUNNING);
+        assertThat(loaded.changes(), hasSize(2));
+        save(storage, loaded);
+
+        loaded = get(storage, execution);
+        assertThat(loaded.getWorkerTaskDeduplication(), is(Map.of("worker", State.Type.SUCCESS, "other", State.Type.RUNNING)));
+
+        storage.delete(execution);
+        assertThat(get(storage, execution).getWorkerTaskDeduplication(), anEmptyMap());
+    }
+
+    @Test
+    void concurrencySlot() {
+        for (boolean entries : new boolean[]{true, false}) {
+            AbstractJdbcExecutorStateStorage storage = storage(entries);
+            Execution execution = execution();
+
+            ExecutorState executorState = get(storage, execution);
+            assertThat(executorState.getConcurrencySlot(), nullValue());
+            executorState.putConcurrencySlot(true);
+            save(storage, executorState);
+            assertThat(get(storage, execution).getConcurrencySlot(), is(true));
+
+            ExecutorState loaded = get(storage, execution);
+            loaded.putConcurrencySlot(false);
+            save(storage, loaded);
+            assertThat(get(storage, execution).getConcurrencySlot(), is(false));
+        }
+    }
+
+    @Test
+    void migrateFromRow() {
+        Execution execution = execution();
+
+        ExecutorState executorState = new ExecutorState(execution.getId());
+        executorState.putWorkerTaskDeduplication("worker", State.Type.RUNNING);
+        executorState.putChildDeduplication("child", "taskrun");
+        executorState.putConcurrencySlot(true);
+        save(storage(false), executorState);
+
+        AbstractJdbcExecutorStateStorage storage = storage(true);
+        ExecutorState migrated = get(storage, execution);
+        assertThat(migrated.getWorkerTaskDeduplication(), is(Map.of("worker", State.Type.RUNNING)));
+        // copied to the entries on read, even if it is never saved
+        assertThat(migrated.changes(), empty());
+        assertThat(get(storage, execution).getChildDeduplication(), is(Map.of("child", "taskrun")));
+        assertThat(get(storage, execution).getConcurrencySlot(), is(true));
+
+        migrated.putSubflowExecutionDeduplication("subflow", State.Type.CREATED);
+        save(storage, migrated);
+
+        ExecutorState loaded = get(storage, execution);
+        assertThat(loaded.getWorkerTaskDeduplication(), is(Map.of("worker", State.Type.RUNNING)));
+        assertThat(loaded.getChildDeduplication(), is(Map.of("child", "taskrun")));
+        assertThat(loaded.getSubflowExecutionDeduplication(), is(Map.of("subflow", State.Type.CREATED)));
+        assertThat(loaded.changes(), empty());
+    }
+
+    private ExecutorState get(AbstractJdbcExecutorStateStorage storage, Execution execution) {
+        return dslContextWrapper.transactionResult(configuration -> storage.get(DSL.using(configuration), execution));
+    }
+
+    private void save(AbstractJdbcExecutorStateStorage storage, ExecutorState executorState) {
+        dslContextWrapper.transaction(configuration -> storage.save(DSL.using(configuration), executorState));
+    }
+
+    private static Execution execution() {
+        return Execution.builder()
+            .id(IdUtils.create())
+            .namespace("io.kestra.tests")
+            .flowId("executor-state")
+            .state(new State())
+            .build();
+    }
+}
@@ -0,0 +1,59 @@
+package io.kestra.jdbc.runner;
+
+import io.kestra.core.metrics.MetricRegistry;
+import io.kestra.core.models.executions.Execution;
+import io.kestra.core.models.flows.Flow;
+import io.kestra.core.utils.IdUtils;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.Mockito.mock;
+
+class JdbcExecutorFlowCacheTest {
+    private static final String NAMESPACE = "io.kestra.tests";
+
+    @Test
+    void byRevisionAndInvalidatedOnUpdate() {
+        MetricRegistry metricRegistry = mock(MetricRegistry.class, invocation -> invocation.getArgument(1));
+        JdbcExecutorFlowCache cache = new JdbcExecutorFlowCache(100, metricRegistry);
+
+        Flow flow = flow("cached", 1);
+        Flow other = flow("other", 1);
+        cache.put(execution(flow), flow);
+        cache.put(execution(other), other);
+
+        assertThat(cache.get(execution(flow)), is(flow));
+        assertThat(cache.get(execution(flow("cached", 2))), nullValue());
+
+        // an update or a deletion of the flow evicts all its revisions, but not the other flows
+        cache.invalidate(flow("cached", 2));
+
+        assertThat(cache.get(execution(flow)), nullValue());
+        assertThat(cache.get(execution(other)), is(other));
+
+        Flow deleted = flow.toDeleted();
+        cache.put(execution(flow), flow);
+        cache.invalidate(deleted);
+
+        assertThat(cache.get(execution(flow)), nullValue());
+    }
+
+    private static Flow flow(String id, int revision) {
+        return Flow.builder()
+            .namespace(NAMESPACE)
+            .id(id)
+            .revision(revision)
+            .build();
+    }
+
+    private static Execution execution(Flow flow) {
+        return Execution.builder()
+            .id(IdUtils.create())
+            .namespace(flow.getNamespace())
+            .flowId(flow.getId())
+            .flowRevision(flow.getRevision())
+            .build();
+    }
+}
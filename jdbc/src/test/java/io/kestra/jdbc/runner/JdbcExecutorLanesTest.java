@@ -0,0 +1,79 @@
+package io.kestra.jdbc.runner;
+
+import io.kestra.core.metrics.MetricRegistry;
+import io.kestra.core.utils.ExecutorsUtils;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.mock;
+
+class JdbcExecutorLanesTest {
+    @Test
+    void orderedByKey() {
+        JdbcExecutorLanes lanes = new JdbcExecutorLanes(4, 10, executorsUtils(), metricRegistry(new SimpleMeterRegistry()));
+
+        Map<String, List<Integer>> processed = new ConcurrentHashMap<>();
+        Map<String, Set<String>> threads = new ConcurrentHashMap<>();
+        for (int i = 0; i < 1000; i++) {
+            String key = "execution-" + (i % 10);
+            int sequence = i;
+            lanes.dispatch(key, () -> {
+                processed.computeIfAbsent(key, k -> new ArrayList<>()).add(sequence);
+                threads.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(Thread.currentThread().getName());
+            });
+        }
+        lanes.close(Duration.ofSeconds(10));
+
+        assertThat(processed.size(), is(10));
+        processed.forEach((key, sequences) -> {
+            assertThat(sequences, hasSize(100));
+            assertThat(sequences.stream().sorted().toList(), is(sequences));
+            assertThat(threads.get(key), hasSize(1));
+        });
+    }
+
+    @Test
+    void countDroppedOnClose() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        JdbcExecutorLanes lanes = new JdbcExecutorLanes(1, 10, executorsUtils(), metricRegistry(meterRegistry));
+
+        CountDownLatch blocked = new CountDownLatch(1);
+        lanes.dispatch("execution", () -> {
+            try {
+                blocked.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        for (int i = 0; i < 3; i++) {
+            lanes.dispatch("execution", () -> {});
+        }
+        lanes.close(Duration.ofMillis(100));
+
+        assertThat(meterRegistry.counter(MetricRegistry.EXECUTOR_LANE_DROPPED_COUNT).count(), is(3.0));
+    }
+
+    private static MetricRegistry metricRegistry(SimpleMeterRegistry meterRegistry) {
+        return mock(MetricRegistry.class, invocation -> switch (invocation.getMethod().getName()) {
+            case "gauge" -> invocation.getArgument(1);
+            case "counter" -> meterRegistry.counter(invocation.getArgument(0));
+            default -> meterRegistry.timer(invocation.getArgument(0));
+        });
+    }
+
+    private static ExecutorsUtils executorsUtils() {
+        return mock(ExecutorsUtils.class, invocation -> Executors.newSingleThreadExecutor());
+    }
+}
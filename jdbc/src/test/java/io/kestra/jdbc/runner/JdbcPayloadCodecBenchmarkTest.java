@@ -0,0 +1,69 @@
+package io.kestra.jdbc.runner;
+
+import io.kestra.core.models.executions.Execution;
+import io.kestra.jdbc.JdbcMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.Duration;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.notNullValue;
+
+/**
+ * Compare the JSON value and the binary payload of an execution with many task runs:
+ * the serialization and deserialization latency, and the bytes written to the queue table.
+ */
+@Slf4j
+@Tag("benchmark")
+class JdbcPayloadCodecBenchmarkTest {
+    private static final int ITERATIONS = 50;
+    private static final int COMPRESSION_THRESHOLD = new BinaryPayloadConfiguration().getCompressionThreshold();
+
+    @ParameterizedTest
+    @ValueSource(ints = {100, 1_000, 10_000})
+    void serialization(int taskRuns) throws Exception {
+        Execution execution = JdbcPayloadCodecTest.execution(taskRuns);
+
+        // warm up both paths
+        for (int i = 0; i < 5; i++) {
+            JdbcMapper.of().readValue(JdbcMapper.of().writeValueAsString(execution), Execution.class);
+            JdbcPayloadCodec.decode(JdbcPayloadCodec.encode(JdbcPayloadCodec.serialize(execution), COMPRESSION_THRESHOLD), Execution.class);
+        }
+
+        String json = null;
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            // what the queue does today: bytes, then a string bound as JSON, then parsed back from a string
+            json = new String(JdbcMapper.of().writeValueAsBytes(execution));
+            assertThat(JdbcMapper.of().readValue(json, Execution.class), notNullValue());
+        }
+        Duration jsonDuration = Duration.ofNanos((System.nanoTime() - start) / ITERATIONS);
+
+        byte[] raw = null;
+        start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            raw = JdbcPayloadCodec.encode(JdbcPayloadCodec.serialize(execution), -1);
+            assertThat(JdbcPayloadCodec.decode(raw, Execution.class), notNullValue());
+        }
+        Duration rawDuration = Duration.ofNanos((System.nanoTime() - start) / ITERATIONS);
+
+        byte[] compressed = null;
+        start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            compressed = JdbcPayloadCodec.encode(JdbcPayloadCodec.serialize(execution), COMPRESSION_THRESHOLD);
+            assertThat(JdbcPayloadCodec.decode(compressed, Execution.class), notNullValue());
+        }
+        Duration compressedDuration = Duration.ofNanos((System.nanoTime() - start) / ITERATIONS);
+
+        log.info(
+            "Execution with {} task runs, round trip and bytes written: json {} µs / {} bytes, smile {} µs / {} bytes, smile with compression over {} bytes {} µs / {} bytes",
+            taskRuns,
+            jsonDuration.toNanos() / 1000, json.getBytes().length,
+            rawDuration.toNanos() / 1000, raw.length,
+            COMPRESSION_THRESHOLD, compressedDuration.toNanos() / 1000, compressed.length
+        );
+    }
+}
@@ -0,0 +1,94 @@
+package io.kestra.jdbc.runner;
+
+import io.kestra.core.models.executions.Execution;
+import io.kestra.core.models.executions.TaskRun;
+import io.kestra.core.models.flows.State;
+import io.kestra.core.utils.IdUtils;
+import io.kestra.jdbc.JdbcMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JdbcPayloadCodecTest {
+    @Test
+    void roundTrip() throws IOException {
+        Execution execution = execution(10);
+        byte[] payload = JdbcPayloadCodec.encode(JdbcPayloadCodec.serialize(execution), 64 * 1024);
+
+        assertThat(payload[0], is(JdbcPayloadCodec.SMILE));
+        // the JSON serialization truncates instants to the millisecond, so we compare with a JSON round trip
+        assertThat(JdbcPayloadCodec.decode(payload, Execution.class), is(jsonRoundTrip(execution)));
+    }
+
+    @Test
+    void compressedRoundTrip() throws IOException {
+        Execution execution = execution(1_000);
+        byte[] serialized = JdbcPayloadCodec.serialize(execution);
+        byte[] payload = JdbcPayloadCodec.encode(serialized, 1024);
+
+        assertThat(payload[0], is(JdbcPayloadCodec.SMILE_DEFLATE));
+        assertThat(payload.length, lessThan(serialized.length));
+        assertThat(JdbcPayloadCodec.decode(payload, Execution.class), is(jsonRoundTrip(execution)));
+    }
+
+    @Test
+    void noCompression() {
+        byte[] payload = JdbcPayloadCodec.encode(new byte[2048], -1);
+
+        assertThat(payload[0], is(JdbcPayloadCodec.SMILE));
+        assertThat(payload.length, is(2049));
+    }
+
+    @Test
+    void unknownFormat() {
+        assertThrows(IOException.class, () -> JdbcPayloadCodec.decode(new byte[]{42, 0}, Execution.class));
+        assertThrows(IOException.class, () -> JdbcPayloadCodec.decode(new byte[0], Execution.class));
+    }
+
+    @Test
+    void toJson() throws IOException {
+        byte[] payload = JdbcPayloadCodec.encode(JdbcPayloadCodec.serialize(Map.of("id", "execution")), 64 * 1024);
+
+        assertThat(JdbcPayloadCodec.toJson(payload), is("{\"id\":\"execution\"}"));
+        assertThat(JdbcPayloadCodec.toJson(new byte[]{42, 0, -1}), is("0x2a00ff"));
+        assertThat(JdbcPayloadCodec.toJson(new byte[100]), is("0x" + "00".repeat(64) + "..."));
+    }
+
+    static Execution execution(int taskRuns) {
+        String executionId = IdUtils.create();
+
+        return Execution.builder()
+            .id(executionId)
+            .namespace("io.kestra.tests")
+            .flowId("payload")
+            .flowRevision(1)
+            .state(new State().withState(State.Type.RUNNING))
+            .taskRunList(IntStream.range(0, taskRuns)
+                .mapToObj(i -> TaskRun.builder()
+                    .id(IdUtils.create())
+                    .executionId(executionId)
+                    .namespace("io.kestra.tests")
+                    .flowId("payload")
+                    .taskId("each")
+                    .value(String.valueOf(i))
+                    .outputs(Map.of("value", "output-" + i, "count", i))
+                    .state(new State().withState(State.Type.RUNNING).withState(State.Type.SUCCESS))
+                    .build()
+                )
+                .toList()
+            )
+            .build();
+    }
+
+    private static Execution jsonRoundTrip(Execution execution) throws IOException {
+        return JdbcMapper.of().readValue(JdbcMapper.of().writeValueAsBytes(execution), Execution.class);
+    }
+}
@@ -20,9 +20,13 @@ import reactor.core.publisher.Flux;
 
 import java.util.Collections;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
 
 import static io.kestra.core.utils.Rethrow.throwConsumer;
+import static io.kestra.core.utils.Rethrow.throwRunnable;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
 
@@ -133,6 +137,40 @@ abstract public class JdbcQueueTest {
         assertThat(receive.blockLast().getNamespace(), is("io.kestra.f2"));
     }
 
+    @Test
+    void concurrentEmits() throws InterruptedException, QueueException {
+        int count = 50;
+        CountDownLatch countDownLatch = new CountDownLatch(count);
+
+        Flux<FlowWithSource> receive = TestsUtils.receive(flowQueue, either -> countDownLatch.countDown());
+
+        ExecutorService executorService = Executors.newFixedThreadPool(10);
+        for (int i = 0; i < count; i++) {
+            executorService.execute(throwRunnable(() -> flowQueue.emit(builder("io.kestra.concurrent"))));
+        }
+        executorService.shutdown();
+
+        countDownLatch.await(10, TimeUnit.SECONDS);
+        receive.blockLast();
+
+        assertThat(countDownLatch.getCount(), is(0L));
+    }
+
+    @Test
+    void emitBatch() throws InterruptedException, QueueException {
+        int count = 20;
+        CountDownLatch countDownLatch = new CountDownLatch(count);
+
+        Flux<FlowWithSource> receive = TestsUtils.receive(flowQueue, either -> countDownLatch.countDown());
+
+        flowQueue.emitBatch(IntStream.range(0, count).mapToObj(i -> builder("io.kestra.batch")).toList());
+
+        countDownLatch.await(10, TimeUnit.SECONDS);
+        receive.blockLast();
+
+        assertThat(countDownLatch.getCount(), is(0L));
+    }
+
     private static FlowWithSource builder(String namespace) {
         return FlowWithSource.builder()
             .id(IdUtils.create())
@@ -0,0 +1,174 @@
+package io.kestra.jdbc.runner;
+
+import io.kestra.core.junit.annotations.ExecuteFlow;
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.junit.annotations.LoadFlows;
+import io.kestra.core.models.executions.Execution;
+import io.kestra.core.models.executions.TaskRun;
+import io.kestra.core.models.flows.Flow;
+import io.kestra.core.models.flows.State;
+import io.kestra.core.queues.QueueFactoryInterface;
+import io.kestra.core.queues.QueueInterface;
+import io.kestra.core.repositories.FlowRepositoryInterface;
+import io.kestra.core.runners.RunnerUtils;
+import io.kestra.core.runners.WorkerTaskResult;
+import io.kestra.core.utils.Either;
+import io.kestra.core.utils.IdUtils;
+import io.kestra.jdbc.repository.AbstractJdbcExecutionRepository;
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import static io.kestra.core.utils.Rethrow.throwRunnable;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.spy;
+
+/**
+ * Run flows generating many worker task results at once, so they are processed by batch by the executor
+ * when {@code kestra.jdbc.executor.batch.enabled} is set by the implementations.
+ */
+@KestraTest(startRunner = true)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS) // must be per-class to allow calling once init() which took a lot of time
+public abstract class JdbcRunnerBatchTest {
+    @Inject
+    private RunnerUtils runnerUtils;
+
+    @Inject
+    private FlowRepositoryInterface flowRepository;
+
+    @Inject
+    private JdbcExecutor jdbcExecutor;
+
+    @Inject
+    @Named(QueueFactoryInterface.EXECUTION_NAMED)
+    private QueueInterface<Execution> executionQueue;
+
+    @Inject
+    @Named(QueueFactoryInterface.WORKERTASKRESULT_NAMED)
+    private QueueInterface<WorkerTaskResult> workerTaskResultQueue;
+
+    @Test
+    @ExecuteFlow("flows/valids/parallel.yaml")
+    void parallel(Execution execution) {
+        assertThat(execution.getTaskRunList(), hasSize(8));
+        assertThat(execution.getState().getCurrent(), is(State.Type.SUCCESS));
+    }
+
+    @Test
+    @ExecuteFlow("flows/valids/each-parallel.yaml")
+    void eachParallel(Execution execution) {
+        assertThat(execution.getTaskRunList(), hasSize(8));
+        assertThat(execution.getState().getCurrent(), is(State.Type.SUCCESS));
+    }
+
+    @Test
+    @ExecuteFlow("flows/valids/each-parallel-nested.yaml")
+    void eachParallelNested(Execution execution) {
+        assertThat(execution.getTaskRunList(), hasSize(11));
+        assertThat(execution.getState().getCurrent(), is(State.Type.SUCCESS));
+    }
+
+    @Test
+    @LoadFlows({"flows/valids/sleep-long.yml"})
+    @SuppressWarnings("unchecked")
+    void oneLockAndOneEmitPerExecution() throws Exception {
+        TaskRun first = running().findTaskRunsByTaskId("sleep-long").getFirst();
+        TaskRun second = running().findTaskRunsByTaskId("sleep-long").getFirst();
+
+        AbstractJdbcExecutionRepository originalRepository = jdbcExecutor.executionRepository;
+        QueueInterface<Execution> originalQueue = jdbcExecutor.executionQueue;
+
+        // the executor keeps running, so only the calls made while processing the batch on this thread are counted
+        Thread thread = Thread.currentThread();
+        Map<String, Integer> locks = new ConcurrentHashMap<>();
+        Map<String, Integer> emits = new ConcurrentHashMap<>();
+
+        AbstractJdbcExecutionRepository spiedRepository = spy(originalRepository);
+        doAnswer(counting(thread, locks, invocation -> invocation.getArgument(0)))
+            .when(spiedRepository).lock(anyString(), any());
+
+        JdbcQueue<Execution> spiedQueue = (JdbcQueue<Execution>) spy(originalQueue);
+        doAnswer(counting(thread, emits, invocation -> invocation.<Execution>getArgument(1).getId()))
+            .when(spiedQueue).emit(any(), any());
+        doAnswer(counting(thread, emits, invocation -> invocation.<Execution>getArgument(1).getId()))
+            .when(spiedQueue).emitOnly(any(), any());
+
+        try {
+            jdbcExecutor.executionRepository = spiedRepository;
+            jdbcExecutor.executionQueue = spiedQueue;
+
+            // the results of both executions are interleaved, the second result of the first execution is a duplicate
+            jdbcExecutor.workerTaskResultQueueBatch(List.of(
+                Either.left(new WorkerTaskResult(first.withState(State.Type.SUCCESS))),
+                Either.left(new WorkerTaskResult(second.withState(State.Type.SUCCESS))),
+                Either.left(new WorkerTaskResult(first.withState(State.Type.SUCCESS)))
+            ));
+        } finally {
+            jdbcExecutor.executionRepository = originalRepository;
+            jdbcExecutor.executionQueue = originalQueue;
+        }
+
+        assertThat(locks, is(Map.of(first.getExecutionId(), 1, second.getExecutionId(), 1)));
+        assertThat(emits, is(Map.of(first.getExecutionId(), 1, second.getExecutionId(), 1)));
+    }
+
+    @Test
+    @LoadFlows({"flows/valids/sleep-long.yml"})
+    void internalExceptionInBatch() throws Exception {
+        Execution running = running();
+
+        TaskRun sleep = running.findTaskRunsByTaskId("sleep-long").getFirst();
+        // the parent of this task run doesn't exist, so adding it to the execution fails with an InternalException
+        TaskRun orphan = sleep.toBuilder().id(IdUtils.create()).parentTaskRunId(IdUtils.create()).build();
+
+        Execution failed = runnerUtils.awaitExecution(
+            execution -> execution.getId().equals(running.getId()) && execution.getState().isFailed(),
+            throwRunnable(() -> workerTaskResultQueue.emitBatch(List.of(
+                new WorkerTaskResult(sleep.withState(State.Type.SUCCESS)),
+                new WorkerTaskResult(orphan)
+            ))),
+            Duration.ofSeconds(30)
+        );
+
+        // the results processed before the failing one are kept
+        assertThat(failed.getState().getCurrent(), is(State.Type.FAILED));
+        assertThat(failed.findTaskRunsByTaskId("sleep-long").getFirst().getState().getCurrent(), is(State.Type.SUCCESS));
+    }
+
+    private Execution running() throws Exception {
+        Flow flow = flowRepository.findById(null, "io.kestra.tests", "sleep-long").orElseThrow();
+        Execution created = Execution.newExecution(flow, null, null, Optional.empty());
+
+        return runnerUtils.awaitExecution(
+            execution -> execution.getId().equals(created.getId()) && execution.getTaskRunList() != null &&
+                execution.getTaskRunList().stream().anyMatch(taskRun -> taskRun.getState().getCurrent() == State.Type.RUNNING),
+            throwRunnable(() -> executionQueue.emit(created)),
+            Duration.ofSeconds(30)
+        );
+    }
+
+    private static Answer<Object> counting(Thread thread, Map<String, Integer> counts, Function<InvocationOnMock, String> key) {
+        return invocation -> {
+            if (Thread.currentThread() == thread) {
+                counts.merge(key.apply(invocation), 1, Integer::sum);
+            }
+
+            return invocation.callRealMethod();
+        };
+    }
+}
@@ -0,0 +1,29 @@
+package io.kestra.jdbc.runner;
+
+import io.kestra.core.junit.annotations.ExecuteFlow;
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.executions.Execution;
+import io.kestra.core.models.flows.State;
+import io.kestra.core.runners.OffloadedOutputs;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * Run a flow whose first task outputs more than the message protection limit, with
+ * {@code kestra.worker.outputs.offload-threshold} set by the implementations: the outputs must be offloaded,
+ * and the next task must read them without the worker task message holding them.
+ */
+@KestraTest(startRunner = true)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS) // must be per-class to allow calling once init() which took a lot of time
+public abstract class JdbcRunnerOffloadedOutputsTest {
+    @Test
+    @ExecuteFlow("flows/offloaded-outputs.yaml")
+    void nextTaskReadsOffloadedOutputs(Execution execution) {
+        assertThat(execution.getState().getCurrent(), is(State.Type.SUCCESS));
+        assertThat(OffloadedOutputs.isOffloaded(execution.findTaskRunsByTaskId("large").getFirst().getOutputs()), is(true));
+        assertThat(execution.findTaskRunsByTaskId("next").getFirst().getOutputs().get("value"), is("2000000"));
+    }
+}
@@ -416,8 +416,7 @@ public class ExecutionController {
                 );
         }
 
-        executions
-            .forEach(throwConsumer(execution -> executionService.delete(execution, deleteLogs, deleteMetrics, deleteStorage)));
+        executionService.delete(executions, deleteLogs, deleteMetrics, deleteStorage);
 
         return HttpResponse.ok(BulkResponse.builder().count(executions.size()).build());
     }
@@ -0,0 +1,114 @@
+package io.kestra.webserver.serializers;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.*;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import com.fasterxml.jackson.databind.ser.ContextualSerializer;
+import com.fasterxml.jackson.databind.ser.ResolvableSerializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import io.kestra.core.models.executions.TaskRun;
+import io.kestra.core.runners.OffloadedOutputs;
+import io.kestra.core.storages.StorageInterface;
+import io.kestra.webserver.annotation.WebServerEnabled;
+import jakarta.inject.Inject;
+import jakarta.inject.Provider;
+import jakarta.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.Serial;
+
+/**
+ * Jackson module of the API object mapper resolving the offloaded outputs of the task runs when they are serialized,
+ * so that every endpoint, as well as the streamed executions, return the outputs and never the storage reference.
+ * The executions read from the repository or the queues keep the reference.
+ */
+@Slf4j
+@Singleton
+@WebServerEnabled
+public class OffloadedOutputsModule extends SimpleModule {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    public static final String NAME = "kestra-offloaded-outputs";
+
+    @Inject
+    public OffloadedOutputsModule(Provider<StorageInterface> storageInterface) {
+        super(NAME);
+
+        setSerializerModifier(new BeanSerializerModifier() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public JsonSerializer<?> modifySerializer(SerializationConfig config, BeanDescription beanDesc, JsonSerializer<?> serializer) {
+                if (TaskRun.class.isAssignableFrom(beanDesc.getBeanClass())) {
+                    return new TaskRunSerializer((JsonSerializer<Object>) serializer, storageInterface);
+                }
+
+                return serializer;
+            }
+        });
+    }
+
+    private static class TaskRunSerializer extends StdSerializer<TaskRun> implements ResolvableSerializer, ContextualSerializer {
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private final JsonSerializer<Object> delegate;
+        private final transient Provider<StorageInterface> storageInterface;
+
+        TaskRunSerializer(JsonSerializer<Object> delegate, Provider<StorageInterface> storageInterface) {
+            super(TaskRun.class);
+            this.delegate = delegate;
+            this.storageInterface = storageInterface;
+        }
+
+        @Override
+        public void resolve(SerializerProvider provider) throws JsonMappingException {
+            if (this.delegate instanceof ResolvableSerializer resolvableSerializer) {
+                resolvableSerializer.resolve(provider);
+            }
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public JsonSerializer<?> createContextual(SerializerProvider provider, BeanProperty property) throws JsonMappingException {
+            if (this.delegate instanceof ContextualSerializer contextualSerializer) {
+                JsonSerializer<?> contextual = contextualSerializer.createContextual(provider, property);
+
+                if (contextual != this.delegate) {
+                    return new TaskRunSerializer((JsonSerializer<Object>) contextual, this.storageInterface);
+                }
+            }
+
+            return this;
+        }
+
+        @Override
+        public void serialize(TaskRun taskRun, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            this.delegate.serialize(this.resolveOutputs(taskRun), gen, provider);
+        }
+
+        @Override
+        public void serializeWithType(TaskRun taskRun, JsonGenerator gen, SerializerProvider provider, TypeSerializer typeSer) throws IOException {
+            this.delegate.serializeWithType(this.resolveOutputs(taskRun), gen, provider, typeSer);
+        }
+
+        /**
+         * A reference that can't be read is returned as-is.
+         */
+        private TaskRun resolveOutputs(TaskRun taskRun) {
+            if (!OffloadedOutputs.isOffloaded(taskRun.getOutputs())) {
+                return taskRun;
+            }
+
+            try {
+                return taskRun.withOutputs(OffloadedOutputs.read(this.storageInterface.get(), taskRun.getTenantId(), taskRun.getNamespace(), taskRun.getOutputs()));
+            } catch (IOException e) {
+                log.warn("Unable to read the offloaded outputs of task run '{}': {}", taskRun.getId(), e.getMessage());
+                return taskRun;
+            }
+        }
+    }
+}
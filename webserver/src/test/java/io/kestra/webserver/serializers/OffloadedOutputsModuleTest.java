@@ -0,0 +1,61 @@
+package io.kestra.webserver.serializers;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.executions.Execution;
+import io.kestra.core.models.executions.TaskRun;
+import io.kestra.core.models.flows.State;
+import io.kestra.core.runners.OffloadedOutputs;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.runners.RunContextFactory;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+@KestraTest
+class OffloadedOutputsModuleTest {
+    @Inject
+    RunContextFactory runContextFactory;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void offloadedOutputsAreResolvedWhenSerialized() throws Exception {
+        RunContext runContext = runContextFactory.of();
+        Map<String, Object> outputs = Map.of("value", "a".repeat(2048));
+
+        TaskRun offloaded = TaskRun.builder()
+            .id("offloaded")
+            .taskId("offloaded")
+            .outputs(OffloadedOutputs.offload(runContext, outputs, 1024))
+            .state(new State())
+            .build();
+        TaskRun inline = TaskRun.builder()
+            .id("inline")
+            .taskId("inline")
+            .outputs(Map.of("value", "inline"))
+            .state(new State())
+            .build();
+        Execution execution = Execution.builder()
+            .id("execution")
+            .taskRunList(List.of(offloaded, inline))
+            .build();
+
+        Map<String, Object> json = objectMapper.readValue(objectMapper.writeValueAsString(execution), new TypeReference<>() {});
+        List<Map<String, Object>> taskRuns = (List<Map<String, Object>>) json.get("taskRunList");
+
+        assertThat(taskRuns.getFirst().get("outputs"), is(outputs));
+        assertThat(taskRuns.get(1).get("outputs"), is(Map.of("value", "inline")));
+
+        // the execution itself keeps the reference
+        assertThat(OffloadedOutputs.isOffloaded(execution.getTaskRunList().getFirst().getOutputs()), is(true));
+    }
+}